@@ -20,4 +20,13 @@ export const addTournament = async (tournamentData) => {
     throw new Error('Failed to add tournament')
   }
   return response.json()
-}
\ No newline at end of file
+}
+
+// Whole event view (standings, pools with bouts, bracket) in one request
+export const getEventDashboard = async (tournamentId, eventId) => {
+  const response = await fetch(`${API_BASE_URL}/tournaments/${tournamentId}/events/${eventId}/dashboard`)
+  if (!response.ok) {
+    throw new Error('Failed to fetch event dashboard')
+  }
+  return response.json()
+}
@@ -0,0 +1,58 @@
+package org.fencing.demo.bracket;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.stages.KnockoutStage;
+import org.fencing.demo.stages.KnockoutStageRepository;
+import org.springframework.stereotype.Component;
+
+// Saves the bouts the formats open, each bracket round gets its own KnockoutStage so the
+// knockoutStage endpoints, the dashboard and the scheduler see them like manually created rounds
+@Component
+public class BracketBouts {
+
+    private final MatchRepository matchRepository;
+    private final KnockoutStageRepository knockoutStageRepository;
+
+    public BracketBouts(MatchRepository matchRepository, KnockoutStageRepository knockoutStageRepository) {
+        this.matchRepository = matchRepository;
+        this.knockoutStageRepository = knockoutStageRepository;
+    }
+
+    public Match create(Event event, BracketTable table, int round, int bout, Player player1, Player player2,
+            TeamBout teamBout, Integer relayLeg) {
+        KnockoutStage stage = stageFor(event, table, round);
+        Match match = Match.builder()
+                .event(event)
+                .knockoutStage(stage)
+                .player1(player1)
+                .player2(player2)
+                .bracketTable(table)
+                .bracketRound(round)
+                .bracketBout(bout)
+                .teamBout(teamBout)
+                .relayLeg(relayLeg)
+                .build();
+        stage.getMatches().add(match);
+        return matchRepository.save(match);
+    }
+
+    // A new round takes a stage the admin created and left empty, otherwise gets its own
+    private KnockoutStage stageFor(Event event, BracketTable table, int round) {
+        return matchRepository.findFirstByEventIdAndBracketTableAndBracketRound(event.getId(), table, round)
+                .map(Match::getKnockoutStage)
+                .orElseGet(() -> {
+                    for (KnockoutStage stage : event.getKnockoutStages()) {
+                        if (stage.getMatches().isEmpty()) {
+                            return stage;
+                        }
+                    }
+                    KnockoutStage stage = new KnockoutStage();
+                    stage.setEvent(event);
+                    event.getKnockoutStages().add(stage);
+                    return knockoutStageRepository.save(stage);
+                });
+    }
+}
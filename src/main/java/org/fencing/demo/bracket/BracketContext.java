@@ -0,0 +1,15 @@
+package org.fencing.demo.bracket;
+
+import org.fencing.demo.events.Event;
+
+// tableRounds: rounds of the main table, 3 for a table of 8
+public record BracketContext(Event event, int tableRounds) {
+
+    public static BracketContext of(Event event) {
+        return new BracketContext(event, Integer.numberOfTrailingZeros(event.getBracketSize()));
+    }
+
+    public boolean isFinal(int round) {
+        return round == tableRounds - 1;
+    }
+}
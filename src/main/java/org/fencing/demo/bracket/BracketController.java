@@ -0,0 +1,57 @@
+package org.fencing.demo.bracket;
+
+import java.util.List;
+
+import org.fencing.demo.jobs.Job;
+import org.fencing.demo.jobs.JobController;
+import org.fencing.demo.jobs.JobService;
+import org.fencing.demo.jobs.JobType;
+import org.fencing.demo.match.Match;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class BracketController {
+
+    private final BracketService bracketService;
+    private final JobService jobService;
+
+    public BracketController(BracketService bracketService, JobService jobService) {
+        this.bracketService = bracketService;
+        this.jobService = jobService;
+    }
+
+    // POST: Draw the bracket of an event as a job, later bouts are opened as results come in.
+    // The job result holds the ids of the bouts opened by the draw (Admin Only)
+    @PostMapping("/tournaments/{tournamentId}/events/{eventId}/bracket")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Job> startBracket(@PathVariable Long eventId) {
+        return JobController.accepted(jobService.submit(JobType.BRACKET_START, "event " + eventId,
+                job -> bracketService.startBracket(eventId).stream().map(Match::getId).toList()));
+    }
+
+    // POST: Register a team for a TEAM_RELAY event (Admin Only)
+    @PostMapping("/tournaments/{tournamentId}/events/{eventId}/teams")
+    @PreAuthorize("hasRole('ADMIN')")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Team addTeam(@PathVariable Long eventId, @RequestBody TeamEntry entry) {
+        return bracketService.addTeam(eventId, entry);
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/teams")
+    public List<Team> getTeams(@PathVariable Long eventId) {
+        return bracketService.getTeams(eventId);
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/teamBouts")
+    public List<TeamBout> getTeamBouts(@PathVariable Long eventId) {
+        return bracketService.getTeamBouts(eventId);
+    }
+}
@@ -0,0 +1,33 @@
+package org.fencing.demo.bracket;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventFormat;
+import org.fencing.demo.match.Match;
+
+/**
+ * One way of running the elimination phase. BracketServiceImpl keeps who stands where and asks the
+ * format what a decided bout leads to, so a result only touches its own bout and the positions its
+ * fencers move on to, never a whole round.
+ */
+public interface BracketFormat {
+
+    EventFormat format();
+
+    // Competitors in seed order, player ids or team ids
+    List<Long> entrants(Event event);
+
+    // Where the winner and the loser of a bout go, empty when the bout ends their part of the bracket
+    List<BracketMove> afterBout(BracketContext context, BracketTable table, int round, int bout);
+
+    // Creates the bout once both of its positions are taken, returns the matches that can be fenced now
+    List<Match> openBout(BracketContext context, BracketTable table, int round, int bout, long top, long bottom);
+
+    // Rejects a result this format cannot take, before anything is applied
+    void checkResult(Match existing, Match submitted);
+
+    // The bout this result decided, empty while it is still being fenced
+    Optional<DecidedBout> onResult(Match match);
+}
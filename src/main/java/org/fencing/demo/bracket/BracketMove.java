@@ -0,0 +1,13 @@
+package org.fencing.demo.bracket;
+
+// Sends the winner (or the loser) of a decided bout to a position of a later round
+public record BracketMove(boolean winner, BracketTable table, int round, int position) {
+
+    public static BracketMove winnerTo(BracketTable table, int round, int position) {
+        return new BracketMove(true, table, round, position);
+    }
+
+    public static BracketMove loserTo(BracketTable table, int round, int position) {
+        return new BracketMove(false, table, round, position);
+    }
+}
@@ -0,0 +1,66 @@
+package org.fencing.demo.bracket;
+
+import java.util.Objects;
+
+import org.fencing.demo.events.Event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Who stands at a position of a bracket round. Positions 2b and 2b+1 of a round meet in bout b, the
+ * winner of bout b takes position b of the next round. A null competitor is a bye.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "bracket_position", uniqueConstraints = @UniqueConstraint(
+        columnNames = { "event_id", "bracket_table", "bracket_round", "position" }))
+public class BracketPosition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @ManyToOne
+    @JoinColumn(name = "event_id", nullable = false)
+    @JsonIgnore
+    private Event event;
+
+    @Enumerated(EnumType.STRING)
+    private BracketTable bracketTable;
+
+    private int bracketRound;
+
+    private int position;
+
+    // Player id, or team id in team events
+    private Long competitorId;
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return id == ((BracketPosition) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
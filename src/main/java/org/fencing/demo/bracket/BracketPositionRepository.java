@@ -0,0 +1,17 @@
+package org.fencing.demo.bracket;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+
+import jakarta.persistence.LockModeType;
+
+public interface BracketPositionRepository extends JpaRepository<BracketPosition, Long> {
+
+    // A locking read sees the rows committed since the transaction's snapshot, such as the
+    // neighbour that a concurrent result placed while this one waited for the event lock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<BracketPosition> findByEventIdAndBracketTableAndBracketRoundAndPosition(Long eventId,
+            BracketTable bracketTable, int bracketRound, int position);
+}
@@ -0,0 +1,22 @@
+package org.fencing.demo.bracket;
+
+import java.util.List;
+
+import org.fencing.demo.match.Match;
+
+public interface BracketService {
+
+    // Draws the main table and opens every first round bout
+    List<Match> startBracket(Long eventId);
+
+    // Called by MatchService inside the result transaction
+    void checkResult(Match existing, Match submitted);
+
+    void onResult(Match match);
+
+    Team addTeam(Long eventId, TeamEntry entry);
+
+    List<Team> getTeams(Long eventId);
+
+    List<TeamBout> getTeamBouts(Long eventId);
+}
@@ -0,0 +1,287 @@
+package org.fencing.demo.bracket;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventFormat;
+import org.fencing.demo.events.EventNotFoundException;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.matchMaking.TableauSeeding;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerNotFoundException;
+import org.fencing.demo.player.PlayerRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Timer;
+
+// A result places its winner (and for some formats its loser), the next bout opens once both of its
+// positions are taken. A bye passes the other side straight through
+@Service
+public class BracketServiceImpl implements BracketService {
+
+    private final EventRepository eventRepository;
+    private final BracketPositionRepository positionRepository;
+    private final TeamRepository teamRepository;
+    private final TeamBoutRepository teamBoutRepository;
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+    private final Map<EventFormat, BracketFormat> formats = new EnumMap<>(EventFormat.class);
+
+    public BracketServiceImpl(EventRepository eventRepository, BracketPositionRepository positionRepository,
+            TeamRepository teamRepository, TeamBoutRepository teamBoutRepository, PlayerRepository playerRepository,
+            MatchRepository matchRepository, List<BracketFormat> formats) {
+        this.eventRepository = eventRepository;
+        this.positionRepository = positionRepository;
+        this.teamRepository = teamRepository;
+        this.teamBoutRepository = teamBoutRepository;
+        this.playerRepository = playerRepository;
+        this.matchRepository = matchRepository;
+        formats.forEach(format -> this.formats.put(format.format(), format));
+    }
+
+    @Override
+    @Transactional
+    public List<Match> startBracket(Long eventId) {
+        Timer.Sample sample = FencingMetrics.start();
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        Event event = eventRepository.findById(eventId).orElseThrow(() -> new EventNotFoundException(eventId));
+        BracketFormat format = formatOf(event);
+        if (event.getBracketSize() != null) {
+            throw new IllegalStateException("The bracket of event " + eventId + " has already been drawn");
+        }
+        List<Long> entrants = format.entrants(event);
+        if (entrants.size() < 2) {
+            throw new IllegalArgumentException("A bracket needs at least 2 entrants");
+        }
+
+        List<Long> slots = TableauSeeding.tableau(entrants);
+        event.setBracketSize(slots.size());
+        BracketContext context = BracketContext.of(event);
+        List<BracketPosition> firstRound = new ArrayList<>(slots.size());
+        for (int position = 0; position < slots.size(); position++) {
+            firstRound.add(position(event, BracketTable.MAIN, 0, position, slots.get(position)));
+        }
+        positionRepository.saveAll(firstRound);
+
+        List<Match> opened = new ArrayList<>();
+        for (int bout = 0; bout < slots.size() / 2; bout++) {
+            resolve(context, format, BracketTable.MAIN, 0, bout, slots.get(2 * bout), slots.get(2 * bout + 1), opened);
+        }
+        FencingMetrics.count("fencing.matches.created", event.getRankings().size(), opened.size());
+        FencingMetrics.stop(sample, "fencing.bracket.start", event.getRankings().size());
+        return opened;
+    }
+
+    @Override
+    public void checkResult(Match existing, Match submitted) {
+        if (existing.getBracketTable() == null) {
+            return;
+        }
+        BracketFormat format = formatOf(existing.getEvent());
+        format.checkResult(existing, submitted);
+        if (existing.getTeamBout() == null && existing.hasResult() && !existing.getWinner().equals(submitted.getWinner())) {
+            // Only a dry run, the places are taken back in place() once the event is locked
+            retractMoves(BracketContext.of(existing.getEvent()), format, existing.getBracketTable(),
+                    existing.getBracketRound(), existing.getBracketBout(), false);
+        }
+    }
+
+    @Override
+    public void onResult(Match match) {
+        if (match.getBracketTable() == null) {
+            return; // pool bout, or a round built by hand before the bracket engine
+        }
+        Event event = match.getEvent();
+        // The two feeders of a bout share no row, without this both would miss the other's position
+        eventRepository.lockById(event.getId());
+        BracketFormat format = formatOf(event);
+        Optional<DecidedBout> decided = format.onResult(match);
+        if (decided.isPresent()) {
+            advance(BracketContext.of(event), format, decided.get(), new ArrayList<>());
+        }
+    }
+
+    @Override
+    @Transactional
+    public Team addTeam(Long eventId, TeamEntry entry) {
+        if (eventId == null || entry == null) {
+            throw new IllegalArgumentException("Event ID and team cannot be null");
+        }
+        Event event = eventRepository.findById(eventId).orElseThrow(() -> new EventNotFoundException(eventId));
+        if (event.getFormat() != EventFormat.TEAM_RELAY) {
+            throw new IllegalArgumentException("Event " + eventId + " is not a team event");
+        }
+        if (event.getBracketSize() != null) {
+            throw new IllegalStateException("The bracket of event " + eventId + " has already been drawn");
+        }
+        if (entry.name() == null || entry.name().isBlank()) {
+            throw new IllegalArgumentException("Team name cannot be empty");
+        }
+        if (entry.memberIds() == null || entry.memberIds().size() < 3 || entry.memberIds().size() > 4) {
+            throw new IllegalArgumentException("A team has three fencers and at most one reserve");
+        }
+
+        Set<Long> registered = new HashSet<>();
+        for (PlayerRank rank : event.getRankings()) {
+            registered.add(rank.getPlayer().getId());
+        }
+        Set<Long> inTeams = new HashSet<>();
+        for (Team team : teamRepository.findByEventIdOrderBySeedAscIdAsc(eventId)) {
+            team.getMembers().forEach(member -> inTeams.add(member.getId()));
+        }
+        List<Player> members = new ArrayList<>();
+        for (Long memberId : entry.memberIds()) {
+            Player player = playerRepository.findById(memberId).orElseThrow(() -> new PlayerNotFoundException(memberId));
+            if (!registered.contains(memberId)) {
+                throw new IllegalArgumentException("Player " + memberId + " is not registered in this event");
+            }
+            if (!inTeams.add(memberId)) {
+                throw new IllegalArgumentException("Player " + memberId + " is already in a team");
+            }
+            members.add(player);
+        }
+
+        Team team = Team.builder()
+                .event(event)
+                .name(entry.name())
+                .seed(entry.seed() != null ? entry.seed() : (int) teamRepository.countByEventId(eventId) + 1)
+                .members(members)
+                .build();
+        return teamRepository.save(team);
+    }
+
+    @Override
+    public List<Team> getTeams(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+        return teamRepository.findByEventIdOrderBySeedAscIdAsc(eventId);
+    }
+
+    @Override
+    public List<TeamBout> getTeamBouts(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+        return teamBoutRepository.findByEventIdOrderByBracketRoundAscBracketBoutAsc(eventId);
+    }
+
+    // Events created before formats existed have none, they are individual events
+    private BracketFormat formatOf(Event event) {
+        BracketFormat format = formats.get(event.getFormat() == null ? EventFormat.INDIVIDUAL : event.getFormat());
+        if (format == null) {
+            throw new IllegalStateException("No bracket format registered for " + event.getFormat());
+        }
+        return format;
+    }
+
+    private void advance(BracketContext context, BracketFormat format, DecidedBout decided, List<Match> opened) {
+        for (BracketMove move : format.afterBout(context, decided.table(), decided.round(), decided.bout())) {
+            Long competitor = move.winner() ? decided.winnerId() : decided.loserId();
+            place(context, format, move.table(), move.round(), move.position(), competitor, opened);
+        }
+    }
+
+    // Takes one position, and opens its bout when the neighbouring position is already known
+    private void place(BracketContext context, BracketFormat format, BracketTable table, int round, int position,
+            Long competitor, List<Match> opened) {
+        Long eventId = context.event().getId();
+        Optional<BracketPosition> existing = positionRepository
+                .findByEventIdAndBracketTableAndBracketRoundAndPosition(eventId, table, round, position);
+        if (existing.isPresent()) {
+            if (Objects.equals(existing.get().getCompetitorId(), competitor)) {
+                return; // corrected score, same winner
+            }
+            // Corrected winner, the deletes have to reach the database before the same positions are taken again
+            retract(context, format, table, round, position, true);
+            positionRepository.flush();
+        }
+        positionRepository.save(position(context.event(), table, round, position, competitor));
+
+        Optional<BracketPosition> neighbour = positionRepository
+                .findByEventIdAndBracketTableAndBracketRoundAndPosition(eventId, table, round, position ^ 1);
+        if (neighbour.isEmpty()) {
+            return;
+        }
+        Long other = neighbour.get().getCompetitorId();
+        boolean top = position % 2 == 0;
+        resolve(context, format, table, round, position / 2, top ? competitor : other, top ? other : competitor, opened);
+    }
+
+    // Takes back a position and what it led to: the bout it opened, or the places a bye passed it on to.
+    // Throws once one of those bouts has a result. With apply false it only checks.
+    private void retract(BracketContext context, BracketFormat format, BracketTable table, int round, int position,
+            boolean apply) {
+        Long eventId = context.event().getId();
+        int bout = position / 2;
+        List<Match> bouts = matchRepository.findByEventIdAndBracketTableAndBracketRoundAndBracketBout(eventId, table, round, bout);
+        for (Match match : bouts) {
+            if (match.hasResult()) {
+                throw new IllegalArgumentException("The winner cannot be changed, " + table + " round " + round
+                        + " bout " + bout + " has already been fenced");
+            }
+        }
+        if (bouts.isEmpty() && positionRepository
+                .findByEventIdAndBracketTableAndBracketRoundAndPosition(eventId, table, round, position ^ 1).isPresent()) {
+            retractMoves(context, format, table, round, bout, apply);
+        }
+        if (apply) {
+            for (Match match : bouts) {
+                match.getKnockoutStage().getMatches().remove(match);
+                context.event().getMatches().remove(match);
+                matchRepository.delete(match);
+            }
+            positionRepository.findByEventIdAndBracketTableAndBracketRoundAndPosition(eventId, table, round, position)
+                    .ifPresent(positionRepository::delete);
+        }
+    }
+
+    private void retractMoves(BracketContext context, BracketFormat format, BracketTable table, int round, int bout,
+            boolean apply) {
+        for (BracketMove move : format.afterBout(context, table, round, bout)) {
+            if (positionRepository.findByEventIdAndBracketTableAndBracketRoundAndPosition(context.event().getId(),
+                    move.table(), move.round(), move.position()).isPresent()) {
+                retract(context, format, move.table(), move.round(), move.position(), apply);
+            }
+        }
+    }
+
+    private void resolve(BracketContext context, BracketFormat format, BracketTable table, int round, int bout,
+            Long top, Long bottom, List<Match> opened) {
+        if (top != null && bottom != null) {
+            opened.addAll(format.openBout(context, table, round, bout, top, bottom));
+        } else {
+            advance(context, format, new DecidedBout(table, round, bout, top != null ? top : bottom, null), opened);
+        }
+    }
+
+    private static BracketPosition position(Event event, BracketTable table, int round, int position, Long competitor) {
+        return BracketPosition.builder()
+                .event(event)
+                .bracketTable(table)
+                .bracketRound(round)
+                .position(position)
+                .competitorId(competitor)
+                .build();
+    }
+}
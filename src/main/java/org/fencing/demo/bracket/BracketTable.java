@@ -0,0 +1,6 @@
+package org.fencing.demo.bracket;
+
+public enum BracketTable {
+    MAIN,
+    REPECHAGE
+}
@@ -0,0 +1,5 @@
+package org.fencing.demo.bracket;
+
+// Outcome of bout `bout` of a round, ids are players or teams; null means a bye that has no one to pass on
+public record DecidedBout(BracketTable table, int round, int bout, Long winnerId, Long loserId) {
+}
@@ -0,0 +1,82 @@
+package org.fencing.demo.bracket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.matchMaking.AfterGroupStage;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerNotFoundException;
+import org.fencing.demo.player.PlayerRepository;
+
+// Individual bracket seeded from the pools, the winner of every main table bout moves up a round
+public abstract class EliminationFormat implements BracketFormat {
+
+    private final BracketBouts bracketBouts;
+    private final PlayerRepository playerRepository;
+
+    protected EliminationFormat(BracketBouts bracketBouts, PlayerRepository playerRepository) {
+        this.bracketBouts = bracketBouts;
+        this.playerRepository = playerRepository;
+    }
+
+    @Override
+    public List<Long> entrants(Event event) {
+        List<Match> poolMatches = new ArrayList<>();
+        for (Match match : event.getMatches()) {
+            if (match.getKnockoutStage() == null) {
+                poolMatches.add(match);
+            }
+        }
+        List<Long> entrants = new ArrayList<>();
+        for (Player player : AfterGroupStage.seedFromPools(event.getRankings(), poolMatches)) {
+            entrants.add(player.getId());
+        }
+        return entrants;
+    }
+
+    @Override
+    public List<BracketMove> afterBout(BracketContext context, BracketTable table, int round, int bout) {
+        List<BracketMove> moves = new ArrayList<>();
+        if (table == BracketTable.MAIN && !context.isFinal(round)) {
+            moves.add(BracketMove.winnerTo(BracketTable.MAIN, round + 1, bout));
+        }
+        return moves;
+    }
+
+    @Override
+    public List<Match> openBout(BracketContext context, BracketTable table, int round, int bout, long top, long bottom) {
+        return List.of(bracketBouts.create(context.event(), table, round, bout, player(top), player(bottom), null, null));
+    }
+
+    @Override
+    public void checkResult(Match existing, Match submitted) {
+        if (!existing.getPlayer1().equals(submitted.getPlayer1()) || !existing.getPlayer2().equals(submitted.getPlayer2())) {
+            throw new IllegalArgumentException("The fencers of a bracket bout cannot be changed");
+        }
+        if (submitted.getPlayer1Score() == submitted.getPlayer2Score() && submitted.hasResult()) {
+            throw new IllegalArgumentException("An elimination bout cannot end level");
+        }
+        // A corrected winner is checked against the next round by BracketServiceImpl
+        if (existing.hasResult() && !submitted.hasResult()) {
+            throw new IllegalArgumentException("The result of a decided bracket bout cannot be cleared");
+        }
+    }
+
+    @Override
+    public Optional<DecidedBout> onResult(Match match) {
+        if (!match.hasResult()) {
+            return Optional.empty();
+        }
+        Player winner = match.getWinner();
+        Player loser = winner.equals(match.getPlayer1()) ? match.getPlayer2() : match.getPlayer1();
+        return Optional.of(new DecidedBout(match.getBracketTable(), match.getBracketRound(), match.getBracketBout(),
+                winner.getId(), loser.getId()));
+    }
+
+    private Player player(long playerId) {
+        return playerRepository.findById(playerId).orElseThrow(() -> new PlayerNotFoundException(playerId));
+    }
+}
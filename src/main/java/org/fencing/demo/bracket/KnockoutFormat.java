@@ -0,0 +1,19 @@
+package org.fencing.demo.bracket;
+
+import org.fencing.demo.events.EventFormat;
+import org.fencing.demo.player.PlayerRepository;
+import org.springframework.stereotype.Component;
+
+// Straight knockout, the winner of each bout takes its place in the next round and nothing else
+@Component
+public class KnockoutFormat extends EliminationFormat {
+
+    public KnockoutFormat(BracketBouts bracketBouts, PlayerRepository playerRepository) {
+        super(bracketBouts, playerRepository);
+    }
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.INDIVIDUAL;
+    }
+}
@@ -0,0 +1,50 @@
+package org.fencing.demo.bracket;
+
+import java.util.List;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventFormat;
+import org.fencing.demo.player.PlayerRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Main table as usual. The quarter-final losers of each half fence each other in the repechage
+ * (round 0 of the REPECHAGE table) and the winner meets the losing semi-finalist of the other half
+ * (round 1); both winners of round 1 take a bronze medal.
+ */
+@Component
+public class RepechageFormat extends EliminationFormat {
+
+    public RepechageFormat(BracketBouts bracketBouts, PlayerRepository playerRepository) {
+        super(bracketBouts, playerRepository);
+    }
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.REPECHAGE;
+    }
+
+    @Override
+    public List<Long> entrants(Event event) {
+        List<Long> entrants = super.entrants(event);
+        if (entrants.size() < 5) {
+            throw new IllegalArgumentException("A repechage needs a table of 8, at least 5 fencers");
+        }
+        return entrants;
+    }
+
+    @Override
+    public List<BracketMove> afterBout(BracketContext context, BracketTable table, int round, int bout) {
+        List<BracketMove> moves = super.afterBout(context, table, round, bout);
+        int quarterFinal = context.tableRounds() - 3;
+        if (table == BracketTable.MAIN && round == quarterFinal) {
+            moves.add(BracketMove.loserTo(BracketTable.REPECHAGE, 0, bout));
+        } else if (table == BracketTable.MAIN && round == quarterFinal + 1) {
+            // Semi-final 0 is the top half, its loser waits for the bottom half's repechage winner
+            moves.add(BracketMove.loserTo(BracketTable.REPECHAGE, 1, 2 * (1 - bout) + 1));
+        } else if (table == BracketTable.REPECHAGE && round == 0) {
+            moves.add(BracketMove.winnerTo(BracketTable.REPECHAGE, 1, 2 * bout));
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,82 @@
+package org.fencing.demo.bracket;
+
+import java.util.Objects;
+
+import org.fencing.demo.events.Event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A team match, fenced as a relay of individual legs (matches with relayLeg set)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "team_bout")
+public class TeamBout {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @Version
+    private long version;
+
+    @ManyToOne
+    @JoinColumn(name = "event_id", nullable = false)
+    @JsonIgnore
+    private Event event;
+
+    @Enumerated(EnumType.STRING)
+    private BracketTable bracketTable;
+    private int bracketRound;
+    private int bracketBout;
+
+    @ManyToOne
+    @JoinColumn(name = "team1_id", nullable = false)
+    private Team team1;
+
+    @ManyToOne
+    @JoinColumn(name = "team2_id", nullable = false)
+    private Team team2;
+
+    // Running totals after the last fenced leg
+    private int team1Score;
+    private int team2Score;
+    private int legsFenced;
+
+    // null while the relay is running
+    @ManyToOne(optional = true)
+    @JoinColumn(name = "winner_id")
+    private Team winner;
+
+    public boolean isDecided() {
+        return winner != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return id == ((TeamBout) o).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -0,0 +1,10 @@
+package org.fencing.demo.bracket;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TeamBoutRepository extends JpaRepository<TeamBout, Long> {
+
+    List<TeamBout> findByEventIdOrderByBracketRoundAscBracketBoutAsc(Long eventId);
+}
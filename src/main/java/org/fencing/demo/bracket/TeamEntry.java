@@ -0,0 +1,7 @@
+package org.fencing.demo.bracket;
+
+import java.util.List;
+
+// Team registration, seed is optional and defaults to registration order
+public record TeamEntry(String name, Integer seed, List<Long> memberIds) {
+}
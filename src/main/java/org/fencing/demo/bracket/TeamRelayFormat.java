@@ -0,0 +1,134 @@
+package org.fencing.demo.bracket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventFormat;
+import org.fencing.demo.match.Match;
+import org.springframework.stereotype.Component;
+
+/**
+ * Team events: a straight knockout of teams where every team bout is a relay of nine legs. Leg n
+ * runs until a team reaches 5 * n touches (or time runs out), scores carry over, the first team to
+ * 45 wins. Each leg result opens the next leg, the last one decides the team bout.
+ */
+@Component
+public class TeamRelayFormat implements BracketFormat {
+
+    static final int LEGS = 9;
+    static final int TOUCHES_PER_LEG = 5;
+
+    // FIE relay order, member index of team 1 and team 2 for each leg (3-6, 1-5, 2-4, 1-6, 3-4, 2-5, 1-4, 2-6, 3-5)
+    static final int[][] ORDER = {
+            { 2, 2 }, { 0, 1 }, { 1, 0 }, { 0, 2 }, { 2, 0 }, { 1, 1 }, { 0, 0 }, { 1, 2 }, { 2, 1 } };
+
+    private final BracketBouts bracketBouts;
+    private final TeamRepository teamRepository;
+    private final TeamBoutRepository teamBoutRepository;
+
+    public TeamRelayFormat(BracketBouts bracketBouts, TeamRepository teamRepository,
+            TeamBoutRepository teamBoutRepository) {
+        this.bracketBouts = bracketBouts;
+        this.teamRepository = teamRepository;
+        this.teamBoutRepository = teamBoutRepository;
+    }
+
+    @Override
+    public EventFormat format() {
+        return EventFormat.TEAM_RELAY;
+    }
+
+    @Override
+    public List<Long> entrants(Event event) {
+        List<Long> entrants = new ArrayList<>();
+        for (Team team : teamRepository.findByEventIdOrderBySeedAscIdAsc(event.getId())) {
+            entrants.add(team.getId());
+        }
+        return entrants;
+    }
+
+    @Override
+    public List<BracketMove> afterBout(BracketContext context, BracketTable table, int round, int bout) {
+        return context.isFinal(round) ? List.of() : List.of(BracketMove.winnerTo(BracketTable.MAIN, round + 1, bout));
+    }
+
+    @Override
+    public List<Match> openBout(BracketContext context, BracketTable table, int round, int bout, long top, long bottom) {
+        TeamBout teamBout = teamBoutRepository.save(TeamBout.builder()
+                .event(context.event())
+                .bracketTable(table)
+                .bracketRound(round)
+                .bracketBout(bout)
+                .team1(teamRepository.getReferenceById(top))
+                .team2(teamRepository.getReferenceById(bottom))
+                .build());
+        return List.of(openLeg(teamBout, 1));
+    }
+
+    @Override
+    public void checkResult(Match existing, Match submitted) {
+        TeamBout teamBout = existing.getTeamBout();
+        if (teamBout == null) {
+            throw new IllegalArgumentException("Only relay legs are fenced in a team event bracket");
+        }
+        int leg = existing.getRelayLeg();
+        if (teamBout.isDecided()) {
+            throw new IllegalArgumentException("Team bout " + teamBout.getId() + " is already decided");
+        }
+        if (leg != teamBout.getLegsFenced() + 1) {
+            throw new IllegalArgumentException("Relay leg " + leg + " is already followed by leg " + (teamBout.getLegsFenced() + 1));
+        }
+        if (!teamBout.getTeam1().getMembers().contains(submitted.getPlayer1())
+                || !teamBout.getTeam2().getMembers().contains(submitted.getPlayer2())) {
+            throw new IllegalArgumentException("Both fencers of a relay leg must belong to their team");
+        }
+        // Scores are the running team totals
+        int score1 = submitted.getPlayer1Score();
+        int score2 = submitted.getPlayer2Score();
+        if (score1 < teamBout.getTeam1Score() || score2 < teamBout.getTeam2Score()) {
+            throw new IllegalArgumentException("Relay scores are running totals and cannot go down");
+        }
+        int target = leg * TOUCHES_PER_LEG;
+        if (Math.max(score1, score2) > target) {
+            throw new IllegalArgumentException("Leg " + leg + " stops at " + target + " touches");
+        }
+        if (ends(leg, score1, score2) && score1 == score2) {
+            throw new IllegalArgumentException("A team bout cannot end level");
+        }
+    }
+
+    @Override
+    public Optional<DecidedBout> onResult(Match match) {
+        TeamBout teamBout = match.getTeamBout();
+        int leg = match.getRelayLeg();
+        teamBout.setTeam1Score(match.getPlayer1Score());
+        teamBout.setTeam2Score(match.getPlayer2Score());
+        teamBout.setLegsFenced(leg);
+        if (!ends(leg, match.getPlayer1Score(), match.getPlayer2Score())) {
+            openLeg(teamBout, leg + 1);
+            teamBoutRepository.save(teamBout);
+            return Optional.empty();
+        }
+
+        boolean team1Won = match.getPlayer1Score() > match.getPlayer2Score();
+        Team winner = team1Won ? teamBout.getTeam1() : teamBout.getTeam2();
+        Team loser = team1Won ? teamBout.getTeam2() : teamBout.getTeam1();
+        teamBout.setWinner(winner);
+        teamBoutRepository.save(teamBout);
+        return Optional.of(new DecidedBout(teamBout.getBracketTable(), teamBout.getBracketRound(),
+                teamBout.getBracketBout(), winner.getId(), loser.getId()));
+    }
+
+    static boolean ends(int leg, int score1, int score2) {
+        return leg == LEGS || Math.max(score1, score2) >= LEGS * TOUCHES_PER_LEG;
+    }
+
+    private Match openLeg(TeamBout teamBout, int leg) {
+        int[] order = ORDER[leg - 1];
+        return bracketBouts.create(teamBout.getEvent(), teamBout.getBracketTable(), teamBout.getBracketRound(),
+                teamBout.getBracketBout(), teamBout.getTeam1().getMembers().get(order[0]),
+                teamBout.getTeam2().getMembers().get(order[1]), teamBout, leg);
+    }
+}
@@ -0,0 +1,12 @@
+package org.fencing.demo.bracket;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    List<Team> findByEventIdOrderBySeedAscIdAsc(Long eventId);
+
+    long countByEventId(Long eventId);
+}
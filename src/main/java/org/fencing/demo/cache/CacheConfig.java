@@ -0,0 +1,18 @@
+package org.fencing.demo.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public ClusterCacheManager cacheManager(InvalidationBus invalidationBus,
+            @Value("${cache.max-entries:1000}") int maxEntries,
+            @Value("${cache.ttl-ms:300000}") long ttlMillis) {
+        return new ClusterCacheManager(invalidationBus, maxEntries, ttlMillis);
+    }
+}
@@ -0,0 +1,5 @@
+package org.fencing.demo.cache;
+
+// A cache entry to drop on every node but the origin, a null key drops the whole cache
+public record CacheInvalidation(String origin, String cacheName, String key) {
+}
@@ -0,0 +1,123 @@
+package org.fencing.demo.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Bounded LRU of one node. Evictions go out on the bus, the TTL covers writes that bypass the services.
+// Keys are compared as strings, the form that travels on the bus
+public class ClusterCache extends AbstractValueAdaptingCache {
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    private final String name;
+    private final ClusterCacheManager manager;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    ClusterCache(String name, ClusterCacheManager manager, int maxEntries, long ttlMillis) {
+        super(false);
+        this.name = name;
+        this.manager = manager;
+        this.ttlMillis = ttlMillis;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Entry entry = entries.get(cacheKey);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(cacheKey, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value != null) {
+            entries.put(String.valueOf(key), new Entry(toStoreValue(value), System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        evictLocal(cacheKey);
+        afterCommit(() -> evictLocal(cacheKey));
+        manager.announce(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        clearLocal();
+        afterCommit(this::clearLocal);
+        manager.announce(name, null);
+    }
+
+    void evictLocal(String key) {
+        entries.remove(key);
+    }
+
+    void clearLocal() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // A reader that missed between the eviction and the commit may have cached the old row again
+    private static void afterCommit(Runnable evict) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+}
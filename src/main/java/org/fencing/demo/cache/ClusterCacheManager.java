@@ -0,0 +1,66 @@
+package org.fencing.demo.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fencing.demo.metrics.FencingMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import io.micrometer.core.instrument.Tags;
+
+// Caches are created on first use, local evictions are published and remote ones applied here
+public class ClusterCacheManager implements CacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final InvalidationBus bus;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, ClusterCache> caches = new ConcurrentHashMap<>();
+
+    public ClusterCacheManager(InvalidationBus bus, int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0 || ttlMillis <= 0) {
+            throw new IllegalArgumentException("cache.max-entries and cache.ttl-ms must be positive");
+        }
+        this.bus = bus;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> new ClusterCache(cacheName, this, maxEntries, ttlMillis));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return caches.keySet();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    void announce(String cacheName, String key) {
+        bus.publish(new CacheInvalidation(nodeId, cacheName, key));
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return; // evicted here already
+        }
+        ClusterCache cache = caches.get(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+        FencingMetrics.count("fencing.cache.invalidations.received", Tags.of("cache", invalidation.cacheName()), 1);
+    }
+}
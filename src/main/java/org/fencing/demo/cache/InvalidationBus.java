@@ -0,0 +1,12 @@
+package org.fencing.demo.cache;
+
+import java.util.function.Consumer;
+
+// An invalidation published in a transaction is only delivered once it committed
+public interface InvalidationBus {
+
+    void publish(CacheInvalidation invalidation);
+
+    // Listeners get every invalidation, including the ones this node sent
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,33 @@
+package org.fencing.demo.cache;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Row of the cache_invalidation table JdbcInvalidationBus writes and polls, mapped so the schema has it
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "cache_invalidation", indexes = @Index(name = "idx_cache_invalidation_created", columnList = "created_at"))
+public class InvalidationMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String origin;
+
+    private String cacheName;
+
+    private String cacheKey;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,132 @@
+package org.fencing.demo.cache;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.replica.PrimaryStickiness;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Rows are inserted in the writer's transaction. Ids can commit out of order, so the poll reads by
+// time over cache.invalidation.lookback-ms and remembers what it already delivered
+@Component
+@ConditionalOnProperty(name = "cache.invalidation.bus", havingValue = "jdbc")
+public class JdbcInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcInvalidationBus.class);
+
+    private static final String INSERT =
+            "INSERT INTO cache_invalidation (origin, cache_name, cache_key, created_at) VALUES (?, ?, ?, ?)";
+    private static final String SELECT_RECENT =
+            "SELECT id, origin, cache_name, cache_key, created_at FROM cache_invalidation WHERE created_at >= ? ORDER BY id";
+    private static final String DELETE_OLDER = "DELETE FROM cache_invalidation WHERE created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long pollMillis;
+    private final long lookbackMillis;
+    private final long retentionMillis;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService poller;
+
+    // row id -> created_at millis, for rows inside the lookback window that were delivered already
+    private final Map<Long, Long> delivered = new HashMap<>();
+    private long lastCleanup;
+
+    public JdbcInvalidationBus(JdbcTemplate jdbcTemplate,
+            @Value("${cache.invalidation.poll-ms:500}") long pollMillis,
+            @Value("${cache.invalidation.lookback-ms:30000}") long lookbackMillis,
+            @Value("${cache.invalidation.retention-ms:600000}") long retentionMillis) {
+        if (pollMillis <= 0 || lookbackMillis < pollMillis || retentionMillis < lookbackMillis) {
+            throw new IllegalArgumentException("Need 0 < cache.invalidation.poll-ms <= lookback-ms <= retention-ms");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.pollMillis = pollMillis;
+        this.lookbackMillis = lookbackMillis;
+        this.retentionMillis = retentionMillis;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(PrimaryStickiness.onPrimary(runnable), "cache-invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        // Rows from before this node started are about entries it cannot have cached
+        long now = System.currentTimeMillis();
+        jdbcTemplate.query(SELECT_RECENT, rs -> {
+            delivered.put(rs.getLong(1), rs.getTimestamp(5).getTime());
+        }, new Timestamp(now - lookbackMillis));
+        lastCleanup = now;
+        poller.scheduleWithFixedDelay(this::pollQuietly, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        jdbcTemplate.update(INSERT, invalidation.origin(), invalidation.cacheName(), invalidation.key(),
+                new Timestamp(System.currentTimeMillis()));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    // One round of reading the table, the poller thread calls it every poll-ms
+    public synchronized int poll() {
+        long now = System.currentTimeMillis();
+        long windowStart = now - lookbackMillis;
+        List<CacheInvalidation> fresh = new ArrayList<>();
+        jdbcTemplate.query(SELECT_RECENT, rs -> {
+            long id = rs.getLong(1);
+            if (delivered.putIfAbsent(id, rs.getTimestamp(5).getTime()) == null) {
+                fresh.add(new CacheInvalidation(rs.getString(2), rs.getString(3), rs.getString(4)));
+            }
+        }, new Timestamp(windowStart));
+        delivered.values().removeIf(createdAt -> createdAt < windowStart);
+
+        for (CacheInvalidation invalidation : fresh) {
+            listeners.forEach(listener -> listener.accept(invalidation));
+        }
+        if (now - lastCleanup >= lookbackMillis) {
+            jdbcTemplate.update(DELETE_OLDER, new Timestamp(now - retentionMillis));
+            lastCleanup = now;
+        }
+        return fresh.size();
+    }
+
+    private void pollQuietly() {
+        try {
+            int received = poll();
+            if (received > 0) {
+                FencingMetrics.count("fencing.cache.invalidations.polled", Tags.empty(), received);
+            }
+        } catch (DataAccessException e) {
+            // Rows stay in the table, the next poll inside the lookback window picks them up
+            log.warn("Polling cache invalidations failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+}
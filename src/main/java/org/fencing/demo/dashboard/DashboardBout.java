@@ -0,0 +1,7 @@
+package org.fencing.demo.dashboard;
+
+import java.time.LocalDateTime;
+
+public record DashboardBout(long matchId, long player1Id, long player2Id, int player1Score, int player2Score,
+        Integer piste, Integer timeSlot, LocalDateTime scheduledStart) {
+}
@@ -0,0 +1,8 @@
+package org.fencing.demo.dashboard;
+
+import java.util.List;
+
+// groupStageId is null when the pool's bouts were not linked to a GroupStage
+public record DashboardPool(Long groupStageId, boolean allMatchesCompleted, List<Long> fencerIds,
+        List<DashboardBout> bouts) {
+}
@@ -0,0 +1,7 @@
+package org.fencing.demo.dashboard;
+
+import java.util.List;
+
+// One knockout round, in the order the rounds were created
+public record DashboardRound(long knockoutStageId, List<DashboardBout> bouts) {
+}
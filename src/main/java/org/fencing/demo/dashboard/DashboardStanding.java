@@ -0,0 +1,4 @@
+package org.fencing.demo.dashboard;
+
+public record DashboardStanding(long playerId, String username, int winCount, int lossCount, int score) {
+}
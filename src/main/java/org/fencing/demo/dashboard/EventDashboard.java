@@ -0,0 +1,39 @@
+package org.fencing.demo.dashboard;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Everything the event page shows, in one response
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventDashboard {
+
+    private long eventId;
+
+    private long tournamentId;
+
+    // Changes whenever anything below changes, used as the ETag and as the cache key
+    private String version;
+
+    private LocalDateTime startDate;
+
+    private LocalDateTime endDate;
+
+    private String gender;
+
+    private String weapon;
+
+    // Same order as PlayerRankComparator
+    private List<DashboardStanding> standings;
+
+    private List<DashboardPool> pools;
+
+    private List<DashboardRound> bracket;
+}
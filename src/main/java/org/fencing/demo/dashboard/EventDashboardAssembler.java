@@ -0,0 +1,55 @@
+package org.fencing.demo.dashboard;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.matchMaking.PoolGrouping;
+
+// Turns the flat bout rows of an event into pools and bracket rounds
+public final class EventDashboardAssembler {
+
+    public record BoutRow(DashboardBout bout, Long groupStageId, Long knockoutStageId) implements PoolGrouping.PoolBout {
+
+        @Override
+        public long player1Id() {
+            return bout.player1Id();
+        }
+
+        @Override
+        public long player2Id() {
+            return bout.player2Id();
+        }
+    }
+
+    private EventDashboardAssembler() {
+    }
+
+    // Pools as PoolGrouping finds them, each with the completed flag of its group stage
+    public static List<DashboardPool> pools(List<BoutRow> bouts, Map<Long, Boolean> groupStagesCompleted) {
+        List<BoutRow> poolBouts = bouts.stream().filter(row -> row.knockoutStageId() == null).toList();
+        List<DashboardPool> pools = new ArrayList<>();
+        for (PoolGrouping.Pool<BoutRow> pool : PoolGrouping.group(poolBouts, groupStagesCompleted.keySet())) {
+            boolean completed = pool.groupStageId() != null
+                    && groupStagesCompleted.getOrDefault(pool.groupStageId(), false);
+            pools.add(new DashboardPool(pool.groupStageId(), completed, pool.fencerIds(),
+                    pool.bouts().stream().map(BoutRow::bout).toList()));
+        }
+        return pools;
+    }
+
+    public static List<DashboardRound> bracket(List<BoutRow> bouts, List<Long> knockoutStageIds) {
+        Map<Long, List<DashboardBout>> byStage = new LinkedHashMap<>();
+        knockoutStageIds.forEach(id -> byStage.put(id, new ArrayList<>()));
+        for (BoutRow row : bouts) {
+            List<DashboardBout> round = row.knockoutStageId() == null ? null : byStage.get(row.knockoutStageId());
+            if (round != null) {
+                round.add(row.bout());
+            }
+        }
+        List<DashboardRound> bracket = new ArrayList<>(byStage.size());
+        byStage.forEach((id, roundBouts) -> bracket.add(new DashboardRound(id, roundBouts)));
+        return bracket;
+    }
+}
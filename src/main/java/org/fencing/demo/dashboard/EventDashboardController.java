@@ -0,0 +1,25 @@
+package org.fencing.demo.dashboard;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+public class EventDashboardController {
+
+    private final EventDashboardService eventDashboardService;
+
+    public EventDashboardController(EventDashboardService eventDashboardService) {
+        this.eventDashboardService = eventDashboardService;
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/dashboard")
+    public EventDashboard getDashboard(@PathVariable Long eventId, WebRequest request) {
+        EventDashboard dashboard = eventDashboardService.getDashboard(eventId);
+        if (request.checkNotModified("eventDashboard-" + eventId + "-v" + dashboard.getVersion())) {
+            return null;
+        }
+        return dashboard;
+    }
+}
@@ -0,0 +1,6 @@
+package org.fencing.demo.dashboard;
+
+public interface EventDashboardService {
+
+    EventDashboard getDashboard(Long eventId);
+}
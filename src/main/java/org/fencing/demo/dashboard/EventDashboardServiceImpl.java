@@ -0,0 +1,126 @@
+package org.fencing.demo.dashboard;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.events.EventNotFoundException;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Tags;
+
+// One fingerprint query per request. Only when it moved are the five set-based queries run
+// that the dashboard is built from, instead of a request per pool and knockout round.
+@Service
+public class EventDashboardServiceImpl implements EventDashboardService {
+
+    // Every row an event is made of carries a @Version, so these sums move on any update,
+    // and the counts and max ids on inserts and deletes. The event's row comes first, the
+    // version string is put together in Java since || is a logical OR in MySQL
+    private static final String SELECT_VERSION = "SELECT 0, version, 0, 0 FROM events WHERE id = ? "
+            + "UNION ALL SELECT 1, COUNT(*), COALESCE(SUM(version), 0), COALESCE(MAX(id), 0) FROM matches WHERE event_id = ? "
+            + "UNION ALL SELECT 2, COUNT(*), COALESCE(SUM(version), 0), COALESCE(MAX(id), 0) FROM player_rank WHERE event_id = ? "
+            + "UNION ALL SELECT 3, COUNT(*), COALESCE(SUM(version), 0), COALESCE(MAX(id), 0) FROM group_stage WHERE event_id = ? "
+            + "UNION ALL SELECT 4, COUNT(*), COALESCE(SUM(version), 0), COALESCE(MAX(id), 0) FROM knockout_stage WHERE event_id = ? "
+            + "ORDER BY 1";
+    private static final String SELECT_EVENT =
+            "SELECT tournament_id, start_date, end_date, gender, weapon FROM events WHERE id = ?";
+    private static final String SELECT_STANDINGS = "SELECT r.player_id, u.username, r.win_count, r.loss_count, r.score "
+            + "FROM player_rank r JOIN app_user u ON u.id = r.player_id WHERE r.event_id = ? "
+            + "ORDER BY r.win_count DESC, r.loss_count, r.score DESC, r.player_id";
+    private static final String SELECT_GROUP_STAGES =
+            "SELECT id, all_matches_completed FROM group_stage WHERE event_id = ? ORDER BY id";
+    private static final String SELECT_KNOCKOUT_STAGES =
+            "SELECT id FROM knockout_stage WHERE event_id = ? ORDER BY id";
+    private static final String SELECT_BOUTS = "SELECT id, group_stage_id, knockout_stage_id, player1_id, player2_id, "
+            + "player1score, player2score, piste, time_slot, scheduled_start FROM matches WHERE event_id = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, EventDashboard> cache;
+
+    public EventDashboardServiceImpl(JdbcTemplate jdbcTemplate,
+            @Value("${dashboard.cache.max-events:200}") int maxCachedEvents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EventDashboard> eldest) {
+                return size() > maxCachedEvents;
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventDashboard getDashboard(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        List<long[]> parts = jdbcTemplate.query(SELECT_VERSION,
+                (rs, row) -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4) },
+                eventId, eventId, eventId, eventId, eventId);
+        if (parts.isEmpty() || parts.get(0)[0] != 0) {
+            throw new EventNotFoundException(eventId);
+        }
+        StringBuilder versionBuilder = new StringBuilder().append(parts.get(0)[1]);
+        for (long[] part : parts.subList(1, parts.size())) {
+            versionBuilder.append('-').append(part[1]).append('.').append(part[2]).append('.').append(part[3]);
+        }
+        String version = versionBuilder.toString();
+
+        EventDashboard cached = cache.get(eventId);
+        if (cached != null && cached.getVersion().equals(version)) {
+            FencingMetrics.count("fencing.dashboard.requests", Tags.of("cache", "hit"), 1);
+            return cached;
+        }
+        FencingMetrics.count("fencing.dashboard.requests", Tags.of("cache", "miss"), 1);
+        EventDashboard dashboard = build(eventId, version);
+        cache.put(eventId, dashboard);
+        return dashboard;
+    }
+
+    private EventDashboard build(Long eventId, String version) {
+        EventDashboard dashboard = jdbcTemplate.queryForObject(SELECT_EVENT, (rs, row) -> EventDashboard.builder()
+                .eventId(eventId)
+                .tournamentId(rs.getLong(1))
+                .version(version)
+                .startDate(rs.getTimestamp(2).toLocalDateTime())
+                .endDate(rs.getTimestamp(3).toLocalDateTime())
+                .gender(rs.getString(4))
+                .weapon(rs.getString(5))
+                .build(), eventId);
+
+        dashboard.setStandings(jdbcTemplate.query(SELECT_STANDINGS, (rs, row) -> new DashboardStanding(
+                rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getInt(4), rs.getInt(5)), eventId));
+
+        Map<Long, Boolean> groupStages = new LinkedHashMap<>();
+        jdbcTemplate.query(SELECT_GROUP_STAGES, rs -> {
+            groupStages.put(rs.getLong(1), rs.getBoolean(2));
+        }, eventId);
+        List<Long> knockoutStageIds = jdbcTemplate.queryForList(SELECT_KNOCKOUT_STAGES, Long.class, eventId);
+
+        List<EventDashboardAssembler.BoutRow> bouts = jdbcTemplate.query(SELECT_BOUTS, (rs, row) -> {
+            long groupStageId = rs.getLong(2);
+            Long groupStage = rs.wasNull() ? null : groupStageId;
+            long knockoutStageId = rs.getLong(3);
+            Long knockoutStage = rs.wasNull() ? null : knockoutStageId;
+            int piste = rs.getInt(8);
+            Integer pisteOrNull = rs.wasNull() ? null : piste;
+            int timeSlot = rs.getInt(9);
+            Integer timeSlotOrNull = rs.wasNull() ? null : timeSlot;
+            Timestamp start = rs.getTimestamp(10);
+            DashboardBout bout = new DashboardBout(rs.getLong(1), rs.getLong(4), rs.getLong(5), rs.getInt(6),
+                    rs.getInt(7), pisteOrNull, timeSlotOrNull, start == null ? null : start.toLocalDateTime());
+            return new EventDashboardAssembler.BoutRow(bout, groupStage, knockoutStage);
+        }, eventId);
+
+        dashboard.setPools(EventDashboardAssembler.pools(bouts, groupStages));
+        dashboard.setBracket(EventDashboardAssembler.bracket(bouts, knockoutStageIds));
+        return dashboard;
+    }
+}
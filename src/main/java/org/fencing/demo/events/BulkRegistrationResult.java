@@ -0,0 +1,21 @@
+package org.fencing.demo.events;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkRegistrationResult {
+
+    private List<Long> registered;
+
+    // player id -> why it was skipped, the rest of the batch is still registered
+    private Map<Long, RegistrationFailure> failed;
+}
@@ -2,16 +2,23 @@ package org.fencing.demo.events;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 // import java.util.HashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.TreeMap;
 
+import org.fencing.demo.bracket.BracketPosition;
+import org.fencing.demo.bracket.Team;
+import org.fencing.demo.bracket.TeamBout;
 import org.fencing.demo.match.Match;
+import org.fencing.demo.matchMaking.AfterGroupStage;
 import org.fencing.demo.matchMaking.BeforeGroupStage;
+import org.fencing.demo.matchMaking.TableauSeeding;
 import org.fencing.demo.matchMaking.WithinGroupSort;
+import org.fencing.demo.metrics.FencingMetrics;
 import org.fencing.demo.player.Player;
 import org.fencing.demo.stages.GroupStage;
 import org.fencing.demo.stages.KnockoutStage;
@@ -34,6 +41,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -53,6 +61,9 @@ public class Event {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
+    @Version
+    private long version;
+
     @NotNull(message = "Event start date cannot be null")
     @Future(message = "Event start date must be in the future")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
@@ -71,6 +82,13 @@ public class Event {
     @Enumerated(EnumType.STRING)
     private WeaponType weapon;
 
+    // Which bracket format the elimination phase uses, see org.fencing.demo.bracket
+    @Enumerated(EnumType.STRING)
+    private EventFormat format;
+
+    // Size of the main table once the bracket engine has drawn it
+    private Integer bracketSize;
+
     // for sorting after
     @Builder.Default
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -99,52 +117,83 @@ public class Event {
     @JsonIgnore
     private List<Match> matches = new ArrayList<>();
 
+    // Rows the bracket engine writes, mapped so deleting the event removes them too
+    @Builder.Default
+    @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    private List<BracketPosition> bracketPositions = new ArrayList<>();
+
+    @Builder.Default
+    @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    private List<TeamBout> teamBouts = new ArrayList<>();
+
+    @Builder.Default
+    @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    @JsonIgnore
+    private List<Team> teams = new ArrayList<>();
+
     //includes creating matches
     public List<Match> createRoundsForGroupStages(GroupStage currGrpStage) {
         //debugging line
         //System.out.println("number of players after in Event class" + rankings.size());
         //List<Match> allMatchesForGroup = new ArrayList<>();
         //sort by elo ranks return grp num to playerRanks
-        TreeMap<Integer, List<PlayerRank>> groups = BeforeGroupStage.sortByELO(rankings);
+        TreeMap<Integer, List<PlayerRank>> groups = FencingMetrics.timeForEvent("fencing.matchmaking.sort_by_elo",
+                rankings.size(), () -> BeforeGroupStage.sortByELO(rankings));
         
         //within groups to sort
-        TreeMap<Integer, List<Match>> groupMatches = WithinGroupSort.groupMatchMakingAlgorithm(groups, this);
-
-        return groupMatches.get((int)currGrpStage.getId());
+        TreeMap<Integer, List<Match>> groupMatches = FencingMetrics.timeForEvent("fencing.matchmaking.within_group",
+                rankings.size(), () -> WithinGroupSort.groupMatchMakingAlgorithm(groups, this));
+
+        // Pools are numbered from 1 in the order of the event's group stages, not by their ids
+        List<Match> poolMatches = groupMatches.get(groupStages.indexOf(currGrpStage) + 1);
+        if (poolMatches != null) {
+            // so pool results can be read per GroupStage
+            poolMatches.forEach(match -> match.setGroupStage(currGrpStage));
+        }
+        return poolMatches;
     }
 
     public List<Match> getMatchesForKnockoutStage(KnockoutStage knockoutStage) {
-
-        List<Player> players = new ArrayList<>();
         int roundNum = knockoutStages.indexOf(knockoutStage);
 
-        if (roundNum == 0) {
-            // For the first round, convert PlayerRank set to a list of Players
-            players = convertToPlayerList(rankings);
-
-        } else {
-            KnockoutStage previousRound = knockoutStages.get(roundNum - 1);
-            List<Match> previousMatches = previousRound.getMatches();
-            for (Match match : previousMatches) {
-                players.add(match.getWinner()); // Get the winner of each match
-
+        // Round one is the tableau seeded from the pools, every later round is replayed from it
+        List<Match> poolMatches = new ArrayList<>();
+        for (Match match : matches) {
+            if (match.getKnockoutStage() == null) {
+                poolMatches.add(match);
+            }
+        }
+        List<Player> slots = TableauSeeding.tableau(AfterGroupStage.seedFromPools(rankings, poolMatches));
+        for (int round = 0; round < roundNum; round++) {
+            Map<Long, Match> boutOf = new HashMap<>();
+            for (Match match : knockoutStages.get(round).getMatches()) {
+                boutOf.put(match.getPlayer1().getId(), match);
+                boutOf.put(match.getPlayer2().getId(), match);
             }
+            int finishedRound = round + 1;
+            slots = TableauSeeding.advance(slots, (top, bottom) -> {
+                Match bout = boutOf.get(top.getId());
+                if (bout == null || !bout.hasResult()) {
+                    throw new IllegalStateException("Knockout round " + finishedRound + " is not finished");
+                }
+                return bout.getWinner();
+            });
         }
 
-        List<Match> nextRound = createMatches(players, knockoutStage);
-        return nextRound; // Create matches for the next round
+        return createMatches(slots, knockoutStage);
     }
 
-    // Method to create matches for both first and subsequent rounds
-    private List<Match> createMatches(List<Player> players, KnockoutStage knockoutStage) {
+    // Neighbouring slots fence each other, a fencer next to an empty slot has a bye
+    private List<Match> createMatches(List<Player> slots, KnockoutStage knockoutStage) {
         List<Match> matches = new ArrayList<>();
-        int n = players.size();
-
-        for (int i = 0; i < n / 2; i++) {
-            Player player1 = players.get(i);
-            Player player2 = players.get(n - 1 - i);
-            // System.out.println(player1);
-            // System.out.println(player2);
+        for (int i = 0; i + 1 < slots.size(); i += 2) {
+            Player player1 = slots.get(i);
+            Player player2 = slots.get(i + 1);
+            if (player1 == null || player2 == null) {
+                continue;
+            }
 
             // Create a match between the two players
             Match match = new Match();
@@ -157,17 +206,6 @@ public class Event {
         return matches;
     }
 
-    public List<Player> convertToPlayerList(Set<PlayerRank> rankings) {
-        List<PlayerRank> playerRankList = new ArrayList<>(rankings);
-        playerRankList.sort(Comparator.comparing(PlayerRank::getScore));
-
-        List<Player> players = new ArrayList<>();
-        for (PlayerRank playerRank : playerRankList) {
-            players.add(playerRank.getPlayer()); // Extract the Player object from PlayerRank
-        }
-        return players;
-    }
-
     @Override
     public String toString() {
         return "Event{" +
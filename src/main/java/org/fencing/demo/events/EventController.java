@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
@@ -36,8 +37,11 @@ public class EventController {
     }
 
     @GetMapping("/tournaments/{tournamentId}/events/{eventId}")
-    @ResponseStatus(HttpStatus.OK)
-    public Event getEvent(@PathVariable Long eventId) {
+    public Event getEvent(@PathVariable Long eventId, WebRequest request) {
+        String eTag = "event-" + eventId + "-v" + eventService.getEventVersion(eventId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return eventService.getEvent(eventId);
     }
 
@@ -52,6 +56,11 @@ public class EventController {
         return eventService.addPlayerToEvent(eventId, playerId);
     }
 
+    @PostMapping("/tournaments/{tournamentId}/events/{eventId}/addPlayers")
+    public BulkRegistrationResult addPlayersToEvent(@PathVariable Long eventId, @RequestBody List<Long> playerIds) {
+        return eventService.addPlayersToEvent(eventId, playerIds);
+    }
+
     @DeleteMapping("/tournaments/{tournamentId}/events/{eventId}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteEvent(@PathVariable Long tournamentId, @PathVariable Long eventId) {
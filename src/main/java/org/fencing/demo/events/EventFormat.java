@@ -0,0 +1,8 @@
+package org.fencing.demo.events;
+
+// How the elimination phase of an event is run, null on older events means INDIVIDUAL
+public enum EventFormat {
+    INDIVIDUAL, // straight knockout, one round at a time through the knockoutStage endpoints
+    REPECHAGE,  // quarter-final losers fence on for the two bronze medals
+    TEAM_RELAY  // teams of three, relay to 45 touches
+}
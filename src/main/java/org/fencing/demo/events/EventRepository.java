@@ -1,12 +1,16 @@
 package org.fencing.demo.events;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.repository.query.Param;
 import org.fencing.demo.stages.*;
 
+import jakarta.persistence.LockModeType;
+
 public interface EventRepository extends JpaRepository<Event, Long> {
 
     List<Event> findByTournamentId(Long tournamentId);
@@ -17,4 +21,13 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     @Query("SELECT e FROM Event e JOIN e.rankings pr WHERE pr.player.id = :playerId")
     List<Event> findEventsByPlayerId(@Param("playerId") Long playerId);
+
+    // The event's JSON embeds its tournament, so the tag carries both versions
+    @Query("SELECT CONCAT(STR(e.version), '.', STR(t.version)) FROM Event e JOIN e.tournament t WHERE e.id = :id")
+    Optional<String> findVersionById(@Param("id") Long id);
+
+    // SELECT ... FOR UPDATE, for work that has to run one at a time per event but shares no row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> lockById(@Param("id") Long id);
 }
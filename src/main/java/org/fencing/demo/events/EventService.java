@@ -9,9 +9,13 @@ public interface EventService {
 
     Event getEvent(Long id);
 
+    String getEventVersion(Long id);
+
     Event updateEvent(Long tournamentId, Long eventId, Event event);
 
     Event addPlayerToEvent(Long eventId, Long playerId);
 
+    BulkRegistrationResult addPlayersToEvent(Long eventId, List<Long> playerIds);
+
     void deleteEvent(Long tournamentId, Long eventId);
 }
@@ -1,6 +1,11 @@
 package org.fencing.demo.events;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.time.LocalDate;
 
 import org.fencing.demo.player.Player;
@@ -9,7 +14,11 @@ import org.fencing.demo.player.PlayerRepository;
 import org.fencing.demo.tournament.Tournament;
 import org.fencing.demo.tournament.TournamentNotFoundException;
 import org.fencing.demo.tournament.TournamentRepository;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.transaction.Transactional;
 
@@ -18,11 +27,27 @@ public class EventServiceImpl implements EventService{
     private final EventRepository eventRepository;
     private final TournamentRepository tournamentRepository;
     private PlayerRepository playerRepository;
-
-    public EventServiceImpl(EventRepository eventRepository, TournamentRepository tournamentRepository, PlayerRepository playerRepository) {
+    private final PlayerRankRepository playerRankRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // PlayerRank ids are IDENTITY generated, which stops Hibernate from batching inserts,
+    // so bulk registration goes through JDBC directly. A player registered by another request
+    // since the check below is skipped with an update count of 0 instead of failing the batch.
+    private static final String INSERT_PLAYER_RANK =
+            "INSERT INTO player_rank (player_id, event_id, score, win_count, loss_count, version) "
+            + "SELECT p.id, ?, 0, 0, 0, 0 FROM players p WHERE p.id = ? "
+            + "AND NOT EXISTS (SELECT 1 FROM player_rank r WHERE r.player_id = p.id AND r.event_id = ?)";
+    private static final int INSERT_BATCH_SIZE = 100;
+
+    public EventServiceImpl(EventRepository eventRepository, TournamentRepository tournamentRepository, PlayerRepository playerRepository,
+            PlayerRankRepository playerRankRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
         this.tournamentRepository = tournamentRepository;
         this.eventRepository = eventRepository;
         this.playerRepository = playerRepository;
+        this.playerRankRepository = playerRankRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -64,6 +89,15 @@ public class EventServiceImpl implements EventService{
                 .orElseThrow(() -> new EventNotFoundException(eventId));
     }
 
+    @Override
+    public String getEventVersion(Long eventId) {
+        if (eventId == null){
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        return eventRepository.findVersionById(eventId)
+                .orElseThrow(() -> new EventNotFoundException(eventId));
+    }
+
     @Override
     @Transactional
     public Event updateEvent(Long tournamentId, Long eventId, Event newEvent) {
@@ -85,6 +119,7 @@ public class EventServiceImpl implements EventService{
 
             existingEvent.setGender(newEvent.getGender());
             existingEvent.setWeapon(newEvent.getWeapon());
+            existingEvent.setFormat(newEvent.getFormat());
             existingEvent.setStartDate(newEvent.getStartDate());
             existingEvent.setEndDate(newEvent.getEndDate());
             // existingEvent.setRankings(newEvent.getRankings());
@@ -113,6 +148,77 @@ public class EventServiceImpl implements EventService{
         return eventRepository.save(event);   // Save updated event
     }
 
+    // Not @Transactional: the batch runs in a transaction of its own so it can be redone row by row
+    @Override
+    public BulkRegistrationResult addPlayersToEvent(Long eventId, List<Long> playerIds) {
+        if (eventId == null || playerIds == null) {
+            throw new IllegalArgumentException("Event ID and player IDs cannot be null");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+
+        // Repeated ids in the request are collapsed, nulls are ignored
+        Set<Long> requested = new LinkedHashSet<>(playerIds);
+        requested.remove(null);
+
+        List<Long> candidates = new ArrayList<>();
+        List<Long> registered = new ArrayList<>();
+        Map<Long, RegistrationFailure> failed = new LinkedHashMap<>();
+        if (requested.isEmpty()) {
+            return new BulkRegistrationResult(registered, failed);
+        }
+
+        Set<Long> existing = playerRepository.findExistingIds(requested);
+        Set<Long> alreadyRegistered = playerRankRepository.findRegisteredPlayerIds(eventId, requested);
+
+        for (Long playerId : requested) {
+            if (!existing.contains(playerId)) {
+                failed.put(playerId, RegistrationFailure.PLAYER_NOT_FOUND);
+            } else if (alreadyRegistered.contains(playerId)) {
+                failed.put(playerId, RegistrationFailure.ALREADY_REGISTERED);
+            } else {
+                candidates.add(playerId);
+            }
+        }
+
+        try {
+            int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                    INSERT_PLAYER_RANK, candidates, INSERT_BATCH_SIZE, (ps, playerId) -> {
+                        ps.setLong(1, eventId);
+                        ps.setLong(2, playerId);
+                        ps.setLong(3, eventId);
+                    }));
+            int index = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    record(candidates.get(index++), count, registered, failed);
+                }
+            }
+        } catch (DuplicateKeyException e) {
+            // A concurrent request inserted one of these players before committing, the batch rolled back
+            registered.clear();
+            for (Long playerId : candidates) {
+                try {
+                    record(playerId, jdbcTemplate.update(INSERT_PLAYER_RANK, eventId, playerId, eventId), registered, failed);
+                } catch (DuplicateKeyException duplicate) {
+                    failed.put(playerId, RegistrationFailure.ALREADY_REGISTERED);
+                }
+            }
+        }
+
+        return new BulkRegistrationResult(registered, failed);
+    }
+
+    // Drivers that cannot tell report SUCCESS_NO_INFO (-2), which counts as inserted
+    private static void record(Long playerId, int count, List<Long> registered, Map<Long, RegistrationFailure> failed) {
+        if (count == 0) {
+            failed.put(playerId, RegistrationFailure.ALREADY_REGISTERED);
+        } else {
+            registered.add(playerId);
+        }
+    }
+
     @Override
     @Transactional
     public void deleteEvent(Long tournamentId, Long eventId) {
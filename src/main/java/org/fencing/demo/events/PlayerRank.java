@@ -12,6 +12,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -28,6 +29,10 @@ public class PlayerRank {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
+    // Every bout result touches two ranks, concurrent results for the same fencer must not overwrite each other
+    @Version
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "player_id")
     private Player player;
@@ -67,4 +72,15 @@ public class PlayerRank {
         score -= pointsOpponent; // Deduct opponent's points
     }
 
+    // Undoes updateAfterMatch, used when the result of a bout is corrected
+    public void revertMatch(int pointsWon, int pointsOpponent) {
+        if (pointsWon > pointsOpponent) {
+            winCount--;
+            score -= (pointsWon * 5);
+        } else {
+            lossCount--;
+        }
+        score += pointsOpponent;
+    }
+
 }
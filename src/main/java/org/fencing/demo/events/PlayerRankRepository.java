@@ -0,0 +1,14 @@
+package org.fencing.demo.events;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface PlayerRankRepository extends JpaRepository<PlayerRank, Long> {
+
+    @Query("SELECT pr.player.id FROM PlayerRank pr WHERE pr.event.id = :eventId AND pr.player.id IN :playerIds")
+    Set<Long> findRegisteredPlayerIds(@Param("eventId") Long eventId, @Param("playerIds") Collection<Long> playerIds);
+}
@@ -0,0 +1,6 @@
+package org.fencing.demo.events;
+
+public enum RegistrationFailure {
+    PLAYER_NOT_FOUND,
+    ALREADY_REGISTERED
+}
@@ -0,0 +1,6 @@
+package org.fencing.demo.export;
+
+public enum ExportDataset {
+    BOUTS,
+    RANKINGS
+}
@@ -0,0 +1,39 @@
+package org.fencing.demo.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class NdjsonRowWriter implements RowWriter {
+
+    private final JsonGenerator generator;
+
+    NdjsonRowWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.createGenerator(out);
+        // The servlet container owns the response stream
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void writeHeader(String[] columns) {
+        // Every line carries its own field names
+    }
+
+    @Override
+    public void writeRow(String[] columns, Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.length; i++) {
+            generator.writeFieldName(columns[i]);
+            generator.writeObject(values[i]);
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -0,0 +1,57 @@
+package org.fencing.demo.export;
+
+import org.fencing.demo.events.EventService;
+import org.fencing.demo.tournament.TournamentService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+public class ResultExportController {
+
+    private final ResultExportService resultExportService;
+    private final TournamentService tournamentService;
+    private final EventService eventService;
+
+    public ResultExportController(ResultExportService resultExportService, TournamentService tournamentService,
+            EventService eventService) {
+        this.resultExportService = resultExportService;
+        this.tournamentService = tournamentService;
+        this.eventService = eventService;
+    }
+
+    // dataset is bouts or rankings, format is csv or ndjson
+    @GetMapping("/tournaments/{tournamentId}/export/{dataset}")
+    public ResponseEntity<StreamingResponseBody> exportTournament(@PathVariable Long tournamentId,
+            @PathVariable String dataset, @RequestParam(value = "format", defaultValue = "csv") String format) {
+        ExportDataset exportDataset = ExportDataset.valueOf(dataset.toUpperCase());
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        // Fail with 404 before the response is committed
+        tournamentService.getTournamentVersion(tournamentId);
+        return streaming("tournament-" + tournamentId + "-" + dataset, exportFormat,
+                out -> resultExportService.exportTournament(tournamentId, exportDataset, exportFormat, out));
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/export/{dataset}")
+    public ResponseEntity<StreamingResponseBody> exportEvent(@PathVariable Long eventId,
+            @PathVariable String dataset, @RequestParam(value = "format", defaultValue = "csv") String format) {
+        ExportDataset exportDataset = ExportDataset.valueOf(dataset.toUpperCase());
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        eventService.getEventVersion(eventId);
+        return streaming("event-" + eventId + "-" + dataset, exportFormat,
+                out -> resultExportService.exportEvent(eventId, exportDataset, exportFormat, out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> streaming(String baseName, ExportFormat format, StreamingResponseBody body) {
+        String extension = format == ExportFormat.CSV ? ".csv" : ".ndjson";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + baseName.toLowerCase() + extension + "\"")
+                .body(body);
+    }
+}
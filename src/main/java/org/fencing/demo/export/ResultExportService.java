@@ -0,0 +1,11 @@
+package org.fencing.demo.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ResultExportService {
+
+    void exportTournament(Long tournamentId, ExportDataset dataset, ExportFormat format, OutputStream out) throws IOException;
+
+    void exportEvent(Long eventId, ExportDataset dataset, ExportFormat format, OutputStream out) throws IOException;
+}
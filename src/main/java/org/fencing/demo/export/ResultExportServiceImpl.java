@@ -0,0 +1,128 @@
+package org.fencing.demo.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Rows go straight from the JDBC cursor to the response, nothing is collected in memory. That needs
+// a driver that fetches in batches: H2 and PostgreSQL do with a fetch size, MySQL only streams with
+// Integer.MIN_VALUE and otherwise reads the whole result up front.
+@Service
+public class ResultExportServiceImpl implements ResultExportService {
+
+    private static final String BOUT_COLUMNS = "SELECT m.event_id, m.id AS match_id, m.group_stage_id, m.knockout_stage_id, "
+            + "m.player1_id, u1.username AS player1_username, m.player1score AS player1_score, "
+            + "m.player2_id, u2.username AS player2_username, m.player2score AS player2_score "
+            + "FROM matches m "
+            + "JOIN app_user u1 ON u1.id = m.player1_id "
+            + "JOIN app_user u2 ON u2.id = m.player2_id ";
+
+    // Written before the query runs, so an event without rows still gets a CSV header
+    private static final String[] BOUT_HEADER = { "event_id", "match_id", "group_stage_id", "knockout_stage_id",
+            "player1_id", "player1_username", "player1_score", "player2_id", "player2_username", "player2_score" };
+
+    // Same order as PlayerRankComparator
+    private static final String RANKING_COLUMNS = "SELECT pr.event_id, pr.player_id, u.username, "
+            + "pr.win_count, pr.loss_count, pr.score "
+            + "FROM player_rank pr "
+            + "JOIN app_user u ON u.id = pr.player_id ";
+
+    private static final String[] RANKING_HEADER = { "event_id", "player_id", "username", "win_count", "loss_count",
+            "score" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ResultExportServiceImpl(DataSource dataSource, ObjectMapper objectMapper,
+            @Value("${export.fetch-size:500}") int fetchSize) {
+        // Own template so the fetch size does not leak into other queries
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(streamsRowByRow(dataSource) ? Integer.MIN_VALUE : fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    // MySQL and MariaDB drivers only stream a forward-only, read-only result with this fetch size
+    private static boolean streamsRowByRow(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return product.equals("MySQL") || product.equals("MariaDB");
+        } catch (MetaDataAccessException e) {
+            return false;
+        }
+    }
+
+    // Read-only so that with a replica configured the cursor runs there, not on the primary
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTournament(Long tournamentId, ExportDataset dataset, ExportFormat format, OutputStream out) throws IOException {
+        String sql = switch (dataset) {
+            case BOUTS -> BOUT_COLUMNS + "JOIN events e ON e.id = m.event_id WHERE e.tournament_id = ? ORDER BY m.event_id, m.id";
+            case RANKINGS -> RANKING_COLUMNS + "JOIN events e ON e.id = pr.event_id WHERE e.tournament_id = ? "
+                    + "ORDER BY pr.event_id, pr.win_count DESC, pr.loss_count, pr.score DESC, pr.player_id";
+        };
+        stream(sql, header(dataset), tournamentId, format, out);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportEvent(Long eventId, ExportDataset dataset, ExportFormat format, OutputStream out) throws IOException {
+        String sql = switch (dataset) {
+            case BOUTS -> BOUT_COLUMNS + "WHERE m.event_id = ? ORDER BY m.id";
+            case RANKINGS -> RANKING_COLUMNS + "WHERE pr.event_id = ? "
+                    + "ORDER BY pr.win_count DESC, pr.loss_count, pr.score DESC, pr.player_id";
+        };
+        stream(sql, header(dataset), eventId, format, out);
+    }
+
+    private static String[] header(ExportDataset dataset) {
+        return dataset == ExportDataset.BOUTS ? BOUT_HEADER : RANKING_HEADER;
+    }
+
+    private void stream(String sql, String[] columns, Long id, ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter writer = format == ExportFormat.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out, objectMapper)) {
+            writer.writeHeader(columns);
+            jdbcTemplate.query(sql, new ExportRowHandler(writer, columns), id);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static class ExportRowHandler implements RowCallbackHandler {
+        private final RowWriter writer;
+        private final String[] columns;
+
+        ExportRowHandler(RowWriter writer, String[] columns) {
+            this.writer = writer;
+            this.columns = columns;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                Object[] values = new Object[columns.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                writer.writeRow(columns, values);
+            } catch (IOException e) {
+                // Client disconnected, stop reading the cursor
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
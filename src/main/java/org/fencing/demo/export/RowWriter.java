@@ -0,0 +1,11 @@
+package org.fencing.demo.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+interface RowWriter extends Closeable {
+
+    void writeHeader(String[] columns) throws IOException;
+
+    void writeRow(String[] columns, Object[] values) throws IOException;
+}
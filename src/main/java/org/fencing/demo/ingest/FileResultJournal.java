@@ -0,0 +1,248 @@
+package org.fencing.demo.ingest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Journal on a plain FileChannel. Appends are positional writes under a lock, durability comes from
+ * sync(), which forces the channel once for every append that happened before it (group commit).
+ */
+public class FileResultJournal implements ResultJournal {
+
+    static final String JOURNAL_FILE = "results.journal";
+    static final String CHECKPOINT_FILE = "results.applied";
+    static final int DEFAULT_COMPACT_RECORDS = 100_000;
+
+    private final Path directory;
+    private final FileChannel checkpoint;
+    private final int compactRecords;
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;    // guarded by this, replaced under syncLock and this
+    private long baseSequence;      // sequence of the first record in the file, guarded by this
+    private long lastSequence;      // guarded by this
+    private long syncedSequence;    // guarded by syncLock
+    private volatile long appliedSequence;
+
+    public FileResultJournal(Path directory) {
+        this(directory, DEFAULT_COMPACT_RECORDS);
+    }
+
+    public FileResultJournal(Path directory, int compactRecords) {
+        if (compactRecords <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be at least one record");
+        }
+        this.directory = directory;
+        this.compactRecords = compactRecords;
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            checkpoint = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long checkpointed = readCheckpoint(checkpoint);
+            baseSequence = firstSequence(readRecordAt(channel, 0), checkpointed);
+            lastSequence = recoverTail();
+            syncedSequence = lastSequence;
+            appliedSequence = Math.min(checkpointed, lastSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open result journal in " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized long append(ResultSubmission submission) {
+        long sequence = lastSequence + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecords.RECORD_SIZE);
+        JournalRecords.write(buffer, submission.withSequence(sequence));
+        buffer.flip();
+        try {
+            long position = (sequence - baseSequence) * JournalRecords.RECORD_SIZE;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Result journal append failed", e);
+        }
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    @Override
+    public void sync(long sequence) {
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return; // someone else's fsync already covered it
+            }
+            long upTo;
+            FileChannel current;
+            synchronized (this) {
+                upTo = lastSequence;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Result journal fsync failed", e);
+            }
+            syncedSequence = upTo;
+        }
+    }
+
+    @Override
+    public synchronized List<ResultSubmission> readFrom(long sequence) {
+        List<ResultSubmission> submissions = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecords.RECORD_SIZE);
+        try {
+            for (long next = Math.max(sequence, baseSequence); next <= lastSequence; next++) {
+                buffer.clear();
+                readFully(channel, buffer, (next - baseSequence) * JournalRecords.RECORD_SIZE);
+                buffer.flip();
+                submissions.add(JournalRecords.read(buffer, next));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Result journal read failed", e);
+        }
+        return submissions;
+    }
+
+    @Override
+    public void markApplied(long sequence) {
+        writeCheckpoint(checkpoint, sequence);
+        appliedSequence = sequence;
+        synchronized (this) {
+            if (!shouldCompact(sequence, baseSequence, lastSequence, compactRecords)) {
+                return;
+            }
+        }
+        synchronized (syncLock) {
+            synchronized (this) {
+                try {
+                    List<ResultSubmission> pending = readFrom(sequence + 1);
+                    channel.close();
+                    channel = rewrite(directory, pending);
+                    baseSequence = sequence + 1;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Result journal compaction failed", e);
+                }
+                syncedSequence = lastSequence;
+            }
+        }
+    }
+
+    @Override
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            channel.close();
+            checkpoint.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Finds the last complete record and cuts off a record torn by a crash mid-write
+    private long recoverTail() throws IOException {
+        long records = channel.size() / JournalRecords.RECORD_SIZE;
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecords.RECORD_SIZE);
+        long valid = 0;
+        for (long index = 0; index < records; index++) {
+            buffer.clear();
+            readFully(channel, buffer, index * JournalRecords.RECORD_SIZE);
+            buffer.flip();
+            if (JournalRecords.read(buffer, baseSequence + index) == null) {
+                break;
+            }
+            valid = index + 1;
+        }
+        channel.truncate(valid * JournalRecords.RECORD_SIZE);
+        return baseSequence + valid - 1;
+    }
+
+    // Once compactRecords applied records pile up, as long as copying the rest costs less than what is dropped
+    static boolean shouldCompact(long applied, long base, long last, int compactRecords) {
+        long dropped = applied - base + 1;
+        return dropped >= compactRecords && last - applied < dropped;
+    }
+
+    // Records carry their sequence, so the first one tells where the file starts. A file compacted
+    // down to nothing starts right after the checkpoint
+    static long firstSequence(ByteBuffer firstRecord, long checkpointed) {
+        if (firstRecord.remaining() >= JournalRecords.RECORD_SIZE) {
+            long sequence = firstRecord.getLong(firstRecord.position());
+            if (sequence > 0 && JournalRecords.read(firstRecord.duplicate(), sequence) != null) {
+                return sequence;
+            }
+        }
+        return checkpointed + 1;
+    }
+
+    // The records not applied yet go to a new file that replaces the journal in one rename, a crash
+    // leaves either the old file or the new one
+    static FileChannel rewrite(Path directory, List<ResultSubmission> pending) throws IOException {
+        Path compacted = directory.resolve(JOURNAL_FILE + ".compact");
+        try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(JournalRecords.RECORD_SIZE);
+            for (ResultSubmission submission : pending) {
+                buffer.clear();
+                JournalRecords.write(buffer, submission);
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            }
+            out.force(true);
+        }
+        Files.move(compacted, directory.resolve(JOURNAL_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        return FileChannel.open(directory.resolve(JOURNAL_FILE), StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    static long readCheckpoint(FileChannel checkpoint) throws IOException {
+        if (checkpoint.size() < Long.BYTES) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        readFully(checkpoint, buffer, 0);
+        return buffer.getLong(0);
+    }
+
+    static void writeCheckpoint(FileChannel checkpoint, long sequence) {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES).putLong(0, sequence);
+        try {
+            checkpoint.write(buffer, 0);
+            checkpoint.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Result journal checkpoint failed", e);
+        }
+    }
+
+    private static ByteBuffer readRecordAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(JournalRecords.RECORD_SIZE);
+        readFully(channel, buffer, position);
+        return buffer.flip();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+    }
+}
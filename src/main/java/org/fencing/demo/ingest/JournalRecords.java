@@ -0,0 +1,50 @@
+package org.fencing.demo.ingest;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+// Fixed 72 byte journal records: 64 bytes of fields, a CRC over them that marks a complete write, padding
+final class JournalRecords {
+
+    static final int RECORD_SIZE = 72;
+    private static final int PAYLOAD_SIZE = 64;
+
+    private JournalRecords() {
+    }
+
+    static void write(ByteBuffer buffer, ResultSubmission submission) {
+        int start = buffer.position();
+        buffer.putLong(submission.sequence())
+                .putLong(submission.eventId())
+                .putLong(submission.matchId())
+                .putLong(submission.player1Id())
+                .putLong(submission.player2Id())
+                .putInt(submission.player1Score())
+                .putInt(submission.player2Score())
+                .putLong(submission.submittedAt())
+                .putLong(submission.submittedBy())
+                .putInt(crc(buffer, start));
+        buffer.position(start + RECORD_SIZE);
+    }
+
+    // null when the record is empty or torn
+    static ResultSubmission read(ByteBuffer buffer, long expectedSequence) {
+        int start = buffer.position();
+        ResultSubmission submission = new ResultSubmission(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getLong());
+        int storedCrc = buffer.getInt();
+        buffer.position(start + RECORD_SIZE);
+        if (submission.sequence() != expectedSequence || storedCrc != crc(buffer, start)) {
+            return null;
+        }
+        return submission;
+    }
+
+    private static int crc(ByteBuffer buffer, int start) {
+        CRC32 crc = new CRC32();
+        ByteBuffer payload = buffer.duplicate();
+        payload.position(start).limit(start + PAYLOAD_SIZE);
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,190 @@
+package org.fencing.demo.ingest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Journal on a memory-mapped file (results.journal.type=mmap): an append is a copy into the page cache,
+// sync() msyncs only the records since the last sync. The file grows in chunks and is trimmed on close,
+// so FileResultJournal can open the same directory
+
+public class MappedResultJournal implements ResultJournal {
+
+    static final int DEFAULT_CHUNK_RECORDS = 64 * 1024;
+
+    private final Path directory;
+    private final FileChannel checkpoint;
+    private final int chunkRecords;
+    private final int compactRecords;
+    private final Object syncLock = new Object();
+
+    private FileChannel channel;     // guarded by this, replaced under syncLock and this
+    private MappedByteBuffer mapped; // guarded by this
+    private long baseSequence;       // sequence of the first record in the file, guarded by this
+    private long lastSequence;       // guarded by this
+    private long syncedSequence;     // guarded by syncLock
+    private volatile long appliedSequence;
+
+    public MappedResultJournal(Path directory) {
+        this(directory, DEFAULT_CHUNK_RECORDS, FileResultJournal.DEFAULT_COMPACT_RECORDS);
+    }
+
+    public MappedResultJournal(Path directory, int chunkRecords, int compactRecords) {
+        if (chunkRecords <= 0 || compactRecords <= 0) {
+            throw new IllegalArgumentException("Chunk size and compaction threshold must be at least one record");
+        }
+        this.directory = directory;
+        this.chunkRecords = chunkRecords;
+        this.compactRecords = compactRecords;
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve(FileResultJournal.JOURNAL_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            checkpoint = FileChannel.open(directory.resolve(FileResultJournal.CHECKPOINT_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long existingRecords = channel.size() / JournalRecords.RECORD_SIZE;
+            mapped = map(existingRecords + 1);
+            long checkpointed = FileResultJournal.readCheckpoint(checkpoint);
+            baseSequence = FileResultJournal.firstSequence(mapped.duplicate(), checkpointed);
+            lastSequence = recoverTail();
+            syncedSequence = lastSequence;
+            appliedSequence = Math.min(checkpointed, lastSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open result journal in " + directory, e);
+        }
+    }
+
+    @Override
+    public synchronized long append(ResultSubmission submission) {
+        long sequence = lastSequence + 1;
+        long position = (sequence - baseSequence) * JournalRecords.RECORD_SIZE;
+        if (position + JournalRecords.RECORD_SIZE > mapped.capacity()) {
+            try {
+                mapped = map(sequence - baseSequence + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Result journal could not grow", e);
+            }
+        }
+        mapped.position((int) position);
+        JournalRecords.write(mapped, submission.withSequence(sequence));
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    @Override
+    public void sync(long sequence) {
+        synchronized (syncLock) {
+            if (syncedSequence >= sequence) {
+                return; // someone else's msync already covered it
+            }
+            MappedByteBuffer region;
+            long upTo;
+            long base;
+            synchronized (this) {
+                region = mapped;
+                upTo = lastSequence;
+                base = baseSequence;
+            }
+            // Older mappings share the same pages, so the current one covers everything written so far
+            int from = (int) ((syncedSequence - base + 1) * JournalRecords.RECORD_SIZE);
+            int length = (int) ((upTo - syncedSequence) * JournalRecords.RECORD_SIZE);
+            region.force(from, length);
+            syncedSequence = upTo;
+        }
+    }
+
+    @Override
+    public synchronized List<ResultSubmission> readFrom(long sequence) {
+        List<ResultSubmission> submissions = new ArrayList<>();
+        ByteBuffer view = mapped.duplicate();
+        for (long next = Math.max(sequence, baseSequence); next <= lastSequence; next++) {
+            view.position((int) ((next - baseSequence) * JournalRecords.RECORD_SIZE));
+            submissions.add(JournalRecords.read(view, next));
+        }
+        return submissions;
+    }
+
+    @Override
+    public void markApplied(long sequence) {
+        FileResultJournal.writeCheckpoint(checkpoint, sequence);
+        appliedSequence = sequence;
+        synchronized (this) {
+            if (!FileResultJournal.shouldCompact(sequence, baseSequence, lastSequence, compactRecords)) {
+                return;
+            }
+        }
+        synchronized (syncLock) {
+            synchronized (this) {
+                try {
+                    List<ResultSubmission> pending = readFrom(sequence + 1);
+                    channel.close();
+                    channel = FileResultJournal.rewrite(directory, pending);
+                    baseSequence = sequence + 1;
+                    mapped = map(lastSequence - baseSequence + 2);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Result journal compaction failed", e);
+                }
+                syncedSequence = lastSequence;
+            }
+        }
+    }
+
+    @Override
+    public long appliedSequence() {
+        return appliedSequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            mapped.force();
+            // Drop the unused part of the last chunk
+            channel.truncate((lastSequence - baseSequence + 1) * JournalRecords.RECORD_SIZE);
+            channel.close();
+            checkpoint.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Maps whole chunks, enough to hold the given number of records. Compaction keeps the file to
+    // what is not applied yet, only a backlog of about 29 million scores fills one mapping
+    private MappedByteBuffer map(long records) throws IOException {
+        long chunks = (records + chunkRecords - 1) / chunkRecords;
+        long size = chunks * chunkRecords * JournalRecords.RECORD_SIZE;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Result journal is full, the database has to catch up before it takes more scores");
+        }
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    // Finds the last complete record. Everything after it is zeroed: pages are written back in any
+    // order, so a crash can leave unacknowledged records behind a torn one that would otherwise
+    // pass as valid once the sequence numbers line up again
+    private long recoverTail() {
+        ByteBuffer view = mapped.duplicate();
+        long capacityRecords = view.capacity() / JournalRecords.RECORD_SIZE;
+        long valid = 0;
+        for (long index = 0; index < capacityRecords; index++) {
+            view.position((int) (index * JournalRecords.RECORD_SIZE));
+            if (JournalRecords.read(view, baseSequence + index) == null) {
+                break;
+            }
+            valid = index + 1;
+        }
+        byte[] zeros = new byte[JournalRecords.RECORD_SIZE * 64];
+        view.position((int) (valid * JournalRecords.RECORD_SIZE));
+        while (view.hasRemaining()) {
+            view.put(zeros, 0, Math.min(zeros.length, view.remaining()));
+        }
+        mapped.force();
+        return baseSequence + valid - 1;
+    }
+}
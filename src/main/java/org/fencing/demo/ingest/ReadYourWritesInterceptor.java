@@ -0,0 +1,51 @@
+package org.fencing.demo.ingest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// A GET carrying the sequence from a result receipt is held until that result is in the database,
+// so the client that submitted it never reads an older score
+@Component
+@ConditionalOnProperty(name = "results.ingest.mode", havingValue = "write-behind")
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    public static final String RESULT_SEQUENCE_HEADER = "X-Result-Sequence";
+
+    private final WriteBehindResultService writeBehindResultService;
+    private final long timeoutMillis;
+
+    public ReadYourWritesInterceptor(WriteBehindResultService writeBehindResultService,
+            @Value("${results.read-your-writes.timeout-ms:2000}") long timeoutMillis) {
+        this.writeBehindResultService = writeBehindResultService;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        String header = request.getHeader(RESULT_SEQUENCE_HEADER);
+        if (header == null || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+        if (writeBehindResultService.awaitApplied(sequence, timeoutMillis)) {
+            return true;
+        }
+        // Better no answer than a stale one
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Result " + sequence + " not applied yet");
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package org.fencing.demo.ingest;
+
+import java.io.Closeable;
+import java.util.List;
+
+/**
+ * Append-only local log of submitted scores. Entries up to appliedSequence() are in the database,
+ * anything after that is replayed on start-up.
+ */
+public interface ResultJournal extends Closeable {
+
+    // Assigns the next sequence and writes the entry, durable only once sync(sequence) returned
+    long append(ResultSubmission submission);
+
+    // Blocks until everything up to sequence is on disk, concurrent callers share one fsync
+    void sync(long sequence);
+
+    List<ResultSubmission> readFrom(long sequence);
+
+    void markApplied(long sequence);
+
+    long appliedSequence();
+
+    @Override
+    void close();
+}
@@ -0,0 +1,6 @@
+package org.fencing.demo.ingest;
+
+// Returned once the score is durable in the journal. Sending the sequence back as the
+// X-Result-Sequence header on a GET makes that read wait until the score is in the database.
+public record ResultReceipt(long sequence, long matchId) {
+}
@@ -0,0 +1,5 @@
+package org.fencing.demo.ingest;
+
+// rejectedReason is set when the applier could not apply the result (unknown match, unregistered fencer)
+public record ResultStatus(long sequence, boolean applied, String rejectedReason) {
+}
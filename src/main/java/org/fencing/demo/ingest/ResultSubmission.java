@@ -0,0 +1,30 @@
+package org.fencing.demo.ingest;
+
+import org.fencing.demo.match.Match;
+import org.fencing.demo.player.Player;
+
+// A score as it was submitted, sequence is its position in the journal (from 1), submittedBy is a user id or 0
+public record ResultSubmission(long sequence, long eventId, long matchId, long player1Id, long player2Id,
+        int player1Score, int player2Score, long submittedAt, long submittedBy) {
+
+    public ResultSubmission withSequence(long sequence) {
+        return new ResultSubmission(sequence, eventId, matchId, player1Id, player2Id, player1Score, player2Score,
+                submittedAt, submittedBy);
+    }
+
+    // Only what MatchService needs to apply it, players are matched by id
+    public Match toMatch() {
+        Player player1 = new Player();
+        player1.setId(player1Id);
+        Player player2 = new Player();
+        player2.setId(player2Id);
+        return Match.builder()
+                .id(matchId)
+                .player1(player1)
+                .player2(player2)
+                .player1Score(player1Score)
+                .player2Score(player2Score)
+                .submittedBy(submittedBy == 0 ? null : submittedBy)
+                .build();
+    }
+}
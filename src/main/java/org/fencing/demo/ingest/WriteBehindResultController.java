@@ -0,0 +1,38 @@
+package org.fencing.demo.ingest;
+
+import org.fencing.demo.match.Match;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnProperty(name = "results.ingest.mode", havingValue = "write-behind")
+public class WriteBehindResultController {
+
+    private final WriteBehindResultService writeBehindResultService;
+
+    public WriteBehindResultController(WriteBehindResultService writeBehindResultService) {
+        this.writeBehindResultService = writeBehindResultService;
+    }
+
+    // Same body as PUT .../match/{matchId}, answered as soon as the score is in the journal
+    @PutMapping("/tournaments/{tournamentId}/events/{eventId}/match/{matchId}/result")
+    public ResponseEntity<ResultReceipt> submitResult(@PathVariable Long eventId, @PathVariable Long matchId,
+            @RequestBody Match match) {
+        ResultReceipt receipt = writeBehindResultService.submit(eventId, matchId, match);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(ReadYourWritesInterceptor.RESULT_SEQUENCE_HEADER, Long.toString(receipt.sequence()))
+                .body(receipt);
+    }
+
+    @GetMapping("/results/{sequence}")
+    public ResultStatus getResultStatus(@PathVariable long sequence) {
+        return new ResultStatus(sequence, writeBehindResultService.appliedSequence() >= sequence,
+                writeBehindResultService.rejectionReason(sequence));
+    }
+}
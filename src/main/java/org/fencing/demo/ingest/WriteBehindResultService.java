@@ -0,0 +1,251 @@
+package org.fencing.demo.ingest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchBatchResult;
+import org.fencing.demo.match.MatchService;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.replica.PrimaryStickiness;
+import org.fencing.demo.security.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Write-behind result entry (results.ingest.mode=write-behind): a score is acknowledged once it is in
+// the local journal, one applier thread applies the latest score per match in batches. The checkpoint
+// is only written after a batch committed, replaying a stored result is a no-op in updateMatches.
+@Service
+@ConditionalOnProperty(name = "results.ingest.mode", havingValue = "write-behind")
+public class WriteBehindResultService {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindResultService.class);
+
+    private static final int MAX_REJECTED_KEPT = 1000;
+
+    private final MatchService matchService;
+    private final ResultJournal journal;
+    private final BlockingQueue<ResultSubmission> queue = new LinkedBlockingQueue<>();
+    private final int batchSize;
+    private final long lingerMillis;
+    private final Object appliedMonitor = new Object();
+    private final Thread applier;
+    private volatile boolean running = true;
+
+    // sequence -> reason, for results the applier had to drop (unknown match, unregistered fencer)
+    private final Map<Long, String> rejected = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+            return size() > MAX_REJECTED_KEPT;
+        }
+    });
+
+    public WriteBehindResultService(MatchService matchService,
+            @Value("${results.journal.type:file}") String journalType,
+            @Value("${results.journal.dir:data/journal}") String journalDirectory,
+            @Value("${results.journal.compact-records:100000}") int compactRecords,
+            @Value("${results.writebehind.batch-size:500}") int batchSize,
+            @Value("${results.writebehind.linger-ms:20}") long lingerMillis) {
+        this.matchService = matchService;
+        this.journal = openJournal(journalType, Path.of(journalDirectory), compactRecords);
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.applier = new Thread(PrimaryStickiness.onPrimary(this::applyLoop), "result-applier");
+        this.applier.setDaemon(true);
+    }
+
+    private static ResultJournal openJournal(String type, Path directory, int compactRecords) {
+        return switch (type) {
+            case "file" -> new FileResultJournal(directory, compactRecords);
+            case "mmap" -> new MappedResultJournal(directory, MappedResultJournal.DEFAULT_CHUNK_RECORDS, compactRecords);
+            default -> throw new IllegalArgumentException("Unknown results.journal.type " + type + ", use file or mmap");
+        };
+    }
+
+    @PostConstruct
+    public void start() {
+        // Whatever was acknowledged but not applied before the last shutdown goes first
+        queue.addAll(journal.readFrom(journal.appliedSequence() + 1));
+        applier.start();
+    }
+
+    public ResultReceipt submit(Long eventId, Long matchId, Match result) {
+        if (eventId == null || matchId == null || result == null
+                || result.getPlayer1() == null || result.getPlayer2() == null) {
+            throw new IllegalArgumentException("Event ID, Match ID, result and both players cannot be null");
+        }
+        if (result.getPlayer1Score() < 0 || result.getPlayer2Score() < 0) {
+            throw new IllegalArgumentException("Scores cannot be negative");
+        }
+        Long submittedBy = CurrentUser.id();
+        ResultSubmission submission = new ResultSubmission(0, eventId, matchId, result.getPlayer1().getId(),
+                result.getPlayer2().getId(), result.getPlayer1Score(), result.getPlayer2Score(),
+                System.currentTimeMillis(), submittedBy == null ? 0 : submittedBy);
+        long sequence;
+        // Journal order and queue order must match, so the applied sequence only ever moves forward
+        synchronized (this) {
+            sequence = journal.append(submission);
+            queue.add(submission.withSequence(sequence));
+        }
+        journal.sync(sequence);
+        return new ResultReceipt(sequence, matchId);
+    }
+
+    // true once everything up to sequence is in the database (or was rejected)
+    public boolean awaitApplied(long sequence, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (appliedMonitor) {
+            while (journal.appliedSequence() < sequence) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                appliedMonitor.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    public long appliedSequence() {
+        return journal.appliedSequence();
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    public String rejectionReason(long sequence) {
+        return rejected.get(sequence);
+    }
+
+    private void applyLoop() {
+        List<ResultSubmission> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ResultSubmission first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give a burst a moment to build up so it lands in the same transaction
+                if (lingerMillis > 0 && queue.size() < batchSize) {
+                    Thread.sleep(lingerMillis);
+                }
+                queue.drainTo(batch, batchSize - 1);
+                applyWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // The database being down is not the submitter's problem, keep the batch and try again
+    private void applyWithRetry(List<ResultSubmission> batch) throws InterruptedException {
+        for (long backOff = 100; running; backOff = Math.min(backOff * 2, 5000)) {
+            try {
+                apply(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    throw e;
+                }
+                log.warn("Applying {} journalled results failed, retrying in {} ms", batch.size(), backOff, e);
+                Thread.sleep(backOff);
+            }
+        }
+    }
+
+    // Lost connections, lock timeouts and deadlocks go away on their own, a constraint violation does not
+    static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof TransactionException;
+    }
+
+    private void apply(List<ResultSubmission> batch) {
+        // Latest submission per match wins, grouped by event
+        Map<Long, Map<Long, ResultSubmission>> byEvent = new LinkedHashMap<>();
+        for (ResultSubmission submission : batch) {
+            byEvent.computeIfAbsent(submission.eventId(), id -> new LinkedHashMap<>())
+                    .put(submission.matchId(), submission);
+        }
+
+        for (Map.Entry<Long, Map<Long, ResultSubmission>> event : byEvent.entrySet()) {
+            Map<Long, Match> results = new LinkedHashMap<>();
+            event.getValue().forEach((matchId, submission) -> results.put(matchId, submission.toMatch()));
+            try {
+                applyEvent(event.getKey(), results, event.getValue());
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    throw e;
+                }
+                // One bad result rolls back the whole event, apply them one at a time to find it
+                log.warn("Applying {} results of event {} failed, applying them one by one",
+                        results.size(), event.getKey(), e);
+                event.getValue().forEach((matchId, submission) -> applyAlone(event.getKey(), submission));
+            }
+        }
+
+        long appliedUpTo = batch.get(batch.size() - 1).sequence();
+        journal.markApplied(appliedUpTo);
+        FencingMetrics.count("fencing.results.writebehind.applied", Tags.empty(), batch.size());
+        synchronized (appliedMonitor) {
+            appliedMonitor.notifyAll();
+        }
+    }
+
+    private void applyAlone(Long eventId, ResultSubmission submission) {
+        try {
+            applyEvent(eventId, Map.of(submission.matchId(), submission.toMatch()),
+                    Map.of(submission.matchId(), submission));
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                throw e;
+            }
+            log.warn("Rejecting journalled result {} for match {}", submission.sequence(), submission.matchId(), e);
+            rejected.put(submission.sequence(), e.getMessage());
+        }
+    }
+
+    private void applyEvent(Long eventId, Map<Long, Match> results, Map<Long, ResultSubmission> submissions) {
+        try {
+            MatchBatchResult outcome = matchService.updateMatches(eventId, results);
+            outcome.rejected().forEach((matchId, reason) -> rejected.put(submissions.get(matchId).sequence(), reason));
+        } catch (DataAccessException | TransactionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Event gone or similar, these results can never be applied
+            results.keySet().forEach(matchId -> rejected.put(submissions.get(matchId).sequence(), e.getMessage()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        applier.interrupt();
+        applier.join(5000);
+        journal.close();
+    }
+}
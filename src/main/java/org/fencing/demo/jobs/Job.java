@@ -0,0 +1,70 @@
+package org.fencing.demo.jobs;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A long-running operation handed to the worker pool. The row is inserted when the job is queued,
+ * the worker moves it through its states with plain updates, so a client polls GET /jobs/{id}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "jobs")
+public class Job {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    private JobType type;
+
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+
+    // What the job works on, e.g. "tournament 3"
+    private String subject;
+
+    private int progressDone;
+
+    private int progressTotal;
+
+    private boolean cancelRequested;
+
+    // Failure reason
+    @Column(length = 1000)
+    private String message;
+
+    // Outcome as JSON, embedded as is in the response
+    @Lob
+    @JsonRawValue
+    private String result;
+
+    private Long submittedBy;
+
+    // Node whose workers run the job (jobs.node-id)
+    private String nodeId;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,10 @@
+package org.fencing.demo.jobs;
+
+// Thrown from inside a job to stop it after a cancel request
+public class JobCancelledException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JobCancelledException() {
+        super("Job was cancelled");
+    }
+}
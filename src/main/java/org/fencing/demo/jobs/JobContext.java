@@ -0,0 +1,30 @@
+package org.fencing.demo.jobs;
+
+/**
+ * Handed to a running job so it can report progress and notice a cancel request. Cancelling is
+ * cooperative, the job decides where it can stop.
+ */
+public interface JobContext {
+
+    // For callers running the same work inside a request
+    JobContext NONE = new JobContext() {
+        @Override
+        public void progress(int done, int total) {
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+    };
+
+    void progress(int done, int total);
+
+    boolean isCancelled();
+
+    default void checkCancelled() {
+        if (isCancelled()) {
+            throw new JobCancelledException();
+        }
+    }
+}
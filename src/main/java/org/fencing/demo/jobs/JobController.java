@@ -0,0 +1,38 @@
+package org.fencing.demo.jobs;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class JobController {
+
+    private final JobService jobService;
+
+    public JobController(JobService jobService) {
+        this.jobService = jobService;
+    }
+
+    // 202 for an operation handed to the worker pool, Location points at its status
+    public static ResponseEntity<Job> accepted(Job job) {
+        return ResponseEntity.accepted().location(URI.create("/jobs/" + job.getId())).body(job);
+    }
+
+    // GET: Status, progress and, once finished, the result of a job
+    @GetMapping("/jobs/{jobId}")
+    public Job getJob(@PathVariable Long jobId) {
+        return jobService.getJob(jobId);
+    }
+
+    // POST: Ask a job to stop (Admin Only)
+    @PostMapping("/jobs/{jobId}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Job cancel(@PathVariable Long jobId) {
+        return jobService.cancel(jobId);
+    }
+}
@@ -0,0 +1,13 @@
+package org.fencing.demo.jobs;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class JobNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JobNotFoundException(Long id) {
+        super("Could not find Job " + id);
+    }
+}
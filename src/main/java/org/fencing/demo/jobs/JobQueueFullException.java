@@ -0,0 +1,13 @@
+package org.fencing.demo.jobs;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class JobQueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public JobQueueFullException() {
+        super("Too many jobs are waiting, try again later");
+    }
+}
@@ -0,0 +1,12 @@
+package org.fencing.demo.jobs;
+
+public interface JobService {
+
+    // Stores the job as QUEUED and hands it to the worker pool, returns straight away
+    Job submit(JobType type, String subject, JobTask task);
+
+    Job getJob(Long jobId);
+
+    // Asks the job to stop, a queued job is cancelled before it starts
+    Job cancel(Long jobId);
+}
@@ -0,0 +1,193 @@
+package org.fencing.demo.jobs;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.replica.PrimaryStickiness;
+import org.fencing.demo.security.CurrentUser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class JobServiceImpl implements JobService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobServiceImpl.class);
+
+    // Only a QUEUED job starts, so a cancel that got in first wins
+    private static final String MARK_RUNNING =
+            "UPDATE jobs SET status = 'RUNNING', started_at = ? WHERE id = ? AND status = 'QUEUED'";
+    private static final String UPDATE_PROGRESS = "UPDATE jobs SET progress_done = ?, progress_total = ? WHERE id = ?";
+    private static final String MARK_FINISHED =
+            "UPDATE jobs SET status = ?, message = ?, result = ?, finished_at = ? WHERE id = ?";
+    private static final String REQUEST_CANCEL =
+            "UPDATE jobs SET cancel_requested = TRUE WHERE id = ? AND status IN ('QUEUED', 'RUNNING')";
+    private static final String CANCEL_QUEUED =
+            "UPDATE jobs SET status = 'CANCELLED', finished_at = ? WHERE id = ? AND status = 'QUEUED'";
+    private static final String SELECT_CANCEL_REQUESTED = "SELECT cancel_requested FROM jobs WHERE id = ?";
+    private static final String FAIL_UNFINISHED =
+            "UPDATE jobs SET status = 'FAILED', message = 'Interrupted by a restart', finished_at = ? "
+                    + "WHERE node_id = ? AND status IN ('QUEUED', 'RUNNING')";
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final JobRepository jobRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+    private final ThreadPoolExecutor workers;
+
+    public JobServiceImpl(JobRepository jobRepository, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            @Value("${jobs.workers:2}") int workerCount,
+            @Value("${jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${jobs.node-id:}") String nodeId) {
+        if (workerCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("jobs.workers and jobs.queue-capacity must be at least 1");
+        }
+        this.jobRepository = jobRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? hostName() : nodeId;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(PrimaryStickiness.onPrimary(runnable), "job-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Jobs default to the host name as their owner, so a restarted node finds its own rows again
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException("Cannot resolve the host name, set jobs.node-id", e);
+        }
+    }
+
+    // A job this node had queued or running when it last stopped will never finish. Other nodes'
+    // jobs are still running there
+    @PostConstruct
+    public void failUnfinishedJobs() {
+        int failed = jdbcTemplate.update(FAIL_UNFINISHED, now(), nodeId);
+        if (failed > 0) {
+            log.warn("{} jobs were interrupted by a restart", failed);
+        }
+    }
+
+    @Override
+    public Job submit(JobType type, String subject, JobTask task) {
+        if (type == null || task == null) {
+            throw new IllegalArgumentException("Job type and task cannot be null");
+        }
+        Job job = jobRepository.save(Job.builder()
+                .type(type)
+                .subject(subject)
+                .status(JobStatus.QUEUED)
+                .submittedBy(CurrentUser.id())
+                .nodeId(nodeId)
+                .createdAt(LocalDateTime.now())
+                .build());
+        Long jobId = job.getId();
+        try {
+            workers.execute(() -> run(jobId, type, task));
+        } catch (RejectedExecutionException e) {
+            finish(jobId, JobStatus.FAILED, "Job queue is full", null);
+            throw new JobQueueFullException();
+        }
+        return job;
+    }
+
+    @Override
+    public Job getJob(Long jobId) {
+        if (jobId == null) {
+            throw new IllegalArgumentException("Job ID cannot be null");
+        }
+        return jobRepository.findById(jobId).orElseThrow(() -> new JobNotFoundException(jobId));
+    }
+
+    @Override
+    public Job cancel(Long jobId) {
+        Job job = getJob(jobId);
+        if (job.getStatus().isFinished()) {
+            return job;
+        }
+        jdbcTemplate.update(REQUEST_CANCEL, jobId);
+        jdbcTemplate.update(CANCEL_QUEUED, now(), jobId);
+        return getJob(jobId);
+    }
+
+    private void run(Long jobId, JobType type, JobTask task) {
+        if (jdbcTemplate.update(MARK_RUNNING, now(), jobId) == 0) {
+            return; // cancelled while queued
+        }
+        JobStatus outcome = JobStatus.FAILED;
+        try {
+            Object result = task.run(new RunningJob(jobId));
+            finish(jobId, JobStatus.SUCCEEDED, null, objectMapper.writeValueAsString(result));
+            outcome = JobStatus.SUCCEEDED;
+        } catch (JobCancelledException e) {
+            finish(jobId, JobStatus.CANCELLED, e.getMessage(), null);
+            outcome = JobStatus.CANCELLED;
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Job {} ({}) failed", jobId, type, e);
+            finish(jobId, JobStatus.FAILED, e.getMessage(), null);
+        } finally {
+            FencingMetrics.count("fencing.jobs.finished", Tags.of("type", type.name(), "outcome", outcome.name()), 1);
+        }
+    }
+
+    private void finish(Long jobId, JobStatus status, String message, String result) {
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        jdbcTemplate.update(MARK_FINISHED, status.name(), message, result, now(), jobId);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdownNow();
+        workers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    // Progress goes straight to the row, the cancel flag is read back from it so a cancel
+    // sent to any node reaches the job
+    private class RunningJob implements JobContext {
+        private final Long jobId;
+
+        RunningJob(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public void progress(int done, int total) {
+            jdbcTemplate.update(UPDATE_PROGRESS, done, total, jobId);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return Boolean.TRUE.equals(jdbcTemplate.queryForObject(SELECT_CANCEL_REQUESTED, Boolean.class, jobId));
+        }
+    }
+}
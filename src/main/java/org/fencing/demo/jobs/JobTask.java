@@ -0,0 +1,7 @@
+package org.fencing.demo.jobs;
+
+// The work of a job, the returned value is stored as the job's result
+@FunctionalInterface
+public interface JobTask {
+    Object run(JobContext job);
+}
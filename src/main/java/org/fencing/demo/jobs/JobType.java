@@ -0,0 +1,7 @@
+package org.fencing.demo.jobs;
+
+public enum JobType {
+    POOL_DRAW,
+    BRACKET_START,
+    ELO_REBUILD
+}
@@ -0,0 +1,20 @@
+package org.fencing.demo.live;
+
+import org.fencing.demo.match.Match;
+
+// Compact delta pushed to spectators, ids only so the payload stays small
+public record LiveMatchResult(long matchId, long version, Long groupStageId, Long knockoutStageId,
+        Long player1Id, Long player2Id, int player1Score, int player2Score) {
+
+    public static LiveMatchResult from(Match match) {
+        return new LiveMatchResult(
+                match.getId(),
+                match.getVersion(),
+                match.getGroupStage() == null ? null : match.getGroupStage().getId(),
+                match.getKnockoutStage() == null ? null : match.getKnockoutStage().getId(),
+                match.getPlayer1().getId(),
+                match.getPlayer2().getId(),
+                match.getPlayer1Score(),
+                match.getPlayer2Score());
+    }
+}
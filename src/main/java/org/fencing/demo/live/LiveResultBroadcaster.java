@@ -0,0 +1,219 @@
+package org.fencing.demo.live;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fencing.demo.match.MatchUpdatedEvent;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed results to the spectators of an event. Emitters hold no request thread (async
+ * servlet). Every spectator gets a bounded queue of its own, drained by a small pool of sender
+ * threads, so a slow socket only holds up its own queue and score entry never waits on one.
+ *
+ * A spectator is dropped once its queue is full (live.sse.queue-size) or when a single write has
+ * been stuck for live.sse.send-timeout-ms, checked on every heartbeat. The stuck write itself only
+ * returns when the container gives up on the socket. Until then it keeps one sender thread, and the
+ * other senders carry on. The heartbeat comment every live.sse.heartbeat-ms also keeps proxies from
+ * closing idle streams, and it finds spectators who left without closing theirs.
+ */
+@Component
+public class LiveResultBroadcaster {
+
+    private final Map<Long, Set<Subscriber>> subscribersByEvent = new ConcurrentHashMap<>();
+
+    private final long timeoutMillis;
+    private final int queueSize;
+    private final long sendTimeoutMillis;
+    private final long heartbeatMillis;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+
+    public LiveResultBroadcaster(@Value("${live.sse.timeout-ms:1800000}") long timeoutMillis,
+            @Value("${live.sse.queue-size:64}") int queueSize,
+            @Value("${live.sse.send-threads:4}") int sendThreads,
+            @Value("${live.sse.send-timeout-ms:10000}") long sendTimeoutMillis,
+            @Value("${live.sse.heartbeat-ms:15000}") long heartbeatMillis) {
+        if (queueSize < 1 || sendThreads < 1 || heartbeatMillis < 1) {
+            throw new IllegalArgumentException("live.sse.queue-size, send-threads and heartbeat-ms must be positive");
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.queueSize = queueSize;
+        this.sendTimeoutMillis = sendTimeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(sendThreads, runnable -> {
+            Thread thread = new Thread(runnable, "live-results-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-results-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(Long eventId) {
+        Subscriber subscriber = new Subscriber(eventId, new SseEmitter(timeoutMillis), queueSize);
+        subscribersByEvent.computeIfAbsent(eventId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    public int subscriberCount(Long eventId) {
+        Set<Subscriber> subscribers = subscribersByEvent.get(eventId);
+        return subscribers == null ? 0 : subscribers.size();
+    }
+
+    @TransactionalEventListener
+    public void onMatchUpdated(MatchUpdatedEvent matchUpdated) {
+        long eventId = matchUpdated.match().getEvent().getId();
+        Set<Subscriber> subscribers = subscribersByEvent.get(eventId);
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+        // Build the delta on the committing thread, the entity must not be touched after that
+        LiveMatchResult result = LiveMatchResult.from(matchUpdated.match());
+        String messageId = result.matchId() + "-" + result.version();
+        for (Subscriber subscriber : subscribers) {
+            // A builder can only be built once, so each emitter gets its own
+            enqueue(subscriber, SseEmitter.event()
+                    .name("match")
+                    .id(messageId)
+                    .data(result, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private void heartbeat() {
+        long stalledBefore = System.currentTimeMillis() - sendTimeoutMillis;
+        for (Set<Subscriber> subscribers : subscribersByEvent.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long sendingSince = subscriber.sendingSince;
+                if (sendingSince != 0 && sendingSince < stalledBefore) {
+                    drop(subscriber, "stalled");
+                } else {
+                    enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder message) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            drop(subscriber, "queue_full");
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    // At most one sender works on a subscriber at a time, so its messages stay in order
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            SseEmitter.SseEventBuilder message;
+            while (!subscriber.closed && (message = subscriber.queue.poll()) != null) {
+                subscriber.sendingSince = System.currentTimeMillis();
+                subscriber.emitter.send(message);
+                subscriber.sendingSince = 0;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away, drop it and carry on with the rest
+            remove(subscriber);
+        }
+        subscriber.sendingSince = 0;
+        subscriber.draining.set(false);
+        if (subscriber.closed) {
+            completeIfIdle(subscriber);
+        } else if (!subscriber.queue.isEmpty()) {
+            // Queued after the last poll, while draining was still set
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber, String reason) {
+        remove(subscriber);
+        FencingMetrics.count("fencing.live.dropped", Tags.of("reason", reason), 1);
+        completeIfIdle(subscriber);
+    }
+
+    // complete() waits for a write in progress, so a busy subscriber is completed by its sender instead
+    private static void completeIfIdle(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscriber.queue.clear();
+        Set<Subscriber> subscribers = subscribersByEvent.get(subscriber.eventId);
+        if (subscribers != null) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribersByEvent.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private static final class Subscriber {
+        private final Long eventId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // When the write in progress started, 0 while idle
+        private volatile long sendingSince;
+        private volatile boolean closed;
+
+        private Subscriber(Long eventId, SseEmitter emitter, int queueSize) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.fencing.demo.live;
+
+import org.fencing.demo.events.EventService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class LiveResultController {
+
+    private final LiveResultBroadcaster broadcaster;
+    private final EventService eventService;
+
+    public LiveResultController(LiveResultBroadcaster broadcaster, EventService eventService) {
+        this.broadcaster = broadcaster;
+        this.eventService = eventService;
+    }
+
+    @GetMapping(path = "/tournaments/{tournamentId}/events/{eventId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLiveResults(@PathVariable Long eventId) {
+        // Version lookup only, throws EventNotFoundException without loading the event
+        eventService.getEventVersion(eventId);
+        return broadcaster.subscribe(eventId);
+    }
+}
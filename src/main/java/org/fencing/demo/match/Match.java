@@ -1,6 +1,9 @@
 package org.fencing.demo.match;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 
@@ -8,14 +11,21 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 
+import java.time.LocalDateTime;
 import java.util.Objects;
 
+import org.fencing.demo.bracket.BracketTable;
+import org.fencing.demo.bracket.TeamBout;
 import org.fencing.demo.events.Event;
 import org.fencing.demo.player.Player;
 import org.fencing.demo.stages.GroupStage;
 import org.fencing.demo.stages.KnockoutStage;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,7 +36,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = @Index(name = "idx_matches_bracket",
+        columnList = "event_id, bracket_table, bracket_round"))
 
 public class Match {
 
@@ -34,6 +45,9 @@ public class Match {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private long id;
 
+    @Version
+    private long version;
+
     @ManyToOne
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
@@ -58,9 +72,36 @@ public class Match {
     private int player1Score;
     private int player2Score;
 
+    // Where the bracket engine placed this bout, null for pool bouts and manually created rounds
+    @Enumerated(EnumType.STRING)
+    private BracketTable bracketTable;
+    private Integer bracketRound;
+    private Integer bracketBout;
+
+    // Team events: the team bout this relay leg belongs to, scores are the running team totals
+    @ManyToOne(optional = true)
+    @JoinColumn(name = "team_bout_id")
+    private TeamBout teamBout;
+    private Integer relayLeg;
+
+    // Set by the piste scheduler, null until the event has been scheduled
+    private Integer piste;
+    private Integer timeSlot;
+    private LocalDateTime scheduledStart;
+
+    // User id of whoever entered the current result, goes to the result log and not to this table
+    @Transient
+    @JsonIgnore
+    private Long submittedBy;
+
     // added - tbc
     // private boolean matchFinished;
 
+    // 0-0 is what a bout looks like before it has been fenced
+    public boolean hasResult() {
+        return player1Score != 0 || player2Score != 0;
+    }
+
     public Player getWinner() {
         return player1Score > player2Score ? player1 : player2;
     }
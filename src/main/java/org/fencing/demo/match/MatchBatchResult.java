@@ -0,0 +1,8 @@
+package org.fencing.demo.match;
+
+import java.util.List;
+import java.util.Map;
+
+// rejected maps match id -> why that result was not applied
+public record MatchBatchResult(List<Match> updated, Map<Long, String> rejected) {
+}
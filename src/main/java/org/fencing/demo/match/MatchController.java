@@ -2,6 +2,7 @@ package org.fencing.demo.match;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 //import java.util.Set;
@@ -35,20 +36,31 @@ public class MatchController {
 
 
     @GetMapping("/tournaments/{tournamentId}/events/{eventId}/knockoutStage/{knockoutStageId}/matches")
-    @ResponseStatus(HttpStatus.OK)
-    public List<Match> getAllMatchesForKnockoutStageByKnockoutStageId(@PathVariable Long knockoutStageId) {
+    public List<Match> getAllMatchesForKnockoutStageByKnockoutStageId(@PathVariable Long knockoutStageId, WebRequest request) {
+        String eTag = "knockoutStage-" + knockoutStageId + "-matches-"
+                + matchService.getMatchListVersionForKnockoutStage(knockoutStageId).tag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return matchService.getAllMatchesForKnockoutStageByKnockoutStageId(knockoutStageId);
     }
 
     @GetMapping("/tournaments/{tournamentId}/events/{eventId}/groupStage/{groupStageId}/matches")
-    @ResponseStatus(HttpStatus.OK)
-    public List<Match> getAllMatchesForGroupStageByGroupStageId(@PathVariable Long groupStageId) {
+    public List<Match> getAllMatchesForGroupStageByGroupStageId(@PathVariable Long groupStageId, WebRequest request) {
+        String eTag = "groupStage-" + groupStageId + "-matches-"
+                + matchService.getMatchListVersionForGroupStage(groupStageId).tag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return matchService.getAllMatchesForGroupStageByGroupStageId(groupStageId);
     }
 
     @GetMapping("/tournaments/{tournamentId}/events/{eventId}/match/{matchId}")
-    @ResponseStatus(HttpStatus.OK)
-    public Match getMatch(@PathVariable Long matchId) {
+    public Match getMatch(@PathVariable Long matchId, WebRequest request) {
+        String eTag = "match-" + matchId + "-" + matchService.getMatchVersion(matchId).tag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return matchService.getMatch(matchId);
     }
 
@@ -0,0 +1,23 @@
+package org.fencing.demo.match;
+
+import java.util.List;
+
+// Cheap fingerprint of one match or a stage's match list, used for the ETags of the match endpoints.
+// Built from MatchRepository's embedded-state rows, so it moves whenever anything the JSON shows does.
+public record MatchListVersion(int count, long checksum) {
+
+    public static MatchListVersion of(List<Object[]> rows) {
+        long checksum = 1;
+        for (Object[] row : rows) {
+            // Hashed as text, enum hash codes differ from one JVM to the next
+            for (Object value : row) {
+                checksum = 31 * checksum + String.valueOf(value).hashCode();
+            }
+        }
+        return new MatchListVersion(rows.size(), checksum);
+    }
+
+    public String tag() {
+        return count + "." + Long.toHexString(checksum);
+    }
+}
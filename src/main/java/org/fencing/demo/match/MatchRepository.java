@@ -1,8 +1,10 @@
 package org.fencing.demo.match;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
+import org.fencing.demo.bracket.BracketTable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,4 +17,32 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
 
     @Query("SELECT m FROM Match m WHERE m.player1.id = :playerId OR m.player2.id = :playerId")
     List<Match> findMatchesByPlayerId(@Param("playerId") Long playerId);
+
+    // Any bout of a bracket round, it tells which KnockoutStage the round was given
+    Optional<Match> findFirstByEventIdAndBracketTableAndBracketRound(Long eventId, BracketTable bracketTable,
+            Integer bracketRound);
+
+    // The bout at a bracket position, all relay legs of it for a team bout
+    List<Match> findByEventIdAndBracketTableAndBracketRoundAndBracketBout(Long eventId, BracketTable bracketTable,
+            Integer bracketRound, Integer bracketBout);
+
+    // A bout of the furthest round the bracket has reached so far
+    Optional<Match> findFirstByEventIdAndBracketTableOrderByBracketRoundDesc(Long eventId, BracketTable bracketTable);
+
+    // Everything a match's JSON shows from other rows: the versions of its event, tournament, stages,
+    // team bout and teams, and the fields of its two fencers, players having no version column
+    String EMBEDDED_STATE = "SELECT m.id, m.version, e.version, t.version, g.version, k.version, tb.version, "
+            + "t1.version, t2.version, w.version, p1.username, p1.email, p1.role, p1.elo, "
+            + "p2.username, p2.email, p2.role, p2.elo FROM Match m JOIN m.event e JOIN e.tournament t "
+            + "LEFT JOIN m.groupStage g LEFT JOIN m.knockoutStage k LEFT JOIN m.teamBout tb LEFT JOIN tb.team1 t1 "
+            + "LEFT JOIN tb.team2 t2 LEFT JOIN tb.winner w JOIN m.player1 p1 JOIN m.player2 p2 ";
+
+    @Query(EMBEDDED_STATE + "WHERE m.id = :id")
+    List<Object[]> findEmbeddedStateById(@Param("id") Long id);
+
+    @Query(EMBEDDED_STATE + "WHERE g.id = :groupStageId ORDER BY m.id")
+    List<Object[]> findEmbeddedStateByGroupStageId(@Param("groupStageId") Long groupStageId);
+
+    @Query(EMBEDDED_STATE + "WHERE k.id = :knockoutStageId ORDER BY m.id")
+    List<Object[]> findEmbeddedStateByKnockoutStageId(@Param("knockoutStageId") Long knockoutStageId);
 }
@@ -1,6 +1,7 @@
 package org.fencing.demo.match;
 
 import java.util.List;
+import java.util.Map;
 
 public interface MatchService {
 
@@ -16,7 +17,16 @@ public interface MatchService {
 
     Match getMatch(Long id);
 
+    MatchListVersion getMatchVersion(Long id);
+
+    MatchListVersion getMatchListVersionForGroupStage(Long groupStageId);
+
+    MatchListVersion getMatchListVersionForKnockoutStage(Long knockoutStageId);
+
     Match updateMatch(Long eventId, Long matchId, Match newMatch);
 
+    // Applies several results of one event in a single transaction, keyed by match id
+    MatchBatchResult updateMatches(Long eventId, Map<Long, Match> results);
+
     void deleteMatch(Long eventId, Long matchId);
 }
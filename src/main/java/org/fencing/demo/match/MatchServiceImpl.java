@@ -1,15 +1,32 @@
 package org.fencing.demo.match;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
+import org.fencing.demo.bracket.BracketService;
+import org.fencing.demo.bracket.BracketTable;
 import org.fencing.demo.events.Event;
 import org.fencing.demo.events.EventNotFoundException;
 import org.fencing.demo.events.EventRepository;
 import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.security.CurrentUser;
 import org.fencing.demo.stages.GroupStage;
 import org.fencing.demo.stages.GroupStageNotFoundException;
 import org.fencing.demo.stages.GroupStageRepository;
@@ -24,13 +41,25 @@ public class MatchServiceImpl implements MatchService {
     private final EventRepository eventRepository;
     private final KnockoutStageRepository knockoutStageRepository;
     private final GroupStageRepository groupStageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BracketService bracketService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Result entry retries when another table changed the same match or rank in the meantime
+    private static final int MAX_UPDATE_ATTEMPTS = 5;
 
     public MatchServiceImpl(MatchRepository matchRepository, EventRepository eventRepository, 
-    KnockoutStageRepository knockoutStageRepository, GroupStageRepository groupStageRepository) {
+    KnockoutStageRepository knockoutStageRepository, GroupStageRepository groupStageRepository,
+    ApplicationEventPublisher eventPublisher, BracketService bracketService, PlatformTransactionManager transactionManager) {
         this.matchRepository = matchRepository;
         this.eventRepository = eventRepository;
         this.knockoutStageRepository = knockoutStageRepository;
         this.groupStageRepository = groupStageRepository;
+        this.eventPublisher = eventPublisher;
+        this.bracketService = bracketService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Inside a caller's transaction a retry would see the same stale rows and roll the caller back too
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     // public Match addMatch(Long eventId, Match match){
@@ -47,6 +76,7 @@ public class MatchServiceImpl implements MatchService {
     @Override
     @Transactional
     public List<Match> addMatchesforGroupStages(Long eventId) {
+        Timer.Sample sample = FencingMetrics.start();
         List<Match> allMatches = new ArrayList<>();
         if(eventId == null){
             throw new IllegalArgumentException("Event ID cannot be null");
@@ -67,13 +97,17 @@ public class MatchServiceImpl implements MatchService {
         //     System.out.println(allMatches.get(i));
         // }
 
-        return matchRepository.saveAll(allMatches);
+        List<Match> savedMatches = matchRepository.saveAll(allMatches);
+        FencingMetrics.count("fencing.matches.created", event.getRankings().size(), savedMatches.size());
+        FencingMetrics.stop(sample, "fencing.matches.group_stage.create", event.getRankings().size());
+        return savedMatches;
         
     }
 
     @Override
     @Transactional
     public List<Match> addMatchesforKnockoutStage(Long eventId) {
+        Timer.Sample sample = FencingMetrics.start();
         if (eventId == null) {
             throw new IllegalArgumentException("Event ID cannot be null");
         }
@@ -88,12 +122,38 @@ public class MatchServiceImpl implements MatchService {
             throw new IllegalStateException("No KnockoutStage found for event " + eventId);
         }
         
+        if (event.getBracketSize() != null) {
+            // Nothing left to generate, hand back the round the bracket has reached
+            return matchRepository.findFirstByEventIdAndBracketTableOrderByBracketRoundDesc(eventId, BracketTable.MAIN)
+                    .map(match -> match.getKnockoutStage().getMatches())
+                    .orElse(List.of());
+        }
+        if (!hasManualKnockoutBouts(event)) {
+            // Draws the table, every later bout is opened by updateMatch once both its feeders are decided
+            List<Match> opened = bracketService.startBracket(eventId);
+            FencingMetrics.stop(sample, "fencing.matches.knockout_stage.create", event.getRankings().size());
+            return opened;
+        }
+
+        // Rounds drawn by hand before the bracket engine are still built one whole round at a time
         KnockoutStage knockoutStage = knockoutStages.get(knockoutStages.size() - 1);
         List<Match> knockoutStageMatches = event.getMatchesForKnockoutStage(knockoutStage);
 
         knockoutStage.getMatches().addAll(knockoutStageMatches);
 
-        return matchRepository.saveAll(knockoutStageMatches);
+        List<Match> savedMatches = matchRepository.saveAll(knockoutStageMatches);
+        FencingMetrics.count("fencing.matches.created", event.getRankings().size(), savedMatches.size());
+        FencingMetrics.stop(sample, "fencing.matches.knockout_stage.create", event.getRankings().size());
+        return savedMatches;
+    }
+
+    private static boolean hasManualKnockoutBouts(Event event) {
+        for (Match match : event.getMatches()) {
+            if (match.getKnockoutStage() != null && match.getBracketTable() == null) {
+                return true;
+            }
+        }
+        return false;
     }
 
     // @Override
@@ -137,11 +197,77 @@ public class MatchServiceImpl implements MatchService {
     }
 
     @Override
-    @Transactional
+    public MatchListVersion getMatchVersion(Long matchId) {
+        if (matchId == null){
+            throw new IllegalArgumentException("Match ID cannot be null");
+        }
+        List<Object[]> state = matchRepository.findEmbeddedStateById(matchId);
+        if (state.isEmpty()) {
+            throw new MatchNotFoundException(matchId);
+        }
+        return MatchListVersion.of(state);
+    }
+
+    @Override
+    public MatchListVersion getMatchListVersionForGroupStage(Long groupStageId) {
+        if (groupStageId == null) {
+            throw new IllegalArgumentException("Group Stage ID cannot be null");
+        }
+        if (!groupStageRepository.existsById(groupStageId)) {
+            throw new GroupStageNotFoundException(groupStageId);
+        }
+        return MatchListVersion.of(matchRepository.findEmbeddedStateByGroupStageId(groupStageId));
+    }
+
+    @Override
+    public MatchListVersion getMatchListVersionForKnockoutStage(Long knockoutStageId) {
+        if (knockoutStageId == null) {
+            throw new IllegalArgumentException("Knockout Stage ID cannot be null");
+        }
+        if (!knockoutStageRepository.existsById(knockoutStageId)) {
+            throw new KnockoutStageNotFoundException(knockoutStageId);
+        }
+        return MatchListVersion.of(matchRepository.findEmbeddedStateByKnockoutStageId(knockoutStageId));
+    }
+
+    @Override
     public Match updateMatch(Long eventId, Long matchId, Match newMatch) {
+        Timer.Sample sample = FencingMetrics.start();
         if (eventId == null || matchId == null || newMatch == null) {
             throw new IllegalArgumentException("Event ID, Match ID and updated Match cannot be null");
         }
+        if (newMatch.getSubmittedBy() == null) {
+            newMatch.setSubmittedBy(CurrentUser.id());
+        }
+        return withRetry(() -> applyResult(eventId, matchId, newMatch, sample));
+    }
+
+    @Override
+    public MatchBatchResult updateMatches(Long eventId, Map<Long, Match> results) {
+        Timer.Sample sample = FencingMetrics.start();
+        if (eventId == null || results == null) {
+            throw new IllegalArgumentException("Event ID and results cannot be null");
+        }
+        return withRetry(() -> applyResults(eventId, results, sample));
+    }
+
+    // Each attempt is its own transaction, so a retry reloads the match and ranks the other writer committed.
+    // Lost optimistic checks and timed out row locks (the bracket's event lock) are retried alike.
+    private <T> T withRetry(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                FencingMetrics.count("fencing.match.update.conflicts", Tags.empty(), 1);
+                backOff(attempt, e);
+            }
+        }
+    }
+
+    private Match applyResult(Long eventId, Long matchId, Match newMatch, Timer.Sample sample) {
         Match existingMatch = matchRepository.findById(matchId).orElseThrow(() -> new MatchNotFoundException(matchId));
         
         if (existingMatch.getEvent().getId() != eventId) {
@@ -149,27 +275,104 @@ public class MatchServiceImpl implements MatchService {
         }
 
         Event event = existingMatch.getEvent();
+        if (!recordResult(event, existingMatch, newMatch)) {
+            return existingMatch;
+        }
+        
+        Match savedMatch = matchRepository.save(existingMatch);
+        bracketService.onResult(savedMatch);
+        eventPublisher.publishEvent(new MatchUpdatedEvent(savedMatch));
+        FencingMetrics.stop(sample, "fencing.match.update", event.getRankings().size());
+        return savedMatch;
+    }
+
+    // One transaction for a whole burst of results of the same event, a bad result is
+    // reported back instead of rolling back the others
+    private MatchBatchResult applyResults(Long eventId, Map<Long, Match> results, Timer.Sample sample) {
+        Event event = eventRepository.findById(eventId).orElseThrow(() -> new EventNotFoundException(eventId));
+        Map<Long, Match> existingMatches = new HashMap<>();
+        matchRepository.findAllById(results.keySet()).forEach(match -> existingMatches.put(match.getId(), match));
 
+        List<Match> changed = new ArrayList<>();
+        Map<Long, String> rejected = new HashMap<>();
+        for (Map.Entry<Long, Match> result : results.entrySet()) {
+            Match existingMatch = existingMatches.get(result.getKey());
+            if (existingMatch == null || existingMatch.getEvent().getId() != eventId) {
+                rejected.put(result.getKey(), "Match " + result.getKey() + " not found in event " + eventId);
+                continue;
+            }
+            try {
+                if (recordResult(event, existingMatch, result.getValue())) {
+                    changed.add(existingMatch);
+                    // Straight away, a later relay leg in the same batch is checked against it
+                    bracketService.onResult(existingMatch);
+                }
+            } catch (IllegalArgumentException e) {
+                rejected.put(result.getKey(), e.getMessage());
+            }
+        }
+
+        List<Match> savedMatches = matchRepository.saveAll(changed);
+        savedMatches.forEach(match -> eventPublisher.publishEvent(new MatchUpdatedEvent(match)));
+        FencingMetrics.stop(sample, "fencing.match.update.batch", event.getRankings().size());
+        return new MatchBatchResult(savedMatches, rejected);
+    }
+
+    // Applies newMatch onto existingMatch and both ranks, false when it is the result already stored
+    private boolean recordResult(Event event, Match existingMatch, Match newMatch) {
         // Fetch PlayerRank for Player 1 and Player 2
-        PlayerRank player1Rank = event.getRankings().stream()
-                                    .filter(rank -> rank.getPlayer().equals(newMatch.getPlayer1()))
-                                    .findFirst()
-                                    .orElseThrow(() -> new IllegalArgumentException("Player 1 is not registered in this event"));
-
-        PlayerRank player2Rank = event.getRankings().stream()
-                                    .filter(rank -> rank.getPlayer().equals(newMatch.getPlayer2()))
-                                    .findFirst()
-                                    .orElseThrow(() -> new IllegalArgumentException("Player 2 is not registered in this event"));
+        PlayerRank player1Rank = findRank(event, newMatch.getPlayer1(), "Player 1");
+        PlayerRank player2Rank = findRank(event, newMatch.getPlayer2(), "Player 2");
+
+        // Same result submitted again, nothing to apply
+        if (existingMatch.hasResult()
+                && existingMatch.getPlayer1().equals(newMatch.getPlayer1())
+                && existingMatch.getPlayer2().equals(newMatch.getPlayer2())
+                && existingMatch.getPlayer1Score() == newMatch.getPlayer1Score()
+                && existingMatch.getPlayer2Score() == newMatch.getPlayer2Score()) {
+            return false;
+        }
+        bracketService.checkResult(existingMatch, newMatch);
+
+        // Relay legs carry team totals, they don't count for the fencers' own ranks
+        boolean ranked = existingMatch.getRelayLeg() == null;
+
+        // A corrected result replaces the old one, so take the old one out of the ranks first
+        if (ranked && existingMatch.hasResult()) {
+            findRank(event, existingMatch.getPlayer1(), "Player 1")
+                    .revertMatch(existingMatch.getPlayer1Score(), existingMatch.getPlayer2Score());
+            findRank(event, existingMatch.getPlayer2(), "Player 2")
+                    .revertMatch(existingMatch.getPlayer2Score(), existingMatch.getPlayer1Score());
+        }
         
         existingMatch.setPlayer1(newMatch.getPlayer1());
         existingMatch.setPlayer2(newMatch.getPlayer2());
         existingMatch.setPlayer1Score(newMatch.getPlayer1Score());
         existingMatch.setPlayer2Score(newMatch.getPlayer2Score());
+        existingMatch.setSubmittedBy(newMatch.getSubmittedBy());
         
-        player1Rank.updateAfterMatch(newMatch.getPlayer1Score(), newMatch.getPlayer2Score());
-        player2Rank.updateAfterMatch(newMatch.getPlayer2Score(), newMatch.getPlayer1Score());
-        
-        return matchRepository.save(existingMatch);
+        if (ranked) {
+            player1Rank.updateAfterMatch(newMatch.getPlayer1Score(), newMatch.getPlayer2Score());
+            player2Rank.updateAfterMatch(newMatch.getPlayer2Score(), newMatch.getPlayer1Score());
+        }
+        return true;
+    }
+
+    private static PlayerRank findRank(Event event, Player player, String label) {
+        return event.getRankings().stream()
+                .filter(rank -> rank.getPlayer().equals(player))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(label + " is not registered in this event"));
+    }
+
+    // Short randomised pause so two tables retrying the same fencer don't collide again
+    private static void backOff(int attempt, ConcurrencyFailureException cause) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
     }
 
     @Override
@@ -0,0 +1,5 @@
+package org.fencing.demo.match;
+
+// Published by MatchServiceImpl.updateMatch, listeners that need committed data use @TransactionalEventListener
+public record MatchUpdatedEvent(Match match) {
+}
@@ -0,0 +1,52 @@
+package org.fencing.demo.matchMaking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.poolresults.PoolRankingEntry;
+import org.fencing.demo.poolresults.PoolResultsEngine;
+
+// Seeding for the direct elimination: the ranking after the pools
+public class AfterGroupStage {
+
+    // Best fencer first. Fencers the pools can't separate (or an event without pools) go by Elo.
+    public static List<Player> seedFromPools(Collection<PlayerRank> rankings, List<Match> poolMatches) {
+        Map<Long, Player> players = new HashMap<>();
+        for (PlayerRank rank : rankings) {
+            players.put(rank.getPlayer().getId(), rank.getPlayer());
+        }
+        long[] fencerIds = players.keySet().stream().mapToLong(Long::longValue).toArray();
+
+        int bouts = poolMatches.size();
+        long[] fencer1 = new long[bouts];
+        long[] fencer2 = new long[bouts];
+        int[] score1 = new int[bouts];
+        int[] score2 = new int[bouts];
+        for (int i = 0; i < bouts; i++) {
+            Match match = poolMatches.get(i);
+            fencer1[i] = match.getPlayer1().getId();
+            fencer2[i] = match.getPlayer2().getId();
+            score1[i] = match.getPlayer1Score();
+            score2[i] = match.getPlayer2Score();
+        }
+
+        List<PoolRankingEntry> ranking = new ArrayList<>(PoolResultsEngine.rankAfterPools(fencerIds, fencer1, fencer2,
+                score1, score2));
+        ranking.sort(Comparator.comparingInt(PoolRankingEntry::rank)
+                .thenComparing(entry -> players.get(entry.playerId()).getElo(), Comparator.reverseOrder())
+                .thenComparingLong(PoolRankingEntry::playerId));
+
+        List<Player> seeded = new ArrayList<>(ranking.size());
+        for (PoolRankingEntry entry : ranking) {
+            seeded.add(players.get(entry.playerId()));
+        }
+        return seeded;
+    }
+}
@@ -0,0 +1,86 @@
+package org.fencing.demo.matchMaking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Pool bouts don't always point at their GroupStage, but a pool is a round robin, so the
+// fencers it connects identify it. Shared by everything that reads pools back from bout rows.
+public final class PoolGrouping {
+
+    public interface PoolBout {
+        long player1Id();
+
+        long player2Id();
+
+        // null when the bout was not linked to a GroupStage
+        Long groupStageId();
+    }
+
+    // fencerIds ascending, bouts in the order they were given
+    public record Pool<B extends PoolBout>(Long groupStageId, List<Long> fencerIds, List<B> bouts) {
+    }
+
+    private PoolGrouping() {
+    }
+
+    // Bouts are expected in id order. Pools are ordered by group stage, unlinked ones last, and
+    // every group stage without bouts is added as an empty pool.
+    public static <B extends PoolBout> List<Pool<B>> group(List<B> bouts, Collection<Long> groupStageIds) {
+        Map<Long, Long> parent = new HashMap<>();
+        for (B bout : bouts) {
+            union(parent, bout.player1Id(), bout.player2Id());
+        }
+
+        // In order of each pool's first bout
+        Map<Long, List<B>> byPool = new LinkedHashMap<>();
+        for (B bout : bouts) {
+            byPool.computeIfAbsent(find(parent, bout.player1Id()), root -> new ArrayList<>()).add(bout);
+        }
+
+        List<Pool<B>> pools = new ArrayList<>();
+        Set<Long> emptyStages = new LinkedHashSet<>(groupStageIds);
+        for (List<B> poolBouts : byPool.values()) {
+            Long groupStageId = null;
+            TreeSet<Long> fencers = new TreeSet<>();
+            for (B bout : poolBouts) {
+                if (groupStageId == null) {
+                    groupStageId = bout.groupStageId();
+                }
+                fencers.add(bout.player1Id());
+                fencers.add(bout.player2Id());
+            }
+            emptyStages.remove(groupStageId);
+            pools.add(new Pool<>(groupStageId, new ArrayList<>(fencers), poolBouts));
+        }
+        emptyStages.forEach(id -> pools.add(new Pool<>(id, List.of(), List.of())));
+
+        // Stable, so unlinked pools keep the order of their first bout
+        pools.sort(Comparator.comparing(Pool::groupStageId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return pools;
+    }
+
+    private static long find(Map<Long, Long> parent, long fencer) {
+        long root = fencer;
+        while (parent.getOrDefault(root, root) != root) {
+            root = parent.get(root);
+        }
+        parent.put(fencer, root);
+        return root;
+    }
+
+    private static void union(Map<Long, Long> parent, long a, long b) {
+        long rootA = find(parent, a);
+        long rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent.put(rootB, rootA);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.fencing.demo.matchMaking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BinaryOperator;
+
+// Standard DE tableau placement: in a table of 64, 1 meets 64, 32 meets 33 and so on, and seeds
+// 1 and 2 can only meet in the final. Slots are listed top to bottom, neighbours fence each other.
+public class TableauSeeding {
+
+    // table size -> seed in each slot, computed once per size
+    private static final ConcurrentHashMap<Integer, int[]> SEED_TABLES = new ConcurrentHashMap<>();
+
+    // Smallest power of two that holds every fencer
+    public static int tableSize(int fencers) {
+        return fencers <= 2 ? 2 : Integer.highestOneBit(fencers - 1) << 1;
+    }
+
+    // Seed (from 1) in each slot of the table
+    public static int[] seedPositions(int tableSize) {
+        if (tableSize < 2 || Integer.bitCount(tableSize) != 1) {
+            throw new IllegalArgumentException("Table size must be a power of two, got " + tableSize);
+        }
+        return SEED_TABLES.computeIfAbsent(tableSize, TableauSeeding::buildTable).clone();
+    }
+
+    // Each doubling replaces seed s by the pair s, size + 1 - s
+    private static int[] buildTable(int tableSize) {
+        int[] table = { 1 };
+        for (int size = 2; size <= tableSize; size <<= 1) {
+            int[] next = new int[size];
+            for (int i = 0; i < table.length; i++) {
+                next[2 * i] = table[i];
+                next[2 * i + 1] = size + 1 - table[i];
+            }
+            table = next;
+        }
+        return table;
+    }
+
+    // Places fencers (best seed first) in the table, a null slot is a bye for the neighbour
+    public static <T> List<T> tableau(List<T> seeded) {
+        int[] positions = seedPositions(tableSize(seeded.size()));
+        List<T> slots = new ArrayList<>(positions.length);
+        for (int seed : positions) {
+            slots.add(seed <= seeded.size() ? seeded.get(seed - 1) : null);
+        }
+        return slots;
+    }
+
+    // The slots of the next round: a fencer facing a bye goes through, otherwise the winner does
+    public static <T> List<T> advance(List<T> slots, BinaryOperator<T> winner) {
+        List<T> next = new ArrayList<>(slots.size() / 2);
+        for (int i = 0; i + 1 < slots.size(); i += 2) {
+            T top = slots.get(i);
+            T bottom = slots.get(i + 1);
+            next.add(top == null ? bottom : bottom == null ? top : winner.apply(top, bottom));
+        }
+        return next;
+    }
+}
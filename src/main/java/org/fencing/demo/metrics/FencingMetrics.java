@@ -0,0 +1,56 @@
+package org.fencing.demo.metrics;
+
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+// Goes through Metrics.globalRegistry, which Spring Boot wires to the Prometheus registry,
+// so the static matchmaking code can be timed too. Outside Spring (unit tests) it is a no-op.
+public final class FencingMetrics {
+
+    public static final String EVENT_SIZE_TAG = "event_size";
+
+    private FencingMetrics() {
+    }
+
+    // Coarse buckets keep the tag cardinality fixed no matter how many events run
+    public static String eventSizeBucket(int entrants) {
+        if (entrants <= 16) {
+            return "0-16";
+        }
+        if (entrants <= 64) {
+            return "17-64";
+        }
+        if (entrants <= 256) {
+            return "65-256";
+        }
+        return "257+";
+    }
+
+    public static Timer.Sample start() {
+        return Timer.start(Metrics.globalRegistry);
+    }
+
+    public static void stop(Timer.Sample sample, String name, int entrants) {
+        sample.stop(Metrics.timer(name, EVENT_SIZE_TAG, eventSizeBucket(entrants)));
+    }
+
+    public static <T> T timeForEvent(String name, int entrants, Supplier<T> work) {
+        return Metrics.timer(name, EVENT_SIZE_TAG, eventSizeBucket(entrants)).record(work);
+    }
+
+    public static <T> T time(String name, Iterable<Tag> tags, Supplier<T> work) {
+        return Metrics.timer(name, tags).record(work);
+    }
+
+    public static void count(String name, int entrants, double amount) {
+        Metrics.counter(name, Tags.of(EVENT_SIZE_TAG, eventSizeBucket(entrants))).increment(amount);
+    }
+
+    public static void count(String name, Iterable<Tag> tags, double amount) {
+        Metrics.counter(name, tags).increment(amount);
+    }
+}
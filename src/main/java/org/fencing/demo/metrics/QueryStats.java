@@ -0,0 +1,43 @@
+package org.fencing.demo.metrics;
+
+// Hibernate work done by one request. Only touched by the request's own thread.
+public class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    long statements;
+    long entitiesLoaded;
+    long collectionsFetched;
+    long jdbcNanos;
+
+    static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // null when the current thread is not serving a controller call
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+
+    public long getCollectionsFetched() {
+        return collectionsFetched;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
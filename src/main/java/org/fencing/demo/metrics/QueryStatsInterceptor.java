@@ -0,0 +1,73 @@
+package org.fencing.demo.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@Component
+public class QueryStatsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsInterceptor.class);
+
+    private final long maxStatements;
+    private final long maxEntities;
+    private final long maxCollections;
+    private final long maxJdbcMillis;
+
+    public QueryStatsInterceptor(
+            @Value("${query-stats.warn.statements:50}") long maxStatements,
+            @Value("${query-stats.warn.entities:1000}") long maxEntities,
+            @Value("${query-stats.warn.collections:100}") long maxCollections,
+            @Value("${query-stats.warn.jdbc-ms:500}") long maxJdbcMillis) {
+        this.maxStatements = maxStatements;
+        this.maxEntities = maxEntities;
+        this.maxCollections = maxCollections;
+        this.maxJdbcMillis = maxJdbcMillis;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            QueryStats.begin();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The request thread goes back to the pool, the async dispatch starts its own stats
+        QueryStats.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryStats stats = QueryStats.current();
+        QueryStats.end();
+        if (stats == null || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        String handlerName = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+
+        Metrics.summary("fencing.request.sql.statements", "handler", handlerName).record(stats.getStatements());
+        Metrics.summary("fencing.request.entities.loaded", "handler", handlerName).record(stats.getEntitiesLoaded());
+        Metrics.summary("fencing.request.collections.fetched", "handler", handlerName).record(stats.getCollectionsFetched());
+        Metrics.timer("fencing.request.jdbc.time", "handler", handlerName).record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        long jdbcMillis = TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos());
+        if (stats.getStatements() > maxStatements || stats.getEntitiesLoaded() > maxEntities
+                || stats.getCollectionsFetched() > maxCollections || jdbcMillis > maxJdbcMillis) {
+            log.warn("Heavy persistence use in {} {} ({}): {} statements, {} entities loaded, {} collections fetched, {} ms in JDBC",
+                    request.getMethod(), request.getRequestURI(), handlerName, stats.getStatements(),
+                    stats.getEntitiesLoaded(), stats.getCollectionsFetched(), jdbcMillis);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.fencing.demo.metrics;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Counts entity loads and lazy collection fetches, e.g. GroupStage.matches, for the current request
+@Component
+public class QueryStatsLoadListener implements PostLoadEventListener, InitializeCollectionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryStatsLoadListener(EntityManagerFactory entityManagerFactory) {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        // Appended, so Hibernate's own listeners still do the actual loading
+        registry.appendListeners(EventType.POST_LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.entitiesLoaded++;
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.collectionsFetched++;
+        }
+    }
+}
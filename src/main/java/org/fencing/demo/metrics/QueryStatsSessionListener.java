@@ -0,0 +1,43 @@
+package org.fencing.demo.metrics;
+
+import org.hibernate.SessionEventListener;
+
+// Instantiated by Hibernate for every session (hibernate.session.events.auto)
+public class QueryStatsSessionListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    private transient long executeStart;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statements++;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && executeStart != 0) {
+            stats.jdbcNanos += System.nanoTime() - executeStart;
+        }
+        executeStart = 0;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        jdbcExecuteStatementEnd();
+    }
+}
@@ -0,0 +1,20 @@
+package org.fencing.demo.metrics;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class QueryStatsWebConfig implements WebMvcConfigurer {
+
+    private final QueryStatsInterceptor queryStatsInterceptor;
+
+    public QueryStatsWebConfig(QueryStatsInterceptor queryStatsInterceptor) {
+        this.queryStatsInterceptor = queryStatsInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryStatsInterceptor);
+    }
+}
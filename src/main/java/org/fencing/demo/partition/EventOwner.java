@@ -0,0 +1,5 @@
+package org.fencing.demo.partition;
+
+// Node that currently takes the writes of an event, local is true on that node itself
+public record EventOwner(long eventId, String nodeId, String nodeUrl, long epoch, boolean local) {
+}
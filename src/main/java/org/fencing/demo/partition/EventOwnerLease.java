@@ -0,0 +1,30 @@
+package org.fencing.demo.partition;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Row of the event_owner table EventOwnership reads and writes with JDBC, mapped so the schema has it.
+// The epoch goes up with every change of owner.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "event_owner")
+public class EventOwnerLease {
+    @Id
+    private Long eventId;
+
+    private String nodeId;
+
+    private String nodeUrl;
+
+    private long epoch;
+
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,160 @@
+package org.fencing.demo.partition;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.metrics.FencingMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Writes under /tournaments/{tid}/events/{eventId}/ run on the event's owner node, one at a time.
+// On any other node they are forwarded to the owner and its answer is passed back unchanged.
+@Component
+@ConditionalOnProperty(name = "partition.enabled", havingValue = "true")
+public class EventOwnerRoutingInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(EventOwnerRoutingInterceptor.class);
+
+    public static final String FORWARDED_HEADER = "X-Partition-Forwarded";
+
+    private static final String LOCKED_PARTITION = EventOwnerRoutingInterceptor.class.getName() + ".partition";
+    private static final List<String> REQUEST_HEADERS = List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.ACCEPT, HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH, "X-Result-Sequence");
+    private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG,
+            HttpHeaders.LOCATION, HttpHeaders.RETRY_AFTER, "X-Result-Sequence");
+
+    private final EventOwnership eventOwnership;
+    private final long lockTimeoutMillis;
+    private final Duration forwardTimeout;
+    private final HttpClient httpClient;
+
+    public EventOwnerRoutingInterceptor(EventOwnership eventOwnership,
+            @Value("${partition.lock-timeout-ms:2000}") long lockTimeoutMillis,
+            @Value("${partition.forward-timeout-ms:5000}") long forwardTimeoutMillis) {
+        this.eventOwnership = eventOwnership;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.forwardTimeout = Duration.ofMillis(forwardTimeoutMillis);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(forwardTimeout).build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        Long eventId = eventId(request);
+        boolean liveRead = "GET".equals(request.getMethod()) && request.getRequestURI().endsWith("/standings/live");
+        if (eventId == null || (!liveRead && isRead(request.getMethod()))) {
+            return true;
+        }
+        EventOwner owner = eventOwnership.ownerOf(eventId);
+        if (!owner.local()) {
+            // A forwarded request reaching a node that is not the owner either means the owner just
+            // changed, the client retries rather than the request bouncing between nodes
+            if (request.getHeader(FORWARDED_HEADER) != null) {
+                return unavailable(response, "Event " + eventId + " is moving to another node");
+            }
+            return forward(request, response, owner);
+        }
+        if (liveRead) {
+            return true;
+        }
+        EventPartition partition = eventOwnership.partition(eventId);
+        if (partition == null || !partition.tryLock(lockTimeoutMillis)) {
+            return unavailable(response, "Event " + eventId + " is busy");
+        }
+        // The lease may have been released or lost while this request waited for the lock
+        if (eventOwnership.partition(eventId) != partition || partition.getLeaseUntil() <= System.currentTimeMillis()) {
+            partition.unlock();
+            return unavailable(response, "Event " + eventId + " is moving to another node");
+        }
+        request.setAttribute(LOCKED_PARTITION, partition);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        Object partition = request.getAttribute(LOCKED_PARTITION);
+        if (partition != null) {
+            request.removeAttribute(LOCKED_PARTITION);
+            ((EventPartition) partition).unlock();
+        }
+    }
+
+    private boolean forward(HttpServletRequest request, HttpServletResponse response, EventOwner owner)
+            throws IOException, InterruptedException {
+        String target = owner.nodeUrl() + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        byte[] body = request.getInputStream().readAllBytes();
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(target))
+                .timeout(forwardTimeout)
+                .header(FORWARDED_HEADER, eventOwnership.getNodeId())
+                .method(request.getMethod(), body.length > 0
+                        ? HttpRequest.BodyPublishers.ofByteArray(body)
+                        : HttpRequest.BodyPublishers.noBody());
+        for (String name : REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                forwarded.header(name, value);
+            }
+        }
+
+        HttpResponse<byte[]> answer;
+        try {
+            answer = httpClient.send(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            // The owner is down, its lease runs out within partition.lease-ms and a retry claims the event here
+            log.warn("Forwarding to {} failed", owner.nodeUrl(), e);
+            return unavailable(response, "Owner of event " + owner.eventId() + " is not reachable");
+        }
+        FencingMetrics.count("fencing.partition.forwards", Tags.empty(), 1);
+        response.setStatus(answer.statusCode());
+        for (String name : RESPONSE_HEADERS) {
+            answer.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        }
+        if (answer.body().length > 0) {
+            response.getOutputStream().write(answer.body());
+        }
+        return false;
+    }
+
+    private static boolean unavailable(HttpServletResponse response, String message) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), message);
+        return false;
+    }
+
+    private static boolean isRead(String method) {
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Long eventId(HttpServletRequest request) {
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null || variables.get("eventId") == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(variables.get("eventId"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
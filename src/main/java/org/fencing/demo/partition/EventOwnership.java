@@ -0,0 +1,223 @@
+package org.fencing.demo.partition;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchUpdatedEvent;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.replica.PrimaryStickiness;
+import org.fencing.demo.resultlog.BoutResultLogServiceImpl;
+import org.fencing.demo.resultlog.LoggedResult;
+import org.fencing.demo.resultlog.PlayerStanding;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Sticky event partitioning (partition.enabled=true): one owner node per event, held as a lease
+// in event_owner and taken over with a higher epoch once it runs out. Matches' @Version still
+// guards correctness. Refuses to start with write-behind ingest, whose applier writes outside
+// the owner's lock.
+@Service
+@ConditionalOnProperty(name = "partition.enabled", havingValue = "true")
+public class EventOwnership {
+
+    private static final Logger log = LoggerFactory.getLogger(EventOwnership.class);
+
+    private static final String SELECT_OWNER =
+            "SELECT node_id, node_url, epoch, lease_until FROM event_owner WHERE event_id = ?";
+    private static final String INSERT_OWNER =
+            "INSERT INTO event_owner (event_id, node_id, node_url, epoch, lease_until) VALUES (?, ?, ?, 1, ?)";
+    // Only an expired lease of the epoch just read can be taken over
+    private static final String TAKE_OVER = "UPDATE event_owner SET node_id = ?, node_url = ?, epoch = epoch + 1, "
+            + "lease_until = ? WHERE event_id = ? AND epoch = ? AND lease_until < ?";
+    private static final String RENEW =
+            "UPDATE event_owner SET lease_until = ? WHERE event_id = ? AND node_id = ? AND epoch = ?";
+    private static final String SELECT_LOG = "SELECT match_id, player1_id, player2_id, player1_score, player2_score "
+            + "FROM bout_result_log WHERE event_id = ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String nodeUrl;
+    private final long leaseMillis;
+    private final Map<Long, EventPartition> partitions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewer;
+
+    public EventOwnership(JdbcTemplate jdbcTemplate,
+            @Value("${partition.node-url:http://localhost:${server.port:8080}}") String nodeUrl,
+            @Value("${partition.lease-ms:5000}") long leaseMillis,
+            @Value("${results.ingest.mode:sync}") String ingestMode) {
+        if (leaseMillis < 300) {
+            throw new IllegalArgumentException("partition.lease-ms must be at least 300");
+        }
+        if ("write-behind".equals(ingestMode)) {
+            throw new IllegalStateException("partition.enabled=true needs results.ingest.mode=sync");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeUrl = nodeUrl;
+        this.leaseMillis = leaseMillis;
+        this.renewer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(PrimaryStickiness.onPrimary(runnable), "event-lease-renewer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        long period = leaseMillis / 3;
+        renewer.scheduleWithFixedDelay(this::renewQuietly, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    // Owner of the event, claimed for this node when nobody holds a live lease
+    public EventOwner ownerOf(long eventId) {
+        long now = System.currentTimeMillis();
+        EventPartition local = partitions.get(eventId);
+        if (local != null && local.getLeaseUntil() > now) {
+            return new EventOwner(eventId, nodeId, nodeUrl, local.getEpoch(), true);
+        }
+        while (true) {
+            List<EventOwner> rows = jdbcTemplate.query(SELECT_OWNER, (rs, row) -> rs.getTimestamp(4).getTime() >= now
+                    ? new EventOwner(eventId, rs.getString(1), rs.getString(2), rs.getLong(3), nodeId.equals(rs.getString(1)))
+                    : new EventOwner(eventId, null, null, rs.getLong(3), false), eventId);
+            EventOwner seen = rows.isEmpty() ? null : rows.get(0);
+            if (seen != null && seen.nodeId() != null && (!seen.local() || partitions.containsKey(eventId))) {
+                return seen;
+            }
+            EventOwner claimed = claim(eventId, seen, now);
+            if (claimed != null) {
+                return claimed;
+            }
+            // Another node got there first, read again
+        }
+    }
+
+    // One claim at a time on this node, so two requests for a free event never both load it
+    private synchronized EventOwner claim(long eventId, EventOwner seen, long now) {
+        EventPartition local = partitions.get(eventId);
+        if (local != null && local.getLeaseUntil() > now) {
+            return new EventOwner(eventId, nodeId, nodeUrl, local.getEpoch(), true);
+        }
+        Timestamp leaseUntil = new Timestamp(now + leaseMillis);
+        if (seen == null) {
+            try {
+                jdbcTemplate.update(INSERT_OWNER, eventId, nodeId, nodeUrl, leaseUntil);
+                return claimed(eventId, 1, now);
+            } catch (DuplicateKeyException e) {
+                return null;
+            }
+        }
+        // A live lease of this node that it no longer holds in memory is taken over like an expired
+        // one; no lease reaches past now + leaseMillis, so that bound covers it
+        Timestamp expiredBefore = new Timestamp(seen.nodeId() != null ? now + 2 * leaseMillis : now);
+        if (jdbcTemplate.update(TAKE_OVER, nodeId, nodeUrl, leaseUntil, eventId, seen.epoch(), expiredBefore) == 0) {
+            return null;
+        }
+        return claimed(eventId, seen.epoch() + 1, now);
+    }
+
+    private EventOwner claimed(long eventId, long epoch, long now) {
+        // Bouts from before the log would otherwise be missing from the live standings
+        jdbcTemplate.update(BoutResultLogServiceImpl.BACKFILL_EVENT, eventId);
+        List<LoggedResult> log = jdbcTemplate.query(SELECT_LOG, (rs, row) -> new LoggedResult(
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getInt(5)), eventId);
+        partitions.put(eventId, new EventPartition(eventId, epoch, now + leaseMillis, log));
+        FencingMetrics.count("fencing.partition.claims", Tags.empty(), 1);
+        return new EventOwner(eventId, nodeId, nodeUrl, epoch, true);
+    }
+
+    // The partition of an event this node owns, null otherwise
+    public EventPartition partition(long eventId) {
+        return partitions.get(eventId);
+    }
+
+    public List<PlayerStanding> liveStandings(long eventId) {
+        EventOwner owner = ownerOf(eventId);
+        EventPartition partition = partitions.get(eventId);
+        if (!owner.local() || partition == null) {
+            throw new IllegalStateException("Event " + eventId + " is owned by node " + owner.nodeId());
+        }
+        return partition.getStandings();
+    }
+
+    // Results reach the standings only once they are committed
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMatchUpdated(MatchUpdatedEvent matchUpdated) {
+        Match match = matchUpdated.match();
+        EventPartition partition = partitions.get(match.getEvent().getId());
+        if (partition != null) {
+            partition.apply(new LoggedResult(match.getId(), match.getPlayer1().getId(), match.getPlayer2().getId(),
+                    match.getPlayer1Score(), match.getPlayer2Score()));
+        }
+    }
+
+    // Extends every lease this node holds, a lease found taken over is dropped here
+    public void renewLeases() {
+        long leaseUntil = System.currentTimeMillis() + leaseMillis;
+        for (EventPartition partition : partitions.values()) {
+            if (jdbcTemplate.update(RENEW, new Timestamp(leaseUntil), partition.getEventId(), nodeId,
+                    partition.getEpoch()) == 1) {
+                partition.setLeaseUntil(leaseUntil);
+            } else {
+                partitions.remove(partition.getEventId(), partition);
+                log.warn("Lost the lease of event {} to another node", partition.getEventId());
+            }
+        }
+    }
+
+    private void renewQuietly() {
+        try {
+            renewLeases();
+        } catch (DataAccessException e) {
+            // The leases run out on their own if this keeps failing, the other nodes then take over
+            log.warn("Renewing event leases failed", e);
+        }
+    }
+
+    // Hands the event over: waits for the write in progress, then ends the lease so the next
+    // write on any node claims it straight away
+    public boolean release(long eventId, long timeoutMillis) throws InterruptedException {
+        EventPartition partition = partitions.get(eventId);
+        if (partition == null) {
+            return false;
+        }
+        if (!partition.tryLock(timeoutMillis)) {
+            return false;
+        }
+        try {
+            partitions.remove(eventId, partition);
+            jdbcTemplate.update(RENEW, new Timestamp(0), eventId, nodeId, partition.getEpoch());
+            return true;
+        } finally {
+            partition.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        renewer.shutdownNow();
+        for (Long eventId : partitions.keySet()) {
+            release(eventId, leaseMillis);
+        }
+    }
+}
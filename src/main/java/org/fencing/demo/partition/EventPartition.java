@@ -0,0 +1,67 @@
+package org.fencing.demo.partition;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.fencing.demo.resultlog.LoggedResult;
+import org.fencing.demo.resultlog.PlayerStanding;
+import org.fencing.demo.resultlog.StandingsProjection;
+import org.fencing.demo.resultlog.StandingsRule;
+
+/**
+ * An event owned by this node. Writes for the event take the lock one at a time, so its player_rank
+ * rows are never contended, and every committed result is folded into the live standings here.
+ */
+public class EventPartition {
+
+    private final long eventId;
+    private final long epoch;
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    private final StandingsProjection projection = new StandingsProjection(StandingsRule.CLASSIC);
+    private volatile List<PlayerStanding> standings = List.of();
+    private volatile long leaseUntil;
+
+    public EventPartition(long eventId, long epoch, long leaseUntil, List<LoggedResult> log) {
+        this.eventId = eventId;
+        this.epoch = epoch;
+        this.leaseUntil = leaseUntil;
+        log.forEach(projection::accept);
+        standings = projection.standings();
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public long getEpoch() {
+        return epoch;
+    }
+
+    public long getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    void setLeaseUntil(long leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+
+    public boolean tryLock(long timeoutMillis) throws InterruptedException {
+        return writeLock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void unlock() {
+        writeLock.unlock();
+    }
+
+    // A correction of a bout replaces its earlier result
+    public synchronized void apply(LoggedResult result) {
+        projection.accept(result);
+        standings = projection.standings();
+    }
+
+    // Read without the lock, always a complete snapshot
+    public List<PlayerStanding> getStandings() {
+        return standings;
+    }
+}
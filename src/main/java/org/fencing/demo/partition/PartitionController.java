@@ -0,0 +1,47 @@
+package org.fencing.demo.partition;
+
+import java.util.List;
+
+import org.fencing.demo.resultlog.PlayerStanding;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnProperty(name = "partition.enabled", havingValue = "true")
+public class PartitionController {
+
+    private final EventOwnership eventOwnership;
+    private final long lockTimeoutMillis;
+
+    public PartitionController(EventOwnership eventOwnership,
+            @Value("${partition.lock-timeout-ms:2000}") long lockTimeoutMillis) {
+        this.eventOwnership = eventOwnership;
+        this.lockTimeoutMillis = lockTimeoutMillis;
+    }
+
+    // Claims the event for this node if nobody owns it yet
+    @GetMapping("/partitions/events/{eventId}")
+    public ResponseEntity<EventOwner> getOwner(@PathVariable Long eventId) {
+        return ResponseEntity.ok(eventOwnership.ownerOf(eventId));
+    }
+
+    // Hands the event over, 409 if this node does not own it or a write did not finish in time
+    @PostMapping("/partitions/events/{eventId}/release")
+    public ResponseEntity<Void> release(@PathVariable Long eventId) throws InterruptedException {
+        if (eventOwnership.release(eventId, lockTimeoutMillis)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.status(409).build();
+    }
+
+    // Standings kept in memory by the owner, the routing interceptor sends the request there
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/standings/live")
+    public ResponseEntity<List<PlayerStanding>> getLiveStandings(@PathVariable Long eventId) {
+        return ResponseEntity.ok(eventOwnership.liveStandings(eventId));
+    }
+}
@@ -0,0 +1,22 @@
+package org.fencing.demo.partition;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "partition.enabled", havingValue = "true")
+public class PartitionWebConfig implements WebMvcConfigurer {
+
+    private final EventOwnerRoutingInterceptor eventOwnerRoutingInterceptor;
+
+    public PartitionWebConfig(EventOwnerRoutingInterceptor eventOwnerRoutingInterceptor) {
+        this.eventOwnerRoutingInterceptor = eventOwnerRoutingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(eventOwnerRoutingInterceptor).addPathPatterns("/tournaments/*/events/*/**");
+    }
+}
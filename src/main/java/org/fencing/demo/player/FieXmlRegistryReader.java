@@ -0,0 +1,61 @@
+package org.fencing.demo.player;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+// Reads <Tireur> elements of an FIE-style XML registry with StAX.
+// Username comes from the Licence attribute (falling back to ID), plus Email and an optional Elo attribute.
+public class FieXmlRegistryReader implements RegistryReader {
+
+    private static final String FENCER_ELEMENT = "Tireur";
+
+    @Override
+    public void read(InputStream in, Consumer<RegistryRow> sink) throws IOException {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Registry files come from outside, so no DTDs or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(in);
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT
+                        && FENCER_ELEMENT.equals(reader.getLocalName())) {
+                    String username = attribute(reader, "Licence");
+                    if (username == null) {
+                        username = attribute(reader, "ID");
+                    }
+                    sink.accept(new RegistryRow(reader.getLocation().getLineNumber(),
+                            username,
+                            attribute(reader, "Email"),
+                            attribute(reader, "Elo")));
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Malformed registry XML: " + e.getMessage());
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing left to release
+                }
+            }
+        }
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+}
@@ -1,6 +1,8 @@
 package org.fencing.demo.player;
 
 import org.springframework.web.bind.annotation.GetMapping;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
@@ -10,17 +12,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
 import jakarta.validation.Valid;
 
 
 @RestController
 public class PlayerController {
     private PlayerService playerService;
+    private PlayerImportService playerImportService;
 
-    public PlayerController(PlayerService ps) {
+    public PlayerController(PlayerService ps, PlayerImportService pis) {
         this.playerService = ps;
+        this.playerImportService = pis;
     }
 
     // List players (all? or in a tournament? or works for both)
@@ -51,6 +58,16 @@ public class PlayerController {
         return savedPlayer;
     }
 
+    // Bulk import of a federation registry file (format=csv or format=xml)
+    @PostMapping("/players/import")
+    public PlayerImportReport importPlayers(@RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", defaultValue = "csv") String format) throws IOException {
+        RegistryFormat registryFormat = RegistryFormat.valueOf(format.toUpperCase());
+        try (InputStream in = file.getInputStream()) {
+            return playerImportService.importRegistry(in, registryFormat);
+        }
+    }
+
     // updates player info
     @PutMapping("/players/{id}")
     public Player updatePlayer(@PathVariable Long id, @Valid @RequestBody Player updatedPlayerInfo) {
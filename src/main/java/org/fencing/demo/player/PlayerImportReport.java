@@ -0,0 +1,30 @@
+package org.fencing.demo.player;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlayerImportReport {
+
+    private long rowsRead;
+
+    private long inserted;
+
+    private long updated;
+
+    private long rejected;
+
+    // Only the first few rejections are kept so the report stays small for huge files
+    private List<String> rejectedRows;
+
+    private long elapsedMillis;
+
+    private double rowsPerSecond;
+}
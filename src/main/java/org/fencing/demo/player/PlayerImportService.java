@@ -0,0 +1,9 @@
+package org.fencing.demo.player;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface PlayerImportService {
+
+    PlayerImportReport importRegistry(InputStream in, RegistryFormat format) throws IOException;
+}
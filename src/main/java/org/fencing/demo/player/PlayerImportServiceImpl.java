@@ -0,0 +1,254 @@
+package org.fencing.demo.player;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.fencing.demo.user.Role;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Players are JOINED onto app_user with IDENTITY ids, which Hibernate cannot batch,
+// so the import writes both tables with plain JDBC batches and commits per batch. Rows are checked
+// against the entity's constraints first; a batch the database still refuses is redone row by row,
+// so only the offending rows are rejected.
+@Service
+public class PlayerImportServiceImpl implements PlayerImportService {
+
+    static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_REJECTIONS = 100;
+
+    // Not a BCrypt hash, so imported accounts cannot log in until a password is set
+    private static final String IMPORTED_PASSWORD = "!";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    public PlayerImportServiceImpl(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+            TransactionTemplate transactionTemplate, Validator validator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.validator = validator;
+    }
+
+    @Override
+    public PlayerImportReport importRegistry(InputStream in, RegistryFormat format) throws IOException {
+        if (in == null || format == null) {
+            throw new IllegalArgumentException("Registry file and format cannot be null");
+        }
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(
+                new HashSet<>(jdbcTemplate.queryForList(
+                        "SELECT u.username FROM app_user u JOIN players p ON p.id = u.id", String.class)),
+                new HashSet<>(jdbcTemplate.queryForList(
+                        "SELECT u.username FROM app_user u LEFT JOIN players p ON p.id = u.id WHERE p.id IS NULL", String.class)));
+
+        RegistryReader.forFormat(format).read(in, run::accept);
+        run.flush();
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        return PlayerImportReport.builder()
+                .rowsRead(run.rowsRead)
+                .inserted(run.inserted)
+                .updated(run.updated)
+                .rejected(run.rejected)
+                .rejectedRows(run.rejectedRows)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(run.rowsRead * 1_000_000_000.0 / elapsedNanos)
+                .build();
+    }
+
+    private class ImportRun {
+        private final Set<String> playerUsernames;
+        private final Set<String> otherUsernames;
+        private final Set<String> seenInFile = new HashSet<>();
+        private final List<RegistryRow> pendingInserts = new ArrayList<>(BATCH_SIZE);
+        private final List<RegistryRow> pendingUpdates = new ArrayList<>(BATCH_SIZE);
+        private final List<String> rejectedRows = new ArrayList<>();
+        private long rowsRead;
+        private long inserted;
+        private long updated;
+        private long rejected;
+
+        ImportRun(Set<String> playerUsernames, Set<String> otherUsernames) {
+            this.playerUsernames = playerUsernames;
+            this.otherUsernames = otherUsernames;
+        }
+
+        void accept(RegistryRow row) {
+            rowsRead++;
+            // The same @NotNull/@Email checks a player saved through the API gets
+            Set<ConstraintViolation<Player>> violations = validator.validate(
+                    new Player(row.username(), IMPORTED_PASSWORD, row.email(), Role.USER));
+            if (!violations.isEmpty()) {
+                reject(row, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+            if (row.elo() != null && parseElo(row.elo()) == null) {
+                reject(row, "elo is not a number");
+                return;
+            }
+            if (!seenInFile.add(row.username())) {
+                reject(row, "duplicate username in file");
+                return;
+            }
+            if (otherUsernames.contains(row.username())) {
+                reject(row, "username belongs to a non-player account");
+                return;
+            }
+
+            if (playerUsernames.contains(row.username())) {
+                pendingUpdates.add(row);
+                if (pendingUpdates.size() == BATCH_SIZE) {
+                    flushUpdates();
+                }
+            } else {
+                pendingInserts.add(row);
+                if (pendingInserts.size() == BATCH_SIZE) {
+                    flushInserts();
+                }
+            }
+        }
+
+        void flush() {
+            flushInserts();
+            flushUpdates();
+        }
+
+        private void reject(RegistryRow row, String reason) {
+            rejected++;
+            if (rejectedRows.size() < MAX_REPORTED_REJECTIONS) {
+                rejectedRows.add("line " + row.lineNumber() + ": " + reason);
+            }
+        }
+
+        private void flushInserts() {
+            if (pendingInserts.isEmpty()) {
+                return;
+            }
+            List<RegistryRow> rows = pendingInserts;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(rows));
+                rows.forEach(row -> playerUsernames.add(row.username()));
+                inserted += rows.size();
+            } catch (DataAccessException e) {
+                for (RegistryRow row : rows) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                        playerUsernames.add(row.username());
+                        inserted++;
+                    } catch (DataAccessException rowFailure) {
+                        reject(row, reason(rowFailure));
+                    }
+                }
+            }
+            rows.clear();
+        }
+
+        private void insert(List<RegistryRow> rows) {
+            jdbcTemplate.batchUpdate("INSERT INTO app_user (username, password, email, role) VALUES (?, ?, ?, ?)",
+                    rows, rows.size(), (ps, row) -> {
+                        ps.setString(1, row.username());
+                        ps.setString(2, IMPORTED_PASSWORD);
+                        ps.setString(3, row.email());
+                        ps.setString(4, Role.USER.name());
+                    });
+
+            // Generated keys from batches are driver specific, reading them back by username is not
+            Map<String, Long> ids = new HashMap<>();
+            List<String> usernames = rows.stream().map(RegistryRow::username).toList();
+            namedJdbcTemplate.query("SELECT id, username FROM app_user WHERE username IN (:usernames)",
+                    Map.of("usernames", usernames),
+                    (RowCallbackHandler) rs -> ids.put(rs.getString("username"), rs.getLong("id")));
+
+            jdbcTemplate.batchUpdate("INSERT INTO players (id, elo) VALUES (?, ?)",
+                    rows, rows.size(), (ps, row) -> {
+                        ps.setLong(1, ids.get(row.username()));
+                        Integer elo = parseElo(row.elo());
+                        ps.setInt(2, elo == null ? Player.STARTING_ELO : elo);
+                    });
+        }
+
+        private void flushUpdates() {
+            if (pendingUpdates.isEmpty()) {
+                return;
+            }
+            List<RegistryRow> rows = pendingUpdates;
+            try {
+                transactionTemplate.executeWithoutResult(status -> update(rows));
+                updated += rows.size();
+            } catch (DataAccessException e) {
+                for (RegistryRow row : rows) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> update(List.of(row)));
+                        updated++;
+                    } catch (DataAccessException rowFailure) {
+                        reject(row, reason(rowFailure));
+                    }
+                }
+            }
+            rows.clear();
+        }
+
+        private void update(List<RegistryRow> rows) {
+            jdbcTemplate.batchUpdate("UPDATE app_user SET email = ? WHERE username = ?",
+                    rows, rows.size(), (ps, row) -> {
+                        ps.setString(1, row.email());
+                        ps.setString(2, row.username());
+                    });
+            // A row without elo keeps the player's current rating
+            jdbcTemplate.batchUpdate(
+                    "UPDATE players SET elo = COALESCE(?, elo) WHERE id = (SELECT u.id FROM app_user u WHERE u.username = ?)",
+                    rows, rows.size(), (ps, row) -> {
+                        Integer elo = parseElo(row.elo());
+                        if (elo == null) {
+                            ps.setNull(1, Types.INTEGER);
+                        } else {
+                            ps.setInt(1, elo);
+                        }
+                        ps.setString(2, row.username());
+                    });
+        }
+    }
+
+    private static String reason(DataAccessException e) {
+        if (e instanceof DuplicateKeyException) {
+            return "username already exists";
+        }
+        String message = e.getMostSpecificCause().getMessage();
+        // Drivers append the statement and a stack of details, the first line says what went wrong
+        return "not saved: " + (message == null ? e.getClass().getSimpleName() : message.lines().findFirst().orElse(""));
+    }
+
+    private static Integer parseElo(String elo) {
+        if (elo == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(elo);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package org.fencing.demo.player;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
     List<Player> findByUsername(String username);
+
+    @Query("SELECT p.id FROM Player p WHERE p.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
 
@@ -0,0 +1,6 @@
+package org.fencing.demo.player;
+
+public enum RegistryFormat {
+    CSV,
+    XML
+}
@@ -0,0 +1,18 @@
+package org.fencing.demo.player;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+// Readers hand rows to the sink as they are parsed and never hold the whole file
+public interface RegistryReader {
+
+    void read(InputStream in, Consumer<RegistryRow> sink) throws IOException;
+
+    static RegistryReader forFormat(RegistryFormat format) {
+        return switch (format) {
+            case CSV -> new CsvRegistryReader();
+            case XML -> new FieXmlRegistryReader();
+        };
+    }
+}
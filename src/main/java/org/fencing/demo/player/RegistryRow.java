@@ -0,0 +1,5 @@
+package org.fencing.demo.player;
+
+// One fencer as read from a registry file, nothing validated yet
+public record RegistryRow(long lineNumber, String username, String email, String elo) {
+}
@@ -0,0 +1,9 @@
+package org.fencing.demo.pooldraw;
+
+// message is the reason for SKIPPED or FAILED
+public record EventDrawProgress(long eventId, EventDrawStatus status, int pools, int bouts, String message) {
+
+    static EventDrawProgress of(long eventId, EventDrawStatus status) {
+        return new EventDrawProgress(eventId, status, 0, 0, null);
+    }
+}
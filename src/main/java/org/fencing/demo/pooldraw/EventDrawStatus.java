@@ -0,0 +1,14 @@
+package org.fencing.demo.pooldraw;
+
+public enum EventDrawStatus {
+    QUEUED,
+    DRAWING,
+    SAVING,
+    DONE,
+    SKIPPED, // pools were already drawn
+    FAILED;
+
+    public boolean isFinished() {
+        return this == DONE || this == SKIPPED || this == FAILED;
+    }
+}
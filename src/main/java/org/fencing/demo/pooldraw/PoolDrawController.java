@@ -0,0 +1,38 @@
+package org.fencing.demo.pooldraw;
+
+import org.fencing.demo.jobs.Job;
+import org.fencing.demo.jobs.JobController;
+import org.fencing.demo.jobs.JobService;
+import org.fencing.demo.jobs.JobType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class PoolDrawController {
+
+    private final PoolDrawService poolDrawService;
+    private final JobService jobService;
+
+    public PoolDrawController(PoolDrawService poolDrawService, JobService jobService) {
+        this.poolDrawService = poolDrawService;
+        this.jobService = jobService;
+    }
+
+    // POST: Draw the pools of every event of a tournament at once, runs as a job (Admin Only)
+    @PostMapping("/tournaments/{tournamentId}/pools/draw")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Job> drawAllPools(@PathVariable Long tournamentId) {
+        return JobController.accepted(jobService.submit(JobType.POOL_DRAW, "tournament " + tournamentId,
+                job -> poolDrawService.drawAllPools(tournamentId, job)));
+    }
+
+    // GET: Per-event progress of the running or last draw
+    @GetMapping("/tournaments/{tournamentId}/pools/draw")
+    public TournamentPoolDraw getProgress(@PathVariable Long tournamentId) {
+        return poolDrawService.getProgress(tournamentId);
+    }
+}
@@ -0,0 +1,13 @@
+package org.fencing.demo.pooldraw;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class PoolDrawNotFoundException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PoolDrawNotFoundException(Long tournamentId) {
+        super("No pool draw has been run for Tournament " + tournamentId);
+    }
+}
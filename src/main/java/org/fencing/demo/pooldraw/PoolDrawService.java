@@ -0,0 +1,15 @@
+package org.fencing.demo.pooldraw;
+
+import org.fencing.demo.jobs.JobContext;
+
+public interface PoolDrawService {
+
+    // Draws the pools of every event of the tournament that has none yet
+    TournamentPoolDraw drawAllPools(Long tournamentId);
+
+    // Same, reporting finished events as job progress. After a cancel no further event is started
+    TournamentPoolDraw drawAllPools(Long tournamentId, JobContext job);
+
+    // Progress of the running or last draw
+    TournamentPoolDraw getProgress(Long tournamentId);
+}
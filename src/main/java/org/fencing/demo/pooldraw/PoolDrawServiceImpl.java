@@ -0,0 +1,233 @@
+package org.fencing.demo.pooldraw;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fencing.demo.events.EventNotFoundException;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.PlayerRankComparator;
+import org.fencing.demo.jobs.JobContext;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.matchMaking.BeforeGroupStage;
+import org.fencing.demo.matchMaking.WithinGroupSort;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.tournament.TournamentNotFoundException;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+// Tournament-wide pool draw, one fork/join task per event: pools are paired in memory, then
+// written in one transaction with JDBC batches
+@Service
+public class PoolDrawServiceImpl implements PoolDrawService {
+
+    private static final Logger log = LoggerFactory.getLogger(PoolDrawServiceImpl.class);
+
+    private static final String SELECT_EVENTS = "SELECT id FROM events WHERE tournament_id = ? ORDER BY id";
+    private static final String SELECT_ENTRANTS =
+            "SELECT pr.id, pr.player_id, p.elo, u.username FROM player_rank pr "
+            + "JOIN players p ON p.id = pr.player_id JOIN app_user u ON u.id = pr.player_id WHERE pr.event_id = ?";
+    private static final String COUNT_GROUP_STAGES = "SELECT COUNT(*) FROM group_stage WHERE event_id = ?";
+    private static final String INSERT_GROUP_STAGE =
+            "INSERT INTO group_stage (version, event_id, all_matches_completed) VALUES (0, ?, FALSE)";
+    private static final String INSERT_POOL_BOUT =
+            "INSERT INTO matches (version, event_id, group_stage_id, player1_id, player2_id, player1score, player2score) "
+            + "VALUES (0, ?, ?, ?, ?, 0, 0)";
+
+    private static final int INSERT_BATCH_SIZE = 200;
+
+    private final TournamentRepository tournamentRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool drawPool;
+
+    // tournament id -> its running or last draw, event id -> progress
+    private final Map<Long, Map<Long, EventDrawProgress>> draws = new ConcurrentHashMap<>();
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+    public PoolDrawServiceImpl(TournamentRepository tournamentRepository, EventRepository eventRepository,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${pools.draw.parallelism:4}") int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("pools.draw.parallelism must be at least 1");
+        }
+        this.tournamentRepository = tournamentRepository;
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.drawPool = new ForkJoinPool(parallelism);
+    }
+
+    @Override
+    public TournamentPoolDraw drawAllPools(Long tournamentId) {
+        return drawAllPools(tournamentId, JobContext.NONE);
+    }
+
+    @Override
+    public TournamentPoolDraw drawAllPools(Long tournamentId, JobContext job) {
+        if (tournamentId == null) {
+            throw new IllegalArgumentException("Tournament ID cannot be null");
+        }
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new TournamentNotFoundException(tournamentId);
+        }
+        if (!running.add(tournamentId)) {
+            throw new IllegalStateException("The pools of tournament " + tournamentId + " are already being drawn");
+        }
+        Timer.Sample sample = FencingMetrics.start();
+        try {
+            List<Long> eventIds = jdbcTemplate.queryForList(SELECT_EVENTS, Long.class, tournamentId);
+            Map<Long, EventDrawProgress> progress = new ConcurrentSkipListMap<>();
+            eventIds.forEach(eventId -> progress.put(eventId, EventDrawProgress.of(eventId, EventDrawStatus.QUEUED)));
+            draws.put(tournamentId, progress);
+
+            AtomicInteger finished = new AtomicInteger();
+            job.progress(0, eventIds.size());
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(eventIds.size());
+            for (Long eventId : eventIds) {
+                tasks.add(drawPool.submit(() -> {
+                    if (job.isCancelled()) {
+                        progress.put(eventId, new EventDrawProgress(eventId, EventDrawStatus.SKIPPED, 0, 0, "Cancelled"));
+                    } else {
+                        drawEvent(eventId, progress);
+                    }
+                    job.progress(finished.incrementAndGet(), eventIds.size());
+                }));
+            }
+            tasks.forEach(ForkJoinTask::join);
+            FencingMetrics.stop(sample, "fencing.pools.draw_all", eventIds.size());
+            // Events drawn before the cancel keep their pools
+            job.checkCancelled();
+        } finally {
+            running.remove(tournamentId);
+        }
+        return getProgress(tournamentId);
+    }
+
+    @Override
+    public TournamentPoolDraw getProgress(Long tournamentId) {
+        if (tournamentId == null) {
+            throw new IllegalArgumentException("Tournament ID cannot be null");
+        }
+        Map<Long, EventDrawProgress> progress = draws.get(tournamentId);
+        if (progress == null) {
+            throw new PoolDrawNotFoundException(tournamentId);
+        }
+        List<EventDrawProgress> events = new ArrayList<>(progress.values());
+        int finished = 0;
+        for (EventDrawProgress event : events) {
+            if (event.status().isFinished()) {
+                finished++;
+            }
+        }
+        return new TournamentPoolDraw(tournamentId, !running.contains(tournamentId), finished, events);
+    }
+
+    // One event from start to finish, a failure only fails this event
+    private void drawEvent(long eventId, Map<Long, EventDrawProgress> progress) {
+        try {
+            progress.put(eventId, EventDrawProgress.of(eventId, EventDrawStatus.DRAWING));
+            Set<PlayerRank> entrants = loadEntrants(eventId);
+            if (entrants.isEmpty()) {
+                progress.put(eventId, new EventDrawProgress(eventId, EventDrawStatus.SKIPPED, 0, 0, "No fencers registered"));
+                return;
+            }
+            List<List<Match>> pools = FencingMetrics.timeForEvent("fencing.pools.draw", entrants.size(),
+                    () -> drawPools(entrants));
+            int bouts = pools.stream().mapToInt(List::size).sum();
+
+            progress.put(eventId, new EventDrawProgress(eventId, EventDrawStatus.SAVING, pools.size(), bouts, null));
+            boolean saved = transactionTemplate.execute(status -> savePools(eventId, pools));
+            progress.put(eventId, saved
+                    ? new EventDrawProgress(eventId, EventDrawStatus.DONE, pools.size(), bouts, null)
+                    : new EventDrawProgress(eventId, EventDrawStatus.SKIPPED, 0, 0, "Pools were already drawn"));
+        } catch (RuntimeException e) {
+            log.warn("Pool draw of event {} failed", eventId, e);
+            progress.put(eventId, new EventDrawProgress(eventId, EventDrawStatus.FAILED, 0, 0, e.getMessage()));
+        }
+    }
+
+    // Same pools and pairings as GroupStageService and MatchService produce one event at a time
+    public static List<List<Match>> drawPools(Set<PlayerRank> entrants) {
+        TreeMap<Integer, List<PlayerRank>> groups = BeforeGroupStage.sortByELO(entrants);
+        return new ArrayList<>(WithinGroupSort.groupMatchMakingAlgorithm(groups, null).values());
+    }
+
+    private Set<PlayerRank> loadEntrants(long eventId) {
+        Set<PlayerRank> entrants = new TreeSet<>(new PlayerRankComparator());
+        jdbcTemplate.query(SELECT_ENTRANTS, rs -> {
+            Player player = new Player();
+            player.setId(rs.getLong(2));
+            player.setElo(rs.getInt(3));
+            player.setUsername(rs.getString(4));
+            PlayerRank rank = new PlayerRank();
+            rank.setId(rs.getLong(1));
+            rank.setPlayer(player);
+            entrants.add(rank);
+        }, eventId);
+        return entrants;
+    }
+
+    // false when someone drew this event's pools in the meantime
+    private boolean savePools(long eventId, List<List<Match>> pools) {
+        // Held until commit, so a draw of the same event on another node counts only after this one
+        eventRepository.lockById(eventId).orElseThrow(() -> new EventNotFoundException(eventId));
+        Long existing = jdbcTemplate.queryForObject(COUNT_GROUP_STAGES, Long.class, eventId);
+        if (existing != null && existing > 0) {
+            return false;
+        }
+        List<long[]> bouts = new ArrayList<>();
+        for (List<Match> pool : pools) {
+            long groupStageId = insertGroupStage(eventId);
+            for (Match match : pool) {
+                bouts.add(new long[] { groupStageId, match.getPlayer1().getId(), match.getPlayer2().getId() });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_POOL_BOUT, bouts, INSERT_BATCH_SIZE, (ps, bout) -> {
+            ps.setLong(1, eventId);
+            ps.setLong(2, bout[0]);
+            ps.setLong(3, bout[1]);
+            ps.setLong(4, bout[2]);
+        });
+        return true;
+    }
+
+    private long insertGroupStage(long eventId) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_GROUP_STAGE, new String[] { "id" });
+            ps.setLong(1, eventId);
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drawPool.shutdownNow();
+    }
+}
@@ -0,0 +1,7 @@
+package org.fencing.demo.pooldraw;
+
+import java.util.List;
+
+// finished: no event is still queued or being drawn
+public record TournamentPoolDraw(long tournamentId, boolean finished, int finishedEvents, List<EventDrawProgress> events) {
+}
@@ -0,0 +1,6 @@
+package org.fencing.demo.poolresults;
+
+// One line of the pool sheet: victories, bouts fenced, touches scored and received, TS - TR
+public record PoolFencerResult(long playerId, int place, int victories, int bouts, int touchesScored,
+        int touchesReceived, int indicator) {
+}
@@ -0,0 +1,6 @@
+package org.fencing.demo.poolresults;
+
+// A line of the ranking after the pools, fencers that can't be separated share a rank
+public record PoolRankingEntry(int rank, long playerId, int poolNumber, int victories, int bouts,
+        double victoryRatio, int touchesScored, int touchesReceived, int indicator) {
+}
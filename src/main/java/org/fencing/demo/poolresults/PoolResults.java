@@ -0,0 +1,6 @@
+package org.fencing.demo.poolresults;
+
+import java.util.List;
+
+public record PoolResults(long eventId, List<PoolSheet> pools, List<PoolRankingEntry> ranking) {
+}
@@ -0,0 +1,25 @@
+package org.fencing.demo.poolresults;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class PoolResultsController {
+
+    private final PoolResultsService poolResultsService;
+
+    public PoolResultsController(PoolResultsService poolResultsService) {
+        this.poolResultsService = poolResultsService;
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/pools/results")
+    public PoolResults getEventResults(@PathVariable Long eventId) {
+        return poolResultsService.getEventResults(eventId);
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/groupStage/{groupStageId}/results")
+    public PoolSheet getGroupStageResults(@PathVariable Long groupStageId) {
+        return poolResultsService.getGroupStageResults(groupStageId);
+    }
+}
@@ -0,0 +1,184 @@
+package org.fencing.demo.poolresults;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// FIE pool sheets and the ranking after the pools (o.44: victories / bouts, indicator, touches
+// scored, ties share a place), tallied in arrays over a dense fencer index. 0-0 means not fenced yet
+public final class PoolResultsEngine {
+
+    private PoolResultsEngine() {
+    }
+
+    // poolFencers and groupStageIds (entries may be null) are per pool, boutPool is the pool index of each bout
+    public static PoolResults compute(long eventId, long[][] poolFencers, Long[] groupStageIds, int[] boutPool,
+            long[] fencer1, long[] fencer2, int[] score1, int[] score2) {
+        int fencerCount = 0;
+        for (long[] pool : poolFencers) {
+            fencerCount += pool.length;
+        }
+        long[] playerIds = new long[fencerCount];
+        int[] poolOf = new int[fencerCount];
+        int[] seat = new int[fencerCount];
+        int next = 0;
+        for (int pool = 0; pool < poolFencers.length; pool++) {
+            for (int i = 0; i < poolFencers[pool].length; i++) {
+                playerIds[next] = poolFencers[pool][i];
+                poolOf[next] = pool;
+                seat[next] = i;
+                next++;
+            }
+        }
+        Tally tally = new Tally(playerIds);
+
+        int[][][] touches = new int[poolFencers.length][][];
+        for (int pool = 0; pool < poolFencers.length; pool++) {
+            int size = poolFencers[pool].length;
+            touches[pool] = new int[size][size];
+            for (int[] row : touches[pool]) {
+                Arrays.fill(row, -1);
+            }
+        }
+
+        for (int bout = 0; bout < boutPool.length; bout++) {
+            if (score1[bout] == 0 && score2[bout] == 0) {
+                continue;
+            }
+            Integer a = tally.indexOf.get(fencer1[bout]);
+            Integer b = tally.indexOf.get(fencer2[bout]);
+            if (a == null || b == null) {
+                throw new IllegalArgumentException("Bout " + bout + " has a fencer that is in no pool");
+            }
+            tally.record(a, b, score1[bout], score2[bout]);
+            int[][] matrix = touches[boutPool[bout]];
+            matrix[seat[a]][seat[b]] = score1[bout];
+            matrix[seat[b]][seat[a]] = score2[bout];
+        }
+
+        int[] order = tally.order();
+        List<PoolRankingEntry> ranking = tally.ranking(order, poolOf);
+
+        // Place within the pool, by the same rules
+        int[] place = new int[fencerCount];
+        int[] placedInPool = new int[poolFencers.length];
+        int[] lastInPool = new int[poolFencers.length];
+        Arrays.fill(lastInPool, -1);
+        for (int i : order) {
+            int pool = poolOf[i];
+            int previous = lastInPool[pool];
+            placedInPool[pool]++;
+            place[i] = previous >= 0 && tally.compare(previous, i) == 0 ? place[previous] : placedInPool[pool];
+            lastInPool[pool] = i;
+        }
+
+        List<PoolSheet> sheets = new ArrayList<>(poolFencers.length);
+        int first = 0;
+        for (int pool = 0; pool < poolFencers.length; pool++) {
+            int size = poolFencers[pool].length;
+            List<PoolFencerResult> fencers = new ArrayList<>(size);
+            boolean complete = true;
+            for (int i = first; i < first + size; i++) {
+                fencers.add(new PoolFencerResult(playerIds[i], place[i], tally.victories[i], tally.bouts[i],
+                        tally.scored[i], tally.received[i], tally.scored[i] - tally.received[i]));
+                complete &= tally.bouts[i] == size - 1;
+            }
+            sheets.add(new PoolSheet(pool + 1, groupStageIds[pool], complete, fencers, touches[pool]));
+            first += size;
+        }
+        return new PoolResults(eventId, sheets, ranking);
+    }
+
+    // Just the ranking, without pool sheets. Bouts against fencers that are not listed (withdrawn)
+    // don't count, the pool number of every entry is 0.
+    public static List<PoolRankingEntry> rankAfterPools(long[] fencerIds, long[] fencer1, long[] fencer2,
+            int[] score1, int[] score2) {
+        Tally tally = new Tally(fencerIds);
+        for (int bout = 0; bout < fencer1.length; bout++) {
+            Integer a = tally.indexOf.get(fencer1[bout]);
+            Integer b = tally.indexOf.get(fencer2[bout]);
+            if (a != null && b != null && (score1[bout] != 0 || score2[bout] != 0)) {
+                tally.record(a, b, score1[bout], score2[bout]);
+            }
+        }
+        return tally.ranking(tally.order(), null);
+    }
+
+    private static final class Tally {
+        final long[] playerIds;
+        final Map<Long, Integer> indexOf;
+        final int[] victories;
+        final int[] bouts;
+        final int[] scored;
+        final int[] received;
+
+        Tally(long[] playerIds) {
+            this.playerIds = playerIds;
+            this.indexOf = new HashMap<>(playerIds.length * 2);
+            for (int i = 0; i < playerIds.length; i++) {
+                indexOf.put(playerIds[i], i);
+            }
+            this.victories = new int[playerIds.length];
+            this.bouts = new int[playerIds.length];
+            this.scored = new int[playerIds.length];
+            this.received = new int[playerIds.length];
+        }
+
+        void record(int a, int b, int scoreA, int scoreB) {
+            bouts[a]++;
+            bouts[b]++;
+            scored[a] += scoreA;
+            received[a] += scoreB;
+            scored[b] += scoreB;
+            received[b] += scoreA;
+            if (scoreA > scoreB) {
+                victories[a]++;
+            } else if (scoreB > scoreA) {
+                victories[b]++;
+            }
+        }
+
+        int[] order() {
+            Integer[] order = new Integer[playerIds.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, this::compare);
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+
+        List<PoolRankingEntry> ranking(int[] order, int[] poolOf) {
+            int[] rank = new int[order.length];
+            List<PoolRankingEntry> ranking = new ArrayList<>(order.length);
+            for (int position = 0; position < order.length; position++) {
+                int i = order[position];
+                rank[i] = position > 0 && compare(order[position - 1], i) == 0 ? rank[order[position - 1]] : position + 1;
+                ranking.add(new PoolRankingEntry(rank[i], playerIds[i], poolOf == null ? 0 : poolOf[i] + 1,
+                        victories[i], bouts[i], bouts[i] == 0 ? 0 : (double) victories[i] / bouts[i],
+                        scored[i], received[i], scored[i] - received[i]));
+            }
+            return ranking;
+        }
+
+        // Better fencer first; ratios are compared cross-multiplied to stay exact
+        int compare(int x, int y) {
+            int ratio;
+            if (bouts[x] > 0 && bouts[y] > 0) {
+                ratio = Long.compare((long) victories[y] * bouts[x], (long) victories[x] * bouts[y]);
+            } else {
+                // no bouts fenced counts as a ratio of 0
+                ratio = Integer.compare(victories[y] > 0 ? 1 : 0, victories[x] > 0 ? 1 : 0);
+            }
+            if (ratio != 0) {
+                return ratio;
+            }
+            int indicator = Integer.compare(scored[y] - received[y], scored[x] - received[x]);
+            if (indicator != 0) {
+                return indicator;
+            }
+            return Integer.compare(scored[y], scored[x]);
+        }
+    }
+}
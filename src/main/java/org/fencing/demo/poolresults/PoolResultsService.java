@@ -0,0 +1,9 @@
+package org.fencing.demo.poolresults;
+
+public interface PoolResultsService {
+
+    // Every pool of the event and the ranking after the pools
+    PoolResults getEventResults(Long eventId);
+
+    PoolSheet getGroupStageResults(Long groupStageId);
+}
@@ -0,0 +1,101 @@
+package org.fencing.demo.poolresults;
+
+import java.util.List;
+
+import org.fencing.demo.events.EventNotFoundException;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.matchMaking.PoolGrouping;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.stages.GroupStageNotFoundException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class PoolResultsServiceImpl implements PoolResultsService {
+
+    private record PoolBoutRow(long player1Id, long player2Id, Long groupStageId, int player1Score, int player2Score)
+            implements PoolGrouping.PoolBout {
+    }
+
+    private static final String SELECT_POOL_BOUTS = "SELECT group_stage_id, player1_id, player2_id, player1score, player2score "
+            + "FROM matches WHERE event_id = ? AND knockout_stage_id IS NULL ORDER BY id";
+    private static final String SELECT_GROUP_STAGES = "SELECT id FROM group_stage WHERE event_id = ? ORDER BY id";
+    private static final String SELECT_GROUP_STAGE_EVENT = "SELECT event_id FROM group_stage WHERE id = ?";
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PoolResultsServiceImpl(EventRepository eventRepository, JdbcTemplate jdbcTemplate) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PoolResults getEventResults(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+        return compute(eventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PoolSheet getGroupStageResults(Long groupStageId) {
+        if (groupStageId == null) {
+            throw new IllegalArgumentException("GroupStage ID cannot be null");
+        }
+        List<Long> eventIds = jdbcTemplate.queryForList(SELECT_GROUP_STAGE_EVENT, Long.class, groupStageId);
+        if (eventIds.isEmpty()) {
+            throw new GroupStageNotFoundException(groupStageId);
+        }
+        // Places are only meaningful within the pool, so the whole event is computed once anyway
+        return compute(eventIds.get(0)).pools().stream()
+                .filter(pool -> groupStageId.equals(pool.groupStageId()))
+                .findFirst()
+                .orElseThrow(() -> new GroupStageNotFoundException(groupStageId));
+    }
+
+    private PoolResults compute(long eventId) {
+        List<Long> groupStages = jdbcTemplate.queryForList(SELECT_GROUP_STAGES, Long.class, eventId);
+        List<PoolBoutRow> rows = jdbcTemplate.query(SELECT_POOL_BOUTS, (rs, row) -> {
+            long groupStageId = rs.getLong(1);
+            Long groupStage = rs.wasNull() ? null : groupStageId;
+            return new PoolBoutRow(rs.getLong(2), rs.getLong(3), groupStage, rs.getInt(4), rs.getInt(5));
+        }, eventId);
+
+        Timer.Sample sample = FencingMetrics.start();
+        List<PoolGrouping.Pool<PoolBoutRow>> pools = PoolGrouping.group(rows, groupStages);
+        long[][] poolFencers = new long[pools.size()][];
+        Long[] groupStageIds = new Long[pools.size()];
+        int[] boutPool = new int[rows.size()];
+        long[] fencer1 = new long[rows.size()];
+        long[] fencer2 = new long[rows.size()];
+        int[] score1 = new int[rows.size()];
+        int[] score2 = new int[rows.size()];
+        int bout = 0;
+        for (int pool = 0; pool < pools.size(); pool++) {
+            PoolGrouping.Pool<PoolBoutRow> poolRows = pools.get(pool);
+            poolFencers[pool] = poolRows.fencerIds().stream().mapToLong(Long::longValue).toArray();
+            groupStageIds[pool] = poolRows.groupStageId();
+            for (PoolBoutRow poolBout : poolRows.bouts()) {
+                boutPool[bout] = pool;
+                fencer1[bout] = poolBout.player1Id();
+                fencer2[bout] = poolBout.player2Id();
+                score1[bout] = poolBout.player1Score();
+                score2[bout] = poolBout.player2Score();
+                bout++;
+            }
+        }
+        PoolResults results = PoolResultsEngine.compute(eventId, poolFencers, groupStageIds, boutPool,
+                fencer1, fencer2, score1, score2);
+        FencingMetrics.stop(sample, "fencing.pools.results", results.ranking().size());
+        return results;
+    }
+}
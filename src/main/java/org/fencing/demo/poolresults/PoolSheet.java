@@ -0,0 +1,12 @@
+package org.fencing.demo.poolresults;
+
+import java.util.List;
+
+/**
+ * Results of one pool. Fencers are listed in pool order; touches[i][j] is what fencer i scored
+ * against fencer j, -1 while that bout has not been fenced. groupStageId is null for pools whose
+ * bouts are not linked to a GroupStage.
+ */
+public record PoolSheet(int poolNumber, Long groupStageId, boolean complete, List<PoolFencerResult> fencers,
+        int[][] touches) {
+}
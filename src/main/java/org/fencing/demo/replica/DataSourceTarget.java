@@ -0,0 +1,6 @@
+package org.fencing.demo.replica;
+
+public enum DataSourceTarget {
+    PRIMARY,
+    REPLICA
+}
@@ -0,0 +1,30 @@
+package org.fencing.demo.replica;
+
+// Set by ReplicaStickinessFilter for clients that wrote recently. Background threads use onPrimary()
+public final class PrimaryStickiness {
+
+    private static final ThreadLocal<Boolean> STICKY = new ThreadLocal<>();
+
+    private PrimaryStickiness() {
+    }
+
+    public static void stickToPrimary() {
+        STICKY.set(Boolean.TRUE);
+    }
+
+    public static boolean isSticky() {
+        return STICKY.get() != null;
+    }
+
+    public static void clear() {
+        STICKY.remove();
+    }
+
+    // For the body of a background thread: it reads back what it wrote itself, so it stays on the primary for good
+    public static Runnable onPrimary(Runnable runnable) {
+        return () -> {
+            stickToPrimary();
+            runnable.run();
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package org.fencing.demo.replica;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// readOnly transactions go to the replica. The flag is only set once the transaction started, hence wrap()
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(DataSourceTarget.PRIMARY, primary, DataSourceTarget.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // The data source to hand to JPA and JdbcTemplate
+    public static DataSource wrap(DataSource primary, DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PrimaryStickiness.isSticky()) {
+            return DataSourceTarget.REPLICA;
+        }
+        return DataSourceTarget.PRIMARY;
+    }
+}
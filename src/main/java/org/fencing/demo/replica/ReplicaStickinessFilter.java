@@ -0,0 +1,75 @@
+package org.fencing.demo.replica;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// A write hands its client a cookie keeping its reads on the primary for a while, on whichever node
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class ReplicaStickinessFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE_NAME = "primary-until";
+
+    private final long stickyMillis;
+
+    public ReplicaStickinessFilter(@Value("${datasource.replica.sticky-ms:5000}") long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        if (isWrite(request)) {
+            // Set before the handler runs, the response may be committed by the time it returns
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now + stickyMillis));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, stickyMillis / 1000));
+            response.addCookie(cookie);
+            PrimaryStickiness.stickToPrimary();
+        } else if (stickyUntil(request) > now) {
+            PrimaryStickiness.stickToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryStickiness.clear();
+        }
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
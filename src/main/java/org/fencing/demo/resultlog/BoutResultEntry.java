@@ -0,0 +1,74 @@
+package org.fencing.demo.resultlog;
+
+import java.time.Instant;
+
+import org.fencing.demo.match.Match;
+import org.hibernate.annotations.Immutable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// One row per score change, never updated. Plain ids instead of relations so the log
+// outlives deleted bouts and can be read without touching the matches table.
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Immutable
+@Entity
+@Table(name = "bout_result_log", indexes = {
+        @Index(name = "idx_bout_result_log_event", columnList = "event_id, id"),
+        @Index(name = "idx_bout_result_log_match", columnList = "match_id") })
+public class BoutResultEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private long eventId;
+
+    @Column(nullable = false)
+    private long matchId;
+
+    @Column(name = "player1_id", nullable = false)
+    private long player1Id;
+
+    @Column(name = "player2_id", nullable = false)
+    private long player2Id;
+
+    @Column(name = "player1_score")
+    private int player1Score;
+
+    @Column(name = "player2_score")
+    private int player2Score;
+
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+    // null when nobody was logged in, e.g. backfilled from existing bouts
+    private Long submittedBy;
+
+    public static BoutResultEntry of(Match match, Long submittedBy, Instant recordedAt) {
+        return BoutResultEntry.builder()
+                .eventId(match.getEvent().getId())
+                .matchId(match.getId())
+                .player1Id(match.getPlayer1().getId())
+                .player2Id(match.getPlayer2().getId())
+                .player1Score(match.getPlayer1Score())
+                .player2Score(match.getPlayer2Score())
+                .recordedAt(recordedAt)
+                .submittedBy(submittedBy)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package org.fencing.demo.resultlog;
+
+import java.util.List;
+
+import org.fencing.demo.jobs.Job;
+import org.fencing.demo.jobs.JobController;
+import org.fencing.demo.jobs.JobService;
+import org.fencing.demo.jobs.JobType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class BoutResultLogController {
+
+    private final BoutResultLogService boutResultLogService;
+    private final JobService jobService;
+
+    public BoutResultLogController(BoutResultLogService boutResultLogService, JobService jobService) {
+        this.boutResultLogService = boutResultLogService;
+        this.jobService = jobService;
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/results/log")
+    public ResponseEntity<List<BoutResultEntry>> getEventLog(@PathVariable Long eventId) {
+        return ResponseEntity.ok(boutResultLogService.getEventLog(eventId));
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/match/{matchId}/results/log")
+    public ResponseEntity<List<BoutResultEntry>> getMatchLog(@PathVariable Long matchId) {
+        return ResponseEntity.ok(boutResultLogService.getMatchLog(matchId));
+    }
+
+    // rule is classic or indicator
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/standings/replay")
+    public ResponseEntity<List<PlayerStanding>> replayStandings(@PathVariable Long eventId,
+            @RequestParam(value = "rule", defaultValue = "classic") String rule) {
+        return ResponseEntity.ok(boutResultLogService.replayStandings(eventId, StandingsRule.valueOf(rule.toUpperCase())));
+    }
+
+    @PostMapping("/tournaments/{tournamentId}/events/{eventId}/standings/rebuild")
+    public ResponseEntity<List<PlayerStanding>> rebuildStandings(@PathVariable Long eventId,
+            @RequestParam(value = "rule", defaultValue = "classic") String rule) {
+        return ResponseEntity.ok(boutResultLogService.rebuildStandings(eventId, StandingsRule.valueOf(rule.toUpperCase())));
+    }
+
+    // Replays the whole log as a job, the result maps player id -> elo
+    @PostMapping("/players/elo/rebuild")
+    public ResponseEntity<Job> rebuildElo() {
+        return JobController.accepted(jobService.submit(JobType.ELO_REBUILD, "all players",
+                job -> boutResultLogService.rebuildElo()));
+    }
+}
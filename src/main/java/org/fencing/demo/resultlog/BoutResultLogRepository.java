@@ -0,0 +1,14 @@
+package org.fencing.demo.resultlog;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BoutResultLogRepository extends JpaRepository<BoutResultEntry, Long> {
+
+    List<BoutResultEntry> findByEventIdOrderByIdAsc(long eventId);
+
+    List<BoutResultEntry> findByMatchIdOrderByIdAsc(long matchId);
+}
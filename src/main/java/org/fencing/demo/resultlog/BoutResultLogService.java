@@ -0,0 +1,20 @@
+package org.fencing.demo.resultlog;
+
+import java.util.List;
+import java.util.Map;
+
+public interface BoutResultLogService {
+
+    List<BoutResultEntry> getEventLog(Long eventId);
+
+    List<BoutResultEntry> getMatchLog(Long matchId);
+
+    // Standings from the log under the given rule, nothing is written
+    List<PlayerStanding> replayStandings(Long eventId, StandingsRule rule);
+
+    // Same as replayStandings, then overwrites the event's PlayerRank rows with the result
+    List<PlayerStanding> rebuildStandings(Long eventId, StandingsRule rule);
+
+    // Replays every logged bout from Player.STARTING_ELO and stores the ratings, player id -> elo
+    Map<Long, Integer> rebuildElo();
+}
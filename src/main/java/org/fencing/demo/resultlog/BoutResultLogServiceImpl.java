@@ -0,0 +1,164 @@
+package org.fencing.demo.resultlog;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.fencing.demo.events.EventNotFoundException;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.player.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Timer;
+
+// Replays read the log straight off a JDBC cursor, no entities are built for the entries
+@Service
+public class BoutResultLogServiceImpl implements BoutResultLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(BoutResultLogServiceImpl.class);
+
+    private static final String LOGGED_RESULTS =
+            "SELECT match_id, player1_id, player2_id, player1_score, player2_score FROM bout_result_log ";
+
+    // Bouts fenced before the log existed get one entry each, without a submitter. Also run by
+    // EventOwnership before it loads a claimed event's standings
+    public static final String BACKFILL_EVENT =
+            "INSERT INTO bout_result_log (event_id, match_id, player1_id, player2_id, player1_score, player2_score, recorded_at) "
+            + "SELECT m.event_id, m.id, m.player1_id, m.player2_id, m.player1score, m.player2score, CURRENT_TIMESTAMP "
+            + "FROM matches m WHERE m.event_id = ? AND (m.player1score <> 0 OR m.player2score <> 0) "
+            + "AND NOT EXISTS (SELECT 1 FROM bout_result_log l WHERE l.match_id = m.id) ORDER BY m.id";
+
+    private static final String SELECT_EVENT_IDS = "SELECT id FROM events ORDER BY id";
+
+    private static final String RESET_RANKS =
+            "UPDATE player_rank SET score = 0, win_count = 0, loss_count = 0, version = version + 1 WHERE event_id = ?";
+
+    private static final String UPDATE_RANK =
+            "UPDATE player_rank SET score = ?, win_count = ?, loss_count = ? WHERE event_id = ? AND player_id = ?";
+
+    private static final String UPDATE_ELO = "UPDATE players SET elo = ? WHERE id = ?";
+
+    private static final int UPDATE_BATCH_SIZE = 200;
+
+    private final BoutResultLogRepository boutResultLogRepository;
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public BoutResultLogServiceImpl(BoutResultLogRepository boutResultLogRepository, EventRepository eventRepository,
+            DataSource dataSource, @Value("${results.log.fetch-size:1000}") int fetchSize) {
+        this.boutResultLogRepository = boutResultLogRepository;
+        this.eventRepository = eventRepository;
+        // Own template so the fetch size does not leak into other queries
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BoutResultEntry> getEventLog(Long eventId) {
+        requireEvent(eventId);
+        return boutResultLogRepository.findByEventIdOrderByIdAsc(eventId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BoutResultEntry> getMatchLog(Long matchId) {
+        if (matchId == null) {
+            throw new IllegalArgumentException("Match ID cannot be null");
+        }
+        return boutResultLogRepository.findByMatchIdOrderByIdAsc(matchId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PlayerStanding> replayStandings(Long eventId, StandingsRule rule) {
+        requireEvent(eventId);
+        return replay(eventId, rule);
+    }
+
+    @Override
+    @Transactional
+    public List<PlayerStanding> rebuildStandings(Long eventId, StandingsRule rule) {
+        requireEvent(eventId);
+        int backfilled = jdbcTemplate.update(BACKFILL_EVENT, eventId);
+        if (backfilled > 0) {
+            log.info("Backfilled {} bouts into the result log of event {}", backfilled, eventId);
+        }
+        List<PlayerStanding> standings = replay(eventId, rule);
+
+        // Fencers without a logged bout keep an all-zero rank
+        jdbcTemplate.update(RESET_RANKS, eventId);
+        jdbcTemplate.batchUpdate(UPDATE_RANK, standings, UPDATE_BATCH_SIZE, (ps, standing) -> {
+            ps.setInt(1, standing.score());
+            ps.setInt(2, standing.winCount());
+            ps.setInt(3, standing.lossCount());
+            ps.setLong(4, eventId);
+            ps.setLong(5, standing.playerId());
+        });
+        return standings;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, Integer> rebuildElo() {
+        // Elo spans every event, so each one's unlogged bouts go in first
+        int backfilled = 0;
+        for (Long eventId : jdbcTemplate.queryForList(SELECT_EVENT_IDS, Long.class)) {
+            backfilled += jdbcTemplate.update(BACKFILL_EVENT, eventId);
+        }
+        if (backfilled > 0) {
+            log.info("Backfilled {} bouts into the result log before the Elo rebuild", backfilled);
+        }
+
+        EloProjection projection = new EloProjection();
+        Timer.Sample sample = FencingMetrics.start();
+        int[] entries = { 0 };
+        jdbcTemplate.query(LOGGED_RESULTS + "ORDER BY id", rs -> {
+            projection.accept(toLoggedResult(rs));
+            entries[0]++;
+        });
+        Map<Long, Integer> ratings = projection.ratings(Player.STARTING_ELO);
+        FencingMetrics.stop(sample, "fencing.results.log.replay", entries[0]);
+
+        jdbcTemplate.batchUpdate(UPDATE_ELO, new ArrayList<>(ratings.entrySet()), UPDATE_BATCH_SIZE, (ps, rating) -> {
+            ps.setInt(1, rating.getValue());
+            ps.setLong(2, rating.getKey());
+        });
+        return ratings;
+    }
+
+    private List<PlayerStanding> replay(Long eventId, StandingsRule rule) {
+        StandingsProjection projection = new StandingsProjection(rule == null ? StandingsRule.CLASSIC : rule);
+        Timer.Sample sample = FencingMetrics.start();
+        int[] entries = { 0 };
+        jdbcTemplate.query(LOGGED_RESULTS + "WHERE event_id = ? ORDER BY id", rs -> {
+            projection.accept(toLoggedResult(rs));
+            entries[0]++;
+        }, eventId);
+        FencingMetrics.stop(sample, "fencing.results.log.replay", entries[0]);
+        return projection.standings();
+    }
+
+    private void requireEvent(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(eventId);
+        }
+    }
+
+    private static LoggedResult toLoggedResult(ResultSet rs) throws SQLException {
+        return new LoggedResult(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getInt(4), rs.getInt(5));
+    }
+}
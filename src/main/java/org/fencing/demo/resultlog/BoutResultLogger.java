@@ -0,0 +1,27 @@
+package org.fencing.demo.resultlog;
+
+import java.time.Instant;
+
+import org.fencing.demo.match.MatchUpdatedEvent;
+import org.fencing.demo.security.CurrentUser;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Runs synchronously inside the transaction that changed the bout,
+// so a result and its log entry are committed or rolled back together
+@Component
+public class BoutResultLogger {
+
+    private final BoutResultLogRepository boutResultLogRepository;
+
+    public BoutResultLogger(BoutResultLogRepository boutResultLogRepository) {
+        this.boutResultLogRepository = boutResultLogRepository;
+    }
+
+    @EventListener
+    public void onMatchUpdated(MatchUpdatedEvent matchUpdated) {
+        Long submittedBy = matchUpdated.match().getSubmittedBy();
+        boutResultLogRepository.save(BoutResultEntry.of(matchUpdated.match(),
+                submittedBy != null ? submittedBy : CurrentUser.id(), Instant.now()));
+    }
+}
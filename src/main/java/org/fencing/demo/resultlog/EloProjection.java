@@ -0,0 +1,35 @@
+package org.fencing.demo.resultlog;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Elo replayed over the whole log. Each bout counts once with its final result, at the point
+// it was first entered, so a correction does not move the bout to the end of the history.
+public class EloProjection {
+
+    public static final int K_FACTOR = 32;
+
+    private final Map<Long, LoggedResult> latestByMatch = new LinkedHashMap<>();
+
+    public void accept(LoggedResult result) {
+        // Re-putting a key keeps its original position in a LinkedHashMap
+        latestByMatch.put(result.matchId(), result);
+    }
+
+    public Map<Long, Integer> ratings(int startingElo) {
+        Map<Long, Double> ratings = new HashMap<>();
+        for (LoggedResult result : latestByMatch.values()) {
+            double rating1 = ratings.getOrDefault(result.player1Id(), (double) startingElo);
+            double rating2 = ratings.getOrDefault(result.player2Id(), (double) startingElo);
+            double expected1 = 1.0 / (1.0 + Math.pow(10, (rating2 - rating1) / 400.0));
+            double actual1 = result.player1Score() > result.player2Score() ? 1.0
+                    : result.player1Score() < result.player2Score() ? 0.0 : 0.5;
+            ratings.put(result.player1Id(), rating1 + K_FACTOR * (actual1 - expected1));
+            ratings.put(result.player2Id(), rating2 + K_FACTOR * (expected1 - actual1));
+        }
+        Map<Long, Integer> rounded = new HashMap<>();
+        ratings.forEach((playerId, rating) -> rounded.put(playerId, (int) Math.round(rating)));
+        return rounded;
+    }
+}
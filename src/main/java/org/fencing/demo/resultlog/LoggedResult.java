@@ -0,0 +1,5 @@
+package org.fencing.demo.resultlog;
+
+// The part of a log entry the projections need, read straight from JDBC
+public record LoggedResult(long matchId, long player1Id, long player2Id, int player1Score, int player2Score) {
+}
@@ -0,0 +1,4 @@
+package org.fencing.demo.resultlog;
+
+public record PlayerStanding(long playerId, int score, int winCount, int lossCount) {
+}
@@ -0,0 +1,44 @@
+package org.fencing.demo.resultlog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.events.PlayerRank;
+
+// Event standings folded from the log. A later entry for the same bout is a correction
+// and replaces the earlier one, the same as updateMatch reverting the old result.
+public class StandingsProjection {
+
+    private final StandingsRule rule;
+    private final Map<Long, LoggedResult> latestByMatch = new HashMap<>();
+
+    public StandingsProjection(StandingsRule rule) {
+        this.rule = rule;
+    }
+
+    public void accept(LoggedResult result) {
+        latestByMatch.put(result.matchId(), result);
+    }
+
+    // Ordered like PlayerRankComparator: wins, fewest losses, score
+    public List<PlayerStanding> standings() {
+        Map<Long, PlayerRank> ranks = new HashMap<>();
+        for (LoggedResult result : latestByMatch.values()) {
+            rule.apply(ranks.computeIfAbsent(result.player1Id(), id -> new PlayerRank()),
+                    result.player1Score(), result.player2Score());
+            rule.apply(ranks.computeIfAbsent(result.player2Id(), id -> new PlayerRank()),
+                    result.player2Score(), result.player1Score());
+        }
+        List<PlayerStanding> standings = new ArrayList<>(ranks.size());
+        ranks.forEach((playerId, rank) -> standings.add(
+                new PlayerStanding(playerId, rank.getScore(), rank.getWinCount(), rank.getLossCount())));
+        standings.sort(Comparator.comparingInt(PlayerStanding::winCount).reversed()
+                .thenComparingInt(PlayerStanding::lossCount)
+                .thenComparing(Comparator.comparingInt(PlayerStanding::score).reversed())
+                .thenComparingLong(PlayerStanding::playerId));
+        return standings;
+    }
+}
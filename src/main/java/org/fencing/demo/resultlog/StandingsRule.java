@@ -0,0 +1,31 @@
+package org.fencing.demo.resultlog;
+
+import org.fencing.demo.events.PlayerRank;
+
+// How a bout counts towards the event standings, replaying the log under another rule
+// recomputes the standings without touching the bouts
+public enum StandingsRule {
+
+    // What PlayerRank.updateAfterMatch does live
+    CLASSIC {
+        @Override
+        void apply(PlayerRank rank, int pointsWon, int pointsOpponent) {
+            rank.updateAfterMatch(pointsWon, pointsOpponent);
+        }
+    },
+
+    // FIE pool indicator: touches scored minus touches received
+    INDICATOR {
+        @Override
+        void apply(PlayerRank rank, int pointsWon, int pointsOpponent) {
+            if (pointsWon > pointsOpponent) {
+                rank.setWinCount(rank.getWinCount() + 1);
+            } else {
+                rank.setLossCount(rank.getLossCount() + 1);
+            }
+            rank.setScore(rank.getScore() + pointsWon - pointsOpponent);
+        }
+    };
+
+    abstract void apply(PlayerRank rank, int pointsWon, int pointsOpponent);
+}
@@ -0,0 +1,37 @@
+package org.fencing.demo.schedule;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSchedule {
+
+    private long eventId;
+
+    private int pistes;
+
+    private int referees;
+
+    private int slotMinutes;
+
+    private int poolPhaseEndSlot;
+
+    // includes projected DE rounds when they were requested
+    private int endSlot;
+
+    private LocalDateTime estimatedFinish;
+
+    private int localSearchMoves;
+
+    private long solveMillis;
+
+    private List<ScheduleEntry> bouts;
+}
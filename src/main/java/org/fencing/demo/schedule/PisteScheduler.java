@@ -0,0 +1,396 @@
+package org.fencing.demo.schedule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeMap;
+
+// Each pool runs on one piste, longest pools first, bouts in a rest-aware order. The local search
+// moves pools and reorders bouts while the pool phase gets shorter. DE rounds follow on the first free piste.
+public class PisteScheduler {
+
+    private static final int MAX_LOCAL_SEARCH_ITERATIONS = 50_000;
+
+    // Options come straight from the request body, arrays are sized by pistes and the timeline by slot counts
+    static final int MAX_PISTES = 256;
+    static final int MAX_SLOTS = 100;
+    static final int MAX_SLOT_MINUTES = 240;
+    static final long MAX_LOCAL_SEARCH_MILLIS = 5_000;
+
+    private final ScheduleOptions options;
+    private final int referees;
+
+    public PisteScheduler(ScheduleOptions options) {
+        if (options == null || options.getPistes() < 1) {
+            throw new IllegalArgumentException("At least one piste is needed");
+        }
+        if (options.getRestSlots() < 0 || options.getPoolBoutSlots() < 1 || options.getDeBoutSlots() < 1
+                || options.getSlotMinutes() < 1) {
+            throw new IllegalArgumentException("Rest and bout lengths must be positive");
+        }
+        if (options.getPistes() > MAX_PISTES) {
+            throw new IllegalArgumentException("At most " + MAX_PISTES + " pistes can be scheduled");
+        }
+        if (options.getRestSlots() > MAX_SLOTS || options.getPoolBoutSlots() > MAX_SLOTS
+                || options.getDeBoutSlots() > MAX_SLOTS) {
+            throw new IllegalArgumentException("Rest and bout lengths can be at most " + MAX_SLOTS + " slots");
+        }
+        if (options.getSlotMinutes() > MAX_SLOT_MINUTES) {
+            throw new IllegalArgumentException("A slot can be at most " + MAX_SLOT_MINUTES + " minutes");
+        }
+        if (options.getLocalSearchMillis() > MAX_LOCAL_SEARCH_MILLIS) {
+            throw new IllegalArgumentException("Local search can run for at most " + MAX_LOCAL_SEARCH_MILLIS + " ms");
+        }
+        this.options = options;
+        this.referees = Math.min(options.effectiveReferees(), options.getPistes());
+    }
+
+    public SchedulePlan solve(List<ScheduledBout> bouts) {
+        Instance instance = new Instance(bouts);
+
+        int[][] poolBouts = new int[instance.pools.size()][];
+        int p = 0;
+        for (List<Integer> pool : instance.pools.values()) {
+            poolBouts[p++] = restAwareOrder(pool, instance);
+        }
+        int[] poolPiste = longestPoolsFirst(poolBouts, instance);
+
+        Timeline best = simulatePools(instance, poolPiste, poolBouts);
+        int moves = 0;
+        if (options.isLocalSearch() && poolBouts.length > 0) {
+            Random random = new Random(options.getSeed());
+            long deadline = System.nanoTime() + options.getLocalSearchMillis() * 1_000_000L;
+            for (int iteration = 0; iteration < MAX_LOCAL_SEARCH_ITERATIONS; iteration++) {
+                if ((iteration & 15) == 0 && System.nanoTime() > deadline) {
+                    break;
+                }
+                Timeline candidate = tryMove(instance, poolPiste, poolBouts, best, random);
+                if (candidate != null) {
+                    best = candidate;
+                    moves++;
+                }
+            }
+        }
+
+        int poolPhaseEnd = best.makespan;
+        scheduleEliminationRounds(instance, best);
+        return new SchedulePlan(bouts, best.piste, best.start, poolPhaseEnd, best.makespan, moves);
+    }
+
+    // One random neighbour of the current pool plan, returns the new timeline if it is better, else undoes the move
+    private Timeline tryMove(Instance instance, int[] poolPiste, int[][] poolBouts, Timeline current, Random random) {
+        int pistes = options.getPistes();
+        int critical = 0;
+        for (int piste = 1; piste < pistes; piste++) {
+            if (current.pisteFree[piste] > current.pisteFree[critical]) {
+                critical = piste;
+            }
+        }
+        List<Integer> onCritical = poolsOn(poolPiste, critical);
+        if (onCritical.isEmpty()) {
+            return null;
+        }
+        int pool = onCritical.get(random.nextInt(onCritical.size()));
+
+        if (pistes > 1 && random.nextBoolean()) {
+            int other = random.nextInt(pistes - 1);
+            if (other >= critical) {
+                other++;
+            }
+            List<Integer> onOther = poolsOn(poolPiste, other);
+            int swapWith = !onOther.isEmpty() && random.nextBoolean() ? onOther.get(random.nextInt(onOther.size())) : -1;
+            poolPiste[pool] = other;
+            if (swapWith >= 0) {
+                poolPiste[swapWith] = critical;
+            }
+            Timeline candidate = simulatePools(instance, poolPiste, poolBouts);
+            if (candidate.isBetterThan(current)) {
+                return candidate;
+            }
+            poolPiste[pool] = critical;
+            if (swapWith >= 0) {
+                poolPiste[swapWith] = other;
+            }
+            return null;
+        }
+
+        int[] order = poolBouts[pool];
+        if (order.length < 2) {
+            return null;
+        }
+        int i = random.nextInt(order.length);
+        int j = random.nextInt(order.length - 1);
+        if (j >= i) {
+            j++;
+        }
+        swap(order, i, j);
+        Timeline candidate = simulatePools(instance, poolPiste, poolBouts);
+        if (candidate.isBetterThan(current)) {
+            return candidate;
+        }
+        swap(order, i, j);
+        return null;
+    }
+
+    private Timeline simulatePools(Instance instance, int[] poolPiste, int[][] poolBouts) {
+        int pistes = options.getPistes();
+        Timeline timeline = new Timeline(instance, pistes);
+        List<List<Integer>> pistePools = new ArrayList<>(pistes);
+        for (int piste = 0; piste < pistes; piste++) {
+            pistePools.add(new ArrayList<>());
+        }
+        for (int pool = 0; pool < poolPiste.length; pool++) {
+            pistePools.get(poolPiste[pool]).add(pool);
+        }
+
+        int[] poolCursor = new int[pistes];
+        int[] remaining = new int[poolBouts.length];
+        for (int pool = 0; pool < poolBouts.length; pool++) {
+            remaining[pool] = poolBouts[pool].length;
+        }
+        PriorityQueue<Integer> queue = new PriorityQueue<>((a, b) -> timeline.pisteFree[a] != timeline.pisteFree[b]
+                ? Integer.compare(timeline.pisteFree[a], timeline.pisteFree[b])
+                : Integer.compare(a, b));
+        for (int piste = 0; piste < pistes; piste++) {
+            if (!pistePools.get(piste).isEmpty()) {
+                queue.add(piste);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            int piste = queue.poll();
+            int now = timeline.pisteFree[piste];
+            int pool = pistePools.get(piste).get(poolCursor[piste]);
+            int bout = nextPoolBout(poolBouts[pool], instance, timeline, now);
+            timeline.place(bout, piste, now);
+            if (--remaining[pool] == 0) {
+                poolCursor[piste]++;
+            }
+            if (poolCursor[piste] < pistePools.get(piste).size()) {
+                queue.add(piste);
+            }
+        }
+        return timeline;
+    }
+
+    // First bout in pool order whose fencers are both rested, otherwise the one that can start soonest
+    private int nextPoolBout(int[] order, Instance instance, Timeline timeline, int now) {
+        int fallback = -1;
+        int fallbackReady = Integer.MAX_VALUE;
+        for (int bout : order) {
+            if (timeline.start[bout] >= 0) {
+                continue;
+            }
+            int ready = Math.max(timeline.readyAt(instance.fencer1[bout]), timeline.readyAt(instance.fencer2[bout]));
+            if (ready <= now) {
+                return bout;
+            }
+            if (ready < fallbackReady) {
+                fallback = bout;
+                fallbackReady = ready;
+            }
+        }
+        return fallback;
+    }
+
+    private void scheduleEliminationRounds(Instance instance, Timeline timeline) {
+        int phaseStart = timeline.makespan;
+        for (List<Integer> round : instance.rounds.values()) {
+            Arrays.fill(timeline.pisteFree, phaseStart);
+            int roundEnd = phaseStart;
+            for (int bout : round) {
+                int piste = 0;
+                for (int candidate = 1; candidate < timeline.pisteFree.length; candidate++) {
+                    if (timeline.pisteFree[candidate] < timeline.pisteFree[piste]) {
+                        piste = candidate;
+                    }
+                }
+                roundEnd = Math.max(roundEnd, timeline.place(bout, piste, timeline.pisteFree[piste]));
+            }
+            phaseStart = roundEnd;
+        }
+    }
+
+    // Greedy pool order: next bout is the one whose fencers have rested the longest
+    private static int[] restAwareOrder(List<Integer> pool, Instance instance) {
+        int[] order = new int[pool.size()];
+        boolean[] used = new boolean[pool.size()];
+        Map<Integer, Integer> lastPosition = new HashMap<>();
+        for (int position = 0; position < order.length; position++) {
+            int bestIndex = -1;
+            int bestMin = Integer.MIN_VALUE;
+            int bestSum = Integer.MIN_VALUE;
+            for (int k = 0; k < pool.size(); k++) {
+                if (used[k]) {
+                    continue;
+                }
+                int bout = pool.get(k);
+                int rest1 = position - lastPosition.getOrDefault(instance.fencer1[bout], -order.length);
+                int rest2 = position - lastPosition.getOrDefault(instance.fencer2[bout], -order.length);
+                int min = Math.min(rest1, rest2);
+                int sum = rest1 + rest2;
+                if (min > bestMin || (min == bestMin && sum > bestSum)) {
+                    bestIndex = k;
+                    bestMin = min;
+                    bestSum = sum;
+                }
+            }
+            used[bestIndex] = true;
+            int bout = pool.get(bestIndex);
+            order[position] = bout;
+            lastPosition.put(instance.fencer1[bout], position);
+            lastPosition.put(instance.fencer2[bout], position);
+        }
+        return order;
+    }
+
+    private int[] longestPoolsFirst(int[][] poolBouts, Instance instance) {
+        int[] length = new int[poolBouts.length];
+        Integer[] byLength = new Integer[poolBouts.length];
+        for (int pool = 0; pool < poolBouts.length; pool++) {
+            for (int bout : poolBouts[pool]) {
+                length[pool] += instance.slots[bout];
+            }
+            byLength[pool] = pool;
+        }
+        Arrays.sort(byLength, (a, b) -> length[a] != length[b] ? Integer.compare(length[b], length[a]) : Integer.compare(a, b));
+
+        int[] load = new int[options.getPistes()];
+        int[] poolPiste = new int[poolBouts.length];
+        for (int pool : byLength) {
+            int piste = 0;
+            for (int candidate = 1; candidate < load.length; candidate++) {
+                if (load[candidate] < load[piste]) {
+                    piste = candidate;
+                }
+            }
+            poolPiste[pool] = piste;
+            load[piste] += length[pool];
+        }
+        return poolPiste;
+    }
+
+    private static List<Integer> poolsOn(int[] poolPiste, int piste) {
+        List<Integer> pools = new ArrayList<>();
+        for (int pool = 0; pool < poolPiste.length; pool++) {
+            if (poolPiste[pool] == piste) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+
+    // Bouts flattened into arrays, fencer ids mapped to 0..n-1 (-1 for projected bouts)
+    private static final class Instance {
+        final int[] fencer1;
+        final int[] fencer2;
+        final int[] slots;
+        final int fencers;
+        final Map<Long, List<Integer>> pools = new LinkedHashMap<>();
+        final TreeMap<Integer, List<Integer>> rounds = new TreeMap<>();
+
+        Instance(List<ScheduledBout> bouts) {
+            int n = bouts.size();
+            fencer1 = new int[n];
+            fencer2 = new int[n];
+            slots = new int[n];
+            Map<Long, Integer> fencerIndex = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                ScheduledBout bout = bouts.get(i);
+                fencer1[i] = indexOf(fencerIndex, bout.fencer1());
+                fencer2[i] = indexOf(fencerIndex, bout.fencer2());
+                slots[i] = Math.max(bout.slots(), 1);
+                if (bout.isPoolBout()) {
+                    pools.computeIfAbsent(bout.poolKey(), key -> new ArrayList<>()).add(i);
+                } else {
+                    rounds.computeIfAbsent(bout.deRound(), key -> new ArrayList<>()).add(i);
+                }
+            }
+            fencers = fencerIndex.size();
+        }
+
+        private static int indexOf(Map<Long, Integer> fencerIndex, long fencerId) {
+            if (fencerId <= 0) {
+                return -1;
+            }
+            return fencerIndex.computeIfAbsent(fencerId, id -> fencerIndex.size());
+        }
+    }
+
+    private final class Timeline {
+        final Instance instance;
+        final int[] piste;
+        final int[] start;
+        final int[] fencerReady;
+        final int[] pisteFree;
+        int[] refereesBusy = new int[64];
+        int makespan;
+        long idle;
+
+        Timeline(Instance instance, int pistes) {
+            this.instance = instance;
+            this.piste = new int[instance.slots.length];
+            this.start = new int[instance.slots.length];
+            Arrays.fill(start, -1);
+            this.fencerReady = new int[instance.fencers];
+            this.pisteFree = new int[pistes];
+        }
+
+        int readyAt(int fencer) {
+            return fencer < 0 ? 0 : fencerReady[fencer];
+        }
+
+        // Returns the end slot of the bout
+        int place(int bout, int onPiste, int now) {
+            int length = instance.slots[bout];
+            int from = Math.max(now, Math.max(readyAt(instance.fencer1[bout]), readyAt(instance.fencer2[bout])));
+            while (!refereeFree(from, length)) {
+                from++;
+            }
+            for (int slot = from; slot < from + length; slot++) {
+                refereesBusy[slot]++;
+            }
+            int end = from + length;
+            piste[bout] = onPiste;
+            start[bout] = from;
+            idle += from - now;
+            pisteFree[onPiste] = end;
+            int ready = end + options.getRestSlots();
+            if (instance.fencer1[bout] >= 0) {
+                fencerReady[instance.fencer1[bout]] = ready;
+            }
+            if (instance.fencer2[bout] >= 0) {
+                fencerReady[instance.fencer2[bout]] = ready;
+            }
+            makespan = Math.max(makespan, end);
+            return end;
+        }
+
+        private boolean refereeFree(int from, int length) {
+            if (from + length > refereesBusy.length) {
+                refereesBusy = Arrays.copyOf(refereesBusy, Math.max(refereesBusy.length * 2, from + length));
+            }
+            for (int slot = from; slot < from + length; slot++) {
+                if (refereesBusy[slot] >= referees) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isBetterThan(Timeline other) {
+            return makespan < other.makespan || (makespan == other.makespan && idle < other.idle);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.fencing.demo.schedule;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class ScheduleController {
+
+    private final ScheduleService scheduleService;
+
+    public ScheduleController(ScheduleService scheduleService) {
+        this.scheduleService = scheduleService;
+    }
+
+    // (Re)plans every bout of the event, the body can be left out to use the defaults
+    @PostMapping("/tournaments/{tournamentId}/events/{eventId}/schedule")
+    @ResponseStatus(HttpStatus.OK)
+    public EventSchedule scheduleEvent(@PathVariable Long eventId,
+            @RequestBody(required = false) ScheduleOptions options) {
+        return scheduleService.scheduleEvent(eventId, options);
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/schedule")
+    public List<ScheduleEntry> getSchedule(@PathVariable Long eventId) {
+        return scheduleService.getSchedule(eventId);
+    }
+}
@@ -0,0 +1,8 @@
+package org.fencing.demo.schedule;
+
+import java.time.LocalDateTime;
+
+// Pistes are numbered from 1 like on the venue floor
+public record ScheduleEntry(long matchId, Long groupStageId, Long knockoutStageId, long player1Id, long player2Id,
+        int piste, int timeSlot, LocalDateTime scheduledStart) {
+}
@@ -0,0 +1,37 @@
+package org.fencing.demo.schedule;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Request body of POST .../schedule, every field is optional
+@Data
+@NoArgsConstructor
+public class ScheduleOptions {
+
+    private int pistes = 8;
+
+    // bouts that can run at the same time, 0 means one referee per piste
+    private int referees = 0;
+
+    // minimum free slots for a fencer between two bouts
+    private int restSlots = 1;
+
+    private int poolBoutSlots = 1;
+
+    private int deBoutSlots = 2;
+
+    private int slotMinutes = 5;
+
+    // also plan the DE rounds that have not been drawn yet, so the finish time is known
+    private boolean projectRemainingRounds = true;
+
+    private boolean localSearch = true;
+
+    private long localSearchMillis = 200;
+
+    private long seed = 42;
+
+    public int effectiveReferees() {
+        return referees <= 0 ? pistes : referees;
+    }
+}
@@ -0,0 +1,10 @@
+package org.fencing.demo.schedule;
+
+import java.util.List;
+
+/**
+ * Solver output, pistes[i] and starts[i] belong to bouts.get(i). Pistes are 0-based here.
+ */
+public record SchedulePlan(List<ScheduledBout> bouts, int[] pistes, int[] starts,
+        int poolPhaseEndSlot, int endSlot, int localSearchMoves) {
+}
@@ -0,0 +1,10 @@
+package org.fencing.demo.schedule;
+
+import java.util.List;
+
+public interface ScheduleService {
+
+    EventSchedule scheduleEvent(Long eventId, ScheduleOptions options);
+
+    List<ScheduleEntry> getSchedule(Long eventId);
+}
@@ -0,0 +1,184 @@
+package org.fencing.demo.schedule;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventNotFoundException;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.matchMaking.TableauSeeding;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.stages.KnockoutStage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Timer;
+
+@Service
+public class ScheduleServiceImpl implements ScheduleService {
+
+    // A plain update per bout, bumping the version so cached match ETags change too
+    private static final String UPDATE_SLOT =
+            "UPDATE matches SET piste = ?, time_slot = ?, scheduled_start = ?, version = version + 1 WHERE id = ?";
+    private static final int UPDATE_BATCH_SIZE = 200;
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScheduleServiceImpl(EventRepository eventRepository, JdbcTemplate jdbcTemplate) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public EventSchedule scheduleEvent(Long eventId, ScheduleOptions options) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        ScheduleOptions scheduleOptions = options == null ? new ScheduleOptions() : options;
+        PisteScheduler scheduler = new PisteScheduler(scheduleOptions);
+        Event event = eventRepository.findById(eventId).orElseThrow(() -> new EventNotFoundException(eventId));
+
+        List<Match> matches = new ArrayList<>(event.getMatches());
+        matches.sort(Comparator.comparingLong(Match::getId));
+        Map<Long, Match> matchesById = new HashMap<>();
+        matches.forEach(match -> matchesById.put(match.getId(), match));
+
+        Timer.Sample sample = FencingMetrics.start();
+        long started = System.nanoTime();
+        SchedulePlan plan = scheduler.solve(toBouts(event, matches, scheduleOptions));
+        long solveMillis = (System.nanoTime() - started) / 1_000_000;
+        FencingMetrics.stop(sample, "fencing.schedule.solve", event.getRankings().size());
+
+        LocalDateTime dayStart = event.getStartDate();
+        int slotMinutes = scheduleOptions.getSlotMinutes();
+        List<ScheduleEntry> entries = new ArrayList<>();
+        for (int i = 0; i < plan.bouts().size(); i++) {
+            Long matchId = plan.bouts().get(i).matchId();
+            if (matchId == null) {
+                continue; // projected DE bout
+            }
+            int slot = plan.starts()[i];
+            entries.add(entry(matchesById.get(matchId), plan.pistes()[i] + 1, slot,
+                    dayStart.plusMinutes((long) slot * slotMinutes)));
+        }
+        entries.sort(Comparator.comparingInt(ScheduleEntry::timeSlot).thenComparingInt(ScheduleEntry::piste));
+
+        // The managed matches keep their old version, nothing here changes them, so the flush at commit
+        // doesn't write them back over these rows
+        jdbcTemplate.batchUpdate(UPDATE_SLOT, entries, UPDATE_BATCH_SIZE, (ps, entry) -> {
+            ps.setInt(1, entry.piste());
+            ps.setInt(2, entry.timeSlot());
+            ps.setTimestamp(3, Timestamp.valueOf(entry.scheduledStart()));
+            ps.setLong(4, entry.matchId());
+        });
+
+        return EventSchedule.builder()
+                .eventId(eventId)
+                .pistes(scheduleOptions.getPistes())
+                .referees(Math.min(scheduleOptions.effectiveReferees(), scheduleOptions.getPistes()))
+                .slotMinutes(slotMinutes)
+                .poolPhaseEndSlot(plan.poolPhaseEndSlot())
+                .endSlot(plan.endSlot())
+                .estimatedFinish(dayStart.plusMinutes((long) plan.endSlot() * slotMinutes))
+                .localSearchMoves(plan.localSearchMoves())
+                .solveMillis(solveMillis)
+                .bouts(entries)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ScheduleEntry> getSchedule(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        Event event = eventRepository.findById(eventId).orElseThrow(() -> new EventNotFoundException(eventId));
+        List<ScheduleEntry> entries = new ArrayList<>();
+        for (Match match : event.getMatches()) {
+            if (match.getPiste() != null && match.getTimeSlot() != null) {
+                entries.add(entry(match, match.getPiste(), match.getTimeSlot(), match.getScheduledStart()));
+            }
+        }
+        entries.sort(Comparator.comparingInt(ScheduleEntry::timeSlot).thenComparingInt(ScheduleEntry::piste));
+        return entries;
+    }
+
+    private List<ScheduledBout> toBouts(Event event, List<Match> matches, ScheduleOptions options) {
+        Map<Long, Integer> roundByStageId = new HashMap<>();
+        List<KnockoutStage> knockoutStages = event.getKnockoutStages();
+        for (int round = 0; round < knockoutStages.size(); round++) {
+            roundByStageId.put(knockoutStages.get(round).getId(), round);
+        }
+
+        // Pool bouts don't always point at their GroupStage, but a pool is a round robin,
+        // so the fencers it connects identify it
+        Map<Long, Long> poolOf = new HashMap<>();
+        for (Match match : matches) {
+            if (match.getKnockoutStage() == null) {
+                union(poolOf, match.getPlayer1().getId(), match.getPlayer2().getId());
+            }
+        }
+
+        List<ScheduledBout> bouts = new ArrayList<>();
+        int lastRound = -1;
+        for (Match match : matches) {
+            long fencer1 = match.getPlayer1().getId();
+            long fencer2 = match.getPlayer2().getId();
+            if (match.getKnockoutStage() == null) {
+                bouts.add(ScheduledBout.pool(match.getId(), fencer1, fencer2, find(poolOf, fencer1),
+                        options.getPoolBoutSlots()));
+                continue;
+            }
+            int round = roundByStageId.getOrDefault(match.getKnockoutStage().getId(), knockoutStages.size());
+            bouts.add(ScheduledBout.de(match.getId(), fencer1, fencer2, round, options.getDeBoutSlots()));
+            lastRound = Math.max(lastRound, round);
+        }
+
+        if (options.isProjectRemainingRounds()) {
+            // Same tableau as Event.getMatchesForKnockoutStage: byes only in the first round,
+            // after that every round halves the table
+            int entrants = event.getRankings().size();
+            int tableSize = TableauSeeding.tableSize(entrants);
+            for (int round = lastRound + 1; tableSize >> (round + 1) >= 1; round++) {
+                int projected = round == 0 ? entrants - tableSize / 2 : tableSize >> (round + 1);
+                for (int i = 0; i < projected; i++) {
+                    bouts.add(ScheduledBout.de(null, 0, 0, round, options.getDeBoutSlots()));
+                }
+            }
+        }
+        return bouts;
+    }
+
+    private static ScheduleEntry entry(Match match, int piste, int slot, LocalDateTime start) {
+        return new ScheduleEntry(match.getId(),
+                match.getGroupStage() == null ? null : match.getGroupStage().getId(),
+                match.getKnockoutStage() == null ? null : match.getKnockoutStage().getId(),
+                match.getPlayer1().getId(), match.getPlayer2().getId(), piste, slot, start);
+    }
+
+    private static long find(Map<Long, Long> parent, long fencer) {
+        long root = fencer;
+        while (parent.getOrDefault(root, root) != root) {
+            root = parent.get(root);
+        }
+        parent.put(fencer, root);
+        return root;
+    }
+
+    private static void union(Map<Long, Long> parent, long a, long b) {
+        long rootA = find(parent, a);
+        long rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent.put(rootB, rootA);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.fencing.demo.schedule;
+
+/**
+ * Input to the scheduler. Pool bouts have deRound -1 and the same poolKey for the whole pool,
+ * DE bouts have their round index. Projected DE bouts have no match id and no fencers (0).
+ */
+public record ScheduledBout(Long matchId, long fencer1, long fencer2, long poolKey, int deRound, int slots) {
+
+    public static ScheduledBout pool(Long matchId, long fencer1, long fencer2, long poolKey, int slots) {
+        return new ScheduledBout(matchId, fencer1, fencer2, poolKey, -1, slots);
+    }
+
+    public static ScheduledBout de(Long matchId, long fencer1, long fencer2, int deRound, int slots) {
+        return new ScheduledBout(matchId, fencer1, fencer2, 0, deRound, slots);
+    }
+
+    public boolean isPoolBout() {
+        return deRound < 0;
+    }
+}
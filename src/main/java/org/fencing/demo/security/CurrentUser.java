@@ -0,0 +1,20 @@
+package org.fencing.demo.security;
+
+import org.fencing.demo.user.User;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    // Id of the user authenticated on this thread, null outside a request (background threads, tests)
+    public static Long id() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -14,6 +14,9 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import java.util.stream.Collectors;
 
+import org.fencing.demo.user.Role;
+import org.fencing.demo.user.User;
+
 @Service
 public class JwtService {
 
@@ -37,9 +40,32 @@ public class JwtService {
                 .map(SimpleGrantedAuthority::new)
                 .map(authority -> authority.getAuthority())
                 .collect(Collectors.toList()));
+        if (userDetails instanceof User user && user.getId() != null) {
+            claims.put("uid", user.getId());
+        }
         return generateToken(claims, userDetails);
     }
 
+    // The user as the signed token describes it, without a database read. null for tokens issued
+    // before the uid claim existed
+    public User userFromClaims(String token) {
+        Claims claims = extractAllClaims(token);
+        Number id = claims.get("uid", Number.class);
+        List<?> roles = claims.get("roles", List.class);
+        if (id == null || roles == null || roles.size() != 1 || !roles.get(0).toString().startsWith("ROLE_")) {
+            return null;
+        }
+        try {
+            return User.builder()
+                    .id(id.longValue())
+                    .username(claims.getSubject())
+                    .role(Role.valueOf(roles.get(0).toString().substring("ROLE_".length())))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String generateToken(
         Map<String, Object> extraClaims,
         UserDetails userDetails
@@ -33,6 +33,7 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/tournaments/{tournamentId}/events/{eventId}/addPlayer/{playerId}").hasAnyRole("ADMIN", "USER")
                         .requestMatchers("/api/v1/auth/**").permitAll() // Allow all requests to /api/v1/auth
                         .requestMatchers("/error").permitAll() // Allow all requests to /error
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll() // Health checks and Prometheus scraping
                         .requestMatchers(HttpMethod.GET, "/tournaments").permitAll() // Allow all GET requests to tournaments
                         .requestMatchers(HttpMethod.GET, "/tournaments/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/tournaments", "/tournaments/**").permitAll() // Allow all GET requests to tournaments
@@ -47,6 +48,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/players", "/players/**").hasRole("ADMIN") // Only admins can POST players
                         .requestMatchers(HttpMethod.PUT, "/players/*").hasRole("ADMIN") // Only admins can PUT players
                         .requestMatchers(HttpMethod.DELETE, "/players/*").hasRole("ADMIN") // Only admins can DELETE players
+                        .requestMatchers(HttpMethod.POST, "/jobs/**").hasRole("ADMIN") // Only admins can cancel jobs
+                        .requestMatchers(HttpMethod.POST, "/partitions/**").hasRole("ADMIN") // Only admins can hand events over
                         .anyRequest().authenticated() // All other requests require authentication
 
                 )
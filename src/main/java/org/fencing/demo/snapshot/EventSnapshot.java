@@ -0,0 +1,57 @@
+package org.fencing.demo.snapshot;
+
+import java.util.List;
+
+// Everything that makes up one event, as plain ids and numbers. Bouts point at their stage by
+// position in groupStages/knockoutStages (-1 for none), so a snapshot can be restored under new ids.
+// Team bouts and relay legs point at teams and team bouts the same way, and result log entries
+// at their bout by position in bouts, which are sorted by id.
+public record EventSnapshot(
+        long eventId,
+        long eventVersion,
+        long tournamentId,
+        long startDate,          // epoch seconds, UTC
+        long endDate,
+        String gender,
+        String weapon,
+        String format,           // null for events from before the bracket engine
+        Integer bracketSize,     // null until the bracket has been drawn
+        List<Rank> rankings,
+        List<Stage> groupStages,
+        List<Stage> knockoutStages,
+        List<Bout> bouts,
+        List<Position> bracketPositions,
+        List<Team> teams,
+        List<TeamBout> teamBouts,
+        List<LogEntry> resultLog) {
+
+    public record Rank(long playerId, int score, int winCount, int lossCount) {
+    }
+
+    public record Stage(long id, boolean allMatchesCompleted) {
+    }
+
+    // bracketTable, bracketRound and bracketBout are all set for bouts the bracket engine opened;
+    // teamBout is -1 and relayLeg null outside team events
+    public record Bout(long id, int groupStage, int knockoutStage, long player1Id, long player2Id,
+            int player1Score, int player2Score, Integer piste, Integer timeSlot, Long scheduledStart,
+            String bracketTable, Integer bracketRound, Integer bracketBout, int teamBout, Integer relayLeg) {
+    }
+
+    // competitorId is a player id, or a team id in team events; null is a bye
+    public record Position(String bracketTable, int bracketRound, int position, Long competitorId) {
+    }
+
+    public record Team(long id, String name, int seed, List<Long> memberIds) {
+    }
+
+    // team1, team2 and winner are positions in teams, winner is -1 while the relay runs
+    public record TeamBout(long id, String bracketTable, int bracketRound, int bracketBout, int team1, int team2,
+            int team1Score, int team2Score, int legsFenced, int winner) {
+    }
+
+    // One bout_result_log row, in log order. recordedAt is epoch millis, submittedBy null for backfilled bouts
+    public record LogEntry(int bout, long player1Id, long player2Id, int player1Score, int player2Score,
+            long recordedAt, Long submittedBy) {
+    }
+}
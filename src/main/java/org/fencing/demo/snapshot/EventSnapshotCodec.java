@@ -0,0 +1,465 @@
+package org.fencing.demo.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Binary form of an EventSnapshot, written field by field:
+ *
+ * <pre>
+ * magic "FEVS", format version (1 byte)
+ * event id, version, tournament id, start and end date, gender, weapon, format, bracket size
+ * rankings       count, then per fencer: player id delta, score, wins, losses
+ * group stages   count, then per stage:  id delta, completed flag
+ * knockout       count, then per stage:  id delta
+ * teams          count, then per team:   id delta, name, seed, member ids
+ * team bouts     count, then per bout:   id delta, bracket place, team indexes, scores, legs, winner
+ * positions      count, then per slot:   table, round, position, competitor
+ * bouts          count, then per bout:   id delta, flags, stage index, player ids, scores, piste/slot/start,
+ *                                        bracket place, team bout index and relay leg
+ * result log     count, then per entry:  bout index, player ids, scores, recorded at delta, submitter
+ * CRC32 of everything before it
+ * </pre>
+ *
+ * Numbers are varints (zig-zag where they can be negative) and the id lists are sorted and stored
+ * as deltas, so a pool bout takes about a dozen bytes. Version 1 had no format, bracket size, teams,
+ * team bouts or positions and no bracket fields on bouts, versions 1 and 2 had no result log; they
+ * still decode, with those left empty.
+ */
+public final class EventSnapshotCodec {
+
+    static final int MAGIC = 0x46455653; // "FEVS"
+    static final int FORMAT_VERSION = 3;
+
+    private static final int IN_GROUP_STAGE = 1;
+    private static final int IN_KNOCKOUT_STAGE = 2;
+    private static final int SCHEDULED = 4;
+    private static final int IN_BRACKET = 8;
+    private static final int IN_TEAM_BOUT = 16;
+
+    private EventSnapshotCodec() {
+    }
+
+    public static byte[] encode(EventSnapshot snapshot) {
+        Writer out = new Writer(64 + snapshot.bouts().size() * 16 + snapshot.rankings().size() * 8);
+        out.fixedInt(MAGIC);
+        out.raw(FORMAT_VERSION);
+        out.varLong(snapshot.eventId());
+        out.varLong(snapshot.eventVersion());
+        out.varLong(snapshot.tournamentId());
+        out.signedVarLong(snapshot.startDate());
+        out.signedVarLong(snapshot.endDate() - snapshot.startDate());
+        out.string(snapshot.gender());
+        out.string(snapshot.weapon());
+        out.nullableString(snapshot.format());
+        out.varLong(snapshot.bracketSize() == null ? 0 : snapshot.bracketSize() + 1L);
+
+        out.varLong(snapshot.rankings().size());
+        long previous = 0;
+        for (EventSnapshot.Rank rank : sorted(snapshot.rankings(), EventSnapshot.Rank::playerId)) {
+            out.signedVarLong(rank.playerId() - previous);
+            out.signedVarLong(rank.score());
+            out.varLong(rank.winCount());
+            out.varLong(rank.lossCount());
+            previous = rank.playerId();
+        }
+
+        out.varLong(snapshot.groupStages().size());
+        previous = 0;
+        for (EventSnapshot.Stage stage : snapshot.groupStages()) {
+            out.signedVarLong(stage.id() - previous);
+            out.raw(stage.allMatchesCompleted() ? 1 : 0);
+            previous = stage.id();
+        }
+
+        out.varLong(snapshot.knockoutStages().size());
+        previous = 0;
+        for (EventSnapshot.Stage stage : snapshot.knockoutStages()) {
+            out.signedVarLong(stage.id() - previous);
+            previous = stage.id();
+        }
+
+        out.varLong(snapshot.teams().size());
+        previous = 0;
+        for (EventSnapshot.Team team : snapshot.teams()) {
+            out.signedVarLong(team.id() - previous);
+            out.nullableString(team.name());
+            out.signedVarLong(team.seed());
+            out.varLong(team.memberIds().size());
+            for (long memberId : team.memberIds()) {
+                out.varLong(memberId);
+            }
+            previous = team.id();
+        }
+
+        out.varLong(snapshot.teamBouts().size());
+        previous = 0;
+        for (EventSnapshot.TeamBout teamBout : snapshot.teamBouts()) {
+            out.signedVarLong(teamBout.id() - previous);
+            out.string(teamBout.bracketTable());
+            out.varLong(teamBout.bracketRound());
+            out.varLong(teamBout.bracketBout());
+            out.varLong(teamBout.team1());
+            out.varLong(teamBout.team2());
+            out.varLong(teamBout.team1Score());
+            out.varLong(teamBout.team2Score());
+            out.varLong(teamBout.legsFenced());
+            out.varLong(teamBout.winner() + 1L);
+            previous = teamBout.id();
+        }
+
+        out.varLong(snapshot.bracketPositions().size());
+        for (EventSnapshot.Position position : snapshot.bracketPositions()) {
+            out.string(position.bracketTable());
+            out.varLong(position.bracketRound());
+            out.varLong(position.position());
+            out.varLong(position.competitorId() == null ? 0 : position.competitorId() + 1);
+        }
+
+        out.varLong(snapshot.bouts().size());
+        previous = 0;
+        for (EventSnapshot.Bout bout : sorted(snapshot.bouts(), EventSnapshot.Bout::id)) {
+            boolean scheduled = bout.piste() != null && bout.timeSlot() != null && bout.scheduledStart() != null;
+            boolean inBracket = bout.bracketTable() != null && bout.bracketRound() != null && bout.bracketBout() != null;
+            boolean inTeamBout = bout.teamBout() >= 0 && bout.relayLeg() != null;
+            out.signedVarLong(bout.id() - previous);
+            out.raw((bout.groupStage() >= 0 ? IN_GROUP_STAGE : 0) | (bout.knockoutStage() >= 0 ? IN_KNOCKOUT_STAGE : 0)
+                    | (scheduled ? SCHEDULED : 0) | (inBracket ? IN_BRACKET : 0) | (inTeamBout ? IN_TEAM_BOUT : 0));
+            if (bout.groupStage() >= 0) {
+                out.varLong(bout.groupStage());
+            }
+            if (bout.knockoutStage() >= 0) {
+                out.varLong(bout.knockoutStage());
+            }
+            out.varLong(bout.player1Id());
+            out.signedVarLong(bout.player2Id() - bout.player1Id());
+            out.varLong(bout.player1Score());
+            out.varLong(bout.player2Score());
+            if (scheduled) {
+                out.varLong(bout.piste());
+                out.varLong(bout.timeSlot());
+                out.signedVarLong(bout.scheduledStart() - snapshot.startDate());
+            }
+            if (inBracket) {
+                out.string(bout.bracketTable());
+                out.varLong(bout.bracketRound());
+                out.varLong(bout.bracketBout());
+            }
+            if (inTeamBout) {
+                out.varLong(bout.teamBout());
+                out.varLong(bout.relayLeg());
+            }
+            previous = bout.id();
+        }
+
+        out.varLong(snapshot.resultLog().size());
+        previous = snapshot.startDate() * 1000;
+        for (EventSnapshot.LogEntry entry : snapshot.resultLog()) {
+            out.varLong(entry.bout());
+            out.varLong(entry.player1Id());
+            out.signedVarLong(entry.player2Id() - entry.player1Id());
+            out.varLong(entry.player1Score());
+            out.varLong(entry.player2Score());
+            out.signedVarLong(entry.recordedAt() - previous);
+            out.varLong(entry.submittedBy() == null ? 0 : entry.submittedBy() + 1);
+            previous = entry.recordedAt();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(out.bytes, 0, out.length);
+        out.fixedInt((int) crc.getValue());
+        return Arrays.copyOf(out.bytes, out.length);
+    }
+
+    public static EventSnapshot decode(byte[] bytes) {
+        if (bytes == null || bytes.length < 9) {
+            throw new IllegalArgumentException("Not an event snapshot");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        Reader in = new Reader(bytes, bytes.length - 4);
+        if (in.fixedInt() != MAGIC) {
+            throw new IllegalArgumentException("Not an event snapshot");
+        }
+        int formatVersion = in.raw();
+        if (formatVersion < 1 || formatVersion > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported event snapshot format " + formatVersion);
+        }
+        if (new Reader(bytes, bytes.length).at(bytes.length - 4).fixedInt() != (int) crc.getValue()) {
+            throw new IllegalArgumentException("Event snapshot is corrupt");
+        }
+
+        long eventId = in.varLong();
+        long eventVersion = in.varLong();
+        long tournamentId = in.varLong();
+        long startDate = in.signedVarLong();
+        long endDate = startDate + in.signedVarLong();
+        String gender = in.string();
+        String weapon = in.string();
+        String format = null;
+        Integer bracketSize = null;
+        if (formatVersion >= 2) {
+            format = in.nullableString();
+            int size = in.count();
+            bracketSize = size == 0 ? null : size - 1;
+        }
+
+        int rankCount = in.count();
+        List<EventSnapshot.Rank> rankings = new ArrayList<>(rankCount);
+        long previous = 0;
+        for (int i = 0; i < rankCount; i++) {
+            previous += in.signedVarLong();
+            rankings.add(new EventSnapshot.Rank(previous, (int) in.signedVarLong(), in.count(), in.count()));
+        }
+
+        int groupStageCount = in.count();
+        List<EventSnapshot.Stage> groupStages = new ArrayList<>(groupStageCount);
+        previous = 0;
+        for (int i = 0; i < groupStageCount; i++) {
+            previous += in.signedVarLong();
+            groupStages.add(new EventSnapshot.Stage(previous, in.raw() == 1));
+        }
+
+        int knockoutCount = in.count();
+        List<EventSnapshot.Stage> knockoutStages = new ArrayList<>(knockoutCount);
+        previous = 0;
+        for (int i = 0; i < knockoutCount; i++) {
+            previous += in.signedVarLong();
+            knockoutStages.add(new EventSnapshot.Stage(previous, false));
+        }
+
+        List<EventSnapshot.Team> teams = new ArrayList<>();
+        List<EventSnapshot.TeamBout> teamBouts = new ArrayList<>();
+        List<EventSnapshot.Position> positions = new ArrayList<>();
+        if (formatVersion >= 2) {
+            int teamCount = in.count();
+            previous = 0;
+            for (int i = 0; i < teamCount; i++) {
+                previous += in.signedVarLong();
+                String name = in.nullableString();
+                int seed = (int) in.signedVarLong();
+                int memberCount = in.count();
+                List<Long> memberIds = new ArrayList<>();
+                for (int m = 0; m < memberCount; m++) {
+                    memberIds.add(in.varLong());
+                }
+                teams.add(new EventSnapshot.Team(previous, name, seed, memberIds));
+            }
+
+            int teamBoutCount = in.count();
+            previous = 0;
+            for (int i = 0; i < teamBoutCount; i++) {
+                previous += in.signedVarLong();
+                teamBouts.add(new EventSnapshot.TeamBout(previous, in.string(), in.count(), in.count(),
+                        in.index(teamCount), in.index(teamCount), in.count(), in.count(), in.count(),
+                        in.index(teamCount + 1) - 1));
+            }
+
+            int positionCount = in.count();
+            for (int i = 0; i < positionCount; i++) {
+                String table = in.string();
+                int round = in.count();
+                int position = in.count();
+                long competitor = in.varLong();
+                positions.add(new EventSnapshot.Position(table, round, position, competitor == 0 ? null : competitor - 1));
+            }
+        }
+
+        int boutCount = in.count();
+        List<EventSnapshot.Bout> bouts = new ArrayList<>(boutCount);
+        previous = 0;
+        for (int i = 0; i < boutCount; i++) {
+            previous += in.signedVarLong();
+            int flags = in.raw();
+            int groupStage = (flags & IN_GROUP_STAGE) != 0 ? in.index(groupStageCount) : -1;
+            int knockoutStage = (flags & IN_KNOCKOUT_STAGE) != 0 ? in.index(knockoutCount) : -1;
+            long player1Id = in.varLong();
+            long player2Id = player1Id + in.signedVarLong();
+            int player1Score = in.count();
+            int player2Score = in.count();
+            Integer piste = null;
+            Integer timeSlot = null;
+            Long scheduledStart = null;
+            if ((flags & SCHEDULED) != 0) {
+                piste = in.count();
+                timeSlot = in.count();
+                scheduledStart = startDate + in.signedVarLong();
+            }
+            String bracketTable = null;
+            Integer bracketRound = null;
+            Integer bracketBout = null;
+            if ((flags & IN_BRACKET) != 0) {
+                bracketTable = in.string();
+                bracketRound = in.count();
+                bracketBout = in.count();
+            }
+            int teamBout = -1;
+            Integer relayLeg = null;
+            if ((flags & IN_TEAM_BOUT) != 0) {
+                teamBout = in.index(teamBouts.size());
+                relayLeg = in.count();
+            }
+            bouts.add(new EventSnapshot.Bout(previous, groupStage, knockoutStage, player1Id, player2Id,
+                    player1Score, player2Score, piste, timeSlot, scheduledStart,
+                    bracketTable, bracketRound, bracketBout, teamBout, relayLeg));
+        }
+
+        List<EventSnapshot.LogEntry> resultLog = new ArrayList<>();
+        if (formatVersion >= 3) {
+            int entryCount = in.count();
+            previous = startDate * 1000;
+            for (int i = 0; i < entryCount; i++) {
+                int bout = in.index(boutCount);
+                long player1Id = in.varLong();
+                long player2Id = player1Id + in.signedVarLong();
+                int player1Score = in.count();
+                int player2Score = in.count();
+                previous += in.signedVarLong();
+                long submittedBy = in.varLong();
+                resultLog.add(new EventSnapshot.LogEntry(bout, player1Id, player2Id, player1Score, player2Score,
+                        previous, submittedBy == 0 ? null : submittedBy - 1));
+            }
+        }
+        if (in.position != in.limit) {
+            throw new IllegalArgumentException("Event snapshot is corrupt");
+        }
+        return new EventSnapshot(eventId, eventVersion, tournamentId, startDate, endDate, gender, weapon,
+                format, bracketSize, rankings, groupStages, knockoutStages, bouts, positions, teams, teamBouts,
+                resultLog);
+    }
+
+    private static <T> List<T> sorted(List<T> items, ToLongFunction<T> key) {
+        List<T> copy = new ArrayList<>(items);
+        copy.sort(Comparator.comparingLong(key));
+        return copy;
+    }
+
+    private static final class Writer {
+        private byte[] bytes;
+        private int length;
+
+        Writer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void raw(int value) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[length++] = (byte) value;
+        }
+
+        void fixedInt(int value) {
+            raw(value >>> 24);
+            raw(value >>> 16);
+            raw(value >>> 8);
+            raw(value);
+        }
+
+        void varLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                raw((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            raw((int) value);
+        }
+
+        void signedVarLong(long value) {
+            varLong((value << 1) ^ (value >> 63));
+        }
+
+        void nullableString(String value) {
+            raw(value == null ? 0 : 1);
+            if (value != null) {
+                string(value);
+            }
+        }
+
+        void string(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varLong(utf8.length);
+            for (byte b : utf8) {
+                raw(b);
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] bytes;
+        private final int limit;
+        private int position;
+
+        Reader(byte[] bytes, int limit) {
+            this.bytes = bytes;
+            this.limit = limit;
+        }
+
+        Reader at(int position) {
+            this.position = position;
+            return this;
+        }
+
+        int raw() {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Event snapshot is truncated");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        int fixedInt() {
+            return raw() << 24 | raw() << 16 | raw() << 8 | raw();
+        }
+
+        long varLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = raw();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Event snapshot is corrupt");
+        }
+
+        long signedVarLong() {
+            long raw = varLong();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        int count() {
+            long value = varLong();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Event snapshot is corrupt");
+            }
+            return (int) value;
+        }
+
+        int index(int size) {
+            int value = count();
+            if (value >= size) {
+                throw new IllegalArgumentException("Event snapshot is corrupt");
+            }
+            return value;
+        }
+
+        String string() {
+            int length = count();
+            if (length > limit - position) {
+                throw new IllegalArgumentException("Event snapshot is truncated");
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        String nullableString() {
+            return raw() == 0 ? null : string();
+        }
+    }
+}
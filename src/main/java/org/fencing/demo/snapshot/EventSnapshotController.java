@@ -0,0 +1,36 @@
+package org.fencing.demo.snapshot;
+
+import java.net.URI;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class EventSnapshotController {
+
+    private final EventSnapshotService eventSnapshotService;
+
+    public EventSnapshotController(EventSnapshotService eventSnapshotService) {
+        this.eventSnapshotService = eventSnapshotService;
+    }
+
+    @GetMapping("/tournaments/{tournamentId}/events/{eventId}/snapshot")
+    public ResponseEntity<byte[]> exportSnapshot(@PathVariable Long eventId) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"event-" + eventId + ".snapshot\"")
+                .body(eventSnapshotService.export(eventId));
+    }
+
+    @PostMapping(value = "/tournaments/{tournamentId}/events/snapshot", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Long> restoreSnapshot(@PathVariable Long tournamentId, @RequestBody byte[] snapshot) {
+        Long eventId = eventSnapshotService.restore(tournamentId, snapshot);
+        return ResponseEntity.created(URI.create("/tournaments/" + tournamentId + "/events/" + eventId)).body(eventId);
+    }
+}
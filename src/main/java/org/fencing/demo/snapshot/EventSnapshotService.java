@@ -0,0 +1,12 @@
+package org.fencing.demo.snapshot;
+
+public interface EventSnapshotService {
+
+    EventSnapshot capture(Long eventId);
+
+    byte[] export(Long eventId);
+
+    // Recreates the event under the given tournament with new ids, returns the new event id.
+    // The fencers must already exist on this server with the same player ids.
+    Long restore(Long tournamentId, byte[] snapshot);
+}
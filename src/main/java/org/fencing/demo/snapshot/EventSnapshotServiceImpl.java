@@ -0,0 +1,365 @@
+package org.fencing.demo.snapshot;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.fencing.demo.events.EventFormat;
+import org.fencing.demo.events.EventNotFoundException;
+import org.fencing.demo.metrics.FencingMetrics;
+import org.fencing.demo.tournament.TournamentNotFoundException;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.Timer;
+
+// Reads and writes the tables directly: one query per table instead of walking the entity graph,
+// and no entity validation on restore, so events that already took place can be moved as well
+@Service
+public class EventSnapshotServiceImpl implements EventSnapshotService {
+
+    private static final String SELECT_EVENT = "SELECT id, version, tournament_id, start_date, end_date, gender, weapon, "
+            + "format, bracket_size FROM events WHERE id = ?";
+    private static final String SELECT_RANKS =
+            "SELECT player_id, score, win_count, loss_count FROM player_rank WHERE event_id = ? ORDER BY player_id";
+    private static final String SELECT_GROUP_STAGES =
+            "SELECT id, all_matches_completed FROM group_stage WHERE event_id = ? ORDER BY id";
+    private static final String SELECT_KNOCKOUT_STAGES =
+            "SELECT id FROM knockout_stage WHERE event_id = ? ORDER BY id";
+    private static final String SELECT_BOUTS =
+            "SELECT id, group_stage_id, knockout_stage_id, player1_id, player2_id, player1score, player2score, "
+            + "piste, time_slot, scheduled_start, bracket_table, bracket_round, bracket_bout, team_bout_id, relay_leg "
+            + "FROM matches WHERE event_id = ? ORDER BY id";
+    // submitted_by lives only here, matches has no submitter column
+    private static final String SELECT_LOG = "SELECT match_id, player1_id, player2_id, player1_score, player2_score, "
+            + "recorded_at, submitted_by FROM bout_result_log WHERE event_id = ? ORDER BY id";
+    private static final String SELECT_POSITIONS = "SELECT bracket_table, bracket_round, position, competitor_id "
+            + "FROM bracket_position WHERE event_id = ? ORDER BY bracket_table, bracket_round, position";
+    private static final String SELECT_TEAMS = "SELECT id, name, seed FROM team WHERE event_id = ? ORDER BY id";
+    private static final String SELECT_TEAM_MEMBERS = "SELECT m.team_id, m.player_id FROM team_member m "
+            + "JOIN team t ON t.id = m.team_id WHERE t.event_id = ? ORDER BY m.team_id, m.member_order";
+    private static final String SELECT_TEAM_BOUTS = "SELECT id, bracket_table, bracket_round, bracket_bout, team1_id, "
+            + "team2_id, team1score, team2score, legs_fenced, winner_id FROM team_bout WHERE event_id = ? ORDER BY id";
+
+    private static final String INSERT_EVENT = "INSERT INTO events (version, tournament_id, start_date, end_date, "
+            + "gender, weapon, format, bracket_size) VALUES (0, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_GROUP_STAGE =
+            "INSERT INTO group_stage (version, event_id, all_matches_completed) VALUES (0, ?, ?)";
+    private static final String INSERT_KNOCKOUT_STAGE =
+            "INSERT INTO knockout_stage (version, event_id) VALUES (0, ?)";
+    private static final String INSERT_RANK =
+            "INSERT INTO player_rank (player_id, event_id, score, win_count, loss_count, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_BOUT =
+            "INSERT INTO matches (version, event_id, group_stage_id, knockout_stage_id, player1_id, player2_id, "
+            + "player1score, player2score, piste, time_slot, scheduled_start, bracket_table, bracket_round, "
+            + "bracket_bout, team_bout_id, relay_leg) VALUES (0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_BOUT_IDS = "SELECT id FROM matches WHERE event_id = ? ORDER BY id";
+    private static final String INSERT_LOG_ENTRY = "INSERT INTO bout_result_log (event_id, match_id, player1_id, "
+            + "player2_id, player1_score, player2_score, recorded_at, submitted_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_POSITION = "INSERT INTO bracket_position (event_id, bracket_table, "
+            + "bracket_round, position, competitor_id) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_TEAM = "INSERT INTO team (version, event_id, name, seed) VALUES (0, ?, ?, ?)";
+    private static final String INSERT_TEAM_MEMBER =
+            "INSERT INTO team_member (team_id, player_id, member_order) VALUES (?, ?, ?)";
+    private static final String INSERT_TEAM_BOUT = "INSERT INTO team_bout (version, event_id, bracket_table, "
+            + "bracket_round, bracket_bout, team1_id, team2_id, team1score, team2score, legs_fenced, winner_id) "
+            + "VALUES (0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int INSERT_BATCH_SIZE = 200;
+    private static final int PLAYER_CHECK_CHUNK = 500;
+
+    private final TournamentRepository tournamentRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventSnapshotServiceImpl(TournamentRepository tournamentRepository, JdbcTemplate jdbcTemplate) {
+        this.tournamentRepository = tournamentRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EventSnapshot capture(Long eventId) {
+        if (eventId == null) {
+            throw new IllegalArgumentException("Event ID cannot be null");
+        }
+        List<EventSnapshot> events = jdbcTemplate.query(SELECT_EVENT, (rs, row) -> new EventSnapshot(
+                rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                epochSeconds(rs.getTimestamp(4)), epochSeconds(rs.getTimestamp(5)),
+                rs.getString(6), rs.getString(7), rs.getString(8), (Integer) rs.getObject(9, Integer.class),
+                null, null, null, null, null, null, null, null), eventId);
+        if (events.isEmpty()) {
+            throw new EventNotFoundException(eventId);
+        }
+        EventSnapshot event = events.get(0);
+
+        List<EventSnapshot.Rank> rankings = jdbcTemplate.query(SELECT_RANKS, (rs, row) ->
+                new EventSnapshot.Rank(rs.getLong(1), rs.getInt(2), rs.getInt(3), rs.getInt(4)), eventId);
+        List<EventSnapshot.Stage> groupStages = jdbcTemplate.query(SELECT_GROUP_STAGES, (rs, row) ->
+                new EventSnapshot.Stage(rs.getLong(1), rs.getBoolean(2)), eventId);
+        List<EventSnapshot.Stage> knockoutStages = jdbcTemplate.query(SELECT_KNOCKOUT_STAGES, (rs, row) ->
+                new EventSnapshot.Stage(rs.getLong(1), false), eventId);
+
+        List<Long> groupStageIds = groupStages.stream().map(EventSnapshot.Stage::id).toList();
+        List<Long> knockoutStageIds = knockoutStages.stream().map(EventSnapshot.Stage::id).toList();
+
+        Map<Long, List<Long>> membersByTeam = new HashMap<>();
+        jdbcTemplate.query(SELECT_TEAM_MEMBERS, rs -> {
+            membersByTeam.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getLong(2));
+        }, eventId);
+        List<EventSnapshot.Team> teams = jdbcTemplate.query(SELECT_TEAMS, (rs, row) -> new EventSnapshot.Team(
+                rs.getLong(1), rs.getString(2), rs.getInt(3), membersByTeam.getOrDefault(rs.getLong(1), List.of())),
+                eventId);
+        List<Long> teamIds = teams.stream().map(EventSnapshot.Team::id).toList();
+        List<EventSnapshot.TeamBout> teamBouts = jdbcTemplate.query(SELECT_TEAM_BOUTS, (rs, row) -> {
+            long winnerId = rs.getLong(10);
+            int winner = rs.wasNull() ? -1 : indexOf(teamIds, winnerId);
+            return new EventSnapshot.TeamBout(rs.getLong(1), rs.getString(2), rs.getInt(3), rs.getInt(4),
+                    indexOf(teamIds, rs.getLong(5)), indexOf(teamIds, rs.getLong(6)), rs.getInt(7), rs.getInt(8),
+                    rs.getInt(9), winner);
+        }, eventId);
+        List<Long> teamBoutIds = teamBouts.stream().map(EventSnapshot.TeamBout::id).toList();
+        List<EventSnapshot.Position> positions = jdbcTemplate.query(SELECT_POSITIONS, (rs, row) ->
+                new EventSnapshot.Position(rs.getString(1), rs.getInt(2), rs.getInt(3),
+                        (Long) rs.getObject(4, Long.class)), eventId);
+
+        List<EventSnapshot.Bout> bouts = jdbcTemplate.query(SELECT_BOUTS, (rs, row) -> {
+            long groupStageId = rs.getLong(2);
+            int groupStage = rs.wasNull() ? -1 : indexOf(groupStageIds, groupStageId);
+            long knockoutStageId = rs.getLong(3);
+            int knockoutStage = rs.wasNull() ? -1 : indexOf(knockoutStageIds, knockoutStageId);
+            int piste = rs.getInt(8);
+            Integer pisteOrNull = rs.wasNull() ? null : piste;
+            int timeSlot = rs.getInt(9);
+            Integer timeSlotOrNull = rs.wasNull() ? null : timeSlot;
+            Timestamp start = rs.getTimestamp(10);
+            long teamBoutId = rs.getLong(14);
+            int teamBout = rs.wasNull() ? -1 : indexOf(teamBoutIds, teamBoutId);
+            return new EventSnapshot.Bout(rs.getLong(1), groupStage, knockoutStage,
+                    rs.getLong(4), rs.getLong(5), rs.getInt(6), rs.getInt(7),
+                    pisteOrNull, timeSlotOrNull, start == null ? null : epochSeconds(start),
+                    rs.getString(11), (Integer) rs.getObject(12, Integer.class), (Integer) rs.getObject(13, Integer.class),
+                    teamBout, (Integer) rs.getObject(15, Integer.class));
+        }, eventId);
+        List<Long> boutIds = bouts.stream().map(EventSnapshot.Bout::id).toList();
+
+        // Entries of bouts deleted since have nothing to point at in the restored event
+        List<EventSnapshot.LogEntry> resultLog = new ArrayList<>();
+        jdbcTemplate.query(SELECT_LOG, rs -> {
+            int bout = indexOf(boutIds, rs.getLong(1));
+            if (bout >= 0) {
+                resultLog.add(new EventSnapshot.LogEntry(bout, rs.getLong(2), rs.getLong(3), rs.getInt(4),
+                        rs.getInt(5), rs.getTimestamp(6).getTime(), (Long) rs.getObject(7, Long.class)));
+            }
+        }, eventId);
+
+        return new EventSnapshot(event.eventId(), event.eventVersion(), event.tournamentId(), event.startDate(),
+                event.endDate(), event.gender(), event.weapon(), event.format(), event.bracketSize(),
+                rankings, groupStages, knockoutStages, bouts, positions, teams, teamBouts, resultLog);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public byte[] export(Long eventId) {
+        Timer.Sample sample = FencingMetrics.start();
+        EventSnapshot snapshot = capture(eventId);
+        byte[] bytes = EventSnapshotCodec.encode(snapshot);
+        FencingMetrics.stop(sample, "fencing.snapshot.export", snapshot.rankings().size());
+        return bytes;
+    }
+
+    @Override
+    @Transactional
+    public Long restore(Long tournamentId, byte[] bytes) {
+        if (tournamentId == null) {
+            throw new IllegalArgumentException("Tournament ID cannot be null");
+        }
+        if (!tournamentRepository.existsById(tournamentId)) {
+            throw new TournamentNotFoundException(tournamentId);
+        }
+        Timer.Sample sample = FencingMetrics.start();
+        EventSnapshot snapshot = EventSnapshotCodec.decode(bytes);
+        requirePlayers(snapshot);
+
+        long eventId = insertReturningId(INSERT_EVENT, tournamentId, timestamp(snapshot.startDate()),
+                timestamp(snapshot.endDate()), snapshot.gender(), snapshot.weapon(), snapshot.format(),
+                snapshot.bracketSize());
+        List<Long> groupStageIds = new ArrayList<>(snapshot.groupStages().size());
+        for (EventSnapshot.Stage stage : snapshot.groupStages()) {
+            groupStageIds.add(insertReturningId(INSERT_GROUP_STAGE, eventId, stage.allMatchesCompleted()));
+        }
+        List<Long> knockoutStageIds = new ArrayList<>(snapshot.knockoutStages().size());
+        for (int i = 0; i < snapshot.knockoutStages().size(); i++) {
+            knockoutStageIds.add(insertReturningId(INSERT_KNOCKOUT_STAGE, eventId));
+        }
+
+        List<Long> teamIds = new ArrayList<>(snapshot.teams().size());
+        Map<Long, Long> newTeamIds = new HashMap<>();
+        for (EventSnapshot.Team team : snapshot.teams()) {
+            long teamId = insertReturningId(INSERT_TEAM, eventId, team.name(), team.seed());
+            teamIds.add(teamId);
+            newTeamIds.put(team.id(), teamId);
+            List<Object[]> members = new ArrayList<>();
+            for (int order = 0; order < team.memberIds().size(); order++) {
+                members.add(new Object[] { teamId, team.memberIds().get(order), order });
+            }
+            jdbcTemplate.batchUpdate(INSERT_TEAM_MEMBER, members);
+        }
+        List<Long> teamBoutIds = new ArrayList<>(snapshot.teamBouts().size());
+        for (EventSnapshot.TeamBout teamBout : snapshot.teamBouts()) {
+            teamBoutIds.add(insertReturningId(INSERT_TEAM_BOUT, eventId, teamBout.bracketTable(),
+                    teamBout.bracketRound(), teamBout.bracketBout(), teamIds.get(teamBout.team1()),
+                    teamIds.get(teamBout.team2()), teamBout.team1Score(), teamBout.team2Score(),
+                    teamBout.legsFenced(), teamBout.winner() < 0 ? null : teamIds.get(teamBout.winner())));
+        }
+        // Positions of team events hold team ids, which change with the teams
+        boolean teamEvent = EventFormat.TEAM_RELAY.name().equals(snapshot.format());
+        jdbcTemplate.batchUpdate(INSERT_POSITION, snapshot.bracketPositions(), INSERT_BATCH_SIZE, (ps, position) -> {
+            ps.setLong(1, eventId);
+            ps.setString(2, position.bracketTable());
+            ps.setInt(3, position.bracketRound());
+            ps.setInt(4, position.position());
+            Long competitorId = position.competitorId();
+            if (teamEvent && competitorId != null) {
+                competitorId = newTeamIds.get(competitorId);
+                if (competitorId == null) {
+                    throw new IllegalArgumentException("Snapshot places team " + position.competitorId()
+                            + " that it does not contain");
+                }
+            }
+            setNullableLong(ps, 5, competitorId);
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_RANK, snapshot.rankings(), INSERT_BATCH_SIZE, (ps, rank) -> {
+            ps.setLong(1, rank.playerId());
+            ps.setLong(2, eventId);
+            ps.setInt(3, rank.score());
+            ps.setInt(4, rank.winCount());
+            ps.setInt(5, rank.lossCount());
+        });
+        jdbcTemplate.batchUpdate(INSERT_BOUT, snapshot.bouts(), INSERT_BATCH_SIZE, (ps, bout) -> {
+            ps.setLong(1, eventId);
+            setNullableLong(ps, 2, bout.groupStage() < 0 ? null : groupStageIds.get(bout.groupStage()));
+            setNullableLong(ps, 3, bout.knockoutStage() < 0 ? null : knockoutStageIds.get(bout.knockoutStage()));
+            ps.setLong(4, bout.player1Id());
+            ps.setLong(5, bout.player2Id());
+            ps.setInt(6, bout.player1Score());
+            ps.setInt(7, bout.player2Score());
+            if (bout.piste() == null) {
+                ps.setNull(8, Types.INTEGER);
+                ps.setNull(9, Types.INTEGER);
+                ps.setNull(10, Types.TIMESTAMP);
+            } else {
+                ps.setInt(8, bout.piste());
+                ps.setInt(9, bout.timeSlot());
+                ps.setTimestamp(10, timestamp(bout.scheduledStart()));
+            }
+            ps.setString(11, bout.bracketTable());
+            setNullableInt(ps, 12, bout.bracketRound());
+            setNullableInt(ps, 13, bout.bracketBout());
+            setNullableLong(ps, 14, bout.teamBout() < 0 ? null : teamBoutIds.get(bout.teamBout()));
+            setNullableInt(ps, 15, bout.relayLeg());
+        });
+        if (!snapshot.resultLog().isEmpty()) {
+            // The bouts went in sorted by their old ids and new ids only grow, so positions still match
+            List<Long> boutIds = jdbcTemplate.queryForList(SELECT_BOUT_IDS, Long.class, eventId);
+            jdbcTemplate.batchUpdate(INSERT_LOG_ENTRY, snapshot.resultLog(), INSERT_BATCH_SIZE, (ps, entry) -> {
+                ps.setLong(1, eventId);
+                ps.setLong(2, boutIds.get(entry.bout()));
+                ps.setLong(3, entry.player1Id());
+                ps.setLong(4, entry.player2Id());
+                ps.setInt(5, entry.player1Score());
+                ps.setInt(6, entry.player2Score());
+                ps.setTimestamp(7, new Timestamp(entry.recordedAt()));
+                setNullableLong(ps, 8, entry.submittedBy());
+            });
+        }
+        FencingMetrics.stop(sample, "fencing.snapshot.restore", snapshot.rankings().size());
+        return eventId;
+    }
+
+    // Fails with a list of the missing ids instead of a foreign key violation halfway through
+    private void requirePlayers(EventSnapshot snapshot) {
+        Set<Long> playerIds = new LinkedHashSet<>();
+        snapshot.rankings().forEach(rank -> playerIds.add(rank.playerId()));
+        snapshot.bouts().forEach(bout -> {
+            playerIds.add(bout.player1Id());
+            playerIds.add(bout.player2Id());
+        });
+        snapshot.teams().forEach(team -> playerIds.addAll(team.memberIds()));
+        if (!EventFormat.TEAM_RELAY.name().equals(snapshot.format())) {
+            snapshot.bracketPositions().forEach(position -> {
+                if (position.competitorId() != null) {
+                    playerIds.add(position.competitorId());
+                }
+            });
+        }
+        List<Long> ids = new ArrayList<>(playerIds);
+        Set<Long> missing = new LinkedHashSet<>(playerIds);
+        for (int from = 0; from < ids.size(); from += PLAYER_CHECK_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + PLAYER_CHECK_CHUNK, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id FROM players WHERE id IN (" + placeholders + ")",
+                    rs -> {
+                missing.remove(rs.getLong(1));
+            }, chunk.toArray());
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Snapshot refers to players that do not exist here: " + missing);
+        }
+    }
+
+    private long insertReturningId(String sql, Object... values) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql, new String[] { "id" });
+            for (int i = 0; i < values.length; i++) {
+                ps.setObject(i + 1, values[i]);
+            }
+            return ps;
+        }, keyHolder);
+        return keyHolder.getKey().longValue();
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    // Stage, team, team bout and bout ids are sorted, -1 if the stage belongs to another event
+    private static int indexOf(List<Long> sortedIds, long id) {
+        return Math.max(Collections.binarySearch(sortedIds, id), -1);
+    }
+
+    private static long epochSeconds(Timestamp timestamp) {
+        return timestamp.toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static Timestamp timestamp(long epochSeconds) {
+        return Timestamp.valueOf(LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC));
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 public class GroupStageController {
@@ -28,8 +29,11 @@ public class GroupStageController {
     }
 
     @GetMapping("/tournaments/{tournamentId}/events/{eventId}/groupStage/{groupStageId}")
-    @ResponseStatus(HttpStatus.OK)
-    public GroupStage getGroupStage(@PathVariable Long groupStageId) {
+    public GroupStage getGroupStage(@PathVariable Long groupStageId, WebRequest request) {
+        String eTag = "groupStage-" + groupStageId + "-v" + groupStageService.getGroupStageVersion(groupStageId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return groupStageService.getGroupStage(groupStageId);
     }
 
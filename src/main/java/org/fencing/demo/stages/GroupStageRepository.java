@@ -1,11 +1,19 @@
 package org.fencing.demo.stages;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface GroupStageRepository extends JpaRepository<GroupStage, Long>{
     List<GroupStage> findByEventId(Long eventId);
     void deleteByEventIdAndId(Long eventId, Long groupStageId);
 
+    // The stage's JSON embeds its event and that event's tournament
+    @Query("SELECT CONCAT(STR(g.version), '.', STR(e.version), '.', STR(t.version)) FROM GroupStage g "
+            + "JOIN g.event e JOIN e.tournament t WHERE g.id = :id")
+    Optional<String> findVersionById(@Param("id") Long id);
+
 }
\ No newline at end of file
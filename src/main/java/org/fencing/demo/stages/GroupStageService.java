@@ -10,6 +10,8 @@ public interface GroupStageService {
 
     GroupStage getGroupStage(Long GroupStageId);
 
+    String getGroupStageVersion(Long groupStageId);
+
     GroupStage updateGroupStage(Long eventId, Long GroupStageId, GroupStage newGroupStage);
 
     void deleteGroupStage(Long eventId, Long GroupStageId);
@@ -8,6 +8,7 @@ import org.fencing.demo.events.EventNotFoundException;
 import org.fencing.demo.events.EventRepository;
 import org.fencing.demo.events.PlayerRank;
 import org.fencing.demo.matchMaking.BeforeGroupStage;
+import org.fencing.demo.metrics.FencingMetrics;
 import org.springframework.stereotype.Service;
 import org.fencing.demo.events.*;
 
@@ -28,11 +29,13 @@ public class GroupStageServiceImpl implements GroupStageService{
         if (eventId == null) {
             throw new IllegalArgumentException("Event ID and Group Stage cannot be null");
         }
-        return eventRepository.findById(eventId).map(event -> {
+        return eventRepository.findById(eventId).map(event -> FencingMetrics.timeForEvent(
+                "fencing.group_stages.create", event.getRankings().size(), () -> {
             System.out.println("Event found");
             System.out.println("Event: " + event);
             List<GroupStage> grpStages = new ArrayList<>();
-            Map<Integer, List<PlayerRank>> groups = BeforeGroupStage.sortByELO(event.getRankings());
+            Map<Integer, List<PlayerRank>> groups = FencingMetrics.timeForEvent("fencing.matchmaking.sort_by_elo",
+                    event.getRankings().size(), () -> BeforeGroupStage.sortByELO(event.getRankings()));
             System.out.println("Print groups map: " + groups);
             for(Integer i : groups.keySet()){
                 GroupStage grpStage = new GroupStage();
@@ -40,7 +43,7 @@ public class GroupStageServiceImpl implements GroupStageService{
                 grpStages.add(grpStage);
             }
             return groupStageRepository.saveAll(grpStages);
-        }).orElseThrow(() -> new EventNotFoundException(eventId));
+        })).orElseThrow(() -> new EventNotFoundException(eventId));
         
     }
 
@@ -65,6 +68,14 @@ public class GroupStageServiceImpl implements GroupStageService{
                 .orElseThrow(() -> new GroupStageNotFoundException(groupStageId));
     }
 
+    public String getGroupStageVersion(Long groupStageId){
+        if (groupStageId == null) {
+            throw new IllegalArgumentException("GroupStage ID cannot be null");
+        }
+        return groupStageRepository.findVersionById(groupStageId)
+                .orElseThrow(() -> new GroupStageNotFoundException(groupStageId));
+    }
+
     public GroupStage updateGroupStage(Long eventId, Long groupStageId, GroupStage newGroupStage){
         if (eventId == null || groupStageId == null || newGroupStage == null) {
             throw new IllegalArgumentException("Event ID, GroupStage ID and updated GroupStage cannot be null");
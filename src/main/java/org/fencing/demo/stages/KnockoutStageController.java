@@ -12,6 +12,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 
 @RestController
@@ -34,8 +35,11 @@ public class KnockoutStageController {
     
     // GET: Get a specific KnockoutStage by ID (Accessible by anyone)
     @GetMapping("/{knockoutStageId}")
-    @ResponseStatus(HttpStatus.OK)
-    public KnockoutStage getKnockoutStage(@PathVariable Long knockoutStageId) {
+    public KnockoutStage getKnockoutStage(@PathVariable Long knockoutStageId, WebRequest request) {
+        String eTag = "knockoutStage-" + knockoutStageId + "-v" + knockoutStageService.getKnockoutStageVersion(knockoutStageId);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
         return knockoutStageService.getKnockoutStage(knockoutStageId);
     }
 
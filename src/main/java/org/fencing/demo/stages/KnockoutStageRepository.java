@@ -1,10 +1,18 @@
 package org.fencing.demo.stages;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface KnockoutStageRepository extends JpaRepository<KnockoutStage, Long>{
     List<KnockoutStage> findByEventId(Long eventId);
     void deleteByEventIdAndId(Long eventId, Long knockoutStageId);
+
+    // The stage's JSON embeds its event and that event's tournament
+    @Query("SELECT CONCAT(STR(k.version), '.', STR(e.version), '.', STR(t.version)) FROM KnockoutStage k "
+            + "JOIN k.event e JOIN e.tournament t WHERE k.id = :id")
+    Optional<String> findVersionById(@Param("id") Long id);
 }
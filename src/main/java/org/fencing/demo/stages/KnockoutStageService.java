@@ -6,6 +6,8 @@ public interface KnockoutStageService {
 
     KnockoutStage getKnockoutStage(Long knockoutStageId);
 
+    String getKnockoutStageVersion(Long knockoutStageId);
+
     KnockoutStage updateKnockoutStage(Long eventId, Long knockoutStageId, KnockoutStage newKnockoutStage);
 
     void deleteKnockoutStage(Long eventId, Long knockoutStageId);
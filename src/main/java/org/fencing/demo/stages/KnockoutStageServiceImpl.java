@@ -37,6 +37,14 @@ public class KnockoutStageServiceImpl implements KnockoutStageService{
                 .orElseThrow(() -> new KnockoutStageNotFoundException(knockoutStageId));
     }
 
+    public String getKnockoutStageVersion(Long knockoutStageId){
+        if (knockoutStageId == null) {
+            throw new IllegalArgumentException("KnockoutStage ID cannot be null");
+        }
+        return knockoutStageRepository.findVersionById(knockoutStageId)
+                .orElseThrow(() -> new KnockoutStageNotFoundException(knockoutStageId));
+    }
+
     public KnockoutStage updateKnockoutStage(Long eventId, Long knockoutStageId, KnockoutStage newKnockoutStage){
         if (eventId == null || knockoutStageId == null || newKnockoutStage == null) {
             throw new IllegalArgumentException("Event ID, KnockoutStage ID and updated KnockoutStage cannot be null");
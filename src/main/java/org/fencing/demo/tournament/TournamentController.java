@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.lang.Long;
@@ -32,10 +33,15 @@ public class TournamentController {
         return tournamentService.listTournaments().stream().collect(Collectors.toList());
     }
 
+    // No @ResponseStatus here, it would overwrite the 304 set by checkNotModified. The ETag comes
+    // from the cached copy, so a cache hit never reaches the database
     @GetMapping(path = "/tournaments/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public Tournament getTournament(@PathVariable("id") Long id) {
-        return tournamentService.getTournament(id);
+    public Tournament getTournament(@PathVariable("id") Long id, WebRequest request) {
+        Tournament tournament = tournamentService.getTournament(id);
+        if (request.checkNotModified("tournament-" + id + "-v" + tournament.getVersion())) {
+            return null;
+        }
+        return tournament;
     }
 
     @PostMapping(path = "/tournaments")
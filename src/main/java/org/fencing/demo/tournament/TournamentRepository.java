@@ -1,6 +1,8 @@
 package org.fencing.demo.tournament;
 
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.time.LocalDate;
 import java.util.Optional;
@@ -9,4 +11,7 @@ public interface TournamentRepository extends CrudRepository<Tournament, Long> {
 
     List<Tournament> findByTournamentStartDateLessThanEqualAndTournamentEndDateGreaterThanEqual(LocalDate endDate, LocalDate startDate);
 
+    @Query("SELECT t.version FROM Tournament t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
 }
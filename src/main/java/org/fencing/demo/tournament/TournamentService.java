@@ -11,6 +11,8 @@ public interface TournamentService {
 
     Tournament getTournament(Long id);
 
+    long getTournamentVersion(Long id);
+
     Tournament updateTournament(Long id, Tournament tournament);
 
     void deleteTournament(Long id);
@@ -3,6 +3,8 @@ package org.fencing.demo.tournament;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -38,7 +40,9 @@ public class TournamentServiceImpl implements TournamentService {
                 .collect(Collectors.toList());
     }
 
+    // Cached on every node, updateTournament and deleteTournament evict it cluster-wide
     @Override
+    @Cacheable(cacheNames = "tournaments", key = "#tournamentId")
     public Tournament getTournament(Long tournamentId) {
         if (tournamentId == null){
             throw new IllegalArgumentException("Tournament ID cannot be null");
@@ -47,8 +51,18 @@ public class TournamentServiceImpl implements TournamentService {
                 .orElseThrow(() -> new TournamentNotFoundException(tournamentId));
     }
 
+    @Override
+    public long getTournamentVersion(Long tournamentId) {
+        if (tournamentId == null){
+            throw new IllegalArgumentException("Tournament ID cannot be null");
+        }
+        return tournamentRepository.findVersionById(tournamentId)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentId));
+    }
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = "tournaments", key = "#tournamentId")
     public Tournament updateTournament(Long tournamentId, Tournament newTournament) {
         if (tournamentId == null || newTournament == null) {
             throw new IllegalArgumentException("Tournament ID and new Tournament data must not be null");
@@ -70,6 +84,7 @@ public class TournamentServiceImpl implements TournamentService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = "tournaments", key = "#tournamentId")
     public void deleteTournament(Long tournamentId) {
         if (tournamentId == null || !tournamentRepository.existsById(tournamentId)) {
             throw new TournamentNotFoundException(tournamentId);
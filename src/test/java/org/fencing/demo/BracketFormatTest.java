@@ -0,0 +1,150 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.fencing.demo.bracket.BracketContext;
+import org.fencing.demo.bracket.BracketMove;
+import org.fencing.demo.bracket.BracketTable;
+import org.fencing.demo.bracket.DecidedBout;
+import org.fencing.demo.bracket.RepechageFormat;
+import org.fencing.demo.bracket.Team;
+import org.fencing.demo.bracket.TeamBout;
+import org.fencing.demo.bracket.TeamRelayFormat;
+import org.fencing.demo.events.Event;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.player.Player;
+import org.junit.jupiter.api.Test;
+
+public class BracketFormatTest {
+
+    private final RepechageFormat repechage = new RepechageFormat(null, null);
+    private final TeamRelayFormat relay = new TeamRelayFormat(null, null, null);
+
+    @Test
+    public void afterBout_RepechageTableOf16_QuarterFinalLosersGoToRepechage() {
+        BracketContext context = context(16);
+
+        assertEquals(List.of(BracketMove.winnerTo(BracketTable.MAIN, 1, 5)),
+                repechage.afterBout(context, BracketTable.MAIN, 0, 5));
+        assertEquals(List.of(BracketMove.winnerTo(BracketTable.MAIN, 2, 3), BracketMove.loserTo(BracketTable.REPECHAGE, 0, 3)),
+                repechage.afterBout(context, BracketTable.MAIN, 1, 3));
+    }
+
+    @Test
+    public void afterBout_RepechageSemiFinal_LoserMeetsOtherHalf() {
+        BracketContext context = context(8);
+
+        // Top semi-final loser waits in the bottom half's bronze bout and the other way round
+        assertEquals(BracketMove.loserTo(BracketTable.REPECHAGE, 1, 3), repechage.afterBout(context, BracketTable.MAIN, 1, 0).get(1));
+        assertEquals(BracketMove.loserTo(BracketTable.REPECHAGE, 1, 1), repechage.afterBout(context, BracketTable.MAIN, 1, 1).get(1));
+        assertEquals(List.of(BracketMove.winnerTo(BracketTable.REPECHAGE, 1, 2)),
+                repechage.afterBout(context, BracketTable.REPECHAGE, 0, 1));
+        assertTrue(repechage.afterBout(context, BracketTable.REPECHAGE, 1, 0).isEmpty());
+        assertTrue(repechage.afterBout(context, BracketTable.MAIN, 2, 0).isEmpty());
+    }
+
+    @Test
+    public void checkResult_EliminationBoutLevel_ThrowsIllegalArgumentException() {
+        Player a = player(1);
+        Player b = player(2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repechage.checkResult(bout(a, b, 0, 0), bout(a, b, 14, 14)));
+    }
+
+    @Test
+    public void checkResult_DecidedBoutCleared_ThrowsIllegalArgumentException() {
+        Player a = player(1);
+        Player b = player(2);
+
+        // A changed winner is checked against the next round by the service
+        repechage.checkResult(bout(a, b, 15, 10), bout(a, b, 15, 12));
+        repechage.checkResult(bout(a, b, 15, 10), bout(a, b, 10, 15));
+        assertThrows(IllegalArgumentException.class,
+                () -> repechage.checkResult(bout(a, b, 15, 10), bout(a, b, 0, 0)));
+    }
+
+    @Test
+    public void onResult_EliminationBout_WinnerAndLoserMoveOn() {
+        Match match = bout(player(1), player(2), 11, 15);
+        match.setBracketTable(BracketTable.MAIN);
+        match.setBracketRound(1);
+        match.setBracketBout(3);
+
+        Optional<DecidedBout> decided = repechage.onResult(match);
+
+        assertEquals(new DecidedBout(BracketTable.MAIN, 1, 3, 2L, 1L), decided.get());
+    }
+
+    @Test
+    public void checkResult_RelayLegs_TargetsAndOrderEnforced() {
+        TeamBout teamBout = teamBout();
+        teamBout.setTeam1Score(8);
+        teamBout.setTeam2Score(10);
+        teamBout.setLegsFenced(2);
+        Player a = teamBout.getTeam1().getMembers().get(1);
+        Player b = teamBout.getTeam2().getMembers().get(0);
+
+        relay.checkResult(leg(teamBout, 3, a, b), bout(a, b, 12, 15));
+        // over the 15 touches of leg 3
+        assertThrows(IllegalArgumentException.class, () -> relay.checkResult(leg(teamBout, 3, a, b), bout(a, b, 12, 16)));
+        // totals never go down
+        assertThrows(IllegalArgumentException.class, () -> relay.checkResult(leg(teamBout, 3, a, b), bout(a, b, 7, 15)));
+        // leg 4 before leg 3
+        assertThrows(IllegalArgumentException.class, () -> relay.checkResult(leg(teamBout, 4, a, b), bout(a, b, 12, 15)));
+        // fencer from the wrong team
+        assertThrows(IllegalArgumentException.class, () -> relay.checkResult(leg(teamBout, 3, b, a), bout(b, a, 12, 15)));
+    }
+
+    @Test
+    public void checkResult_LastLegLevel_ThrowsIllegalArgumentException() {
+        TeamBout teamBout = teamBout();
+        teamBout.setTeam1Score(38);
+        teamBout.setTeam2Score(40);
+        teamBout.setLegsFenced(8);
+        Player a = teamBout.getTeam1().getMembers().get(2);
+        Player b = teamBout.getTeam2().getMembers().get(1);
+
+        relay.checkResult(leg(teamBout, 9, a, b), bout(a, b, 45, 43));
+        assertThrows(IllegalArgumentException.class, () -> relay.checkResult(leg(teamBout, 9, a, b), bout(a, b, 42, 42)));
+    }
+
+    private static BracketContext context(int tableSize) {
+        Event event = new Event();
+        event.setBracketSize(tableSize);
+        return BracketContext.of(event);
+    }
+
+    private static TeamBout teamBout() {
+        Team team1 = Team.builder().id(1).members(List.of(player(1), player(2), player(3))).build();
+        Team team2 = Team.builder().id(2).members(List.of(player(4), player(5), player(6))).build();
+        return TeamBout.builder().id(1).team1(team1).team2(team2).bracketTable(BracketTable.MAIN).build();
+    }
+
+    private static Match leg(TeamBout teamBout, int leg, Player player1, Player player2) {
+        Match match = bout(player1, player2, teamBout.getTeam1Score(), teamBout.getTeam2Score());
+        match.setTeamBout(teamBout);
+        match.setRelayLeg(leg);
+        return match;
+    }
+
+    private static Player player(long id) {
+        Player player = new Player();
+        player.setId(id);
+        return player;
+    }
+
+    private static Match bout(Player player1, Player player2, int score1, int score2) {
+        Match match = new Match();
+        match.setPlayer1(player1);
+        match.setPlayer2(player2);
+        match.setPlayer1Score(score1);
+        match.setPlayer2Score(score2);
+        return match;
+    }
+}
@@ -0,0 +1,96 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fencing.demo.cache.CacheInvalidation;
+import org.fencing.demo.cache.ClusterCache;
+import org.fencing.demo.cache.ClusterCacheManager;
+import org.fencing.demo.cache.JdbcInvalidationBus;
+import org.fencing.demo.cache.LocalInvalidationBus;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+// Two cache managers stand in for two nodes
+public class ClusterCacheTest {
+
+    @Test
+    public void evict_OnOneNode_EvictsOnTheOther() {
+        LocalInvalidationBus bus = new LocalInvalidationBus();
+        Cache nodeA = new ClusterCacheManager(bus, 100, 60_000).getCache("tournaments");
+        Cache nodeB = new ClusterCacheManager(bus, 100, 60_000).getCache("tournaments");
+        nodeA.put(1L, "Spring Championship");
+        nodeB.put(1L, "Spring Championship");
+        nodeB.put(2L, "Autumn Open");
+
+        nodeA.evict(1L);
+
+        assertNull(nodeA.get(1L));
+        assertNull(nodeB.get(1L));
+        assertNotNull(nodeB.get(2L));
+    }
+
+    @Test
+    public void clear_OnOneNode_ClearsOnlyThatCacheOnTheOther() {
+        LocalInvalidationBus bus = new LocalInvalidationBus();
+        ClusterCacheManager nodeA = new ClusterCacheManager(bus, 100, 60_000);
+        ClusterCacheManager nodeB = new ClusterCacheManager(bus, 100, 60_000);
+        nodeB.getCache("tournaments").put(1L, "Spring Championship");
+        nodeB.getCache("users").put("admin", "admin");
+
+        nodeA.getCache("tournaments").clear();
+
+        assertNull(nodeB.getCache("tournaments").get(1L));
+        assertNotNull(nodeB.getCache("users").get("admin"));
+    }
+
+    @Test
+    public void get_ExpiredEntry_IsReloaded() throws InterruptedException {
+        Cache cache = new ClusterCacheManager(new LocalInvalidationBus(), 100, 20).getCache("tournaments");
+        cache.put(1L, "old");
+        Thread.sleep(40);
+
+        assertEquals("new", cache.get(1L, () -> "new"));
+    }
+
+    @Test
+    public void put_OverCapacity_DropsLeastRecentlyUsed() {
+        ClusterCache cache = (ClusterCache) new ClusterCacheManager(new LocalInvalidationBus(), 2, 60_000)
+                .getCache("tournaments");
+        cache.put(1L, "a");
+        cache.put(2L, "b");
+        cache.get(1L);
+        cache.put(3L, "c");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(1L));
+    }
+
+    @Test
+    public void jdbcBus_Poll_DeliversEachRowOnce() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:invalidation-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE cache_invalidation (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "origin VARCHAR(255), cache_name VARCHAR(255), cache_key VARCHAR(255), created_at TIMESTAMP)");
+        JdbcInvalidationBus sender = new JdbcInvalidationBus(jdbcTemplate, 500, 30_000, 600_000);
+        JdbcInvalidationBus receiver = new JdbcInvalidationBus(jdbcTemplate, 500, 30_000, 600_000);
+        List<CacheInvalidation> received = new ArrayList<>();
+        receiver.subscribe(received::add);
+
+        sender.publish(new CacheInvalidation("node-a", "tournaments", "1"));
+        sender.publish(new CacheInvalidation("node-a", "tournaments", null));
+
+        assertEquals(2, receiver.poll());
+        assertEquals(0, receiver.poll());
+        assertEquals(new CacheInvalidation("node-a", "tournaments", "1"), received.get(0));
+        assertNull(received.get(1).key());
+    }
+}
@@ -0,0 +1,83 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.dashboard.DashboardBout;
+import org.fencing.demo.dashboard.DashboardPool;
+import org.fencing.demo.dashboard.DashboardRound;
+import org.fencing.demo.dashboard.EventDashboardAssembler;
+import org.fencing.demo.dashboard.EventDashboardAssembler.BoutRow;
+import org.junit.jupiter.api.Test;
+
+public class EventDashboardAssemblerTest {
+
+    @Test
+    public void pools_BoutsWithoutGroupStage_GroupedByFencers() {
+        List<BoutRow> bouts = new ArrayList<>();
+        long matchId = 1;
+        for (long first : new long[] { 1, 11 }) {
+            for (long i = first; i < first + 4; i++) {
+                for (long j = i + 1; j < first + 4; j++) {
+                    bouts.add(row(matchId++, i, j, null, null));
+                }
+            }
+        }
+
+        List<DashboardPool> pools = EventDashboardAssembler.pools(bouts, Map.of());
+
+        assertEquals(2, pools.size());
+        assertEquals(List.of(1L, 2L, 3L, 4L), pools.get(0).fencerIds());
+        assertEquals(List.of(11L, 12L, 13L, 14L), pools.get(1).fencerIds());
+        assertEquals(6, pools.get(1).bouts().size());
+        assertNull(pools.get(0).groupStageId());
+    }
+
+    @Test
+    public void pools_LinkedGroupStages_OrderedByStageAndCarryCompletion() {
+        List<BoutRow> bouts = List.of(
+                row(1, 1, 2, 20L, null),
+                row(2, 3, 4, 10L, null),
+                row(3, 5, 6, null, 30L));
+        Map<Long, Boolean> groupStages = new LinkedHashMap<>();
+        groupStages.put(10L, true);
+        groupStages.put(20L, false);
+        groupStages.put(25L, false);
+
+        List<DashboardPool> pools = EventDashboardAssembler.pools(bouts, groupStages);
+
+        assertEquals(3, pools.size());
+        assertEquals(Long.valueOf(10), pools.get(0).groupStageId());
+        assertTrue(pools.get(0).allMatchesCompleted());
+        assertEquals(Long.valueOf(20), pools.get(1).groupStageId());
+        assertEquals(Long.valueOf(25), pools.get(2).groupStageId());
+        assertTrue(pools.get(2).bouts().isEmpty());
+    }
+
+    @Test
+    public void bracket_RoundsInStageOrder_PoolBoutsLeftOut() {
+        List<BoutRow> bouts = List.of(
+                row(1, 1, 2, null, null),
+                row(2, 1, 3, null, 40L),
+                row(3, 2, 4, null, 40L),
+                row(4, 1, 2, null, 41L));
+
+        List<DashboardRound> bracket = EventDashboardAssembler.bracket(bouts, List.of(40L, 41L, 42L));
+
+        assertEquals(3, bracket.size());
+        assertEquals(2, bracket.get(0).bouts().size());
+        assertEquals(4, bracket.get(1).bouts().get(0).matchId());
+        assertTrue(bracket.get(2).bouts().isEmpty());
+    }
+
+    private static BoutRow row(long matchId, long player1Id, long player2Id, Long groupStageId, Long knockoutStageId) {
+        return new BoutRow(new DashboardBout(matchId, player1Id, player2Id, 5, 3, null, null, null),
+                groupStageId, knockoutStageId);
+    }
+}
@@ -0,0 +1,297 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Simulates an event day against the app on embedded H2: registration, event sign-up,
+ * pool generation, concurrent score entry with spectators polling, and knockout rounds.
+ *
+ * Not part of the normal build, run with: ./mvnw -Pload-test test
+ * Scale with -Dloadtest.fencers, -Dloadtest.spectatorRequests and -Dloadtest.concurrency.
+ * With -Dresults.ingest.mode=write-behind scores go through the journalled endpoint instead.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EventDayLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EventDayLoadTest.class);
+
+    private static final int FENCERS = Integer.getInteger("loadtest.fencers", 200);
+    private static final int SPECTATOR_REQUESTS = Integer.getInteger("loadtest.spectatorRequests", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final boolean WRITE_BEHIND = "write-behind".equals(System.getProperty("results.ingest.mode"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final LoadRecorder recorder = new LoadRecorder();
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
+    private final Random random = new Random(42);
+    private final AtomicLong lastResultSequence = new AtomicLong();
+
+    @Test
+    public void eventDay() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        ExecutorService pool = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            String adminToken = register("register", "lt-admin-" + runId, "ADMIN");
+
+            // Mass registration of accounts
+            List<Callable<String>> registrations = new ArrayList<>();
+            for (int i = 0; i < FENCERS; i++) {
+                String username = "lt-user-" + runId + "-" + i;
+                registrations.add(() -> register("register", username, "USER"));
+            }
+            String userToken = runAll(pool, registrations).get(0);
+
+            JsonNode tournament = call("POST /tournaments", "POST", "/tournaments", adminToken, tournamentBody(runId));
+            long tournamentId = tournament.get("id").asLong();
+            String eventPath = "/tournaments/" + tournamentId + "/events";
+            JsonNode event = call("POST events", "POST", eventPath, adminToken, eventBody());
+            long eventId = event.get("id").asLong();
+            eventPath = eventPath + "/" + eventId;
+
+            // Fencer profiles and event sign-up
+            List<Callable<Long>> players = new ArrayList<>();
+            for (int i = 0; i < FENCERS; i++) {
+                String username = "lt-fencer-" + runId + "-" + i;
+                int elo = 1400 + random.nextInt(600);
+                players.add(() -> call("POST /players", "POST", "/players", adminToken, playerBody(username, elo)).get("id").asLong());
+            }
+            List<Long> playerIds = runAll(pool, players);
+            List<Callable<JsonNode>> signUps = new ArrayList<>();
+            for (Long playerId : playerIds) {
+                String path = eventPath + "/addPlayer/" + playerId;
+                signUps.add(() -> call("POST addPlayer", "POST", path, userToken, null));
+            }
+            runAll(pool, signUps);
+
+            // Pools
+            call("POST groupStage", "POST", eventPath + "/groupStage", adminToken, null);
+            JsonNode poolBouts = call("POST groupStage/matches", "POST", eventPath + "/groupStage/matches", adminToken, null);
+
+            // Score entry while spectators poll
+            List<Callable<JsonNode>> poolDay = new ArrayList<>(scoreTasks(eventPath, poolBouts, 5, adminToken));
+            List<Long> matchIds = new ArrayList<>();
+            poolBouts.forEach(bout -> matchIds.add(bout.get("id").asLong()));
+            for (int i = 0; i < SPECTATOR_REQUESTS; i++) {
+                poolDay.add(spectatorTask(tournamentId, eventPath, matchIds, i));
+            }
+            runAll(pool, LoadRecorder.shuffled(poolDay));
+
+            // Direct elimination: draw the table once, then score whatever bouts the bracket has opened
+            awaitResults(eventPath);
+            JsonNode stage = call("POST knockoutStage", "POST", eventPath + "/knockoutStage", adminToken, null);
+            call("POST knockoutStage/matches", "POST",
+                    eventPath + "/knockoutStage/" + stage.get("id").asLong() + "/matches", adminToken, null);
+            Set<Long> scored = new HashSet<>();
+            List<JsonNode> open;
+            while (!(open = openBracketBouts(eventPath, scored)).isEmpty()) {
+                List<Callable<JsonNode>> round = new ArrayList<>();
+                for (JsonNode bout : open) {
+                    scored.add(bout.get("matchId").asLong());
+                    round.add(scoreTask(eventPath, bout.get("matchId").asLong(),
+                            bout.get("player1Id").asLong(), bout.get("player2Id").asLong(), 15, adminToken));
+                }
+                runAll(pool, round);
+            }
+        } finally {
+            pool.shutdownNow();
+            log.info("Event day load test, {} fencers, concurrency {}{}{}", FENCERS, CONCURRENCY,
+                    System.lineSeparator(), recorder.report());
+        }
+        assertTrue(recorder.totalRequests() > 0);
+    }
+
+    private List<Callable<JsonNode>> scoreTasks(String eventPath, JsonNode bouts, int touches, String token) {
+        List<Callable<JsonNode>> tasks = new ArrayList<>();
+        for (JsonNode bout : bouts) {
+            tasks.add(scoreTask(eventPath, bout.get("id").asLong(), bout.get("player1").get("id").asLong(),
+                    bout.get("player2").get("id").asLong(), touches, token));
+        }
+        return tasks;
+    }
+
+    private Callable<JsonNode> scoreTask(String eventPath, long matchId, long player1Id, long player2Id, int touches,
+            String token) {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putObject("player1").put("id", player1Id);
+        body.putObject("player2").put("id", player2Id);
+        int loserScore = random.nextInt(touches);
+        boolean player1Wins = random.nextBoolean();
+        body.put("player1Score", player1Wins ? touches : loserScore);
+        body.put("player2Score", player1Wins ? loserScore : touches);
+        String path = eventPath + "/match/" + matchId + (WRITE_BEHIND ? "/result" : "");
+        return () -> call(WRITE_BEHIND ? "PUT match/result (write-behind)" : "PUT match", "PUT", path, token, body);
+    }
+
+    // The bracket opens a bout once both its feeders are decided, so once every submitted score
+    // is applied the dashboard lists all bouts that can be fenced next
+    private List<JsonNode> openBracketBouts(String eventPath, Set<Long> scored) throws Exception {
+        HttpResponse<String> response;
+        do {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri(eventPath + "/dashboard")).GET();
+            if (WRITE_BEHIND && lastResultSequence.get() > 0) {
+                builder.header("X-Result-Sequence", Long.toString(lastResultSequence.get()));
+            }
+            response = send("GET dashboard (bracket)", builder.build());
+        } while (response.statusCode() == 503);
+        List<JsonNode> open = new ArrayList<>();
+        for (JsonNode round : objectMapper.readTree(response.body()).get("bracket")) {
+            for (JsonNode bout : round.get("bouts")) {
+                if (bout.get("player1Score").asInt() == 0 && bout.get("player2Score").asInt() == 0
+                        && !scored.contains(bout.get("matchId").asLong())) {
+                    open.add(bout);
+                }
+            }
+        }
+        return open;
+    }
+
+    private Callable<JsonNode> spectatorTask(long tournamentId, String eventPath, List<Long> matchIds, int i) {
+        String[] labels = { "GET tournament", "GET event", "GET match" };
+        String[] paths = {
+                "/tournaments/" + tournamentId,
+                eventPath,
+                eventPath + "/match/" + matchIds.get(i % Math.max(matchIds.size(), 1)) };
+        int kind = i % labels.length;
+        // Half of the polls revalidate with the last ETag seen, like a browser would
+        boolean conditional = i % 2 == 0;
+        return () -> conditionalGet(labels[kind] + (conditional ? " (If-None-Match)" : ""), paths[kind], conditional);
+    }
+
+    // Read-your-writes: the draw of the next round must see every score submitted so far
+    private void awaitResults(String eventPath) throws Exception {
+        if (WRITE_BEHIND && lastResultSequence.get() > 0) {
+            send("GET event (X-Result-Sequence)", HttpRequest.newBuilder(uri(eventPath))
+                    .header("X-Result-Sequence", Long.toString(lastResultSequence.get()))
+                    .GET()
+                    .build());
+        }
+    }
+
+    private String register(String label, String username, String role) throws Exception {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", "password")
+                .put("email", username + "@example.com")
+                .put("role", role);
+        return call("POST /api/v1/auth/" + label, "POST", "/api/v1/auth/register", null, body).get("token").asText();
+    }
+
+    private JsonNode conditionalGet(String label, String path, boolean conditional) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).GET();
+        String eTag = eTags.get(path);
+        if (conditional && eTag != null) {
+            builder.header("If-None-Match", eTag);
+        }
+        HttpResponse<String> response = send(label, builder.build());
+        response.headers().firstValue("ETag").ifPresent(tag -> eTags.put(path, tag));
+        return null;
+    }
+
+    private JsonNode call(String label, String method, String path, String token, JsonNode body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = send(label, builder.build());
+        response.headers().firstValue("X-Result-Sequence")
+                .ifPresent(sequence -> lastResultSequence.accumulateAndGet(Long.parseLong(sequence), Math::max));
+        if (response.statusCode() >= 400 || response.body() == null || response.body().isEmpty()) {
+            return null;
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String label, HttpRequest request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        recorder.record(label, start, System.nanoTime(), response.statusCode() >= 400);
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static <T> List<T> runAll(ExecutorService pool, List<? extends Callable<T>> tasks) throws Exception {
+        List<Future<T>> futures = new ArrayList<>();
+        for (Callable<T> task : tasks) {
+            futures.add(pool.submit(task));
+        }
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    private ObjectNode tournamentBody(String runId) {
+        return objectMapper.createObjectNode()
+                .put("name", "Load test open " + runId)
+                .put("registrationStartDate", LocalDate.now().toString())
+                .put("registrationEndDate", LocalDate.now().plusDays(5).toString())
+                .put("tournamentStartDate", LocalDate.now().plusDays(10).toString())
+                .put("tournamentEndDate", LocalDate.now().plusDays(12).toString())
+                .put("venue", "Load test hall");
+    }
+
+    private ObjectNode eventBody() {
+        LocalDateTime start = LocalDate.now().plusDays(10).atTime(9, 0);
+        return objectMapper.createObjectNode()
+                .put("startDate", start.toString())
+                .put("endDate", start.plusHours(10).toString())
+                .put("gender", "MALE")
+                .put("weapon", "EPEE");
+    }
+
+    private ObjectNode playerBody(String username, int elo) {
+        return objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", "password")
+                .put("email", username + "@example.com")
+                .put("role", "USER")
+                .put("elo", elo);
+    }
+}
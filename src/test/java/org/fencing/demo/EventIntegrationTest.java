@@ -12,6 +12,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.TreeSet;
 
@@ -20,6 +21,7 @@ import org.fencing.demo.events.EventRepository;
 import org.fencing.demo.events.Gender;
 import org.fencing.demo.events.PlayerRankComparator;
 import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.player.Player;
 import org.fencing.demo.player.PlayerRepository;
 import org.fencing.demo.tournament.Tournament;
 import org.fencing.demo.tournament.TournamentRepository;
@@ -40,10 +42,13 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 import jakarta.persistence.EntityManager;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -70,6 +75,9 @@ public class EventIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Tournament tournament;
 
     private User adminUser;
@@ -102,6 +110,24 @@ public class EventIntegrationTest {
         userRepository.deleteAll();
     }
 
+    @Test
+    public void getEvent_TournamentRenamedSinceETag_ReturnsNewBody() throws Exception {
+        Event event = eventRepository.save(createValidEvent(tournament));
+        URI uri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId());
+        String eTag = restTemplate.getForEntity(uri, JsonNode.class).getHeaders().getETag();
+
+        // The event row itself is untouched, only the tournament its JSON embeds
+        Tournament renamed = tournamentRepository.findById(tournament.getId()).get();
+        renamed.setName("Renamed Championship");
+        tournamentRepository.save(renamed);
+        org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<JsonNode> result = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("Renamed Championship", result.getBody().get("tournament").get("name").asText());
+    }
+
     // Add Event - Success
     @Test
     public void addEvent_Success() throws Exception {
@@ -372,6 +398,28 @@ public class EventIntegrationTest {
         assertEquals(HttpStatus.FORBIDDEN, result.getStatusCode());  // Expecting 403 Forbidden
     }
 
+    @Test
+    public void addPlayersToEvent_SomeAlreadyRegistered_OnlyNewOnesInserted() throws Exception {
+        long eventId = eventRepository.save(createValidEvent(tournament)).getId();
+        Player fencer1 = playerRepository.save(
+                new Player("fencer1", passwordEncoder.encode("fencerPass"), "fencer1@email.com", Role.USER));
+        Player fencer2 = playerRepository.save(
+                new Player("fencer2", passwordEncoder.encode("fencerPass"), "fencer2@email.com", Role.USER));
+
+        URI uri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + eventId + "/addPlayers");
+        restTemplate.withBasicAuth("admin", "adminPass").postForEntity(uri, List.of(fencer1.getId()), JsonNode.class);
+        ResponseEntity<JsonNode> result = restTemplate.withBasicAuth("admin", "adminPass")
+                .postForEntity(uri, List.of(fencer1.getId(), fencer2.getId(), 9999L), JsonNode.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1, result.getBody().get("registered").size());
+        assertEquals(fencer2.getId(), result.getBody().get("registered").get(0).asLong());
+        assertEquals("ALREADY_REGISTERED", result.getBody().get("failed").get(fencer1.getId().toString()).asText());
+        assertEquals("PLAYER_NOT_FOUND", result.getBody().get("failed").get("9999").asText());
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM player_rank WHERE event_id = ?", Integer.class, eventId));
+    }
+
     // Helper methods for creating valid entities
     private Tournament createValidTournament() {
         return Tournament.builder()
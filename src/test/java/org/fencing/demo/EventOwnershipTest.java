@@ -0,0 +1,206 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.partition.EventOwner;
+import org.fencing.demo.partition.EventOwnerRoutingInterceptor;
+import org.fencing.demo.partition.EventOwnership;
+import org.fencing.demo.partition.EventPartition;
+import org.fencing.demo.resultlog.LoggedResult;
+import org.fencing.demo.resultlog.PlayerStanding;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Two EventOwnership instances on one H2 database stand in for two nodes. The renewer threads are
+// not started, so the tests decide when a lease is renewed.
+public class EventOwnershipTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:partition-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE event_owner (event_id BIGINT PRIMARY KEY, node_id VARCHAR(255), "
+                + "node_url VARCHAR(255), epoch BIGINT NOT NULL, lease_until TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE bout_result_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, event_id BIGINT, "
+                + "match_id BIGINT, player1_id BIGINT, player2_id BIGINT, player1_score INT, player2_score INT, "
+                + "recorded_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE matches (id BIGINT PRIMARY KEY, event_id BIGINT, player1_id BIGINT, "
+                + "player2_id BIGINT, player1score INT, player2score INT)");
+    }
+
+    @Test
+    public void ownerOf_FreeEvent_ClaimedByFirstNode() {
+        EventOwnership nodeA = node("http://node-a", 5000);
+        EventOwnership nodeB = node("http://node-b", 5000);
+
+        EventOwner claimed = nodeA.ownerOf(1L);
+        EventOwner seenByB = nodeB.ownerOf(1L);
+
+        assertTrue(claimed.local());
+        assertEquals(1, claimed.epoch());
+        assertFalse(seenByB.local());
+        assertEquals(nodeA.getNodeId(), seenByB.nodeId());
+        assertEquals("http://node-a", seenByB.nodeUrl());
+        assertNull(nodeB.partition(1L));
+    }
+
+    @Test
+    public void ownerOf_ExpiredLease_TakenOverWithStandingsFromLog() throws InterruptedException {
+        logResult(1L, 10L, 1L, 2L, 5, 3);
+        logResult(1L, 11L, 1L, 3L, 5, 1);
+        EventOwnership nodeA = node("http://node-a", 300);
+        EventOwnership nodeB = node("http://node-b", 300);
+        nodeA.ownerOf(1L);
+
+        Thread.sleep(400);
+        EventOwner takenOver = nodeB.ownerOf(1L);
+
+        assertTrue(takenOver.local());
+        assertEquals(2, takenOver.epoch());
+        List<PlayerStanding> standings = nodeB.liveStandings(1L);
+        assertEquals(1L, standings.get(0).playerId());
+        assertEquals(2, standings.get(0).winCount());
+        assertEquals(3, standings.size());
+
+        // The old owner finds out on its next renewal and stops taking writes
+        nodeA.renewLeases();
+        assertNull(nodeA.partition(1L));
+        assertFalse(nodeA.ownerOf(1L).local());
+    }
+
+    @Test
+    public void ownerOf_BoutFromBeforeTheLog_BackfilledIntoStandings() {
+        jdbcTemplate.update("INSERT INTO matches VALUES (10, 1, 1, 2, 5, 3), (11, 1, 1, 3, 0, 0)");
+        logResult(1L, 12L, 2L, 3L, 5, 4);
+        EventOwnership nodeA = node("http://node-a", 5000);
+
+        nodeA.ownerOf(1L);
+
+        List<PlayerStanding> standings = nodeA.liveStandings(1L);
+        assertEquals(3, standings.size());
+        assertEquals(1, standings.stream().filter(s -> s.playerId() == 1L).findFirst().get().winCount());
+        assertEquals(1, standings.stream().filter(s -> s.playerId() == 2L).findFirst().get().winCount());
+        // The unfenced bout stays out of the log
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bout_result_log", Integer.class));
+    }
+
+    @Test
+    public void renewLeases_LiveOwner_KeepsTheEvent() throws InterruptedException {
+        EventOwnership nodeA = node("http://node-a", 300);
+        EventOwnership nodeB = node("http://node-b", 300);
+        nodeA.ownerOf(1L);
+
+        Thread.sleep(200);
+        nodeA.renewLeases();
+        Thread.sleep(200);
+
+        assertFalse(nodeB.ownerOf(1L).local());
+        assertNotNull(nodeA.partition(1L));
+    }
+
+    @Test
+    public void release_OwnedEvent_NextNodeClaimsAtOnce() throws InterruptedException {
+        EventOwnership nodeA = node("http://node-a", 5000);
+        EventOwnership nodeB = node("http://node-b", 5000);
+        nodeA.ownerOf(1L);
+
+        assertTrue(nodeA.release(1L, 100));
+        EventOwner claimed = nodeB.ownerOf(1L);
+
+        assertTrue(claimed.local());
+        assertEquals(2, claimed.epoch());
+        assertFalse(nodeA.ownerOf(1L).local());
+    }
+
+    @Test
+    public void release_WriteInProgress_WaitsForIt() throws InterruptedException {
+        EventOwnership nodeA = node("http://node-a", 5000);
+        nodeA.ownerOf(1L);
+        EventPartition partition = nodeA.partition(1L);
+        Thread writer = new Thread(() -> {
+            try {
+                partition.tryLock(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer.start();
+        writer.join();
+
+        assertFalse(nodeA.release(1L, 100));
+        assertNotNull(nodeA.partition(1L));
+    }
+
+    @Test
+    public void preHandle_WriteWhileEventLocked_BusyWith503() throws Exception {
+        EventOwnership nodeA = node("http://node-a", 5000);
+        nodeA.ownerOf(1L);
+        EventPartition partition = nodeA.partition(1L);
+        Thread writer = new Thread(() -> {
+            try {
+                partition.tryLock(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        writer.start();
+        writer.join();
+        EventOwnerRoutingInterceptor interceptor = new EventOwnerRoutingInterceptor(nodeA, 50, 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/tournaments/1/events/1/matches/10");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("tournamentId", "1", "eventId", "1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, null));
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals("Event 1 is busy", response.getErrorMessage());
+    }
+
+    @Test
+    public void constructor_WriteBehindIngest_Refused() {
+        assertThrows(IllegalStateException.class,
+                () -> new EventOwnership(jdbcTemplate, "http://node-a", 5000, "write-behind"));
+    }
+
+    @Test
+    public void apply_CorrectedBout_ReplacesEarlierResult() {
+        EventPartition partition = new EventPartition(1L, 1, Long.MAX_VALUE, List.of());
+
+        partition.apply(new LoggedResult(10L, 1L, 2L, 5, 3));
+        partition.apply(new LoggedResult(10L, 1L, 2L, 2, 5));
+
+        PlayerStanding first = partition.getStandings().get(0);
+        PlayerStanding second = partition.getStandings().get(1);
+        assertEquals(2L, first.playerId());
+        assertEquals(1, first.winCount());
+        assertEquals(1L, second.playerId());
+        assertEquals(1, second.lossCount());
+    }
+
+    private EventOwnership node(String nodeUrl, long leaseMillis) {
+        return new EventOwnership(jdbcTemplate, nodeUrl, leaseMillis, "sync");
+    }
+
+    private void logResult(long eventId, long matchId, long player1Id, long player2Id, int player1Score,
+            int player2Score) {
+        jdbcTemplate.update("INSERT INTO bout_result_log (event_id, match_id, player1_id, player2_id, player1_score, "
+                + "player2_score) VALUES (?, ?, ?, ?, ?, ?)", eventId, matchId, player1Id, player2Id, player1Score,
+                player2Score);
+    }
+}
@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -16,14 +18,18 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.TreeSet;
 
+import org.fencing.demo.events.BulkRegistrationResult;
 import org.fencing.demo.events.Event;
 import org.fencing.demo.events.EventNotFoundException;
 import org.fencing.demo.events.EventRepository;
 import org.fencing.demo.events.EventServiceImpl;
 import org.fencing.demo.events.Gender;
 import org.fencing.demo.events.PlayerRankComparator;
+import org.fencing.demo.events.PlayerRankRepository;
+import org.fencing.demo.events.RegistrationFailure;
 import org.fencing.demo.events.WeaponType;
 import org.fencing.demo.player.Player;
 import org.fencing.demo.player.PlayerRepository;
@@ -36,6 +42,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 public class EventServiceTest {
@@ -49,6 +59,15 @@ public class EventServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Mock
+    private PlayerRankRepository playerRankRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private EventServiceImpl eventService;
 
@@ -270,6 +289,65 @@ public class EventServiceTest {
         assertThrows(EventNotFoundException.class, () -> eventService.addPlayerToEvent(1L, 1L));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addPlayersToEvent_MixedIds_RegistersValidAndReportsFailures() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(playerRepository.findExistingIds(any())).thenReturn(Set.of(1L, 2L, 3L));
+        when(playerRankRepository.findRegisteredPlayerIds(anyLong(), any())).thenReturn(Set.of(2L));
+        when(jdbcTemplate.batchUpdate(any(String.class), eq(List.of(1L, 3L)), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][] {{1, 1}});
+
+        BulkRegistrationResult result = eventService.addPlayersToEvent(1L, List.of(1L, 2L, 3L, 4L, 1L));
+
+        assertEquals(List.of(1L, 3L), result.getRegistered());
+        assertEquals(RegistrationFailure.ALREADY_REGISTERED, result.getFailed().get(2L));
+        assertEquals(RegistrationFailure.PLAYER_NOT_FOUND, result.getFailed().get(4L));
+        verify(jdbcTemplate, times(1)).batchUpdate(any(String.class), eq(List.of(1L, 3L)), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(eventRepository, never()).save(any(Event.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addPlayersToEvent_RegisteredMeanwhile_ReportedAlreadyRegistered() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(playerRepository.findExistingIds(any())).thenReturn(Set.of(1L, 2L));
+        when(playerRankRepository.findRegisteredPlayerIds(anyLong(), any())).thenReturn(Set.of());
+        when(jdbcTemplate.batchUpdate(any(String.class), eq(List.of(1L, 2L)), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenReturn(new int[][] {{1, 0}});
+
+        BulkRegistrationResult result = eventService.addPlayersToEvent(1L, List.of(1L, 2L));
+
+        assertEquals(List.of(1L), result.getRegistered());
+        assertEquals(RegistrationFailure.ALREADY_REGISTERED, result.getFailed().get(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void addPlayersToEvent_ConcurrentDuplicate_RetriedRowByRow() {
+        when(eventRepository.existsById(1L)).thenReturn(true);
+        when(playerRepository.findExistingIds(any())).thenReturn(Set.of(1L, 2L, 3L));
+        when(playerRankRepository.findRegisteredPlayerIds(anyLong(), any())).thenReturn(Set.of());
+        when(jdbcTemplate.batchUpdate(any(String.class), eq(List.of(1L, 2L, 3L)), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(jdbcTemplate.update(any(String.class), eq(1L), eq(1L), eq(1L))).thenReturn(1);
+        when(jdbcTemplate.update(any(String.class), eq(1L), eq(2L), eq(1L))).thenThrow(new DuplicateKeyException("duplicate"));
+        when(jdbcTemplate.update(any(String.class), eq(1L), eq(3L), eq(1L))).thenReturn(1);
+
+        BulkRegistrationResult result = eventService.addPlayersToEvent(1L, List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(1L, 3L), result.getRegistered());
+        assertEquals(RegistrationFailure.ALREADY_REGISTERED, result.getFailed().get(2L));
+    }
+
+    @Test
+    public void addPlayersToEvent_InvalidEvent_ThrowsEventNotFoundException() {
+        when(eventRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EventNotFoundException.class, () -> eventService.addPlayersToEvent(1L, List.of(1L)));
+    }
+
     private Tournament createValidTournament() {
         return Tournament.builder()
                 .name("Spring Championship")
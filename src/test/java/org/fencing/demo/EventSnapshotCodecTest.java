@@ -0,0 +1,132 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fencing.demo.snapshot.EventSnapshot;
+import org.fencing.demo.snapshot.EventSnapshotCodec;
+import org.junit.jupiter.api.Test;
+
+public class EventSnapshotCodecTest {
+
+    private static final long START = 1_790_000_000L;
+
+    @Test
+    public void decode_EncodedEvent_ReturnsSameState() {
+        EventSnapshot snapshot = event(4, 7);
+
+        EventSnapshot decoded = EventSnapshotCodec.decode(EventSnapshotCodec.encode(snapshot));
+
+        assertEquals(snapshot, decoded);
+    }
+
+    @Test
+    public void decode_BoutsOutOfOrder_ComeBackSortedById() {
+        List<EventSnapshot.Bout> bouts = new ArrayList<>();
+        bouts.add(new EventSnapshot.Bout(30, -1, 0, 5, 2, 15, 9, 1, 4, START + 1200, null, null, null, -1, null));
+        bouts.add(new EventSnapshot.Bout(10, -1, -1, 2, 5, 0, 0, null, null, null, null, null, null, -1, null));
+        EventSnapshot snapshot = new EventSnapshot(3, 1, 1, START, START + 3600, "FEMALE", "EPEE", null, null,
+                List.of(new EventSnapshot.Rank(2, -4, 0, 1), new EventSnapshot.Rank(5, 66, 1, 0)),
+                List.of(), List.of(new EventSnapshot.Stage(8, false)), bouts, List.of(), List.of(), List.of(),
+                List.of());
+
+        EventSnapshot decoded = EventSnapshotCodec.decode(EventSnapshotCodec.encode(snapshot));
+
+        assertEquals(10, decoded.bouts().get(0).id());
+        assertEquals(bouts.get(0), decoded.bouts().get(1));
+        assertEquals(-4, decoded.rankings().get(0).score());
+    }
+
+    @Test
+    public void decode_TeamBracketEvent_ReturnsSameState() {
+        List<EventSnapshot.Team> teams = List.of(
+                new EventSnapshot.Team(70, "North", 1, List.of(101L, 102L, 103L)),
+                new EventSnapshot.Team(71, null, 2, List.of(104L, 105L, 106L, 107L)));
+        List<EventSnapshot.TeamBout> teamBouts = List.of(
+                new EventSnapshot.TeamBout(80, "MAIN", 0, 0, 0, 1, 45, 38, 9, 0),
+                new EventSnapshot.TeamBout(81, "MAIN", 1, 0, 0, 1, 5, 4, 1, -1));
+        List<EventSnapshot.Position> positions = List.of(
+                new EventSnapshot.Position("MAIN", 0, 0, 70L),
+                new EventSnapshot.Position("MAIN", 0, 1, 71L),
+                new EventSnapshot.Position("MAIN", 1, 0, 70L),
+                new EventSnapshot.Position("REPECHAGE", 0, 3, null));
+        List<EventSnapshot.Bout> bouts = List.of(
+                new EventSnapshot.Bout(500, -1, -1, 101, 104, 5, 4, null, null, null, "MAIN", 0, 0, 0, 1),
+                new EventSnapshot.Bout(501, -1, -1, 102, 105, 10, 9, 2, 1, START + 600, "MAIN", 0, 0, 0, 2),
+                new EventSnapshot.Bout(502, -1, -1, 101, 105, 5, 4, null, null, null, "MAIN", 1, 0, 1, 1));
+        EventSnapshot snapshot = new EventSnapshot(9, 4, 2, START, START + 3600, "MALE", "SABRE", "TEAM_RELAY", 2,
+                List.of(new EventSnapshot.Rank(101, 0, 0, 0)), List.of(), List.of(), bouts, positions, teams,
+                teamBouts, List.of());
+
+        EventSnapshot decoded = EventSnapshotCodec.decode(EventSnapshotCodec.encode(snapshot));
+
+        assertEquals(snapshot, decoded);
+    }
+
+    @Test
+    public void decode_FlippedByte_ThrowsIllegalArgumentException() {
+        byte[] bytes = EventSnapshotCodec.encode(event(2, 5));
+        bytes[bytes.length / 2] ^= 0x10;
+
+        assertThrows(IllegalArgumentException.class, () -> EventSnapshotCodec.decode(bytes));
+    }
+
+    @Test
+    public void decode_NotASnapshot_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> EventSnapshotCodec.decode("{\"id\":1}".getBytes()));
+    }
+
+    @Test
+    public void encode_600FencerEvent_IsCompactAndFast() {
+        EventSnapshot snapshot = event(86, 7);
+
+        long started = System.nanoTime();
+        byte[] bytes = EventSnapshotCodec.encode(snapshot);
+        EventSnapshot decoded = EventSnapshotCodec.decode(bytes);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(snapshot.bouts().size(), decoded.bouts().size());
+        assertEquals(snapshot.resultLog(), decoded.resultLog());
+        assertTrue(bytes.length < snapshot.bouts().size() * 20 + snapshot.resultLog().size() * 12, bytes.length + " bytes");
+        assertTrue(millis < 200, "took " + millis + " ms");
+    }
+
+    private static List<EventSnapshot.LogEntry> corrected(List<EventSnapshot.LogEntry> resultLog) {
+        List<EventSnapshot.LogEntry> withCorrections = new ArrayList<>(resultLog);
+        for (int i = 0; i < resultLog.size(); i += 3) {
+            EventSnapshot.LogEntry entry = resultLog.get(i);
+            withCorrections.add(new EventSnapshot.LogEntry(entry.bout(), entry.player1Id(), entry.player2Id(),
+                    entry.player2Score(), entry.player1Score(), entry.recordedAt() + 60_000, 8L));
+        }
+        return withCorrections;
+    }
+
+    // Round robin pools, all bouts fenced, scheduled and logged, every third one corrected afterwards
+    private static EventSnapshot event(int pools, int size) {
+        List<EventSnapshot.Rank> rankings = new ArrayList<>();
+        List<EventSnapshot.Stage> groupStages = new ArrayList<>();
+        List<EventSnapshot.Bout> bouts = new ArrayList<>();
+        List<EventSnapshot.LogEntry> resultLog = new ArrayList<>();
+        long boutId = 1000;
+        for (int pool = 0; pool < pools; pool++) {
+            groupStages.add(new EventSnapshot.Stage(50 + pool, pool % 2 == 0));
+            long first = 100 + (long) pool * size;
+            for (int i = 0; i < size; i++) {
+                rankings.add(new EventSnapshot.Rank(first + i, 10 * i - 7, i, size - 1 - i));
+                for (int j = i + 1; j < size; j++) {
+                    resultLog.add(new EventSnapshot.LogEntry(bouts.size(), first + i, first + j, 5, j % 5,
+                            START * 1000 + bouts.size() * 1500L, bouts.size() % 4 == 0 ? null : 7L));
+                    bouts.add(new EventSnapshot.Bout(boutId++, pool, -1, first + i, first + j, 5, j % 5,
+                            pool % 8 + 1, j, START + j * 300L, null, null, null, -1, null));
+                }
+            }
+        }
+        return new EventSnapshot(42, 17, 3, START, START + 8 * 3600, "MALE", "FOIL", "INDIVIDUAL", null,
+                rankings, groupStages, List.of(new EventSnapshot.Stage(900, false)), bouts, List.of(), List.of(),
+                List.of(), corrected(resultLog));
+    }
+}
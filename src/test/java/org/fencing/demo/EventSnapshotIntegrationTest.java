@@ -0,0 +1,237 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.fencing.demo.bracket.BracketService;
+import org.fencing.demo.bracket.TeamEntry;
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventFormat;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.resultlog.BoutResultEntry;
+import org.fencing.demo.resultlog.BoutResultLogRepository;
+import org.fencing.demo.snapshot.EventSnapshot;
+import org.fencing.demo.snapshot.EventSnapshotService;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.fencing.demo.user.User;
+import org.fencing.demo.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EventSnapshotIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private EventSnapshotService eventSnapshotService;
+
+    @Autowired
+    private BoutResultLogRepository boutResultLogRepository;
+
+    private Tournament tournament;
+
+    private Event event;
+
+    private final String baseUrl = "http://localhost:";
+
+    @BeforeEach
+    void setUp() {
+        boutResultLogRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User("admin", passwordEncoder.encode("adminPass"), "admin@example.com", Role.ADMIN));
+
+        tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+
+        event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .format(EventFormat.TEAM_RELAY)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        List<Long> playerIds = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            Player player = new Player();
+            player.setEmail("fencer" + i + "@email.com");
+            player.setUsername("fencer" + i);
+            player.setPassword(passwordEncoder.encode("fencerPass"));
+            player.setRole(Role.USER);
+            player = playerRepository.save(player);
+            playerIds.add(player.getId());
+
+            PlayerRank rank = new PlayerRank();
+            rank.setEvent(event);
+            rank.setPlayer(player);
+            event.getRankings().add(rank);
+        }
+        event = eventRepository.save(event);
+
+        bracketService.addTeam(event.getId(), new TeamEntry("North", 1, playerIds.subList(0, 3)));
+        bracketService.addTeam(event.getId(), new TeamEntry("South", 2, playerIds.subList(3, 6)));
+        bracketService.startBracket(event.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        boutResultLogRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void restoreSnapshot_DrawnTeamBracket_KeepsBracketState() throws Exception {
+        URI exportUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/snapshot");
+        byte[] bytes = restTemplate.getForObject(exportUri, byte[].class);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        URI restoreUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/snapshot");
+        ResponseEntity<Long> result = restTemplate.withBasicAuth("admin", "adminPass")
+                .postForEntity(restoreUri, new HttpEntity<>(bytes, headers), Long.class);
+
+        assertEquals(HttpStatus.CREATED, result.getStatusCode());
+        assertNotNull(result.getBody());
+        EventSnapshot original = eventSnapshotService.capture(event.getId());
+        EventSnapshot restored = eventSnapshotService.capture(result.getBody());
+
+        assertEquals("TEAM_RELAY", restored.format());
+        assertEquals(original.bracketSize(), restored.bracketSize());
+        assertEquals(2, restored.teams().size());
+        assertFalse(restored.teamBouts().isEmpty());
+        assertFalse(restored.bouts().isEmpty());
+        assertNotEquals(original.teams().get(0).id(), restored.teams().get(0).id());
+        assertEquals(withoutIds(original), withoutIds(restored));
+        assertEquals(competitorNames(original), competitorNames(restored));
+    }
+
+    @Test
+    public void restoreSnapshot_LoggedResults_KeepSubmitterAndPointAtRestoredBouts() throws Exception {
+        EventSnapshot.Bout bout = eventSnapshotService.capture(event.getId()).bouts().get(0);
+        Long adminId = userRepository.findByUsername("admin").get().getId();
+        Instant recordedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        logResult(bout, 3, 5, recordedAt, null);
+        logResult(bout, 5, 3, recordedAt.plusSeconds(90), adminId);
+
+        URI exportUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/snapshot");
+        byte[] bytes = restTemplate.getForObject(exportUri, byte[].class);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        URI restoreUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/snapshot");
+        Long restoredId = restTemplate.withBasicAuth("admin", "adminPass")
+                .postForEntity(restoreUri, new HttpEntity<>(bytes, headers), Long.class).getBody();
+
+        EventSnapshot restored = eventSnapshotService.capture(restoredId);
+        assertEquals(eventSnapshotService.capture(event.getId()).resultLog(), restored.resultLog());
+        List<BoutResultEntry> log = boutResultLogRepository.findByEventIdOrderByIdAsc(restoredId);
+        assertEquals(2, log.size());
+        assertEquals(restored.bouts().get(0).id(), log.get(1).getMatchId());
+        assertEquals(adminId, log.get(1).getSubmittedBy());
+        assertEquals(recordedAt, log.get(0).getRecordedAt());
+    }
+
+    private void logResult(EventSnapshot.Bout bout, int player1Score, int player2Score, Instant recordedAt,
+            Long submittedBy) {
+        boutResultLogRepository.save(BoutResultEntry.builder()
+                .eventId(event.getId())
+                .matchId(bout.id())
+                .player1Id(bout.player1Id())
+                .player2Id(bout.player2Id())
+                .player1Score(player1Score)
+                .player2Score(player2Score)
+                .recordedAt(recordedAt)
+                .submittedBy(submittedBy)
+                .build());
+    }
+
+    // Everything that has to survive a restore, with the ids that change left out
+    private static List<Object> withoutIds(EventSnapshot snapshot) {
+        return List.of(
+                snapshot.teams().stream().map(team -> List.of(team.name(), team.seed(), team.memberIds())).toList(),
+                snapshot.teamBouts().stream().map(teamBout -> new EventSnapshot.TeamBout(0, teamBout.bracketTable(),
+                        teamBout.bracketRound(), teamBout.bracketBout(), teamBout.team1(), teamBout.team2(),
+                        teamBout.team1Score(), teamBout.team2Score(), teamBout.legsFenced(), teamBout.winner())).toList(),
+                snapshot.bouts().stream().map(bout -> new EventSnapshot.Bout(0, bout.groupStage(), bout.knockoutStage(),
+                        bout.player1Id(), bout.player2Id(), bout.player1Score(), bout.player2Score(), bout.piste(),
+                        bout.timeSlot(), bout.scheduledStart(), bout.bracketTable(), bout.bracketRound(),
+                        bout.bracketBout(), bout.teamBout(), bout.relayLeg())).toList(),
+                snapshot.rankings());
+    }
+
+    // Bracket positions of a team event hold team ids, compared here by team name
+    private static List<String> competitorNames(EventSnapshot snapshot) {
+        Map<Long, String> names = snapshot.teams().stream()
+                .collect(Collectors.toMap(EventSnapshot.Team::id, EventSnapshot.Team::name));
+        Function<EventSnapshot.Position, String> describe = position -> position.bracketTable() + " "
+                + position.bracketRound() + "/" + position.position() + " "
+                + (position.competitorId() == null ? "bye" : names.get(position.competitorId()));
+        return snapshot.bracketPositions().stream().map(describe).toList();
+    }
+}
@@ -0,0 +1,101 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.sql.Timestamp;
+import java.util.Optional;
+
+import org.fencing.demo.jobs.Job;
+import org.fencing.demo.jobs.JobNotFoundException;
+import org.fencing.demo.jobs.JobRepository;
+import org.fencing.demo.jobs.JobServiceImpl;
+import org.fencing.demo.jobs.JobStatus;
+import org.fencing.demo.jobs.JobType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class JobServiceTest {
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private JobServiceImpl jobService;
+
+    @BeforeEach
+    public void setUp() {
+        jobService = new JobServiceImpl(jobRepository, jdbcTemplate, new ObjectMapper(), 1, 10, "node-a");
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        jobService.shutdown();
+    }
+
+    @Test
+    public void submit_ValidTask_SavesQueuedJob() {
+        when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> {
+            Job job = invocation.getArgument(0);
+            job.setId(1L);
+            return job;
+        });
+
+        Job result = jobService.submit(JobType.ELO_REBUILD, "all players", job -> null);
+
+        assertEquals(1L, result.getId());
+        assertEquals(JobStatus.QUEUED, result.getStatus());
+        assertEquals(JobType.ELO_REBUILD, result.getType());
+        assertNotNull(result.getCreatedAt());
+        assertEquals("node-a", result.getNodeId());
+    }
+
+    @Test
+    public void submit_NullTask_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> jobService.submit(JobType.POOL_DRAW, "tournament 1", null));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    public void getJob_UnknownJob_ThrowsJobNotFoundException() {
+        when(jobRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(JobNotFoundException.class, () -> jobService.getJob(1L));
+    }
+
+    @Test
+    public void cancel_FinishedJob_ReturnsJobUnchanged() {
+        Job finished = Job.builder().id(1L).type(JobType.BRACKET_START).status(JobStatus.SUCCEEDED).build();
+        when(jobRepository.findById(1L)).thenReturn(Optional.of(finished));
+
+        Job result = jobService.cancel(1L);
+
+        assertEquals(JobStatus.SUCCEEDED, result.getStatus());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void failUnfinishedJobs_OnStartup_FailsOnlyThisNodesJobs() {
+        jobService.failUnfinishedJobs();
+
+        verify(jdbcTemplate).update(contains("node_id = ?"), any(Timestamp.class), eq("node-a"));
+    }
+
+    @Test
+    public void constructor_NoWorkers_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new JobServiceImpl(jobRepository, jdbcTemplate, new ObjectMapper(), 0, 10, "node-a"));
+    }
+}
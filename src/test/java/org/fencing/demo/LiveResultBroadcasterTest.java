@@ -0,0 +1,142 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import java.io.IOException;
+import java.util.function.BooleanSupplier;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventService;
+import org.fencing.demo.live.LiveResultBroadcaster;
+import org.fencing.demo.live.LiveResultController;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchUpdatedEvent;
+import org.fencing.demo.player.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+
+@ExtendWith(MockitoExtension.class)
+public class LiveResultBroadcasterTest {
+    @Mock
+    private EventService eventService;
+
+    private LiveResultBroadcaster broadcaster;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        broadcaster = new LiveResultBroadcaster(60000, 4, 2, 10000, 100);
+        broadcaster.start();
+        mockMvc = MockMvcBuilders.standaloneSetup(new LiveResultController(broadcaster, eventService)).build();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    public void onMatchUpdated_Subscriber_ReceivesResult() throws Exception {
+        MvcResult stream = subscribe(1L);
+
+        broadcaster.onMatchUpdated(new MatchUpdatedEvent(createMatch(1L, 15, 12)));
+
+        // An event is written in several pieces, the data line comes last
+        awaitTrue(() -> content(stream).contains("\"player1Score\":15"));
+        assertTrue(content(stream).contains("event:match\nid:7-3\n"));
+        assertEquals(1, broadcaster.subscriberCount(1L));
+    }
+
+    @Test
+    public void onMatchUpdated_OtherEvent_NothingSent() throws Exception {
+        MvcResult stream = subscribe(1L);
+
+        broadcaster.onMatchUpdated(new MatchUpdatedEvent(createMatch(2L, 15, 12)));
+
+        awaitTrue(() -> content(stream).contains(":heartbeat"));
+        assertTrue(!content(stream).contains("event:match"));
+    }
+
+    @Test
+    public void subscribe_Idle_GetsHeartbeat() throws Exception {
+        MvcResult stream = subscribe(1L);
+
+        awaitTrue(() -> content(stream).contains(":heartbeat"));
+    }
+
+    @Test
+    public void subscribe_ClientCompletes_Removed() throws Exception {
+        MvcResult stream = subscribe(1L);
+
+        stream.getRequest().getAsyncContext().complete();
+
+        assertEquals(0, broadcaster.subscriberCount(1L));
+    }
+
+    @Test
+    public void subscribe_ConnectionError_Removed() throws Exception {
+        MvcResult stream = subscribe(1L);
+
+        MockAsyncContext asyncContext = (MockAsyncContext) stream.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+        }
+
+        assertEquals(0, broadcaster.subscriberCount(1L));
+    }
+
+    private MvcResult subscribe(Long eventId) throws Exception {
+        MvcResult stream = mockMvc.perform(get("/tournaments/1/events/" + eventId + "/live"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(1, broadcaster.subscriberCount(eventId));
+        return stream;
+    }
+
+    private static String content(MvcResult stream) {
+        try {
+            return stream.getResponse().getContentAsString();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // The senders write on their own threads
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 250 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+
+    private static Match createMatch(Long eventId, int player1Score, int player2Score) {
+        Player player1 = new Player();
+        player1.setId(1L);
+        Player player2 = new Player();
+        player2.setId(2L);
+        return Match.builder()
+                .id(7L)
+                .version(3L)
+                .event(Event.builder().id(eventId).build())
+                .player1(player1)
+                .player2(player2)
+                .player1Score(player1Score)
+                .player2Score(player2Score)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package org.fencing.demo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Collects per-endpoint latencies for EventDayLoadTest and prints throughput and percentiles
+public class LoadRecorder {
+
+    private final Map<String, Queue<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> firstStart = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> lastEnd = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long startNanos, long endNanos, boolean error) {
+        latencies.computeIfAbsent(endpoint, e -> new ConcurrentLinkedQueue<>()).add(endNanos - startNanos);
+        firstStart.computeIfAbsent(endpoint, e -> new AtomicLong(Long.MAX_VALUE)).accumulateAndGet(startNanos, Math::min);
+        lastEnd.computeIfAbsent(endpoint, e -> new AtomicLong(Long.MIN_VALUE)).accumulateAndGet(endNanos, Math::max);
+        if (error) {
+            errors.computeIfAbsent(endpoint, e -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    public long totalRequests() {
+        return latencies.values().stream().mapToLong(Queue::size).sum();
+    }
+
+    public String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-34s %8s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, Queue<Long>> entry : new TreeMap<>(latencies).entrySet()) {
+            String endpoint = entry.getKey();
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            double seconds = Math.max(lastEnd.get(endpoint).get() - firstStart.get(endpoint).get(), 1) / 1e9;
+            AtomicLong errorCount = errors.get(endpoint);
+            sb.append(String.format("%-34s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, sorted.length, errorCount == null ? 0 : errorCount.get(), sorted.length / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1e6));
+        }
+        return sb.toString();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    public static <T> List<T> shuffled(List<T> tasks) {
+        List<T> copy = new ArrayList<>(tasks);
+        java.util.Collections.shuffle(copy, new java.util.Random(42));
+        return copy;
+    }
+}
@@ -2,6 +2,7 @@ package org.fencing.demo;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.net.URI;
@@ -12,7 +13,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.fencing.demo.bracket.BracketPositionRepository;
+import org.fencing.demo.bracket.BracketTable;
 import org.fencing.demo.events.Event;
 import org.fencing.demo.events.EventRepository;
 import org.fencing.demo.events.Gender;
@@ -21,6 +28,7 @@ import org.fencing.demo.events.PlayerRankComparator;
 import org.fencing.demo.events.WeaponType;
 import org.fencing.demo.match.Match;
 import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.match.MatchService;
 import org.fencing.demo.player.Player;
 import org.fencing.demo.player.PlayerRepository;
 import org.fencing.demo.stages.GroupStage;
@@ -40,9 +48,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
@@ -76,9 +86,18 @@ public class MatchIntegrationTest {
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private BracketPositionRepository bracketPositionRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Event event;
 
     private Tournament tournament;
@@ -159,6 +178,7 @@ public class MatchIntegrationTest {
 
     @AfterEach
     void tearDown() {
+        bracketPositionRepository.deleteAll();
         eventRepository.deleteAll();
         tournamentRepository.deleteAll();
         groupStageRepository.deleteAll();
@@ -223,6 +243,145 @@ public class MatchIntegrationTest {
     //     assertTrue(result.getBody().contains("No KnockoutStage found for event"));
     // }
 
+    @Test
+    public void getMatch_FencerRatingChangedSinceETag_ReturnsNewBody() throws Exception {
+        URI drawUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/groupStage/matches");
+        Match bout = restTemplate.withBasicAuth("admin", "adminPass").postForEntity(drawUri, null, Match[].class).getBody()[0];
+        URI uri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/match/" + bout.getId());
+        String eTag = restTemplate.getForEntity(uri, Match.class).getHeaders().getETag();
+
+        // An Elo rebuild rewrites players.elo without touching the match row
+        jdbcTemplate.update("UPDATE players SET elo = 1800 WHERE id = ?", bout.getPlayer1().getId());
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<Match> result = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Match.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(1800, result.getBody().getPlayer1().getElo());
+        headers.setIfNoneMatch(result.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Match.class).getStatusCode());
+    }
+
+    @Test
+    public void deleteEvent_AfterKnockoutDraw_RemovesBracketRows() throws Exception {
+        URI drawUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/knockoutStage/" + knockoutStage.getId() + "/matches");
+        restTemplate.withBasicAuth("admin", "adminPass").postForEntity(drawUri, null, Match[].class);
+        assertTrue(bracketPositionRepository.count() > 0);
+
+        URI deleteUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId());
+        ResponseEntity<Void> result = restTemplate.withBasicAuth("admin", "adminPass")
+                                                    .exchange(deleteUri, HttpMethod.DELETE, null, Void.class);
+
+        assertEquals(HttpStatus.NO_CONTENT, result.getStatusCode());
+        assertEquals(0, bracketPositionRepository.count());
+    }
+
+    @Test
+    public void updateMatch_ConcurrentWritersOnSameFencer_NoResultLost() throws Exception {
+        URI uri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/groupStage/matches");
+        restTemplate.withBasicAuth("admin", "adminPass").postForEntity(uri, null, Match[].class);
+
+        // Every bout of one fencer entered at the same time from different tables, all of them touch that fencer's rank
+        List<Match> bouts = new ArrayList<>(matchRepository.findByEventId(event.getId()));
+        Player fencer = bouts.get(0).getPlayer1();
+        List<Match> fencerBouts = bouts.stream()
+                .filter(bout -> bout.getPlayer1().equals(fencer) || bout.getPlayer2().equals(fencer))
+                .toList();
+        assertTrue(fencerBouts.size() >= 2);
+
+        ExecutorService tables = Executors.newFixedThreadPool(fencerBouts.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Match>> results = new ArrayList<>();
+        for (Match bout : fencerBouts) {
+            boolean first = bout.getPlayer1().equals(fencer);
+            Match result = Match.builder()
+                    .player1(bout.getPlayer1())
+                    .player2(bout.getPlayer2())
+                    .player1Score(first ? 5 : 2)
+                    .player2Score(first ? 2 : 5)
+                    .build();
+            results.add(tables.submit(() -> {
+                start.await();
+                return matchService.updateMatch(event.getId(), bout.getId(), result);
+            }));
+        }
+        start.countDown();
+        for (Future<Match> result : results) {
+            result.get();
+        }
+        tables.shutdown();
+
+        Integer winCount = jdbcTemplate.queryForObject(
+                "SELECT win_count FROM player_rank WHERE event_id = ? AND player_id = ?", Integer.class,
+                event.getId(), fencer.getId());
+        assertEquals(fencerBouts.size(), winCount);
+    }
+
+    @Test
+    public void updateMatch_SiblingBoutsInParallel_NextRoundOpened() throws Exception {
+        URI drawUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/knockoutStage/" + knockoutStage.getId() + "/matches");
+        restTemplate.withBasicAuth("admin", "adminPass").postForEntity(drawUri, null, Match[].class);
+
+        // Both feeders of each semi-final are entered at the same time
+        List<Match> quarterFinals = new ArrayList<>();
+        for (int bout = 0; bout < 4; bout++) {
+            quarterFinals.addAll(bracketBouts(0, bout));
+        }
+        assertEquals(4, quarterFinals.size());
+        ExecutorService tables = Executors.newFixedThreadPool(quarterFinals.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Match>> results = new ArrayList<>();
+        for (Match bout : quarterFinals) {
+            Match result = Match.builder()
+                    .player1(bout.getPlayer1())
+                    .player2(bout.getPlayer2())
+                    .player1Score(15)
+                    .player2Score(9)
+                    .build();
+            results.add(tables.submit(() -> {
+                start.await();
+                return matchService.updateMatch(event.getId(), bout.getId(), result);
+            }));
+        }
+        start.countDown();
+        for (Future<Match> result : results) {
+            result.get();
+        }
+        tables.shutdown();
+
+        for (int bout = 0; bout < 2; bout++) {
+            List<Match> semiFinal = bracketBouts(1, bout);
+            assertEquals(1, semiFinal.size());
+            assertEquals(quarterFinals.get(2 * bout).getPlayer1(), semiFinal.get(0).getPlayer1());
+            assertEquals(quarterFinals.get(2 * bout + 1).getPlayer1(), semiFinal.get(0).getPlayer2());
+        }
+    }
+
+    @Test
+    public void updateMatch_WinnerCorrectedBeforeNextBout_NextBoutReopened() throws Exception {
+        URI drawUri = new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/knockoutStage/" + knockoutStage.getId() + "/matches");
+        restTemplate.withBasicAuth("admin", "adminPass").postForEntity(drawUri, null, Match[].class);
+        Match top = bracketBouts(0, 0).get(0);
+        Match bottom = bracketBouts(0, 1).get(0);
+        matchService.updateMatch(event.getId(), top.getId(), result(top, 15, 9));
+        matchService.updateMatch(event.getId(), bottom.getId(), result(bottom, 15, 9));
+        assertEquals(top.getPlayer1(), bracketBouts(1, 0).get(0).getPlayer1());
+
+        // Mistyped result, the semi-final has not been fenced yet
+        matchService.updateMatch(event.getId(), top.getId(), result(top, 9, 15));
+
+        List<Match> semiFinal = bracketBouts(1, 0);
+        assertEquals(1, semiFinal.size());
+        assertEquals(top.getPlayer2(), semiFinal.get(0).getPlayer1());
+        assertEquals(bottom.getPlayer1(), semiFinal.get(0).getPlayer2());
+
+        // Once the semi-final is fenced, the quarter-final winner stays
+        matchService.updateMatch(event.getId(), semiFinal.get(0).getId(), result(semiFinal.get(0), 15, 14));
+        assertThrows(IllegalArgumentException.class,
+                () -> matchService.updateMatch(event.getId(), top.getId(), result(top, 15, 9)));
+    }
+
     @Test // passed
     public void addInitialMatchForGroupStage_EventNotFound_Failure() throws Exception {
         long nonExistentEventId = 999L;
@@ -248,6 +407,20 @@ public class MatchIntegrationTest {
     }
 
 
+    private List<Match> bracketBouts(int round, int bout) {
+        return matchRepository.findByEventIdAndBracketTableAndBracketRoundAndBracketBout(event.getId(),
+                BracketTable.MAIN, round, bout);
+    }
+
+    private static Match result(Match bout, int player1Score, int player2Score) {
+        return Match.builder()
+                .player1(bout.getPlayer1())
+                .player2(bout.getPlayer2())
+                .player1Score(player1Score)
+                .player2Score(player2Score)
+                .build();
+    }
+
     // Helper methods for creating valid entities
     private Tournament createValidTournament() {
         return Tournament.builder()
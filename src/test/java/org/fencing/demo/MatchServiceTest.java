@@ -8,6 +8,7 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -17,11 +18,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
 
+import org.fencing.demo.bracket.BracketService;
+import org.fencing.demo.bracket.BracketTable;
 import org.fencing.demo.events.Event;
 import org.fencing.demo.events.EventNotFoundException;
 import org.fencing.demo.events.EventRepository;
@@ -31,9 +36,11 @@ import org.fencing.demo.events.PlayerRank;
 import org.fencing.demo.events.PlayerRankComparator;
 import org.fencing.demo.events.WeaponType;
 import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchBatchResult;
 import org.fencing.demo.match.MatchNotFoundException;
 import org.fencing.demo.match.MatchRepository;
 import org.fencing.demo.match.MatchServiceImpl;
+import org.fencing.demo.match.MatchUpdatedEvent;
 import org.fencing.demo.player.Player;
 import org.fencing.demo.player.PlayerRepository;
 import org.fencing.demo.stages.GroupStage;
@@ -48,6 +55,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 public class MatchServiceTest {
@@ -70,6 +80,15 @@ public class MatchServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BracketService bracketService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private EventServiceImpl eventService;
 
@@ -110,19 +129,43 @@ public class MatchServiceTest {
         when(eventRepository.existsById(eventId)).thenReturn(true);
         when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
 
-        // Create the expected matches for the knockout stage
+        // First call draws the table through the bracket engine
         List<Match> expectedMatches = event.getMatchesForKnockoutStage(knockoutStage);
-        when(matchRepository.saveAll(anyList())).thenReturn(expectedMatches);
+        when(bracketService.startBracket(eventId)).thenReturn(expectedMatches);
 
         List<Match> result = matchService.addMatchesforKnockoutStage(eventId);
 
         assertNotNull(result);
         assertEquals(expectedMatches.size(), result.size());
-        verify(matchRepository, times(1)).saveAll(anyList());
+        verify(bracketService, times(1)).startBracket(eventId);
         verify(eventRepository, times(1)).existsById(eventId);
         verify(eventRepository, times(1)).findById(eventId);
     }
 
+    @Test
+    public void addMatchesForKnockoutStage_BracketAlreadyDrawn_ReturnsLatestRoundWithoutRegenerating() {
+        Long eventId = 1L;
+        Event event = createValidEvent();
+        event.setBracketSize(8);
+        KnockoutStage firstRound = createValidKnockoutStage(event);
+        KnockoutStage secondRound = KnockoutStage.builder().id(2L).event(event).build();
+        event.getKnockoutStages().addAll(List.of(firstRound, secondRound));
+        Match semiFinal = new Match();
+        semiFinal.setKnockoutStage(secondRound);
+        secondRound.getMatches().add(semiFinal);
+
+        when(eventRepository.existsById(eventId)).thenReturn(true);
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(matchRepository.findFirstByEventIdAndBracketTableOrderByBracketRoundDesc(eventId, BracketTable.MAIN))
+                .thenReturn(Optional.of(semiFinal));
+
+        List<Match> result = matchService.addMatchesforKnockoutStage(eventId);
+
+        assertEquals(List.of(semiFinal), result);
+        verify(bracketService, never()).startBracket(any());
+        verify(matchRepository, never()).saveAll(anyList());
+    }
+
     @Test
     public void addMatchesForKnockoutStage_NonExistingEvent_ThrowsEventNotFoundException() {
         Long eventId = 1L;
@@ -272,6 +315,151 @@ public class MatchServiceTest {
 
         verify(matchRepository, times(1)).findById(matchId);
         verify(matchRepository, times(1)).save(existingMatch);
+        verify(eventPublisher, times(1)).publishEvent(any(MatchUpdatedEvent.class));
+    }
+
+    @Test
+    public void updateMatch_SameResultResubmitted_RanksCountedOnce() {
+        Long eventId = 1L;
+        Long matchId = 1L;
+        Event event = createValidEvent();
+
+        Player player1 = createValidPlayer(1);
+        Player player2 = createValidPlayer(2);
+        PlayerRank playerRank1 = createPlayerRank(1, player1, event);
+        PlayerRank playerRank2 = createPlayerRank(2, player2, event);
+        playerRank1.updateAfterMatch(15, 10);
+        playerRank2.updateAfterMatch(10, 15);
+        event.getRankings().add(playerRank1);
+        event.getRankings().add(playerRank2);
+
+        Match existingMatch = createValidMatch(event, player1, player2);
+        Match resubmitted = createValidMatch(event, player1, player2);
+
+        when(matchRepository.findById(matchId)).thenReturn(Optional.of(existingMatch));
+
+        matchService.updateMatch(eventId, matchId, resubmitted);
+
+        assertEquals(1, playerRank1.getWinCount());
+        assertEquals(65, playerRank1.getScore());
+        assertEquals(1, playerRank2.getLossCount());
+        verify(matchRepository, never()).save(any(Match.class));
+        verify(eventPublisher, never()).publishEvent(any(MatchUpdatedEvent.class));
+    }
+
+    @Test
+    public void updateMatch_CorrectedResult_ReplacesOldResultInRanks() {
+        Long eventId = 1L;
+        Long matchId = 1L;
+        Event event = createValidEvent();
+
+        Player player1 = createValidPlayer(1);
+        Player player2 = createValidPlayer(2);
+        PlayerRank playerRank1 = createPlayerRank(1, player1, event);
+        PlayerRank playerRank2 = createPlayerRank(2, player2, event);
+        playerRank1.updateAfterMatch(15, 10);
+        playerRank2.updateAfterMatch(10, 15);
+        event.getRankings().add(playerRank1);
+        event.getRankings().add(playerRank2);
+
+        Match existingMatch = createValidMatch(event, player1, player2);
+        Match corrected = createValidMatch(event, player1, player2);
+        corrected.setPlayer1Score(12);
+        corrected.setPlayer2Score(15);
+
+        when(matchRepository.findById(matchId)).thenReturn(Optional.of(existingMatch));
+        when(matchRepository.save(any(Match.class))).thenReturn(existingMatch);
+
+        matchService.updateMatch(eventId, matchId, corrected);
+
+        assertEquals(0, playerRank1.getWinCount());
+        assertEquals(1, playerRank1.getLossCount());
+        assertEquals(-15, playerRank1.getScore());
+        assertEquals(1, playerRank2.getWinCount());
+        assertEquals(0, playerRank2.getLossCount());
+        assertEquals(63, playerRank2.getScore());
+    }
+
+    @Test
+    public void updateMatch_ConcurrentUpdateOnCommit_RetriesWithFreshData() {
+        Long eventId = 1L;
+        Long matchId = 1L;
+        Event event = createValidEvent();
+
+        Player player1 = createValidPlayer(1);
+        Player player2 = createValidPlayer(2);
+        event.getRankings().add(createPlayerRank(1, player1, event));
+        event.getRankings().add(createPlayerRank(2, player2, event));
+
+        Match existingMatch = createValidMatch(event, player1, player2);
+        Match newMatch = createUpdatedMatch(event, player1, player2);
+
+        when(matchRepository.findById(matchId))
+                .thenReturn(Optional.of(existingMatch))
+                .thenReturn(Optional.of(createValidMatch(event, player1, player2)));
+        when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(PlayerRank.class, 1L))
+                .doNothing()
+                .when(transactionManager).commit(any());
+
+        Match result = matchService.updateMatch(eventId, matchId, newMatch);
+
+        assertEquals(20, result.getPlayer1Score());
+        verify(matchRepository, times(2)).findById(matchId);
+    }
+
+    @Test
+    public void updateMatch_ConflictEveryAttempt_ThrowsOptimisticLockingFailure() {
+        Long eventId = 1L;
+        Long matchId = 1L;
+        Event event = createValidEvent();
+
+        Player player1 = createValidPlayer(1);
+        Player player2 = createValidPlayer(2);
+        event.getRankings().add(createPlayerRank(1, player1, event));
+        event.getRankings().add(createPlayerRank(2, player2, event));
+
+        when(matchRepository.findById(matchId))
+                .thenAnswer(invocation -> Optional.of(createValidMatch(event, player1, player2)));
+        when(matchRepository.save(any(Match.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new ObjectOptimisticLockingFailureException(PlayerRank.class, 1L))
+                .when(transactionManager).commit(any());
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            matchService.updateMatch(eventId, matchId, createUpdatedMatch(event, player1, player2));
+        });
+
+        verify(matchRepository, times(5)).findById(matchId);
+    }
+
+    @Test
+    public void updateMatches_UnknownMatchInBatch_AppliesTheRestAndReportsIt() {
+        Long eventId = 1L;
+        Event event = createValidEvent();
+
+        Player player1 = createValidPlayer(1);
+        Player player2 = createValidPlayer(2);
+        PlayerRank playerRank1 = createPlayerRank(1, player1, event);
+        event.getRankings().add(playerRank1);
+        event.getRankings().add(createPlayerRank(2, player2, event));
+
+        Match existingMatch = createValidMatch(event, player1, player2);
+        existingMatch.setPlayer1Score(0);
+        existingMatch.setPlayer2Score(0);
+        Map<Long, Match> results = new LinkedHashMap<>();
+        results.put(1L, createUpdatedMatch(event, player1, player2));
+        results.put(99L, createUpdatedMatch(event, player1, player2));
+
+        when(eventRepository.findById(eventId)).thenReturn(Optional.of(event));
+        when(matchRepository.findAllById(results.keySet())).thenReturn(List.of(existingMatch));
+        when(matchRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        MatchBatchResult result = matchService.updateMatches(eventId, results);
+
+        assertEquals(1, result.updated().size());
+        assertEquals(Set.of(99L), result.rejected().keySet());
+        assertEquals(1, playerRank1.getWinCount());
+        verify(eventPublisher, times(1)).publishEvent(any(MatchUpdatedEvent.class));
     }
 
     @Test
@@ -0,0 +1,164 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.regex.Pattern;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.resultlog.BoutResultLogRepository;
+import org.fencing.demo.stages.GroupStage;
+import org.fencing.demo.stages.GroupStageRepository;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.fencing.demo.user.User;
+import org.fencing.demo.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+// Spring Boot turns metrics export off in tests, @AutoConfigureObservability brings the Prometheus registry back
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+public class MetricsIntegrationTest {
+
+    private static final String ADMIN_AUTH = "Basic " + HttpHeaders.encodeBasicAuth("admin", "adminPass", null);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private GroupStageRepository groupStageRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BoutResultLogRepository boutResultLogRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Event event;
+
+    private String eventUrl;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(new User("admin", passwordEncoder.encode("adminPass"), "admin@example.com", Role.ADMIN));
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+        event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        for (int i = 1; i <= 8; i++) {
+            addFencer("fencer" + i);
+        }
+        event = eventRepository.save(event);
+        groupStageRepository.save(GroupStage.builder()
+                .event(event)
+                .matches(new ArrayList<>())
+                .allMatchesCompleted(false)
+                .build());
+        eventUrl = "/tournaments/" + tournament.getId() + "/events/" + event.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        boutResultLogRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        groupStageRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void prometheus_AfterPoolsAndAResult_ExposesTimersByEventSize() throws Exception {
+        mockMvc.perform(post(eventUrl + "/groupStage/matches").header(HttpHeaders.AUTHORIZATION, ADMIN_AUTH))
+                .andExpect(status().isCreated());
+        Match bout = matchRepository.findAll().get(0);
+        String result = "{\"player1\":{\"id\":" + bout.getPlayer1().getId() + "},\"player2\":{\"id\":"
+                + bout.getPlayer2().getId() + "},\"player1Score\":5,\"player2Score\":3}";
+        mockMvc.perform(put(eventUrl + "/match/" + bout.getId())
+                        .header(HttpHeaders.AUTHORIZATION, ADMIN_AUTH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(result))
+                .andExpect(status().isOk());
+
+        // Scrapers don't authenticate
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Eight entrants fall in the smallest bucket
+        assertTrue(hasSeries(scrape, "fencing_matches_group_stage_create_seconds_count"), scrape);
+        assertTrue(hasSeries(scrape, "fencing_matchmaking_within_group_seconds_count"), scrape);
+        assertTrue(hasSeries(scrape, "fencing_match_update_seconds_count"), scrape);
+        assertTrue(hasSeries(scrape, "fencing_match_update_seconds_bucket"), scrape);
+    }
+
+    private static boolean hasSeries(String scrape, String name) {
+        return Pattern.compile("(?m)^" + name + "\\{[^}]*event_size=\"0-16\"").matcher(scrape).find();
+    }
+
+    private void addFencer(String username) {
+        Player player = playerRepository.save(
+                new Player(username, passwordEncoder.encode("fencerPass"), username + "@email.com", Role.USER));
+        PlayerRank rank = new PlayerRank();
+        rank.setEvent(event);
+        rank.setPlayer(player);
+        event.getRankings().add(rank);
+    }
+}
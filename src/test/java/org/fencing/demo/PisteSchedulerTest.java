@@ -0,0 +1,202 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.schedule.PisteScheduler;
+import org.fencing.demo.schedule.ScheduleOptions;
+import org.fencing.demo.schedule.SchedulePlan;
+import org.fencing.demo.schedule.ScheduledBout;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class PisteSchedulerTest {
+
+    @Test
+    public void solve_Pools_EachPoolStaysOnOnePiste() {
+        List<ScheduledBout> bouts = pools(6, 7);
+        ScheduleOptions options = new ScheduleOptions();
+        options.setPistes(4);
+
+        SchedulePlan plan = new PisteScheduler(options).solve(bouts);
+
+        Map<Long, Integer> pisteOfPool = new HashMap<>();
+        for (int i = 0; i < bouts.size(); i++) {
+            Integer piste = pisteOfPool.putIfAbsent(bouts.get(i).poolKey(), plan.pistes()[i]);
+            assertTrue(piste == null || piste == plan.pistes()[i]);
+        }
+        assertNoOverlap(bouts, plan);
+    }
+
+    @Test
+    public void solve_RestSlots_FencerNeverFencesBackToBack() {
+        List<ScheduledBout> bouts = pools(3, 5);
+        ScheduleOptions options = new ScheduleOptions();
+        options.setPistes(2);
+        options.setRestSlots(1);
+
+        SchedulePlan plan = new PisteScheduler(options).solve(bouts);
+
+        for (int i = 0; i < bouts.size(); i++) {
+            for (int j = 0; j < bouts.size(); j++) {
+                if (i != j && shareFencer(bouts.get(i), bouts.get(j)) && plan.starts()[i] < plan.starts()[j]) {
+                    assertTrue(plan.starts()[j] >= plan.starts()[i] + bouts.get(i).slots() + 1);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void solve_FewerReferees_NeverMoreBoutsThanReferees() {
+        List<ScheduledBout> bouts = pools(8, 6);
+        ScheduleOptions options = new ScheduleOptions();
+        options.setPistes(8);
+        options.setReferees(3);
+
+        SchedulePlan plan = new PisteScheduler(options).solve(bouts);
+
+        int[] running = new int[plan.endSlot()];
+        for (int i = 0; i < bouts.size(); i++) {
+            for (int slot = plan.starts()[i]; slot < plan.starts()[i] + bouts.get(i).slots(); slot++) {
+                running[slot]++;
+            }
+        }
+        for (int count : running) {
+            assertTrue(count <= 3);
+        }
+    }
+
+    @Test
+    public void solve_EliminationRounds_RunAfterPoolsAndInOrder() {
+        List<ScheduledBout> bouts = pools(4, 6);
+        for (int round = 0, size = 8; size >= 1; round++, size /= 2) {
+            for (int i = 0; i < size; i++) {
+                bouts.add(ScheduledBout.de(null, 0, 0, round, 2));
+            }
+        }
+        ScheduleOptions options = new ScheduleOptions();
+        options.setPistes(4);
+
+        SchedulePlan plan = new PisteScheduler(options).solve(bouts);
+
+        int[] firstStart = { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE };
+        int[] lastEnd = new int[4];
+        for (int i = 0; i < bouts.size(); i++) {
+            ScheduledBout bout = bouts.get(i);
+            if (!bout.isPoolBout()) {
+                firstStart[bout.deRound()] = Math.min(firstStart[bout.deRound()], plan.starts()[i]);
+                lastEnd[bout.deRound()] = Math.max(lastEnd[bout.deRound()], plan.starts()[i] + bout.slots());
+            }
+        }
+        assertTrue(firstStart[0] >= plan.poolPhaseEndSlot());
+        for (int round = 1; round < 4; round++) {
+            assertTrue(firstStart[round] >= lastEnd[round - 1]);
+        }
+        assertEquals(lastEnd[3], plan.endSlot());
+        assertNoOverlap(bouts, plan);
+    }
+
+    @Test
+    public void solve_600FencersOn40Pistes_EveryBoutPlaced() {
+        List<ScheduledBout> bouts = sixHundredFencers();
+
+        SchedulePlan plan = new PisteScheduler(fortyPistes()).solve(bouts);
+
+        for (int start : plan.starts()) {
+            assertTrue(start >= 0);
+        }
+        assertNoOverlap(bouts, plan);
+    }
+
+    // Wall clock, only meaningful on a quiet machine: mvn test -Pload-test
+    @Test
+    @Tag("load")
+    public void solve_600FencersOn40Pistes_UnderOneSecond() {
+        List<ScheduledBout> bouts = sixHundredFencers();
+
+        long started = System.nanoTime();
+        new PisteScheduler(fortyPistes()).solve(bouts);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(millis < 1000, "took " + millis + " ms");
+    }
+
+    private static List<ScheduledBout> sixHundredFencers() {
+        List<ScheduledBout> bouts = pools(86, 7);
+        for (int round = 0, size = 300; size >= 1; round++, size /= 2) {
+            for (int i = 0; i < size; i++) {
+                bouts.add(ScheduledBout.de(null, 0, 0, round, 2));
+            }
+        }
+        return bouts;
+    }
+
+    private static ScheduleOptions fortyPistes() {
+        ScheduleOptions options = new ScheduleOptions();
+        options.setPistes(40);
+        options.setReferees(30);
+        return options;
+    }
+
+    @Test
+    public void constructor_NoPistes_ThrowsIllegalArgumentException() {
+        ScheduleOptions options = new ScheduleOptions();
+        options.setPistes(0);
+
+        assertThrows(IllegalArgumentException.class, () -> new PisteScheduler(options));
+    }
+
+    @Test
+    public void constructor_TooManyPistes_ThrowsIllegalArgumentException() {
+        ScheduleOptions options = new ScheduleOptions();
+        options.setPistes(1_000_000_000);
+
+        assertThrows(IllegalArgumentException.class, () -> new PisteScheduler(options));
+    }
+
+    @Test
+    public void constructor_HugeBoutLength_ThrowsIllegalArgumentException() {
+        ScheduleOptions options = new ScheduleOptions();
+        options.setDeBoutSlots(Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class, () -> new PisteScheduler(options));
+    }
+
+    // Round robin pools, fencer ids are numbered on from 1
+    private static List<ScheduledBout> pools(int count, int size) {
+        List<ScheduledBout> bouts = new ArrayList<>();
+        long matchId = 1;
+        for (int pool = 0; pool < count; pool++) {
+            long first = 1 + (long) pool * size;
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    bouts.add(ScheduledBout.pool(matchId++, first + i, first + j, pool + 1, 1));
+                }
+            }
+        }
+        return bouts;
+    }
+
+    private static boolean shareFencer(ScheduledBout a, ScheduledBout b) {
+        return a.fencer1() == b.fencer1() || a.fencer1() == b.fencer2()
+                || a.fencer2() == b.fencer1() || a.fencer2() == b.fencer2();
+    }
+
+    private static void assertNoOverlap(List<ScheduledBout> bouts, SchedulePlan plan) {
+        for (int i = 0; i < bouts.size(); i++) {
+            for (int j = i + 1; j < bouts.size(); j++) {
+                if (plan.pistes()[i] == plan.pistes()[j]) {
+                    boolean apart = plan.starts()[i] + bouts.get(i).slots() <= plan.starts()[j]
+                            || plan.starts()[j] + bouts.get(j).slots() <= plan.starts()[i];
+                    assertTrue(apart, "bouts " + i + " and " + j + " overlap on a piste");
+                }
+            }
+        }
+    }
+}
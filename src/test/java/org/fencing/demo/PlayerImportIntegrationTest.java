@@ -0,0 +1,72 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerImportReport;
+import org.fencing.demo.player.PlayerImportService;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.player.RegistryFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PlayerImportIntegrationTest {
+
+    @Autowired
+    private PlayerImportService playerImportService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @BeforeEach
+    void setUp() {
+        playerRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        playerRepository.deleteAll();
+    }
+
+    @Test
+    public void importRegistry_InvalidAndRefusedRows_OnlyThoseRejected() throws Exception {
+        String csv = "username,email,elo\n"
+                + "alice,alice@example.com,1800\n"
+                + "bob,not-an-email,1700\n"
+                // Passes the entity's constraints but not the column length, so its batch fails
+                + "x".repeat(300) + ",long@example.com,\n"
+                + "carol,carol@example.com,\n";
+
+        PlayerImportReport report = playerImportService.importRegistry(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), RegistryFormat.CSV);
+
+        assertEquals(4, report.getRowsRead());
+        assertEquals(2, report.getInserted());
+        assertEquals(2, report.getRejected());
+        assertEquals("line 3: email: Email should be valid", report.getRejectedRows().get(0));
+        assertTrue(report.getRejectedRows().get(1).startsWith("line 4: not saved: "));
+        List<String> usernames = playerRepository.findAll().stream().map(Player::getUsername).sorted().toList();
+        assertEquals(List.of("alice", "carol"), usernames);
+    }
+
+    @Test
+    public void importRegistry_MissingEmail_RejectedWithConstraintMessage() throws Exception {
+        String csv = "username,email\n"
+                + "dave,\n";
+
+        PlayerImportReport report = playerImportService.importRegistry(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), RegistryFormat.CSV);
+
+        assertEquals(0, report.getInserted());
+        assertEquals(List.of("line 2: email: Email is required"), report.getRejectedRows());
+    }
+}
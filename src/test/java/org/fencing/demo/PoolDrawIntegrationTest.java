@@ -0,0 +1,136 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.fencing.demo.user.User;
+import org.fencing.demo.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PoolDrawIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Event event;
+
+    private String tournamentUrl;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User("admin", passwordEncoder.encode("adminPass"), "admin@example.com", Role.ADMIN));
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+        event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        for (int i = 1; i <= 8; i++) {
+            addFencer("fencer" + i);
+        }
+        event = eventRepository.save(event);
+        tournamentUrl = "http://localhost:" + port + "/tournaments/" + tournament.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void drawAllPools_EightFencers_TwoPoolsSaved() throws Exception {
+        ResponseEntity<JsonNode> submitted = restTemplate.withBasicAuth("admin", "adminPass")
+                .postForEntity(new URI(tournamentUrl + "/pools/draw"), null, JsonNode.class);
+        assertEquals(HttpStatus.ACCEPTED, submitted.getStatusCode());
+
+        JsonNode progress = restTemplate.getForObject(new URI(tournamentUrl + "/pools/draw"), JsonNode.class);
+        for (int i = 0; i < 100 && !progress.path("finished").asBoolean(); i++) {
+            Thread.sleep(100);
+            progress = restTemplate.getForObject(new URI(tournamentUrl + "/pools/draw"), JsonNode.class);
+        }
+
+        JsonNode drawn = progress.get("events").get(0);
+        assertEquals("DONE", drawn.get("status").asText());
+        assertEquals(2, drawn.get("pools").asInt());
+        assertEquals(12, drawn.get("bouts").asInt());
+        assertEquals(12, matchRepository.count());
+        assertTrue(matchRepository.findAll().stream().noneMatch(Match::hasResult));
+    }
+
+    private void addFencer(String username) {
+        Player player = playerRepository.save(
+                new Player(username, passwordEncoder.encode("fencerPass"), username + "@email.com", Role.USER));
+        PlayerRank rank = new PlayerRank();
+        rank.setEvent(event);
+        rank.setPlayer(player);
+        event.getRankings().add(rank);
+    }
+}
@@ -0,0 +1,79 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.PlayerRankComparator;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.pooldraw.EventDrawStatus;
+import org.fencing.demo.pooldraw.PoolDrawServiceImpl;
+import org.junit.jupiter.api.Test;
+
+public class PoolDrawTest {
+
+    @Test
+    public void drawPools_EveryFencerInOnePoolWithFullRoundRobin() {
+        List<List<Match>> pools = PoolDrawServiceImpl.drawPools(entrants(23));
+
+        Set<Long> seen = new HashSet<>();
+        for (List<Match> pool : pools) {
+            Set<Long> fencers = new HashSet<>();
+            for (Match bout : pool) {
+                fencers.add(bout.getPlayer1().getId());
+                fencers.add(bout.getPlayer2().getId());
+            }
+            assertEquals(fencers.size() * (fencers.size() - 1) / 2, pool.size());
+            for (Long fencer : fencers) {
+                assertTrue(seen.add(fencer), "fencer " + fencer + " is in two pools");
+            }
+        }
+        assertEquals(23, seen.size());
+    }
+
+    @Test
+    public void drawPools_SameEloFencers_NoneDropped() {
+        TreeSet<PlayerRank> entrants = new TreeSet<>(new PlayerRankComparator());
+        for (long id = 1; id <= 8; id++) {
+            entrants.add(rank(id, 1700));
+        }
+
+        int fenced = PoolDrawServiceImpl.drawPools(entrants).stream().mapToInt(List::size).sum();
+
+        assertEquals(2 * (4 * 3 / 2), fenced);
+    }
+
+    @Test
+    public void isFinished_OnlyEndStates() {
+        assertTrue(EventDrawStatus.DONE.isFinished());
+        assertTrue(EventDrawStatus.SKIPPED.isFinished());
+        assertTrue(EventDrawStatus.FAILED.isFinished());
+        assertFalse(EventDrawStatus.SAVING.isFinished());
+    }
+
+    private static Set<PlayerRank> entrants(int count) {
+        Set<PlayerRank> entrants = new TreeSet<>(new PlayerRankComparator());
+        for (long id = 1; id <= count; id++) {
+            entrants.add(rank(id, 1500 + (int) id * 10));
+        }
+        return entrants;
+    }
+
+    private static PlayerRank rank(long id, int elo) {
+        Player player = new Player();
+        player.setId(id);
+        player.setElo(elo);
+        player.setUsername("fencer" + id);
+        PlayerRank rank = new PlayerRank();
+        rank.setId(id);
+        rank.setPlayer(player);
+        return rank;
+    }
+}
@@ -0,0 +1,123 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.fencing.demo.poolresults.PoolFencerResult;
+import org.fencing.demo.poolresults.PoolResults;
+import org.fencing.demo.poolresults.PoolResultsEngine;
+import org.fencing.demo.poolresults.PoolSheet;
+import org.junit.jupiter.api.Test;
+
+public class PoolResultsEngineTest {
+
+    @Test
+    public void compute_CompletePool_FillsSheetAndPlaces() {
+        PoolResults results = PoolResultsEngine.compute(1, new long[][] { { 1, 2, 3 } }, new Long[] { 7L },
+                new int[] { 0, 0, 0 }, new long[] { 1, 1, 2 }, new long[] { 2, 3, 3 },
+                new int[] { 5, 5, 5 }, new int[] { 3, 1, 4 });
+
+        PoolSheet sheet = results.pools().get(0);
+        assertTrue(sheet.complete());
+        assertEquals(new PoolFencerResult(1, 1, 2, 2, 10, 4, 6), sheet.fencers().get(0));
+        assertEquals(new PoolFencerResult(2, 2, 1, 2, 8, 9, -1), sheet.fencers().get(1));
+        assertEquals(new PoolFencerResult(3, 3, 0, 2, 5, 10, -5), sheet.fencers().get(2));
+        assertEquals(5, sheet.touches()[0][1]);
+        assertEquals(3, sheet.touches()[1][0]);
+        assertEquals(4, sheet.touches()[2][1]);
+        assertEquals(-1, sheet.touches()[1][1]);
+    }
+
+    @Test
+    public void compute_UnfencedBout_LeftOutAndPoolIncomplete() {
+        PoolResults results = PoolResultsEngine.compute(1, new long[][] { { 1, 2, 3 } }, new Long[] { null },
+                new int[] { 0, 0 }, new long[] { 1, 2 }, new long[] { 2, 3 },
+                new int[] { 5, 0 }, new int[] { 2, 0 });
+
+        PoolSheet sheet = results.pools().get(0);
+        assertFalse(sheet.complete());
+        assertEquals(-1, sheet.touches()[1][2]);
+        assertEquals(0, sheet.fencers().get(2).bouts());
+        assertEquals(1, results.ranking().get(0).playerId());
+    }
+
+    @Test
+    public void compute_AcrossPools_RatioBeforeIndicatorAndTiesShareRank() {
+        // pool 2 is one bout short, so 20 and 22 have fenced only once
+        PoolResults results = PoolResultsEngine.compute(1, new long[][] { { 10, 11, 12 }, { 20, 21, 22 } },
+                new Long[] { 1L, 2L }, new int[] { 0, 0, 0, 1, 1 },
+                new long[] { 10, 10, 11, 20, 22 }, new long[] { 11, 12, 12, 21, 21 },
+                new int[] { 5, 5, 5, 5, 5 }, new int[] { 4, 4, 0, 0, 4 });
+
+        assertEquals(20, results.ranking().get(0).playerId());
+        assertEquals(10, results.ranking().get(1).playerId());
+        // 22 won its only bout by one touch, 11 won one of two by a lot
+        assertEquals(22, results.ranking().get(2).playerId());
+        assertEquals(11, results.ranking().get(3).playerId());
+        assertEquals(0.5, results.ranking().get(3).victoryRatio());
+        // 12 and 21: no wins, 4 scored and 10 received each
+        assertEquals(5, results.ranking().get(4).rank());
+        assertEquals(5, results.ranking().get(5).rank());
+    }
+
+    @Test
+    public void compute_IdenticalRecords_ShareRank() {
+        PoolResults results = PoolResultsEngine.compute(1, new long[][] { { 1, 2 }, { 3, 4 } }, new Long[] { null, null },
+                new int[] { 0, 1 }, new long[] { 1, 3 }, new long[] { 2, 4 },
+                new int[] { 5, 5 }, new int[] { 3, 3 });
+
+        assertEquals(1, results.ranking().get(0).rank());
+        assertEquals(1, results.ranking().get(1).rank());
+        assertEquals(3, results.ranking().get(2).rank());
+        assertEquals(3, results.ranking().get(3).rank());
+        assertEquals(1, results.pools().get(1).fencers().get(0).place());
+    }
+
+    @Test
+    public void compute_FencerInNoPool_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> PoolResultsEngine.compute(1, new long[][] { { 1, 2 } },
+                new Long[] { null }, new int[] { 0 }, new long[] { 1 }, new long[] { 9 },
+                new int[] { 5 }, new int[] { 1 }));
+    }
+
+    @Test
+    public void compute_150PoolsOfSeven_UnderFiftyMilliseconds() {
+        int pools = 150;
+        int size = 7;
+        int boutCount = pools * size * (size - 1) / 2;
+        long[][] poolFencers = new long[pools][size];
+        int[] boutPool = new int[boutCount];
+        long[] fencer1 = new long[boutCount];
+        long[] fencer2 = new long[boutCount];
+        int[] score1 = new int[boutCount];
+        int[] score2 = new int[boutCount];
+        int bout = 0;
+        for (int pool = 0; pool < pools; pool++) {
+            for (int i = 0; i < size; i++) {
+                poolFencers[pool][i] = 1 + pool * size + i;
+            }
+            for (int i = 0; i < size; i++) {
+                for (int j = i + 1; j < size; j++) {
+                    boutPool[bout] = pool;
+                    fencer1[bout] = poolFencers[pool][i];
+                    fencer2[bout] = poolFencers[pool][j];
+                    score1[bout] = (i + j + pool) % 2 == 0 ? 5 : (i + pool) % 5;
+                    score2[bout] = score1[bout] == 5 ? (j + pool) % 5 : 5;
+                    bout++;
+                }
+            }
+        }
+
+        PoolResultsEngine.compute(1, poolFencers, new Long[pools], boutPool, fencer1, fencer2, score1, score2);
+        long started = System.nanoTime();
+        PoolResults results = PoolResultsEngine.compute(1, poolFencers, new Long[pools], boutPool,
+                fencer1, fencer2, score1, score2);
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertEquals(pools * size, results.ranking().size());
+        assertTrue(results.pools().stream().allMatch(PoolSheet::complete));
+        assertTrue(millis < 50, "took " + millis + " ms");
+    }
+}
@@ -0,0 +1,137 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.stages.GroupStage;
+import org.fencing.demo.stages.GroupStageRepository;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class PoolResultsIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private GroupStageRepository groupStageRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Event event;
+
+    private Match match;
+
+    private String eventUrl;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+        event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        Player player1 = addFencer("fencer1");
+        Player player2 = addFencer("fencer2");
+        event = eventRepository.save(event);
+        GroupStage groupStage = new GroupStage();
+        groupStage.setEvent(event);
+        groupStage = groupStageRepository.save(groupStage);
+        match = matchRepository.save(Match.builder()
+                .event(event)
+                .groupStage(groupStage)
+                .player1(player1)
+                .player2(player2)
+                .player1Score(5)
+                .player2Score(3)
+                .build());
+        eventUrl = "http://localhost:" + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+    }
+
+    @Test
+    public void getPoolResults_FencedPoolBout_TouchesAndRanking() throws Exception {
+        ResponseEntity<JsonNode> result = restTemplate.getForEntity(new URI(eventUrl + "/pools/results"), JsonNode.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        JsonNode pool = result.getBody().get("pools").get(0);
+        assertEquals("[[-1,5],[3,-1]]", pool.get("touches").toString());
+        JsonNode first = result.getBody().get("ranking").get(0);
+        assertEquals(match.getPlayer1().getId(), first.get("playerId").asLong());
+        assertEquals(2, first.get("indicator").asInt());
+    }
+
+    private Player addFencer(String username) {
+        Player player = playerRepository.save(
+                new Player(username, passwordEncoder.encode("fencerPass"), username + "@email.com", Role.USER));
+        PlayerRank rank = new PlayerRank();
+        rank.setEvent(event);
+        rank.setPlayer(player);
+        event.getRankings().add(rank);
+        return player;
+    }
+}
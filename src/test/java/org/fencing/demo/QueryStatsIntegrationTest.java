@@ -0,0 +1,173 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.stages.GroupStage;
+import org.fencing.demo.stages.GroupStageRepository;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// A pool of 4 loads 6 bouts, one of 8 loads 28, which is over the entity threshold
+@SpringBootTest(properties = "query-stats.warn.entities=20")
+@AutoConfigureMockMvc
+@ExtendWith(OutputCaptureExtension.class)
+public class QueryStatsIntegrationTest {
+
+    private static final String HANDLER = "MatchController.getAllMatchesForGroupStageByGroupStageId";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private GroupStageRepository groupStageRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private Tournament tournament;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry);
+        tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        Metrics.removeRegistry(registry);
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        groupStageRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+    }
+
+    @Test
+    public void getGroupStageMatches_LazyMatches_CountedForTheRequest(CapturedOutput output) throws Exception {
+        String url = poolUrl(4);
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6));
+
+        // The version check, the exists check, the stage itself and its bouts at the least
+        assertTrue(recorded("fencing.request.sql.statements") >= 4);
+        // The stage and its six bouts, plus whatever they reference
+        assertTrue(recorded("fencing.request.entities.loaded") >= 7);
+        // GroupStage.matches, initialized while the response is written
+        assertEquals(1, recorded("fencing.request.collections.fetched"));
+        assertFalse(output.getOut().contains("Heavy persistence use"));
+    }
+
+    @Test
+    public void getGroupStageMatches_OverEntityThreshold_LogsWarning(CapturedOutput output) throws Exception {
+        String url = poolUrl(8);
+
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(28));
+
+        assertTrue(recorded("fencing.request.entities.loaded") > 20);
+        assertTrue(output.getOut().contains("Heavy persistence use in GET " + url + " (" + HANDLER + ")"));
+    }
+
+    private double recorded(String name) {
+        return registry.get(name).tag("handler", HANDLER).summary().max();
+    }
+
+    // A round robin of the given size in its own event, returns the URL of its bouts
+    private String poolUrl(int fencers) {
+        Event event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= fencers; i++) {
+            Player player = playerRepository.save(new Player("fencer" + i, passwordEncoder.encode("fencerPass"),
+                    "fencer" + i + "@email.com", Role.USER));
+            PlayerRank rank = new PlayerRank();
+            rank.setEvent(event);
+            rank.setPlayer(player);
+            event.getRankings().add(rank);
+            players.add(player);
+        }
+        event = eventRepository.save(event);
+        GroupStage groupStage = groupStageRepository.save(GroupStage.builder()
+                .event(event)
+                .matches(new ArrayList<>())
+                .allMatchesCompleted(false)
+                .build());
+        for (int i = 0; i < fencers; i++) {
+            for (int j = i + 1; j < fencers; j++) {
+                matchRepository.save(Match.builder()
+                        .event(event)
+                        .groupStage(groupStage)
+                        .player1(players.get(i))
+                        .player2(players.get(j))
+                        .build());
+            }
+        }
+        return "/tournaments/" + tournament.getId() + "/events/" + event.getId() + "/groupStage/"
+                + groupStage.getId() + "/matches";
+    }
+}
@@ -0,0 +1,72 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.fencing.demo.player.CsvRegistryReader;
+import org.fencing.demo.player.FieXmlRegistryReader;
+import org.fencing.demo.player.RegistryRow;
+import org.junit.jupiter.api.Test;
+
+public class RegistryReaderTest {
+
+    @Test
+    public void csv_HeaderInAnyOrder_ReadsRows() throws Exception {
+        String csv = "email,Username,elo\n"
+                + "a@example.com,alice,1800\n"
+                + "\n"
+                + "\"b,b@example.com\",bob,\n";
+        List<RegistryRow> rows = new ArrayList<>();
+
+        new CsvRegistryReader().read(stream(csv), rows::add);
+
+        assertEquals(2, rows.size());
+        assertEquals("alice", rows.get(0).username());
+        assertEquals("1800", rows.get(0).elo());
+        assertEquals(2, rows.get(0).lineNumber());
+        assertEquals("b,b@example.com", rows.get(1).email());
+        assertNull(rows.get(1).elo());
+        assertEquals(4, rows.get(1).lineNumber());
+    }
+
+    @Test
+    public void csv_MissingEmailColumn_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CsvRegistryReader().read(stream("username,elo\nalice,1800\n"), row -> {}));
+    }
+
+    @Test
+    public void xml_FencerElements_ReadsAttributes() throws Exception {
+        String xml = "<?xml version=\"1.0\"?>\n"
+                + "<BaseDeDonnees><Tireurs>\n"
+                + "<Tireur ID=\"7\" Licence=\"FRA123\" Email=\"c@example.com\" Elo=\"1650\"/>\n"
+                + "<Tireur ID=\"8\" Email=\"d@example.com\"/>\n"
+                + "</Tireurs></BaseDeDonnees>";
+        List<RegistryRow> rows = new ArrayList<>();
+
+        new FieXmlRegistryReader().read(stream(xml), rows::add);
+
+        assertEquals(2, rows.size());
+        assertEquals("FRA123", rows.get(0).username());
+        assertEquals("1650", rows.get(0).elo());
+        assertEquals("8", rows.get(1).username());
+        assertNull(rows.get(1).elo());
+    }
+
+    @Test
+    public void xml_Malformed_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FieXmlRegistryReader().read(stream("<Tireurs><Tireur Licence=\"x\"></Tireurs>"), row -> {}));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
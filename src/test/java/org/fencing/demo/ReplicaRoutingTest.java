@@ -0,0 +1,127 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.sql.DataSource;
+
+import org.fencing.demo.replica.PrimaryStickiness;
+import org.fencing.demo.replica.ReplicaRoutingDataSource;
+import org.fencing.demo.replica.ReplicaStickinessFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.servlet.http.Cookie;
+
+// Two local H2 databases stand in for the primary and the replica, each knows which one it is
+public class ReplicaRoutingTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource routing = ReplicaRoutingDataSource.wrap(primary, replica);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        PrimaryStickiness.clear();
+    }
+
+    @Test
+    public void readOnlyTransaction_GoesToReplica() {
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    public void readWriteTransaction_GoesToPrimary() {
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    public void noTransaction_GoesToPrimary() {
+        assertEquals("primary", whoAmI());
+    }
+
+    @Test
+    public void readOnlyTransaction_StickyClient_GoesToPrimary() {
+        PrimaryStickiness.stickToPrimary();
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    public void readOnlyTransaction_BackgroundThread_GoesToPrimary() throws Exception {
+        String[] seen = new String[1];
+        Thread worker = new Thread(PrimaryStickiness.onPrimary(() -> seen[0] = readOnly.execute(status -> whoAmI())));
+        worker.start();
+        worker.join();
+
+        assertEquals("primary", seen[0]);
+        assertFalse(PrimaryStickiness.isSticky());
+    }
+
+    @Test
+    public void filter_Write_SetsCookieAndSticksForTheRequest() throws Exception {
+        ReplicaStickinessFilter filter = new ReplicaStickinessFilter(5000);
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/tournaments/1/events/1/match/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String[] seen = new String[1];
+
+        filter.doFilter(request, response, (req, res) -> seen[0] = readOnly.execute(status -> whoAmI()));
+
+        assertEquals("primary", seen[0]);
+        Cookie cookie = response.getCookie(ReplicaStickinessFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertTrue(Long.parseLong(cookie.getValue()) > System.currentTimeMillis());
+        assertFalse(PrimaryStickiness.isSticky());
+    }
+
+    @Test
+    public void filter_ReadAfterWrite_StaysOnPrimaryUntilCookieExpires() throws Exception {
+        ReplicaStickinessFilter filter = new ReplicaStickinessFilter(5000);
+        String[] seen = new String[2];
+
+        MockHttpServletRequest recent = new MockHttpServletRequest("GET", "/tournaments/1");
+        recent.setCookies(new Cookie(ReplicaStickinessFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() + 5000)));
+        filter.doFilter(recent, new MockHttpServletResponse(), (req, res) -> seen[0] = readOnly.execute(status -> whoAmI()));
+
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/tournaments/1");
+        expired.setCookies(new Cookie(ReplicaStickinessFilter.COOKIE_NAME, Long.toString(System.currentTimeMillis() - 1)));
+        filter.doFilter(expired, new MockHttpServletResponse(), (req, res) -> seen[1] = readOnly.execute(status -> whoAmI()));
+
+        assertEquals("primary", seen[0]);
+        assertEquals("replica", seen[1]);
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE node (name VARCHAR(20))");
+        setup.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,164 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ResultExportIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Tournament tournament;
+
+    private Event event;
+
+    private Match match;
+
+    private final String baseUrl = "http://localhost:";
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+
+        tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+        event = eventRepository.save(newEvent());
+
+        Player player1 = playerRepository.save(
+                new Player("fencer1", passwordEncoder.encode("fencerPass"), "fencer1@email.com", Role.USER));
+        Player player2 = playerRepository.save(
+                new Player("fencer,2", passwordEncoder.encode("fencerPass"), "fencer2@email.com", Role.USER));
+        match = matchRepository.save(Match.builder()
+                .event(event)
+                .player1(player1)
+                .player2(player2)
+                .player1Score(5)
+                .player2Score(3)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        matchRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+    }
+
+    @Test
+    public void exportEvent_BoutsAsCsv_HeaderAndEscapedRow() throws Exception {
+        ResponseEntity<String> result = restTemplate.getForEntity(exportUri(event, "csv"), String.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("text/csv", result.getHeaders().getContentType().toString());
+        List<String> lines = result.getBody().lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("event_id,match_id,group_stage_id,knockout_stage_id,player1_id,player1_username,"
+                + "player1_score,player2_id,player2_username,player2_score", lines.get(0));
+        assertEquals(event.getId() + "," + match.getId() + ",,," + match.getPlayer1().getId() + ",fencer1,5,"
+                + match.getPlayer2().getId() + ",\"fencer,2\",3", lines.get(1));
+    }
+
+    @Test
+    public void exportEvent_EventWithoutBouts_CsvHeaderOnly() throws Exception {
+        Event empty = eventRepository.save(newEvent());
+
+        ResponseEntity<String> result = restTemplate.getForEntity(exportUri(empty, "csv"), String.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals(List.of("event_id,match_id,group_stage_id,knockout_stage_id,player1_id,player1_username,"
+                + "player1_score,player2_id,player2_username,player2_score"), result.getBody().lines().toList());
+    }
+
+    @Test
+    public void exportEvent_BoutsAsNdjson_OneObjectPerLine() throws Exception {
+        ResponseEntity<String> result = restTemplate.getForEntity(exportUri(event, "ndjson"), String.class);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        List<String> lines = result.getBody().lines().toList();
+        assertEquals(1, lines.size());
+        Map<String, Object> bout = objectMapper.readValue(lines.get(0), new TypeReference<Map<String, Object>>() {
+        });
+        assertEquals(match.getId(), ((Number) bout.get("match_id")).longValue());
+        assertEquals("fencer,2", bout.get("player2_username"));
+        assertEquals(5, bout.get("player1_score"));
+        assertEquals(3, bout.get("player2_score"));
+        assertEquals(null, bout.get("group_stage_id"));
+    }
+
+    private Event newEvent() {
+        return Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+    }
+
+    private URI exportUri(Event exported, String format) throws Exception {
+        return new URI(baseUrl + port + "/tournaments/" + tournament.getId() + "/events/" + exported.getId()
+                + "/export/bouts?format=" + format);
+    }
+}
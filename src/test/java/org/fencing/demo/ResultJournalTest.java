@@ -0,0 +1,203 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.fencing.demo.ingest.FileResultJournal;
+import org.fencing.demo.ingest.MappedResultJournal;
+import org.fencing.demo.ingest.ResultSubmission;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void append_ThenReopen_ReplaysEverythingAfterCheckpoint() {
+        FileResultJournal journal = new FileResultJournal(directory);
+        long first = journal.append(submission(10, 5, 3));
+        long second = journal.append(submission(11, 2, 5));
+        long third = journal.append(submission(12, 5, 4));
+        journal.sync(third);
+        journal.markApplied(first);
+        journal.close();
+
+        FileResultJournal reopened = new FileResultJournal(directory);
+        List<ResultSubmission> pending = reopened.readFrom(reopened.appliedSequence() + 1);
+        reopened.close();
+
+        assertEquals(1, first);
+        assertEquals(first, reopened.appliedSequence());
+        assertEquals(2, pending.size());
+        assertEquals(second, pending.get(0).sequence());
+        assertEquals(11, pending.get(0).matchId());
+        assertEquals(5, pending.get(1).player1Score());
+        assertEquals(4, pending.get(1).player2Score());
+        assertEquals(7L, pending.get(1).submittedBy());
+    }
+
+    @Test
+    public void reopen_TornLastRecord_IsCutOff() throws Exception {
+        FileResultJournal journal = new FileResultJournal(directory);
+        journal.sync(journal.append(submission(10, 5, 3)));
+        journal.close();
+        // half a record, as left by a crash in the middle of a write
+        Files.write(directory.resolve("results.journal"), new byte[30], StandardOpenOption.APPEND);
+
+        FileResultJournal reopened = new FileResultJournal(directory);
+        long next = reopened.append(submission(11, 1, 5));
+        List<ResultSubmission> all = reopened.readFrom(1);
+        reopened.close();
+
+        assertEquals(2, next);
+        assertEquals(2, all.size());
+        assertEquals(11, all.get(1).matchId());
+    }
+
+    @Test
+    public void mapped_AppendPastChunk_GrowsAndReplaysAfterReopen() {
+        MappedResultJournal journal = new MappedResultJournal(directory, 4, 1000);
+        long last = 0;
+        for (int i = 0; i < 10; i++) {
+            last = journal.append(submission(100 + i, 5, i % 5));
+        }
+        journal.sync(last);
+        journal.markApplied(3);
+        journal.close();
+
+        MappedResultJournal reopened = new MappedResultJournal(directory, 4, 1000);
+        List<ResultSubmission> pending = reopened.readFrom(reopened.appliedSequence() + 1);
+        long next = reopened.append(submission(200, 1, 5));
+        reopened.close();
+
+        assertEquals(7, pending.size());
+        assertEquals(103, pending.get(0).matchId());
+        assertEquals(109, pending.get(6).matchId());
+        assertEquals(11, next);
+    }
+
+    @Test
+    public void mapped_CloseThenOpenAsFileJournal_ReadsSameRecords() throws Exception {
+        MappedResultJournal journal = new MappedResultJournal(directory, 1024, 1000);
+        journal.sync(journal.append(submission(10, 5, 3)));
+        journal.sync(journal.append(submission(11, 4, 5)));
+        journal.close();
+
+        assertEquals(2L * 72, Files.size(directory.resolve("results.journal")));
+        FileResultJournal reopened = new FileResultJournal(directory);
+        List<ResultSubmission> all = reopened.readFrom(1);
+        reopened.close();
+
+        assertEquals(2, all.size());
+        assertEquals(11, all.get(1).matchId());
+        assertEquals(7L, all.get(1).submittedBy());
+    }
+
+    @Test
+    public void mapped_TornRecordBeforeLaterOne_DropsBoth() throws Exception {
+        MappedResultJournal journal = new MappedResultJournal(directory, 1024, 1000);
+        for (int i = 0; i < 3; i++) {
+            journal.append(submission(10 + i, 5, 3));
+        }
+        journal.sync(3);
+        journal.close();
+        // the second record's page never made it to disk, the third one did
+        byte[] bytes = Files.readAllBytes(directory.resolve("results.journal"));
+        bytes[72 + 20] ^= 1;
+        Files.write(directory.resolve("results.journal"), bytes);
+
+        MappedResultJournal reopened = new MappedResultJournal(directory, 1024, 1000);
+        reopened.append(submission(20, 1, 5));
+        List<ResultSubmission> afterFirstRestart = reopened.readFrom(1);
+        reopened.close();
+        // a second restart must not pick up the stale third record behind the rewritten second
+        MappedResultJournal again = new MappedResultJournal(directory, 1024, 1000);
+        List<ResultSubmission> afterSecondRestart = again.readFrom(1);
+        again.close();
+
+        assertEquals(2, afterFirstRestart.size());
+        assertEquals(20, afterFirstRestart.get(1).matchId());
+        assertEquals(2, afterSecondRestart.size());
+    }
+
+    @Test
+    public void markApplied_PastCompactionThreshold_DropsAppliedRecords() throws Exception {
+        FileResultJournal journal = new FileResultJournal(directory, 5);
+        for (int i = 0; i < 8; i++) {
+            journal.append(submission(100 + i, 5, 3));
+        }
+        journal.sync(8);
+        journal.markApplied(4);
+        long sizeBefore = Files.size(directory.resolve("results.journal"));
+        journal.markApplied(6);
+        long sizeAfter = Files.size(directory.resolve("results.journal"));
+        long next = journal.append(submission(200, 1, 5));
+        journal.sync(next);
+        journal.close();
+
+        FileResultJournal reopened = new FileResultJournal(directory, 5);
+        List<ResultSubmission> pending = reopened.readFrom(reopened.appliedSequence() + 1);
+        reopened.close();
+
+        assertEquals(8L * 72, sizeBefore);
+        assertEquals(2L * 72, sizeAfter);
+        assertEquals(9, next);
+        assertEquals(6, reopened.appliedSequence());
+        assertEquals(List.of(106L, 107L, 200L), pending.stream().map(ResultSubmission::matchId).toList());
+    }
+
+    @Test
+    public void mapped_EverythingAppliedAndCompacted_ReopenContinuesSequence() throws Exception {
+        MappedResultJournal journal = new MappedResultJournal(directory, 4, 3);
+        for (int i = 0; i < 6; i++) {
+            journal.append(submission(100 + i, 5, 3));
+        }
+        journal.sync(6);
+        journal.markApplied(6);
+        journal.close();
+
+        assertEquals(0, Files.size(directory.resolve("results.journal")));
+        MappedResultJournal reopened = new MappedResultJournal(directory, 4, 3);
+        long next = reopened.append(submission(200, 1, 5));
+        reopened.sync(next);
+        List<ResultSubmission> pending = reopened.readFrom(reopened.appliedSequence() + 1);
+        reopened.close();
+        // The file journal reads the compacted file the same way
+        FileResultJournal asFile = new FileResultJournal(directory);
+        List<ResultSubmission> all = asFile.readFrom(1);
+        asFile.close();
+
+        assertEquals(7, next);
+        assertEquals(1, pending.size());
+        assertEquals(200, pending.get(0).matchId());
+        assertEquals(1, all.size());
+        assertEquals(7, all.get(0).sequence());
+    }
+
+    // Wall clock, excluded from the default run, mvn test -Pload-test
+    @Test
+    @Tag("load")
+    public void mapped_Append_FastEnoughForSubMillisecondAcks() {
+        MappedResultJournal journal = new MappedResultJournal(directory);
+        long started = System.nanoTime();
+        for (int i = 0; i < 100_000; i++) {
+            journal.append(submission(i, 5, 3));
+        }
+        long appendNanos = (System.nanoTime() - started) / 100_000;
+        journal.close();
+
+        assertTrue(appendNanos < 100_000, "append took " + appendNanos + " ns");
+    }
+
+    private static ResultSubmission submission(long matchId, int player1Score, int player2Score) {
+        return new ResultSubmission(0, 1L, matchId, 1L, 2L, player1Score, player2Score, System.currentTimeMillis(), 7L);
+    }
+}
@@ -0,0 +1,175 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.resultlog.BoutResultLogRepository;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.fencing.demo.user.User;
+import org.fencing.demo.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ResultLogIntegrationTest {
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private BoutResultLogRepository boutResultLogRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Event event;
+
+    private Match match;
+
+    private String eventUrl;
+
+    @BeforeEach
+    void setUp() {
+        boutResultLogRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User("admin", passwordEncoder.encode("adminPass"), "admin@example.com", Role.ADMIN));
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+        event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        Player player1 = addFencer("fencer1");
+        Player player2 = addFencer("fencer2");
+        event = eventRepository.save(event);
+        match = matchRepository.save(Match.builder()
+                .event(event)
+                .player1(player1)
+                .player2(player2)
+                .player1Score(5)
+                .player2Score(3)
+                .build());
+        eventUrl = "http://localhost:" + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        boutResultLogRepository.deleteAll();
+        matchRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void rebuildStandings_BoutFromBeforeTheLog_BackfilledAndReplayed() throws Exception {
+        ResponseEntity<JsonNode> rebuilt = restTemplate.withBasicAuth("admin", "adminPass")
+                .postForEntity(new URI(eventUrl + "/standings/rebuild"), null, JsonNode.class);
+
+        assertEquals(HttpStatus.OK, rebuilt.getStatusCode());
+        assertEquals(match.getPlayer1().getId(), rebuilt.getBody().get(0).get("playerId").asLong());
+        assertEquals(1, rebuilt.getBody().get(0).get("winCount").asInt());
+
+        JsonNode log = restTemplate.getForObject(new URI(eventUrl + "/results/log"), JsonNode.class);
+        assertEquals(1, log.size());
+        assertEquals(match.getId(), log.get(0).get("matchId").asLong());
+        assertEquals(match.getPlayer2().getId(), log.get(0).get("player2Id").asLong());
+        assertEquals(5, log.get(0).get("player1Score").asInt());
+        assertEquals(3, log.get(0).get("player2Score").asInt());
+
+        JsonNode replayed = restTemplate.getForObject(new URI(eventUrl + "/standings/replay"), JsonNode.class);
+        assertEquals(rebuilt.getBody(), replayed);
+    }
+
+    @Test
+    public void rebuildElo_BoutFromBeforeTheLog_BackfilledAndRated() throws Exception {
+        TestRestTemplate admin = restTemplate.withBasicAuth("admin", "adminPass");
+        ResponseEntity<JsonNode> accepted = admin.postForEntity(
+                new URI("http://localhost:" + port + "/players/elo/rebuild"), null, JsonNode.class);
+
+        assertEquals(HttpStatus.ACCEPTED, accepted.getStatusCode());
+        URI jobUri = new URI("http://localhost:" + port + accepted.getHeaders().getLocation());
+        JsonNode job = accepted.getBody();
+        for (int i = 0; i < 100 && !"SUCCEEDED".equals(job.get("status").asText()); i++) {
+            Thread.sleep(100);
+            job = admin.getForObject(jobUri, JsonNode.class);
+        }
+        assertEquals("SUCCEEDED", job.get("status").asText());
+
+        JsonNode log = restTemplate.getForObject(new URI(eventUrl + "/results/log"), JsonNode.class);
+        assertEquals(1, log.size());
+        assertEquals(match.getId(), log.get(0).get("matchId").asLong());
+        int winner = playerRepository.findById(match.getPlayer1().getId()).get().getElo();
+        int loser = playerRepository.findById(match.getPlayer2().getId()).get().getElo();
+        assertTrue(winner > Player.STARTING_ELO, "winner has " + winner);
+        assertEquals(2 * Player.STARTING_ELO, winner + loser);
+    }
+
+    private Player addFencer(String username) {
+        Player player = playerRepository.save(
+                new Player(username, passwordEncoder.encode("fencerPass"), username + "@email.com", Role.USER));
+        PlayerRank rank = new PlayerRank();
+        rank.setEvent(event);
+        rank.setPlayer(player);
+        event.getRankings().add(rank);
+        return player;
+    }
+}
@@ -0,0 +1,116 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.resultlog.EloProjection;
+import org.fencing.demo.resultlog.LoggedResult;
+import org.fencing.demo.resultlog.PlayerStanding;
+import org.fencing.demo.resultlog.StandingsProjection;
+import org.fencing.demo.resultlog.StandingsRule;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class ResultProjectionTest {
+
+    @Test
+    public void standings_Classic_MatchesLivePlayerRank() {
+        StandingsProjection projection = new StandingsProjection(StandingsRule.CLASSIC);
+        projection.accept(new LoggedResult(1L, 10L, 20L, 5, 3));
+        projection.accept(new LoggedResult(2L, 10L, 30L, 2, 5));
+        projection.accept(new LoggedResult(3L, 20L, 30L, 5, 4));
+
+        PlayerRank live = new PlayerRank();
+        live.updateAfterMatch(5, 3);
+        live.updateAfterMatch(2, 5);
+
+        PlayerStanding standing = find(projection.standings(), 10L);
+        assertEquals(live.getScore(), standing.score());
+        assertEquals(live.getWinCount(), standing.winCount());
+        assertEquals(live.getLossCount(), standing.lossCount());
+    }
+
+    @Test
+    public void standings_CorrectedBout_OnlyLatestResultCounts() {
+        StandingsProjection projection = new StandingsProjection(StandingsRule.CLASSIC);
+        projection.accept(new LoggedResult(1L, 10L, 20L, 5, 3));
+        projection.accept(new LoggedResult(1L, 10L, 20L, 3, 5));
+
+        List<PlayerStanding> standings = projection.standings();
+
+        assertEquals(20L, standings.get(0).playerId());
+        assertEquals(1, standings.get(0).winCount());
+        assertEquals(0, standings.get(0).lossCount());
+        assertEquals(0, find(standings, 10L).winCount());
+        assertEquals(1, find(standings, 10L).lossCount());
+    }
+
+    @Test
+    public void standings_Indicator_TouchesScoredMinusReceived() {
+        StandingsProjection projection = new StandingsProjection(StandingsRule.INDICATOR);
+        projection.accept(new LoggedResult(1L, 10L, 20L, 5, 3));
+        projection.accept(new LoggedResult(2L, 10L, 30L, 5, 0));
+        projection.accept(new LoggedResult(3L, 20L, 30L, 5, 1));
+
+        List<PlayerStanding> standings = projection.standings();
+
+        assertEquals(10L, standings.get(0).playerId());
+        assertEquals(7, standings.get(0).score());
+        assertEquals(2, find(standings, 20L).score());
+        assertEquals(-9, find(standings, 30L).score());
+    }
+
+    @Test
+    public void ratings_SingleBout_WinnerGainsWhatLoserLoses() {
+        EloProjection projection = new EloProjection();
+        projection.accept(new LoggedResult(1L, 10L, 20L, 5, 2));
+
+        Map<Long, Integer> ratings = projection.ratings(Player.STARTING_ELO);
+
+        assertEquals(Player.STARTING_ELO + EloProjection.K_FACTOR / 2, ratings.get(10L).intValue());
+        assertEquals(Player.STARTING_ELO - EloProjection.K_FACTOR / 2, ratings.get(20L).intValue());
+    }
+
+    @Test
+    public void ratings_UpsetMovesMoreThanExpectedWin() {
+        EloProjection projection = new EloProjection();
+        projection.accept(new LoggedResult(1L, 10L, 20L, 5, 0));
+        projection.accept(new LoggedResult(2L, 10L, 30L, 5, 0));
+        int favouriteBefore = projection.ratings(Player.STARTING_ELO).get(10L);
+        projection.accept(new LoggedResult(3L, 40L, 10L, 5, 4));
+
+        Map<Long, Integer> ratings = projection.ratings(Player.STARTING_ELO);
+
+        int gained = ratings.get(40L) - Player.STARTING_ELO;
+        assertTrue(gained > EloProjection.K_FACTOR / 2, "upset gained " + gained);
+        assertEquals(favouriteBefore - gained, ratings.get(10L).intValue());
+    }
+
+    // Wall-clock bound, only meaningful on a quiet machine
+    @Test
+    @Tag("load")
+    public void standings_HundredThousandEntries_ReplaysQuickly() {
+        StandingsProjection projection = new StandingsProjection(StandingsRule.CLASSIC);
+        long started = System.nanoTime();
+        for (long entry = 0; entry < 100_000; entry++) {
+            long player1 = entry % 500;
+            long player2 = (entry * 7 + 1) % 500;
+            projection.accept(new LoggedResult(entry % 60_000, player1, player2 == player1 ? player1 + 1 : player2,
+                    (int) (entry % 6), (int) ((entry / 6) % 6)));
+        }
+        List<PlayerStanding> standings = projection.standings();
+        long millis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(millis < 1000, "took " + millis + " ms");
+        assertTrue(standings.size() <= 501);
+    }
+
+    private static PlayerStanding find(List<PlayerStanding> standings, long playerId) {
+        return standings.stream().filter(standing -> standing.playerId() == playerId).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,189 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.resultlog.BoutResultLogRepository;
+import org.fencing.demo.schedule.EventSchedule;
+import org.fencing.demo.schedule.ScheduleEntry;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.fencing.demo.user.User;
+import org.fencing.demo.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class ScheduleIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BoutResultLogRepository boutResultLogRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Event event;
+
+    private List<Match> bouts;
+
+    private String eventUrl;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(new User("admin", passwordEncoder.encode("adminPass"), "admin@example.com", Role.ADMIN));
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+        event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        List<Player> fencers = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            fencers.add(addFencer("fencer" + i));
+        }
+        event = eventRepository.save(event);
+
+        // One pool of four, not linked to a GroupStage
+        bouts = new ArrayList<>();
+        for (int i = 0; i < fencers.size(); i++) {
+            for (int j = i + 1; j < fencers.size(); j++) {
+                bouts.add(matchRepository.save(Match.builder()
+                        .event(event)
+                        .player1(fencers.get(i))
+                        .player2(fencers.get(j))
+                        .build()));
+            }
+        }
+        eventUrl = "http://localhost:" + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        boutResultLogRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        matchRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void scheduleEvent_PoolBouts_SlotsStoredAndVersionsBumped() throws Exception {
+        ResponseEntity<EventSchedule> result = schedule(2);
+
+        assertEquals(200, result.getStatusCode().value());
+        List<ScheduleEntry> planned = result.getBody().getBouts();
+        assertEquals(6, planned.size());
+        ScheduleEntry[] stored = restTemplate.getForObject(new URI(eventUrl + "/schedule"), ScheduleEntry[].class);
+        assertEquals(planned, List.of(stored));
+        for (ScheduleEntry entry : planned) {
+            Match match = matchRepository.findById(entry.matchId()).get();
+            assertEquals(entry.piste(), match.getPiste());
+            assertEquals(entry.timeSlot(), match.getTimeSlot());
+            // Written behind Hibernate's back, the version still has to move for ETags and optimistic locks
+            long before = bouts.stream().filter(bout -> bout.getId() == match.getId()).findFirst().get().getVersion();
+            assertEquals(before + 1, match.getVersion());
+        }
+    }
+
+    @Test
+    public void scheduleEvent_ThenResultAndReplan_NoStaleVersionConflict() throws Exception {
+        schedule(2);
+        Match bout = bouts.get(0);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"player1\":{\"id\":" + bout.getPlayer1().getId() + "},\"player2\":{\"id\":"
+                + bout.getPlayer2().getId() + "},\"player1Score\":5,\"player2Score\":3}";
+
+        ResponseEntity<Match> scored = restTemplate.withBasicAuth("admin", "adminPass")
+                .exchange(new URI(eventUrl + "/match/" + bout.getId()), HttpMethod.PUT,
+                        new HttpEntity<>(body, headers), Match.class);
+        ResponseEntity<EventSchedule> replanned = schedule(3);
+
+        assertEquals(200, scored.getStatusCode().value());
+        assertEquals(5, scored.getBody().getPlayer1Score());
+        assertEquals(200, replanned.getStatusCode().value());
+        Match stored = matchRepository.findById(bout.getId()).get();
+        assertEquals(5, stored.getPlayer1Score());
+        assertEquals(3, stored.getPlayer2Score());
+        assertTrue(stored.getPiste() <= 3);
+    }
+
+    private ResponseEntity<EventSchedule> schedule(int pistes) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.withBasicAuth("admin", "adminPass")
+                .postForEntity(new URI(eventUrl + "/schedule"),
+                        new HttpEntity<>("{\"pistes\":" + pistes + "}", headers), EventSchedule.class);
+    }
+
+    private Player addFencer(String username) {
+        Player player = playerRepository.save(
+                new Player(username, passwordEncoder.encode("fencerPass"), username + "@email.com", Role.USER));
+        PlayerRank rank = new PlayerRank();
+        rank.setEvent(event);
+        rank.setPlayer(player);
+        event.getRankings().add(rank);
+        return player;
+    }
+}
@@ -0,0 +1,142 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.matchMaking.AfterGroupStage;
+import org.fencing.demo.matchMaking.TableauSeeding;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.stages.KnockoutStage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+public class TableauSeedingTest {
+
+    @Test
+    public void seedPositions_TableOf8_StandardPlacement() {
+        assertArrayEquals(new int[] { 1, 8, 4, 5, 2, 7, 3, 6 }, TableauSeeding.seedPositions(8));
+    }
+
+    @Test
+    public void seedPositions_TableOf64_FirstRoundPairsAddUpAndTopSeedsInOppositeHalves() {
+        int[] positions = TableauSeeding.seedPositions(64);
+
+        for (int i = 0; i < 64; i += 2) {
+            assertEquals(65, positions[i] + positions[i + 1]);
+        }
+        int slotOf2 = Arrays.stream(positions).boxed().toList().indexOf(2);
+        assertEquals(1, positions[0]);
+        assertTrue(slotOf2 >= 32);
+        assertEquals(32, positions[Arrays.stream(positions).boxed().toList().indexOf(33) ^ 1]);
+    }
+
+    @Test
+    public void seedPositions_NotAPowerOfTwo_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> TableauSeeding.seedPositions(48));
+    }
+
+    // Timing only, run with -Pload-test
+    @Test
+    @Tag("load")
+    public void seedPositions_TableOf256_Microseconds() {
+        TableauSeeding.seedPositions(256);
+        long started = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            TableauSeeding.seedPositions(256);
+        }
+        long micros = (System.nanoTime() - started) / 1000 / 1000;
+
+        assertTrue(micros < 100, "took " + micros + " us per table");
+    }
+
+    @Test
+    public void tableau_FiveFencers_TopThreeSeedsGetByes() {
+        List<String> slots = TableauSeeding.tableau(List.of("a", "b", "c", "d", "e"));
+
+        assertEquals(Arrays.asList("a", null, "d", "e", "b", null, "c", null), slots);
+    }
+
+    @Test
+    public void seedFromPools_BestPoolRecordFirstAndTiesByElo() {
+        List<PlayerRank> ranks = new ArrayList<>();
+        Player[] players = new Player[4];
+        for (int i = 0; i < 4; i++) {
+            players[i] = player(i + 1, 1700 + 10 * i);
+            PlayerRank rank = new PlayerRank();
+            rank.setPlayer(players[i]);
+            ranks.add(rank);
+        }
+        // 1 beats 2, 3 and 4 are level on everything
+        List<Match> pool = List.of(bout(players[0], players[1], 5, 2), bout(players[2], players[3], 5, 5));
+
+        List<Player> seeded = AfterGroupStage.seedFromPools(ranks, pool);
+
+        assertEquals(1L, seeded.get(0).getId().longValue());
+        assertEquals(4L, seeded.get(1).getId().longValue());
+        assertEquals(3L, seeded.get(2).getId().longValue());
+        assertEquals(2L, seeded.get(3).getId().longValue());
+    }
+
+    @Test
+    public void getMatchesForKnockoutStage_ByesThenWinnersMeetTopSeeds() {
+        Event event = Event.builder().build();
+        Player[] players = new Player[5];
+        for (int i = 0; i < 5; i++) {
+            players[i] = player(i + 1, 2000 - 10 * i);
+            PlayerRank rank = new PlayerRank();
+            rank.setPlayer(players[i]);
+            rank.setEvent(event);
+            event.getRankings().add(rank);
+        }
+        KnockoutStage first = KnockoutStage.builder().id(1).event(event).build();
+        KnockoutStage second = KnockoutStage.builder().id(2).event(event).build();
+        event.getKnockoutStages().add(first);
+        event.getKnockoutStages().add(second);
+
+        List<Match> firstRound = event.getMatchesForKnockoutStage(first);
+        assertEquals(1, firstRound.size());
+        assertEquals(4L, firstRound.get(0).getPlayer1().getId().longValue());
+        assertEquals(5L, firstRound.get(0).getPlayer2().getId().longValue());
+
+        assertThrows(IllegalStateException.class, () -> event.getMatchesForKnockoutStage(second));
+
+        firstRound.get(0).setPlayer1Score(10);
+        firstRound.get(0).setPlayer2Score(15);
+        first.getMatches().addAll(firstRound);
+        List<Match> secondRound = event.getMatchesForKnockoutStage(second);
+
+        assertEquals(2, secondRound.size());
+        assertEquals(1L, secondRound.get(0).getPlayer1().getId().longValue());
+        assertEquals(5L, secondRound.get(0).getPlayer2().getId().longValue());
+        assertEquals(2L, secondRound.get(1).getPlayer1().getId().longValue());
+        assertEquals(3L, secondRound.get(1).getPlayer2().getId().longValue());
+        assertNull(secondRound.get(0).getGroupStage());
+    }
+
+    private static Player player(long id, int elo) {
+        Player player = new Player();
+        player.setId(id);
+        player.setUsername("Player" + id);
+        player.setElo(elo);
+        return player;
+    }
+
+    private static Match bout(Player player1, Player player2, int score1, int score2) {
+        Match match = new Match();
+        match.setPlayer1(player1);
+        match.setPlayer2(player2);
+        match.setPlayer1Score(score1);
+        match.setPlayer2Score(score2);
+        return match;
+    }
+}
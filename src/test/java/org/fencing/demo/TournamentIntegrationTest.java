@@ -20,8 +20,10 @@ import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.HashSet;
 
@@ -45,6 +47,9 @@ class TournamentIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User adminUser;
     private User regularUser;
 
@@ -90,6 +95,23 @@ class TournamentIntegrationTest {
         assertEquals(tournament.getName(), result.getBody().getName());
     }
 
+    @Test
+    public void getTournament_MatchingETag_NotModified() throws Exception {
+        Long id = tournamentRepository.save(createValidTournament()).getId();
+        URI uri = new URI(baseUrl + port + "/tournaments/" + id);
+
+        ResponseEntity<Tournament> first = restTemplate.getForEntity(uri, Tournament.class);
+        String eTag = first.getHeaders().getETag();
+        assertNotNull(eTag);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<Tournament> second = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Tournament.class);
+
+        assertEquals(304, second.getStatusCode().value());
+        assertNull(second.getBody());
+    }
+
     @Test
     public void getTournament_InvalidTournamentId_Failure() throws Exception {
         URI uri = new URI(baseUrl + port + "/tournaments/999");
@@ -152,6 +174,33 @@ class TournamentIntegrationTest {
         assertTrue(result.getBody().contains("Tournament name cannot be null"));
     }
 
+    @Test
+    public void getTournament_CacheHit_ServesETagWithoutQueryingTheDatabase() throws Exception {
+        Tournament tournament = tournamentRepository.save(createValidTournament());
+        Long id = tournament.getId();
+        URI uri = new URI(baseUrl + port + "/tournaments/" + id);
+        String eTag = restTemplate.getForEntity(uri, Tournament.class).getHeaders().getETag();
+
+        // Behind the services' back, so nothing evicts the cached copy
+        jdbcTemplate.update("UPDATE tournaments SET name = 'Renamed', version = version + 1 WHERE id = ?", id);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<Tournament> cached = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Tournament.class);
+
+        assertEquals(304, cached.getStatusCode().value());
+
+        // A write through the service evicts it, and the next read carries a new ETag
+        tournament = tournamentRepository.findById(id).get();
+        tournament.setName("Updated Spring Open");
+        restTemplate.withBasicAuth("admin", "adminPass")
+            .exchange(uri, HttpMethod.PUT, new HttpEntity<>(tournament), Tournament.class);
+        ResponseEntity<Tournament> reloaded = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Tournament.class);
+
+        assertEquals(200, reloaded.getStatusCode().value());
+        assertEquals("Updated Spring Open", reloaded.getBody().getName());
+        assertNotEquals(eTag, reloaded.getHeaders().getETag());
+    }
+
     @Test
     public void updateTournament_AdminUser_Success() throws Exception {
         Tournament tournament = createValidTournament();
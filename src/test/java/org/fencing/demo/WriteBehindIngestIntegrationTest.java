@@ -0,0 +1,224 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.fencing.demo.events.Event;
+import org.fencing.demo.events.EventRepository;
+import org.fencing.demo.events.Gender;
+import org.fencing.demo.events.PlayerRank;
+import org.fencing.demo.events.WeaponType;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchRepository;
+import org.fencing.demo.player.Player;
+import org.fencing.demo.player.PlayerRepository;
+import org.fencing.demo.resultlog.BoutResultLogRepository;
+import org.fencing.demo.security.JwtService;
+import org.fencing.demo.tournament.Tournament;
+import org.fencing.demo.tournament.TournamentRepository;
+import org.fencing.demo.user.Role;
+import org.fencing.demo.user.User;
+import org.fencing.demo.user.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "results.ingest.mode=write-behind")
+public class WriteBehindIngestIntegrationTest {
+
+    private static final AtomicBoolean DATABASE_DOWN = new AtomicBoolean();
+
+    // Every connection the app asks for fails while DATABASE_DOWN is set, like an unreachable server
+    @TestConfiguration
+    static class SwitchableDatabase {
+        @Bean
+        static BeanPostProcessor switchableDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource) || bean instanceof DelegatingDataSource) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            if (DATABASE_DOWN.get()) {
+                                throw new SQLTransientConnectionException("Connection refused");
+                            }
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) throws Exception {
+        String directory = Files.createTempDirectory("journal").toString();
+        registry.add("results.journal.dir", () -> directory);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private BoutResultLogRepository boutResultLogRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private Event event;
+
+    private Match match;
+
+    private String token;
+
+    private String eventUrl;
+
+    @BeforeEach
+    void setUp() {
+        boutResultLogRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+        User admin = userRepository.save(
+                new User("admin", passwordEncoder.encode("adminPass"), "admin@example.com", Role.ADMIN));
+        token = jwtService.generateToken(admin);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Spring Championship")
+                .registrationStartDate(LocalDate.now().plusDays(1))
+                .registrationEndDate(LocalDate.now().plusDays(20))
+                .tournamentStartDate(LocalDate.now().plusDays(25))
+                .tournamentEndDate(LocalDate.now().plusDays(30))
+                .venue("Sports Arena")
+                .events(new HashSet<>())
+                .build());
+        event = Event.builder()
+                .tournament(tournament)
+                .gender(Gender.MALE)
+                .weapon(WeaponType.FOIL)
+                .startDate(LocalDateTime.now().plusDays(25))
+                .endDate(LocalDateTime.now().plusDays(26))
+                .build();
+        Player player1 = addFencer("fencer1");
+        Player player2 = addFencer("fencer2");
+        event = eventRepository.save(event);
+        match = matchRepository.save(Match.builder()
+                .event(event)
+                .player1(player1)
+                .player2(player2)
+                .build());
+        eventUrl = "http://localhost:" + port + "/tournaments/" + tournament.getId() + "/events/" + event.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        DATABASE_DOWN.set(false);
+        boutResultLogRepository.deleteAll();
+        matchRepository.deleteAll();
+        eventRepository.deleteAll();
+        tournamentRepository.deleteAll();
+        playerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void submitResult_DatabaseUnavailable_AcceptedAndAppliedOnceItIsBack() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"player1\":{\"id\":" + match.getPlayer1().getId() + "},\"player2\":{\"id\":"
+                + match.getPlayer2().getId() + "},\"player1Score\":5,\"player2Score\":2}";
+
+        DATABASE_DOWN.set(true);
+        ResponseEntity<JsonNode> accepted = restTemplate.exchange(new URI(eventUrl + "/match/" + match.getId() + "/result"),
+                HttpMethod.PUT, new HttpEntity<>(body, headers), JsonNode.class);
+        // Give the applier time to fail against the unreachable database
+        Thread.sleep(500);
+        DATABASE_DOWN.set(false);
+
+        assertEquals(HttpStatus.ACCEPTED, accepted.getStatusCode());
+        long sequence = accepted.getBody().get("sequence").asLong();
+        URI statusUri = new URI("http://localhost:" + port + "/results/" + sequence);
+        JsonNode status = null;
+        for (int i = 0; i < 100 && (status == null || !status.get("applied").asBoolean()); i++) {
+            Thread.sleep(100);
+            status = restTemplate.exchange(statusUri, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class).getBody();
+        }
+
+        assertTrue(status.get("applied").asBoolean());
+        assertTrue(status.get("rejectedReason").isNull());
+        Match applied = matchRepository.findById(match.getId()).get();
+        assertEquals(5, applied.getPlayer1Score());
+        assertEquals(2, applied.getPlayer2Score());
+        // The submitter came from the token's claims, not from a user lookup
+        assertEquals(userRepository.findByUsername("admin").get().getId(),
+                boutResultLogRepository.findAll().get(0).getSubmittedBy());
+    }
+
+    private Player addFencer(String username) {
+        Player player = playerRepository.save(
+                new Player(username, passwordEncoder.encode("fencerPass"), username + "@email.com", Role.USER));
+        PlayerRank rank = new PlayerRank();
+        rank.setEvent(event);
+        rank.setPlayer(player);
+        event.getRankings().add(rank);
+        return player;
+    }
+}
@@ -0,0 +1,180 @@
+package org.fencing.demo;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.fencing.demo.ingest.ReadYourWritesInterceptor;
+import org.fencing.demo.ingest.WriteBehindResultController;
+import org.fencing.demo.ingest.WriteBehindResultService;
+import org.fencing.demo.match.Match;
+import org.fencing.demo.match.MatchBatchResult;
+import org.fencing.demo.match.MatchService;
+import org.fencing.demo.player.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+public class WriteBehindResultServiceTest {
+
+    private static final MatchBatchResult NOTHING_REJECTED = new MatchBatchResult(List.of(), Map.of());
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private MatchService matchService;
+
+    private final List<WriteBehindResultService> started = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        for (WriteBehindResultService service : started) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    public void submit_SameMatchThreeTimes_AppliesOnlyTheLatest() throws Exception {
+        when(matchService.updateMatches(anyLong(), anyMap())).thenReturn(NOTHING_REJECTED);
+        // A long linger so all three land in one batch
+        WriteBehindResultService service = start(matchService, 500);
+
+        service.submit(1L, 10L, result(5, 3));
+        service.submit(1L, 10L, result(5, 4));
+        long last = service.submit(1L, 10L, result(2, 5)).sequence();
+
+        assertTrue(service.awaitApplied(last, 5000));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Match>> results = ArgumentCaptor.forClass(Map.class);
+        verify(matchService, times(1)).updateMatches(eq(1L), results.capture());
+        assertEquals(1, results.getValue().size());
+        assertEquals(2, results.getValue().get(10L).getPlayer1Score());
+        assertEquals(5, results.getValue().get(10L).getPlayer2Score());
+    }
+
+    @Test
+    public void start_UnappliedResultInJournal_IsReplayed() throws Exception {
+        // The database is down for the whole life of the first instance
+        when(matchService.updateMatches(anyLong(), anyMap()))
+                .thenThrow(new CannotGetJdbcConnectionException("Connection refused"));
+        WriteBehindResultService first = start(matchService, 0);
+        long sequence = first.submit(1L, 10L, result(5, 3)).sequence();
+        verify(matchService, timeout(2000).atLeast(2)).updateMatches(anyLong(), anyMap());
+        first.shutdown();
+        started.remove(first);
+        assertEquals(0, first.appliedSequence());
+
+        MatchService restartedMatchService = mock(MatchService.class);
+        when(restartedMatchService.updateMatches(anyLong(), anyMap())).thenReturn(NOTHING_REJECTED);
+        WriteBehindResultService restarted = start(restartedMatchService, 0);
+
+        assertTrue(restarted.awaitApplied(sequence, 5000));
+        verify(restartedMatchService).updateMatches(eq(1L), argThat(results ->
+                results.size() == 1 && results.get(10L).getPlayer1Score() == 5));
+    }
+
+    @Test
+    public void submitResult_OneResultViolatesConstraint_OnlyThatResultIsRejected() throws Exception {
+        // The batch of both fails, then 11 fails alone and 10 goes through
+        when(matchService.updateMatches(eq(1L), anyMap())).thenAnswer(invocation -> {
+            Map<Long, Match> results = invocation.getArgument(1);
+            if (results.containsKey(11L)) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'bout_result_log.match_id'");
+            }
+            return NOTHING_REJECTED;
+        });
+        WriteBehindResultService service = start(matchService, 500);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new WriteBehindResultController(service)).build();
+
+        mockMvc.perform(put("/tournaments/1/events/1/match/10/result")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(resultJson(5, 3)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(ReadYourWritesInterceptor.RESULT_SEQUENCE_HEADER, "1"));
+        mockMvc.perform(put("/tournaments/1/events/1/match/11/result")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(resultJson(1, 5)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.sequence").value(2));
+
+        assertTrue(service.awaitApplied(2, 5000));
+        mockMvc.perform(get("/results/1"))
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.rejectedReason").doesNotExist());
+        mockMvc.perform(get("/results/2"))
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.rejectedReason").exists());
+        // Permanent failures are not retried: the batch once, then each result once
+        verify(matchService, times(3)).updateMatches(eq(1L), anyMap());
+    }
+
+    @Test
+    public void get_WithResultSequenceNotApplied_HeldThenServiceUnavailable() throws Exception {
+        when(matchService.updateMatches(anyLong(), anyMap()))
+                .thenThrow(new CannotGetJdbcConnectionException("Connection refused"));
+        WriteBehindResultService service = start(matchService, 0);
+        long sequence = service.submit(1L, 10L, result(5, 3)).sequence();
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new WriteBehindResultController(service))
+                .addInterceptors(new ReadYourWritesInterceptor(service, 200))
+                .build();
+
+        long start = System.nanoTime();
+        mockMvc.perform(get("/results/" + sequence)
+                        .header(ReadYourWritesInterceptor.RESULT_SEQUENCE_HEADER, Long.toString(sequence)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        assertTrue(System.nanoTime() - start >= 200_000_000L);
+        assertEquals(0, service.appliedSequence());
+    }
+
+    private WriteBehindResultService start(MatchService matchService, long lingerMillis) {
+        WriteBehindResultService service = new WriteBehindResultService(matchService, "file", directory.toString(),
+                100_000, 500, lingerMillis);
+        service.start();
+        started.add(service);
+        return service;
+    }
+
+    private static Match result(int player1Score, int player2Score) {
+        Player player1 = new Player();
+        player1.setId(1L);
+        Player player2 = new Player();
+        player2.setId(2L);
+        return Match.builder()
+                .player1(player1)
+                .player2(player2)
+                .player1Score(player1Score)
+                .player2Score(player2Score)
+                .build();
+    }
+
+    private static String resultJson(int player1Score, int player2Score) {
+        return "{\"player1\":{\"id\":1},\"player2\":{\"id\":2},\"player1Score\":" + player1Score
+                + ",\"player2Score\":" + player2Score + "}";
+    }
+}